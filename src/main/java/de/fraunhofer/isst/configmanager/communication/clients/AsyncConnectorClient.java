@@ -0,0 +1,103 @@
+package de.fraunhofer.isst.configmanager.communication.clients;
+
+import de.fraunhofer.iais.eis.BaseConnector;
+import de.fraunhofer.iais.eis.ConfigurationModel;
+import de.fraunhofer.iais.eis.Resource;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The interface AsyncConnectorClient defines non-blocking variants of the requests of the
+ * {@link DefaultConnectorClient}, which are used in the UI controllers.
+ * The returned futures are completed by the threads of the http client, so the request threads
+ * of the configuration manager are not blocked while waiting for the connector. They complete
+ * exceptionally with an {@link java.io.IOException} if the request fails, and cancelling a future
+ * cancels the request. Reads of the self declaration and the configuration model may be served
+ * from the cache or shared with concurrent callers, cancelling their futures does not cancel the
+ * shared request.
+ */
+public interface AsyncConnectorClient {
+
+    /**
+     * This methods tries to connect to the public connector endpoint.
+     *
+     * @return future, completed when the connector answered
+     */
+    CompletableFuture<Void> getConnectorStatus();
+
+    /**
+     * The method returns the current configuration model.
+     *
+     * @return future of the current configuration model
+     */
+    CompletableFuture<ConfigurationModel> getConfiguration();
+
+    /**
+     * The method sends the current configuration model to the target connector.
+     *
+     * @param configurationModel current configuration model that is sent to the target Connector
+     * @return future, true if connector accepted configuration
+     */
+    CompletableFuture<Boolean> sendConfiguration(String configurationModel);
+
+    /**
+     * The method returns the self declaration of the connector.
+     *
+     * @return future of the self declaration
+     */
+    CompletableFuture<BaseConnector> getSelfDeclaration();
+
+    /**
+     * This method returns the self declaration of a remote connector.
+     *
+     * @param accessURL  url of the connector
+     * @param resourceId id of the resource
+     * @return future of the base connector
+     */
+    CompletableFuture<BaseConnector> getBaseConnector(String accessURL, String resourceId);
+
+    /**
+     * This method returns a resource of a remote connector.
+     *
+     * @param accessURL  url of the connector
+     * @param resourceId id of the resource
+     * @return future of the resource
+     */
+    CompletableFuture<Resource> getRequestedResource(String accessURL, String resourceId);
+
+    /**
+     * This method requests a contract agreement from a remote connector.
+     *
+     * @param recipientId         url of the connector
+     * @param requestedArtifactId id of the requested artifact
+     * @param contractOffer       contract offer for the requested artifact
+     * @return future of the response of the connector
+     */
+    CompletableFuture<String> requestContractAgreement(String recipientId, String requestedArtifactId,
+                                                       String contractOffer);
+
+    /**
+     * The method returns the pattern of the given policy.
+     *
+     * @param policy the policy
+     * @return future of the policy pattern
+     */
+    CompletableFuture<String> getPolicyPattern(String policy);
+
+    /**
+     * The method returns the self declaration of the connector as the connector sent it,
+     * without deserializing it.
+     *
+     * @return future of the response of the connector, completed when its headers arrived
+     */
+    CompletableFuture<PassThroughResponse> getSelfDeclarationPassThrough();
+
+    /**
+     * This method returns the self declaration of a remote connector as the connector sent it,
+     * without deserializing it.
+     *
+     * @param accessURL url of the connector
+     * @return future of the response of the connector, completed when its headers arrived
+     */
+    CompletableFuture<PassThroughResponse> getBaseConnectorPassThrough(String accessURL);
+}
@@ -8,6 +8,8 @@ import de.fraunhofer.isst.configmanager.communication.dataspaceconnector.model.R
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * The interface DefaultConnectorClient defines methods that are implemented to make
@@ -221,6 +223,32 @@ public interface DefaultConnectorClient {
      */
     String getRequestedResourcesAsJsonString() throws IOException;
 
+    /**
+     * Requests the offered resources of the connector, which are then written as JSON to a
+     * stream. Implementations should stream them without holding the whole self declaration in
+     * memory.
+     *
+     * @return the offered resources, to be written and closed by the caller
+     * @throws IOException if the request fails or the connector does not return its self declaration
+     */
+    default ResourceStream openOfferedResources() throws IOException {
+        final var resources = getOfferedResourcesAsJsonString();
+        return outputStream -> outputStream.write(resources.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Requests the requested resources of the connector, which are then written as JSON to a
+     * stream. Implementations should stream them without holding the whole self declaration in
+     * memory.
+     *
+     * @return the requested resources, to be written and closed by the caller
+     * @throws IOException if the request fails or the connector does not return its self declaration
+     */
+    default ResourceStream openRequestedResources() throws IOException {
+        final var resources = getRequestedResourcesAsJsonString();
+        return outputStream -> outputStream.write(resources.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Sends a contract request to a connector by building an ContractRequestMessage
      *
@@ -230,4 +258,14 @@ public interface DefaultConnectorClient {
      * @return string, contract agreement id
      */
     String requestContractAgreement(String recipientId, String requestedArtifactId, String contractOffer) throws IOException;
+
+    /**
+     * The method returns the statistics of the requests to the connector endpoints, for which
+     * concurrent identical requests are coalesced.
+     *
+     * @return statistics per endpoint, empty if the client does not coalesce requests
+     */
+    default List<RequestStatistics> getRequestStatistics() {
+        return List.of();
+    }
 }
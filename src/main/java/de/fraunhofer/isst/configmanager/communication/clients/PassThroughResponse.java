@@ -0,0 +1,43 @@
+package de.fraunhofer.isst.configmanager.communication.clients;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A response of the connector, which is passed on to the client of the configuration manager
+ * unchanged: its status and content type are kept, and its body is transferred from the
+ * connection to the connector directly to an output stream, without reading it into memory.
+ * The response has to be closed, after its body was transferred or if it is not needed.
+ */
+public interface PassThroughResponse extends Closeable {
+
+    /**
+     * @return the http status code of the response of the connector
+     */
+    int getStatus();
+
+    /**
+     * @return the content type of the response of the connector, null if it has none
+     */
+    String getContentType();
+
+    /**
+     * @return the length of the body in bytes, -1 if it is unknown
+     */
+    long getContentLength();
+
+    /**
+     * Transfer the body of the response to the stream.
+     *
+     * @param outputStream the stream, is not closed
+     * @throws IOException if reading the response or writing the stream fails
+     */
+    void transferTo(OutputStream outputStream) throws IOException;
+
+    /**
+     * Release the connection to the connector.
+     */
+    @Override
+    void close();
+}
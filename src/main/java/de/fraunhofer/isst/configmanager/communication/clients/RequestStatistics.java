@@ -0,0 +1,37 @@
+package de.fraunhofer.isst.configmanager.communication.clients;
+
+import lombok.Getter;
+
+/**
+ * Statistics of the requests of the configuration manager to one endpoint of the connector.
+ */
+@Getter
+public class RequestStatistics {
+
+    /**
+     * The endpoint of the connector.
+     */
+    private final String endpoint;
+
+    /**
+     * Number of requests for the endpoint.
+     */
+    private final long requests;
+
+    /**
+     * Number of calls actually sent to the endpoint.
+     */
+    private final long calls;
+
+    /**
+     * Number of calls saved, because the request joined a call in flight.
+     */
+    private final long saved;
+
+    public RequestStatistics(final String endpoint, final long requests, final long calls, final long saved) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.calls = calls;
+        this.saved = saved;
+    }
+}
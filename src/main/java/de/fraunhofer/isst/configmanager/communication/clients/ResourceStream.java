@@ -0,0 +1,29 @@
+package de.fraunhofer.isst.configmanager.communication.clients;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Resources of the self declaration of the connector, which were requested successfully and are
+ * written as JSON to an output stream while the response of the connector is read.
+ * The stream has to be closed, after the resources were written or if they are not needed.
+ */
+@FunctionalInterface
+public interface ResourceStream extends Closeable {
+
+    /**
+     * Write the resources as JSON to the stream.
+     *
+     * @param outputStream the stream, is not closed
+     * @throws IOException if reading the response or writing the stream fails
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+
+    /**
+     * Release the response of the connector.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,205 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.BaseConnector;
+import de.fraunhofer.iais.eis.ConfigurationModel;
+import de.fraunhofer.iais.eis.Resource;
+import de.fraunhofer.isst.configmanager.communication.clients.AsyncConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.PassThroughResponse;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the interface AsyncConnectorClient for the dataspace connector.
+ * <p>
+ * The requests are built by the {@link DataspaceConnectorClient} and sent with the same
+ * OkHttpClient, but enqueued instead of executed: the dispatcher of the OkHttpClient sends them
+ * and completes the futures, while the calling thread returns immediately.
+ * Since all requests go to the same connector host, the per host limit of the dispatcher
+ * (5 by default) is raised to the configured maximum of concurrent requests.
+ */
+@Slf4j
+@Service
+@ConditionalOnExpression("${dataspace.connector.enabled:false}")
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class DataspaceConnectorAsyncClient implements AsyncConnectorClient {
+
+    transient DataspaceConnectorClient connectorClient;
+
+    @Autowired
+    public DataspaceConnectorAsyncClient(final DataspaceConnectorClient connectorClient,
+                                         final @Value("${dataspace.connector.async.max-requests:64}") int maxRequests) {
+        this.connectorClient = connectorClient;
+
+        final var dispatcher = connectorClient.getClient().dispatcher();
+        dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), maxRequests));
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+    }
+
+    @Override
+    public CompletableFuture<Void> getConnectorStatus() {
+        return enqueue(connectorClient.buildConnectorStatusRequest(), response -> null);
+    }
+
+    @Override
+    public CompletableFuture<ConfigurationModel> getConfiguration() {
+        return connectorClient.getConfigurationFlight().getAsync(() ->
+                enqueue(connectorClient.buildConfigurationRequest(), connectorClient::readConfiguration));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendConfiguration(final String configurationModel) {
+        return enqueue(connectorClient.buildSendConfigurationRequest(configurationModel),
+                connectorClient::readSendConfiguration, true);
+    }
+
+    @Override
+    public CompletableFuture<BaseConnector> getSelfDeclaration() {
+        return connectorClient.getSelfDeclarationCache().getAsync(() ->
+                connectorClient.getSelfDeclarationFlight().getAsync(() ->
+                        enqueue(connectorClient.buildSelfDeclarationRequest(), connectorClient::readSelfDeclaration)));
+    }
+
+    @Override
+    public CompletableFuture<BaseConnector> getBaseConnector(final String accessURL, final String resourceId) {
+        return enqueue(connectorClient.buildDescriptionRequest(accessURL, resourceId),
+                connectorClient::readBaseConnector);
+    }
+
+    @Override
+    public CompletableFuture<Resource> getRequestedResource(final String accessURL, final String resourceId) {
+        return enqueue(connectorClient.buildDescriptionRequest(accessURL, resourceId),
+                connectorClient::readRequestedResource);
+    }
+
+    @Override
+    public CompletableFuture<String> requestContractAgreement(final String recipientId,
+                                                              final String requestedArtifactId,
+                                                              final String contractOffer) {
+        return enqueue(connectorClient.buildContractRequest(recipientId, requestedArtifactId, contractOffer),
+                connectorClient::readContractAgreement);
+    }
+
+    @Override
+    public CompletableFuture<String> getPolicyPattern(final String policy) {
+        return enqueue(connectorClient.buildPolicyPatternRequest(policy), connectorClient::readPolicyPattern);
+    }
+
+    @Override
+    public CompletableFuture<PassThroughResponse> getSelfDeclarationPassThrough() {
+        return enqueuePassThrough(connectorClient.buildSelfDeclarationRequest());
+    }
+
+    @Override
+    public CompletableFuture<PassThroughResponse> getBaseConnectorPassThrough(final String accessURL) {
+        return enqueuePassThrough(connectorClient.buildDescriptionRequest(accessURL, null));
+    }
+
+    /**
+     * Enqueue the request and complete the returned future with the response as soon as its
+     * headers arrived, its body is not read. If the future was cancelled before, the response is
+     * closed.
+     *
+     * @param request the request to send
+     * @return future of the response, which has to be closed by the receiver
+     */
+    private CompletableFuture<PassThroughResponse> enqueuePassThrough(final Request request) {
+        final var future = new CompletableFuture<PassThroughResponse>();
+        final var call = connectorClient.getClient().newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                log.warn("---- [DataspaceConnectorAsyncClient enqueuePassThrough] Request to {} failed: {}", request.url(), e.getMessage());
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                final var passThrough = new OkHttpPassThroughResponse(response);
+                if (!future.complete(passThrough)) {
+                    passThrough.close();
+                }
+            }
+        });
+        cancelOnCancellation(future, call);
+        return future;
+    }
+
+    /**
+     * Enqueue a request which does not change the connector.
+     */
+    private <T> CompletableFuture<T> enqueue(final Request request, final ResponseReader<T> reader) {
+        return enqueue(request, reader, false);
+    }
+
+    /**
+     * Enqueue the request and complete the returned future with the result of the reader, or
+     * exceptionally if the request or the reader fails. Cancelling the future cancels the call.
+     *
+     * @param request the request to send
+     * @param reader  reads the result from the response, on a thread of the dispatcher
+     * @param change  true, if the request changes the connector and the cached self declaration
+     *                has to be invalidated before the future is completed
+     * @param <T>     type of the result
+     * @return future of the result
+     */
+    private <T> CompletableFuture<T> enqueue(final Request request, final ResponseReader<T> reader,
+                                             final boolean change) {
+        final var future = new CompletableFuture<T>();
+        final var call = connectorClient.getClient().newCall(request);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(final Call call, final IOException e) {
+                if (change) {
+                    connectorClient.invalidateReads();
+                }
+                log.warn("---- [DataspaceConnectorAsyncClient enqueue] Request to {} failed: {}", request.url(), e.getMessage());
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(final Call call, final Response response) {
+                if (change) {
+                    connectorClient.invalidateReads();
+                }
+                try (response) {
+                    future.complete(reader.read(response));
+                } catch (IOException | RuntimeException e) {
+                    log.warn("---- [DataspaceConnectorAsyncClient enqueue] Could not read response from {}: {}", request.url(), e.getMessage());
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        cancelOnCancellation(future, call);
+        return future;
+    }
+
+    private static void cancelOnCancellation(final CompletableFuture<?> future, final Call call) {
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+    }
+
+    /**
+     * Reads the result of a request from the response of the connector.
+     *
+     * @param <T> type of the result
+     */
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(Response response) throws IOException;
+    }
+}
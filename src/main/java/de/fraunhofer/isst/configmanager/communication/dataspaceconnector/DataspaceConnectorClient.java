@@ -1,5 +1,7 @@
 package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.fraunhofer.iais.eis.BaseConnector;
@@ -8,6 +10,8 @@ import de.fraunhofer.iais.eis.Representation;
 import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.RequestStatistics;
+import de.fraunhofer.isst.configmanager.communication.clients.ResourceStream;
 import de.fraunhofer.isst.configmanager.communication.dataspaceconnector.model.BackendSource;
 import de.fraunhofer.isst.configmanager.communication.dataspaceconnector.model.ResourceRepresentation;
 import de.fraunhofer.isst.configmanager.util.OkHttpUtils;
@@ -15,15 +19,22 @@ import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * A prototypical implementation of the interface DefaultConnectorClient for the dataspace
@@ -41,7 +52,7 @@ import java.util.UUID;
 @Service
 @ConditionalOnExpression("${dataspace.connector.enabled:false}")
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class DataspaceConnectorClient implements DefaultConnectorClient {
+public class DataspaceConnectorClient implements DefaultConnectorClient, DisposableBean {
     static final Serializer SERIALIZER = new Serializer();
     static final ObjectMapper MAPPER = new ObjectMapper();
 
@@ -62,8 +73,34 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     transient String protocol;
 
-    public DataspaceConnectorClient(final DataSpaceConnectorResourceMapper dataSpaceConnectorResourceMapper) {
+    /**
+     * Runs the background reloads of the self declaration started by blocking reads, so they do not
+     * occupy the threads of the OkHttp dispatcher, which run the asynchronous calls.
+     */
+    transient final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        final var thread = new Thread(runnable, "self-declaration-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    transient final ExpiringValue<BaseConnector> selfDeclaration;
+
+    transient final SingleFlight<BaseConnector> selfDeclarationFlight = new SingleFlight<>("/admin/api/connector");
+
+    transient final SingleFlight<ConfigurationModel> configurationFlight = new SingleFlight<>("/admin/api/configuration");
+
+    @Autowired
+    public DataspaceConnectorClient(final DataSpaceConnectorResourceMapper dataSpaceConnectorResourceMapper,
+                                    final @Value("${dataspace.connector.self-declaration.ttl:5000}") long selfDeclarationTtl,
+                                    final @Value("${dataspace.connector.self-declaration.stale:30000}") long selfDeclarationStale) {
         this.dataSpaceConnectorResourceMapper = dataSpaceConnectorResourceMapper;
+        this.selfDeclaration = new ExpiringValue<>(this::loadSelfDeclaration, refreshExecutor,
+                selfDeclarationTtl, selfDeclarationStale);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
     }
 
     @Autowired
@@ -72,14 +109,89 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         log.info("---- [DataspaceConnectorClient setProtocol] Communication Protocol with DataspaceConnector is: " + protocol);
     }
 
+    /**
+     * The OkHttpClient of this connector client, shared with the {@link DataspaceConnectorAsyncClient}.
+     *
+     * @return the OkHttpClient used for all requests to the connector
+     */
+    OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * The cached self declaration, invalidated by every request changing the connector.
+     *
+     * @return the cache of the self declaration
+     */
+    ExpiringValue<BaseConnector> getSelfDeclarationCache() {
+        return selfDeclaration;
+    }
+
+    /**
+     * The coalescing of concurrent reads of the self declaration.
+     *
+     * @return the single flight of the self declaration endpoint
+     */
+    SingleFlight<BaseConnector> getSelfDeclarationFlight() {
+        return selfDeclarationFlight;
+    }
+
+    /**
+     * The coalescing of concurrent reads of the configuration model.
+     *
+     * @return the single flight of the configuration endpoint
+     */
+    SingleFlight<ConfigurationModel> getConfigurationFlight() {
+        return configurationFlight;
+    }
+
+    @Override
+    public List<RequestStatistics> getRequestStatistics() {
+        return List.of(selfDeclarationFlight.getStatistics(), configurationFlight.getStatistics());
+    }
+
+    /**
+     * Execute a request which changes the resources or the configuration of the connector, and
+     * invalidate the cached self declaration afterwards, also if the request failed. Reads in
+     * flight are not joined anymore, since they may not contain the change.
+     *
+     * @param request the request changing the connector
+     * @return the response of the connector
+     * @throws IOException if the request fails
+     */
+    private Response executeChange(final Request request) throws IOException {
+        try {
+            return client.newCall(request).execute();
+        } finally {
+            invalidateReads();
+        }
+    }
+
+    /**
+     * Stop joining the reads in flight and invalidate the cached self declaration, after the
+     * connector was changed. The reads are detached first: a caller seeing the new generation of
+     * the cache must not join a read started before the change, whose result would be cached.
+     */
+    void invalidateReads() {
+        selfDeclarationFlight.detach();
+        configurationFlight.detach();
+        selfDeclaration.invalidate();
+    }
+
     @Override
     public void getConnectorStatus() throws IOException {
+        client.newCall(buildConnectorStatusRequest()).execute();
+    }
+
+    /**
+     * @return the request to the public connector endpoint
+     */
+    Request buildConnectorStatusRequest() {
         final var connectorUrl = protocol + "://" + dataSpaceConnectorHost + ":" + dataSpaceConnectorPort + "/";
         final var builder = new Request.Builder();
         builder.url(connectorUrl);
         builder.get();
-        final var request = builder.build();
-        client.newCall(request).execute();
+        return builder.build();
     }
 
     @Override
@@ -122,6 +234,16 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public ConfigurationModel getConfiguration() throws IOException {
+        return configurationFlight.get(() -> {
+            final var response = client.newCall(buildConfigurationRequest()).execute();
+            return readConfiguration(response);
+        });
+    }
+
+    /**
+     * @return the request for the configuration model of the connector
+     */
+    Request buildConfigurationRequest() {
         final var builder = new Request.Builder();
         final var connectorUrl =
                 protocol + "://" + dataSpaceConnectorHost + ":" + dataSpaceConnectorPort + "/admin/api" +
@@ -130,12 +252,19 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
                 dataSpaceConnectorApiPassword));
         builder.url(connectorUrl);
         builder.get();
-        final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        return builder.build();
+    }
+
+    /**
+     * @param response the response to the configuration request
+     * @return the deserialized configuration model
+     * @throws IOException if the body can not be read or deserialized
+     */
+    ConfigurationModel readConfiguration(final Response response) throws IOException {
         if (!response.isSuccessful()) {
             log.warn("---- [DataspaceConnectorClient getConfiguration] Could not get ConfigurationModel from {} with user {}. Response: {} - " +
                             "{}",
-                    connectorUrl, dataSpaceConnectorApiUsername, response.code(),
+                    response.request().url(), dataSpaceConnectorApiUsername, response.code(),
                     response.message());
         }
         final var body = Objects.requireNonNull(response.body()).string();
@@ -144,6 +273,27 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public BaseConnector getSelfDeclaration() throws IOException {
+        return selfDeclaration.get();
+    }
+
+    /**
+     * Load the self declaration from the connector, bypassing the cache, but joining a load
+     * which is in flight.
+     *
+     * @return the self declaration of the connector
+     * @throws IOException if the request fails
+     */
+    private BaseConnector loadSelfDeclaration() throws IOException {
+        return selfDeclarationFlight.get(() -> {
+            final var response = client.newCall(buildSelfDeclarationRequest()).execute();
+            return readSelfDeclaration(response);
+        });
+    }
+
+    /**
+     * @return the request for the self declaration of the connector
+     */
+    Request buildSelfDeclarationRequest() {
         final var builder = new Request.Builder();
         final var connectorUrl =
                 protocol + "://" + dataSpaceConnectorHost + ":" + dataSpaceConnectorPort + "/admin/api" +
@@ -152,8 +302,15 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
                 dataSpaceConnectorApiPassword));
         builder.url(connectorUrl);
         builder.get();
-        final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        return builder.build();
+    }
+
+    /**
+     * @param response the response to the self declaration request
+     * @return the deserialized self declaration
+     * @throws IOException if the body can not be read or deserialized
+     */
+    BaseConnector readSelfDeclaration(final Response response) throws IOException {
         if (!response.isSuccessful()) {
             log.warn("---- [DataspaceConnectorClient getSelfDeclaration] Could not get BaseConnector");
         }
@@ -164,40 +321,93 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public String getOfferedResourcesAsJsonString() throws IOException {
-        final var baseConnectorNode = getJsonNodeOfBaseConnector();
-        final var offeredResourceNode = baseConnectorNode.findValue("ids:offeredResource");
-        return offeredResourceNode.toString();
+        return readSelfDeclarationField("ids:offeredResource");
     }
 
     @Override
     public String getRequestedResourcesAsJsonString() throws IOException {
-        final var baseConnectorNode = getJsonNodeOfBaseConnector();
-        final var requestedResourceNode = baseConnectorNode.findValue("ids:requestedResource");
-        return requestedResourceNode.toString();
+        return readSelfDeclarationField("ids:requestedResource");
     }
 
-    private JsonNode getJsonNodeOfBaseConnector() throws IOException {
-        final var builder = new Request.Builder();
-        final var connectorUrl =
-                protocol + "://" + dataSpaceConnectorHost + ":" + dataSpaceConnectorPort +
-                        "/admin/api/connector";
-        builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
-                dataSpaceConnectorApiPassword));
-        builder.url(connectorUrl);
-        builder.get();
-        final var request = builder.build();
-        final var response = client.newCall(request).execute();
+    @Override
+    public ResourceStream openOfferedResources() throws IOException {
+        return openSelfDeclarationField("ids:offeredResource");
+    }
+
+    @Override
+    public ResourceStream openRequestedResources() throws IOException {
+        return openSelfDeclarationField("ids:requestedResource");
+    }
+
+    private String readSelfDeclarationField(final String fieldName) throws IOException {
+        final var outputStream = new ByteArrayOutputStream();
+        try (var resources = openSelfDeclarationField(fieldName)) {
+            resources.writeTo(outputStream);
+        }
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Fetch the self declaration of the connector. The value of the first field with the given
+     * name is copied to the output stream, while the response is read: the self declaration is
+     * neither buffered nor parsed into a tree. If the field is missing, an empty array is written.
+     *
+     * @param fieldName name of the field, e.g. ids:offeredResource
+     * @return the value of the field, to be written and closed by the caller
+     * @throws IOException if the request fails or the connector does not answer successfully
+     */
+    private ResourceStream openSelfDeclarationField(final String fieldName) throws IOException {
+        final var response = client.newCall(buildSelfDeclarationRequest()).execute();
         if (!response.isSuccessful()) {
-            log.warn("---- [DataspaceConnectorClient getJsonNodeOfBaseConnector] Could not get BaseConnector");
+            response.close();
+            log.warn("---- [DataspaceConnectorClient openSelfDeclarationField] Could not get BaseConnector");
+            throw new IOException("Could not get the self declaration, the connector answered with status "
+                    + response.code());
         }
-        final var body = Objects.requireNonNull(response.body()).string();
-        final var mapper = new ObjectMapper();
-        return mapper.readTree(body);
+        return new ResourceStream() {
+            @Override
+            public void writeTo(final OutputStream outputStream) throws IOException {
+                try (var generator = createGenerator(outputStream)) {
+                    copySelfDeclarationField(response, fieldName, generator);
+                }
+            }
+
+            @Override
+            public void close() {
+                response.close();
+            }
+        };
+    }
+
+    private static JsonGenerator createGenerator(final OutputStream outputStream) throws IOException {
+        final var generator = MAPPER.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        //the stream belongs to the caller, e.g. the http response
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
     }
 
+    private static void copySelfDeclarationField(final Response response, final String fieldName,
+                                                 final JsonGenerator generator) throws IOException {
+        try (var parser = MAPPER.getFactory().createParser(Objects.requireNonNull(response.body()).byteStream())) {
+            if (!JsonFieldExtractor.copyFirstValue(parser, fieldName, generator)) {
+                log.info("---- [DataspaceConnectorClient copySelfDeclarationField] No " + fieldName + " in BaseConnector");
+                generator.writeStartArray();
+                generator.writeEndArray();
+            }
+        }
+    }
 
     @Override
     public boolean sendConfiguration(final String configurationModel) throws IOException {
+        final var response = executeChange(buildSendConfigurationRequest(configurationModel));
+        return readSendConfiguration(response);
+    }
+
+    /**
+     * @param configurationModel the serialized configuration model
+     * @return the request sending the configuration model to the connector
+     */
+    Request buildSendConfigurationRequest(final String configurationModel) {
         log.info(String.format("---- [DataspaceConnectorClient sendConfiguration] sending new configuration to %s", dataSpaceConnectorHost));
         final var builder = new Request.Builder();
         builder.url(protocol + "://" + dataSpaceConnectorHost + ":" + dataSpaceConnectorPort + "/admin" +
@@ -206,8 +416,15 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
                 "/ld+json")));
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
-        final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        return builder.build();
+    }
+
+    /**
+     * @param response the response to the configuration update
+     * @return true, if the connector accepted the configuration model
+     */
+    boolean readSendConfiguration(final Response response) {
+        response.close();
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient sendConfiguration] Updating ConfigurationModel at %s failed!",
                     dataSpaceConnectorHost));
@@ -218,6 +435,16 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public BaseConnector getBaseConnector(final String accessURL, final String resourceId) throws IOException {
+        final var response = client.newCall(buildDescriptionRequest(accessURL, resourceId)).execute();
+        return readBaseConnector(response);
+    }
+
+    /**
+     * @param accessURL  the access url of the remote connector
+     * @param resourceId the id of the requested resource, may be null or blank
+     * @return the description request for the remote connector
+     */
+    Request buildDescriptionRequest(final String accessURL, final String resourceId) {
         final var builder = new Request.Builder();
         final var urlBuilder = new HttpUrl.Builder()
                 .scheme(protocol)
@@ -234,8 +461,15 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         builder.post(RequestBody.create(null, new byte[0]));
-        final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        return builder.build();
+    }
+
+    /**
+     * @param response the response to the description request
+     * @return the deserialized description of the remote connector
+     * @throws IOException if the body can not be read or deserialized
+     */
+    BaseConnector readBaseConnector(final Response response) throws IOException {
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient getBaseConnector] Could not get BaseConnector from %s!",
                     dataSpaceConnectorHost));
@@ -246,21 +480,16 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public Resource getRequestedResource(String accessURL, String resourceId) throws IOException {
-        var builder = new Request.Builder();
-        var urlBuilder = new HttpUrl.Builder()
-                .scheme(protocol)
-                .host(dataSpaceConnectorHost)
-                .port(dataSpaceConnectorPort)
-                .addPathSegments("admin/api/request/description")
-                .addQueryParameter("recipient", accessURL)
-                .addQueryParameter("requestedResource", resourceId);
-        var url = urlBuilder.build();
-        log.info(url.toString());
-        builder.url(url);
-        builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername, dataSpaceConnectorApiPassword));
-        builder.post(RequestBody.create(null, new byte[0]));
-        var request = builder.build();
-        var response = client.newCall(request).execute();
+        var response = client.newCall(buildDescriptionRequest(accessURL, resourceId)).execute();
+        return readRequestedResource(response);
+    }
+
+    /**
+     * @param response the response to the description request for a single resource
+     * @return the deserialized resource
+     * @throws IOException if the body can not be read or deserialized
+     */
+    Resource readRequestedResource(final Response response) throws IOException {
         if (!response.isSuccessful()) {
             log.warn(String.format("Could not get BaseConnector from %s!", dataSpaceConnectorHost));
         }
@@ -275,6 +504,17 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public String requestContractAgreement(String recipientId, String requestedArtifactId, String contractOffer) throws IOException {
+        var response = client.newCall(buildContractRequest(recipientId, requestedArtifactId, contractOffer)).execute();
+        return readContractAgreement(response);
+    }
+
+    /**
+     * @param recipientId         the access url of the remote connector
+     * @param requestedArtifactId the id of the requested artifact
+     * @param contractOffer       the contract offer, may be null or blank
+     * @return the contract request for the remote connector
+     */
+    Request buildContractRequest(String recipientId, String requestedArtifactId, String contractOffer) {
         log.info("Request contract agreement with recipient: {} and artifact: {}", recipientId, requestedArtifactId);
         var builder = new Request.Builder();
         var urlBuilder = new HttpUrl.Builder()
@@ -293,8 +533,15 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         } else {
             builder.post(RequestBody.create(null, new byte[0]));
         }
-        var request = builder.build();
-        var response = client.newCall(request).execute();
+        return builder.build();
+    }
+
+    /**
+     * @param response the response to the contract request
+     * @return the body of the response
+     * @throws IOException if the body can not be read
+     */
+    String readContractAgreement(final Response response) throws IOException {
         if (!response.isSuccessful()) {
             log.warn("Could not request contract agreement");
         }
@@ -326,7 +573,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient registerResource] Registering Resource at %s failed!",
                     dataSpaceConnectorHost));
@@ -347,7 +594,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient deleteResource] Deleting Resource at %s failed!", dataSpaceConnectorHost));
         }
@@ -420,7 +667,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient deleteResourceRepresentation] Deleting Representation at %s failed!",
                     dataSpaceConnectorHost));
@@ -457,7 +704,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient registerResourceRepresentation] Registering Representation at %s failed!",
                     dataSpaceConnectorHost));
@@ -500,7 +747,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient updateResourceRepresentation] Updating Representation at %s failed!",
                     dataSpaceConnectorHost));
@@ -530,7 +777,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient updateCustomResourceRepresentation] Updating custom resource Representation at %s failed!",
                     dataSpaceConnectorHost));
@@ -554,7 +801,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient updateResourceContract] Updating Contract at %s failed!", dataSpaceConnectorHost));
         }
@@ -565,6 +812,15 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
 
     @Override
     public String getPolicyPattern(final String policy) throws IOException {
+        final var response = client.newCall(buildPolicyPatternRequest(policy)).execute();
+        return readPolicyPattern(response);
+    }
+
+    /**
+     * @param policy the policy to validate
+     * @return the policy validation request
+     */
+    Request buildPolicyPatternRequest(final String policy) {
         log.info(String.format("---- [DataspaceConnectorClient getPolicyPattern] Get pattern for policy"));
         final var builder = new Request.Builder();
         builder.url(protocol + "://" + dataSpaceConnectorHost + ":" + dataSpaceConnectorPort + "/admin" +
@@ -572,8 +828,15 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.post(RequestBody.create(policy, okhttp3.MediaType.parse("application/ld+json")));
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
-        final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        return builder.build();
+    }
+
+    /**
+     * @param response the response to the policy validation request
+     * @return the body of the response
+     * @throws IOException if the body can not be read
+     */
+    String readPolicyPattern(final Response response) throws IOException {
         if (!response.isSuccessful()) {
             log.warn("---- Pattern for policy could not be determined");
         }
@@ -622,7 +885,7 @@ public class DataspaceConnectorClient implements DefaultConnectorClient {
         builder.header("Authorization", Credentials.basic(dataSpaceConnectorApiUsername,
                 dataSpaceConnectorApiPassword));
         final var request = builder.build();
-        final var response = client.newCall(request).execute();
+        final var response = executeChange(request);
         if (!response.isSuccessful()) {
             log.warn(String.format("---- [DataspaceConnectorClient updateResource] Updating Resource at %s failed!", dataSpaceConnectorHost));
         }
@@ -0,0 +1,225 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A single value loaded from the connector, which is cached for a time to live and served stale
+ * while it is revalidated.
+ * <p>
+ * Within the time to live the cached value is returned. After that, for the stale window, the
+ * cached value is still returned, but a reload is started in the background (at most one at a
+ * time): {@link #get()} runs the loader on the refresh executor, {@link #getAsync(Supplier)} starts
+ * the given asynchronous loader, so it never blocks a thread. Older values are loaded by the caller.
+ * {@link #invalidate()} drops the cached value, and loads started before the invalidation are
+ * not cached anymore, so a value loaded concurrently with a change at the connector is never
+ * served after the change.
+ * A time to live of zero disables the cache, every call loads the value.
+ *
+ * @param <T> type of the value
+ */
+@Slf4j
+public class ExpiringValue<T> {
+
+    private final Loader<T> loader;
+    private final Executor refreshExecutor;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final LongSupplier clock;
+
+    private T value;
+    private long loadedAt;
+    private boolean present;
+    private boolean refreshing;
+    private long generation;
+
+    /**
+     * @param loader          loads the value from the connector
+     * @param refreshExecutor runs the background reloads started by {@link #get()}, which block while loading
+     * @param ttlMillis       time to live of a loaded value in milliseconds, 0 disables the cache
+     * @param staleMillis     time after the time to live, in which the value is served while it is reloaded
+     */
+    public ExpiringValue(final Loader<T> loader, final Executor refreshExecutor, final long ttlMillis,
+                         final long staleMillis) {
+        this(loader, refreshExecutor, ttlMillis, staleMillis, System::nanoTime);
+    }
+
+    ExpiringValue(final Loader<T> loader, final Executor refreshExecutor, final long ttlMillis,
+                  final long staleMillis, final LongSupplier clock) {
+        if (ttlMillis < 0 || staleMillis < 0) {
+            throw new IllegalArgumentException("Time to live and stale window must not be negative!");
+        }
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos(staleMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * Get the cached value, or load it if there is none or it is older than the stale window.
+     *
+     * @return the value
+     * @throws IOException if the value has to be loaded and loading fails
+     */
+    public T get() throws IOException {
+        final long loadGeneration;
+        T cached = null;
+        boolean servable;
+        boolean refresh = false;
+        synchronized (this) {
+            servable = isServable();
+            if (servable) {
+                cached = value;
+                refresh = claimRefresh();
+            }
+            loadGeneration = generation;
+        }
+        if (servable) {
+            if (refresh) {
+                startRefresh(loadGeneration);
+            }
+            return cached;
+        }
+        final var start = clock.getAsLong();
+        final var loaded = loader.load();
+        store(loaded, start, loadGeneration);
+        return loaded;
+    }
+
+    /**
+     * Get the cached value, or load it asynchronously if there is none or it is older than the
+     * stale window. The loaded value is cached like the values of {@link #get()}.
+     *
+     * @param asyncLoader starts loading the value without blocking, e.g. by enqueueing the request
+     * @return future of the value, completed immediately if the cached value can be served
+     */
+    public CompletableFuture<T> getAsync(final Supplier<CompletableFuture<T>> asyncLoader) {
+        final long loadGeneration;
+        T cached = null;
+        boolean servable;
+        boolean refresh = false;
+        synchronized (this) {
+            servable = isServable();
+            if (servable) {
+                cached = value;
+                refresh = claimRefresh();
+            }
+            loadGeneration = generation;
+        }
+        if (servable) {
+            if (refresh) {
+                startAsyncRefresh(loadGeneration, asyncLoader);
+            }
+            return CompletableFuture.completedFuture(cached);
+        }
+        final var start = clock.getAsLong();
+        return asyncLoader.get().thenApply(loaded -> {
+            store(loaded, start, loadGeneration);
+            return loaded;
+        });
+    }
+
+    /**
+     * Drop the cached value. Loads which are running are not cached.
+     */
+    public synchronized void invalidate() {
+        value = null;
+        present = false;
+        generation++;
+    }
+
+    /**
+     * Check whether the cached value can be served. Must be called holding the lock.
+     */
+    private boolean isServable() {
+        if (!present || ttlNanos == 0) {
+            return false;
+        }
+        final var age = clock.getAsLong() - loadedAt;
+        return age < ttlNanos + staleNanos;
+    }
+
+    /**
+     * Check whether the servable cached value is stale and no reload is running, the caller has to
+     * start the reload after releasing the lock. Must be called holding the lock.
+     */
+    private boolean claimRefresh() {
+        if (refreshing || clock.getAsLong() - loadedAt < ttlNanos) {
+            return false;
+        }
+        refreshing = true;
+        return true;
+    }
+
+    private void startRefresh(final long refreshGeneration) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    final var start = clock.getAsLong();
+                    store(loader.load(), start, refreshGeneration);
+                } catch (IOException | RuntimeException e) {
+                    //keep serving the stale value until it is too old
+                    log.warn("---- [ExpiringValue refresh] Could not reload the value: " + e.getMessage());
+                } finally {
+                    finishRefresh();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("---- [ExpiringValue refresh] Could not start reload: " + e.getMessage());
+            finishRefresh();
+        }
+    }
+
+    private void startAsyncRefresh(final long refreshGeneration, final Supplier<CompletableFuture<T>> asyncLoader) {
+        final var start = clock.getAsLong();
+        final CompletableFuture<T> refresh;
+        try {
+            refresh = asyncLoader.get();
+        } catch (RuntimeException e) {
+            log.warn("---- [ExpiringValue refresh] Could not start reload: " + e.getMessage());
+            finishRefresh();
+            return;
+        }
+        refresh.whenComplete((loaded, throwable) -> {
+            if (throwable == null) {
+                store(loaded, start, refreshGeneration);
+            } else {
+                //keep serving the stale value until it is too old
+                log.warn("---- [ExpiringValue refresh] Could not reload the value: " + throwable.getMessage());
+            }
+            finishRefresh();
+        });
+    }
+
+    private synchronized void finishRefresh() {
+        refreshing = false;
+    }
+
+    private synchronized void store(final T loaded, final long start, final long loadGeneration) {
+        if (ttlNanos == 0 || loadGeneration != generation || (present && loadedAt - start > 0)) {
+            //cache disabled, invalidated while loading, or a newer load was stored already
+            return;
+        }
+        value = loaded;
+        loadedAt = start;
+        present = true;
+    }
+
+    /**
+     * Loads the value from the connector.
+     *
+     * @param <T> type of the value
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+}
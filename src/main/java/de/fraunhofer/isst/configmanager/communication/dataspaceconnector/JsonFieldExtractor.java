@@ -0,0 +1,47 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Extracts the value of a field from a JSON document while it is parsed, without building a
+ * tree of the document: the tokens before the field are skipped, the value of the field is
+ * copied token by token to a generator, the rest of the document is not read.
+ * The memory needed does not depend on the size of the document.
+ */
+public final class JsonFieldExtractor {
+
+    private JsonFieldExtractor() {
+    }
+
+    /**
+     * Copy the value of the first field with the given name to the generator. The fields are
+     * searched in document order at any depth. Unlike
+     * {@link com.fasterxml.jackson.databind.JsonNode#findValue(String)}, a field of an enclosing
+     * object which comes later in the document is not preferred, which would need the whole
+     * object in memory. For the fields of the resource catalogs of a self declaration, which
+     * only occur in the catalogs, the result is the same.
+     *
+     * @param parser    parser of the document, positioned before its first token
+     * @param fieldName name of the field
+     * @param generator generator the value is written to
+     * @return true, if the field was found and its value copied
+     * @throws IOException if reading the document or writing the value fails
+     */
+    public static boolean copyFirstValue(final JsonParser parser, final String fieldName,
+                                         final JsonGenerator generator) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && fieldName.equals(parser.getCurrentName())) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+                generator.flush();
+                return true;
+            }
+        }
+        return false;
+    }
+}
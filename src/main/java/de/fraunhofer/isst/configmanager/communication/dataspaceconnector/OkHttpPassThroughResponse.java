@@ -0,0 +1,55 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import de.fraunhofer.isst.configmanager.communication.clients.PassThroughResponse;
+import okhttp3.Response;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A PassThroughResponse for a response of the OkHttpClient. The body is moved from the source of
+ * the connection to the output stream segment by segment, without copying it into an array or
+ * String first.
+ */
+final class OkHttpPassThroughResponse implements PassThroughResponse {
+
+    private final Response response;
+
+    OkHttpPassThroughResponse(final Response response) {
+        this.response = response;
+    }
+
+    @Override
+    public int getStatus() {
+        return response.code();
+    }
+
+    @Override
+    public String getContentType() {
+        final var body = response.body();
+        if (body == null || body.contentType() == null) {
+            return null;
+        }
+        return body.contentType().toString();
+    }
+
+    @Override
+    public long getContentLength() {
+        final var body = response.body();
+        return body == null ? 0 : body.contentLength();
+    }
+
+    @Override
+    public void transferTo(final OutputStream outputStream) throws IOException {
+        final var body = response.body();
+        if (body != null) {
+            body.source().readAll(Okio.sink(outputStream));
+        }
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+}
@@ -0,0 +1,150 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import de.fraunhofer.isst.configmanager.communication.clients.RequestStatistics;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads from one connector endpoint: while a call is in flight,
+ * further callers do not start their own call, but wait for the running one and share its
+ * parsed result (or its failure). Callers arriving after the call completed start a new one,
+ * so no result is served which was requested before the caller arrived, unless the caller
+ * joined the call.
+ * <p>
+ * {@link #detach()} lets callers arriving afterwards start a new call, it is used when the
+ * connector was changed while a read was in flight.
+ * The number of requests and of calls actually sent is counted for the statistics of the endpoint.
+ *
+ * @param <T> type of the parsed result
+ */
+public class SingleFlight<T> {
+
+    private final String endpoint;
+    private CompletableFuture<T> inFlight;
+    private long requests;
+    private long calls;
+
+    /**
+     * @param endpoint name of the endpoint for the statistics, e.g. its path
+     */
+    public SingleFlight(final String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Load the result on the calling thread, or wait for the call in flight.
+     *
+     * @param loader sends the call and parses the result
+     * @return the result of the call this caller started or joined
+     * @throws IOException if the call fails
+     */
+    public T get(final ExpiringValue.Loader<T> loader) throws IOException {
+        final CompletableFuture<T> joined;
+        final CompletableFuture<T> started;
+        synchronized (this) {
+            requests++;
+            if (inFlight != null) {
+                joined = inFlight;
+                started = null;
+            } else {
+                calls++;
+                joined = null;
+                started = new CompletableFuture<>();
+                inFlight = started;
+            }
+        }
+        if (started == null) {
+            return await(joined);
+        }
+        try {
+            final var result = loader.load();
+            finish(started);
+            started.complete(result);
+            return result;
+        } catch (Throwable e) {
+            //also errors complete the call, otherwise all later callers would join it forever
+            finish(started);
+            started.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Start the asynchronous call, or join the call in flight.
+     *
+     * @param call starts the call, its future is completed with the parsed result
+     * @return future of the result, completed exceptionally if the call can not be started,
+     * cancelling it does not cancel the shared call
+     */
+    public CompletableFuture<T> getAsync(final Supplier<CompletableFuture<T>> call) {
+        final CompletableFuture<T> started;
+        synchronized (this) {
+            requests++;
+            if (inFlight != null) {
+                return inFlight.copy();
+            }
+            calls++;
+            started = new CompletableFuture<>();
+            inFlight = started;
+        }
+        try {
+            call.get().whenComplete((result, throwable) -> {
+                finish(started);
+                if (throwable != null) {
+                    started.completeExceptionally(throwable);
+                } else {
+                    started.complete(result);
+                }
+            });
+        } catch (Throwable e) {
+            //the call could not be started, e.g. the request could not be built
+            finish(started);
+            started.completeExceptionally(e);
+        }
+        return started.copy();
+    }
+
+    /**
+     * Let callers arriving from now on start a new call, callers which joined the call in flight
+     * still get its result.
+     */
+    public synchronized void detach() {
+        inFlight = null;
+    }
+
+    /**
+     * @return the number of requests, calls sent and calls saved for this endpoint
+     */
+    public synchronized RequestStatistics getStatistics() {
+        return new RequestStatistics(endpoint, requests, calls, requests - calls);
+    }
+
+    private synchronized void finish(final CompletableFuture<T> call) {
+        if (inFlight == call) {
+            inFlight = null;
+        }
+    }
+
+    private static <T> T await(final CompletableFuture<T> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the connector", e);
+        } catch (ExecutionException e) {
+            final var cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package de.fraunhofer.isst.configmanager.configmanagement.entities.verification;
+
+import de.fraunhofer.isst.configmanager.petrinet.checker.CheckResult;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Job verifying the PetriNet of an app route, the results of the checked properties are added while the
+ * job is running. Listeners are notified about every change of the job, e.g. to stream its progress.
+ * They are notified without holding the lock of the job, so a slow listener does not block readers of the job,
+ * and a listener failing with an exception is removed.
+ */
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class VerificationJob {
+    final UUID id = UUID.randomUUID();
+    final URI routeId;
+    final String contentHash;
+    final int propertyCount;
+    final boolean cached;
+    @Getter(AccessLevel.NONE)
+    final VerificationJob shared;
+    final long submitted = System.currentTimeMillis();
+    VerificationStatus status;
+    List<CheckResult> results = new ArrayList<>();
+    String error;
+
+    @Getter(AccessLevel.NONE)
+    final List<Consumer<VerificationJob>> listeners = new ArrayList<>();
+
+    /**
+     * Create a queued job.
+     *
+     * @param routeId       id of the verified app route
+     * @param contentHash   hash of the verified PetriNet
+     * @param propertyCount number of properties to check
+     */
+    public VerificationJob(final URI routeId, final String contentHash, final int propertyCount) {
+        this.routeId = routeId;
+        this.contentHash = contentHash;
+        this.propertyCount = propertyCount;
+        this.cached = false;
+        this.shared = null;
+        this.status = VerificationStatus.QUEUED;
+    }
+
+    /**
+     * Create a job for an app route with the same content as an earlier job. If the earlier job is finished,
+     * the job is completed with its cached results, otherwise the job shows the state of the earlier job
+     * while it is running.
+     *
+     * @param routeId id of the verified app route
+     * @param earlier the completed, queued or running job with the same content hash
+     */
+    public VerificationJob(final URI routeId, final VerificationJob earlier) {
+        this.routeId = routeId;
+        this.contentHash = earlier.getContentHash();
+        this.propertyCount = earlier.getPropertyCount();
+        this.cached = true;
+        if (earlier.isFinished()) {
+            this.shared = null;
+            this.status = VerificationStatus.COMPLETED;
+            this.results = earlier.getResults();
+        } else {
+            this.shared = earlier;
+        }
+    }
+
+    public synchronized VerificationStatus getStatus() {
+        return shared == null ? status : shared.getStatus();
+    }
+
+    public synchronized List<CheckResult> getResults() {
+        return shared == null ? List.copyOf(results) : shared.getResults();
+    }
+
+    public synchronized String getError() {
+        return shared == null ? error : shared.getError();
+    }
+
+    /**
+     * @return true if the job is completed or failed
+     */
+    public synchronized boolean isFinished() {
+        final var current = getStatus();
+        return current == VerificationStatus.COMPLETED || current == VerificationStatus.FAILED;
+    }
+
+    /**
+     * Add a listener, which is called with the current state of the job and after every change.
+     * A listener throwing an exception is not called anymore.
+     *
+     * @param listener the listener
+     */
+    public void addListener(final Consumer<VerificationJob> listener) {
+        if (shared != null) {
+            shared.addListener(changed -> listener.accept(this));
+            return;
+        }
+        synchronized (this) {
+            if (!isFinished()) {
+                listeners.add(listener);
+            }
+        }
+        notifyListeners(List.of(listener));
+    }
+
+    public void start() {
+        synchronized (this) {
+            status = VerificationStatus.RUNNING;
+        }
+        changed();
+    }
+
+    public void addResult(final CheckResult result) {
+        synchronized (this) {
+            results.add(result);
+        }
+        changed();
+    }
+
+    public void complete() {
+        synchronized (this) {
+            status = VerificationStatus.COMPLETED;
+        }
+        changed();
+    }
+
+    public void fail(final String message) {
+        synchronized (this) {
+            status = VerificationStatus.FAILED;
+            error = message;
+        }
+        changed();
+    }
+
+    private void changed() {
+        final List<Consumer<VerificationJob>> notified;
+        synchronized (this) {
+            notified = List.copyOf(listeners);
+            if (isFinished()) {
+                listeners.clear();
+            }
+        }
+        notifyListeners(notified);
+    }
+
+    private void notifyListeners(final List<Consumer<VerificationJob>> notified) {
+        for (final var listener : notified) {
+            try {
+                listener.accept(this);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    listeners.remove(listener);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package de.fraunhofer.isst.configmanager.configmanagement.entities.verification;
+
+/**
+ * Enums for the status of a route verification job
+ */
+public enum VerificationStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -28,6 +28,7 @@ public class AppRouteService {
     transient ConfigModelService configModelService;
     transient EndpointService endpointService;
     transient ResourceService resourceService;
+    transient PetriNetService petriNetService;
 
     transient RouteDeployMethodRepository routeDeployMethodRepository;
     transient EndpointInformationRepository endpointInformationRepository;
@@ -39,13 +40,15 @@ public class AppRouteService {
                            final EndpointInformationRepository endpointInformationRepository,
                            final CustomAppRepository customAppRepository,
                            final EndpointService endpointService,
-                           final ResourceService resourceService) {
+                           final ResourceService resourceService,
+                           final PetriNetService petriNetService) {
         this.configModelService = configModelService;
         this.routeDeployMethodRepository = routeDeployMethodRepository;
         this.endpointInformationRepository = endpointInformationRepository;
         this.customAppRepository = customAppRepository;
         this.endpointService = endpointService;
         this.resourceService = resourceService;
+        this.petriNetService = petriNetService;
     }
 
     /**
@@ -115,6 +118,7 @@ public class AppRouteService {
             }
             appRouteImpl.setRouteDeployMethod(deployMethod);
             configModelService.saveState();
+            petriNetService.routeChanged(routeId);
             updated = true;
         }
         return updated;
@@ -133,6 +137,7 @@ public class AppRouteService {
             deleted = configModelService.getConfigModel().getAppRoute().remove(appRoute);
             if (deleted) {
                 configModelService.saveState();
+                petriNetService.routeChanged(routeId);
             }
         }
         return deleted;
@@ -274,6 +279,7 @@ public class AppRouteService {
                 }
                 routeSteps.add(routeStep);
                 configModelService.saveState();
+                petriNetService.routeStepCreated(routeId, routeStep);
             }
         }
         return routeStep;
@@ -357,6 +363,7 @@ public class AppRouteService {
                     appRouteImpl.getHasSubRoute().removeIf(routeStep -> routeStep.getId().equals(routeStepId));
             if (deleted) {
                 configModelService.saveState();
+                petriNetService.routeStepDeleted(routeId, routeStepId);
             }
         }
         return deleted;
@@ -26,13 +26,16 @@ import java.util.List;
 public class ConfigModelService {
 
     transient final ConfigModelRepository configModelRepository;
+    transient final PetriNetService petriNetService;
     @Getter
     ConfigModelObject configModelObject;
 
     @Autowired
     public ConfigModelService(final ConfigModelRepository configModelRepository,
-                              final DefaultConnectorClient client) {
+                              final DefaultConnectorClient client,
+                              final PetriNetService petriNetService) {
         this.configModelRepository = configModelRepository;
+        this.petriNetService = petriNetService;
         log.warn("---- [ConfigModelService] Initial StartUp! Trying to get current Configuration from Connector!");
         try {
             updateConfigModel(client.getConfiguration());
@@ -129,6 +132,7 @@ public class ConfigModelService {
         configModelRepository.deleteAll();
         configModelObject =
                 configModelRepository.saveAndFlush(new ConfigModelObject(configurationModel));
+        petriNetService.routesReplaced();
     }
 
     /**
@@ -1,19 +1,20 @@
 package de.fraunhofer.isst.configmanager.configmanagement.service;
 
-import de.fraunhofer.iais.eis.BaseConnector;
 import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ResourceCatalog;
-import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.AsyncConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.PassThroughResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service class for managing external connector requests.
@@ -22,10 +23,10 @@ import java.util.List;
 @Slf4j
 public class ConnectorRequestService {
 
-    private final DefaultConnectorClient client;
+    private final AsyncConnectorClient client;
 
     @Autowired
-    public ConnectorRequestService(DefaultConnectorClient client) {
+    public ConnectorRequestService(AsyncConnectorClient client) {
         this.client = client;
     }
 
@@ -33,11 +34,10 @@ public class ConnectorRequestService {
      * This method returns from the connector the requested resources.
      *
      * @param recipientId id of the recipient
-     * @return list of resources
+     * @return future of the list of resources, completed with null if the request failed
      */
-    public List<Resource> requestResourcesFromConnector(URI recipientId) {
-        try {
-            BaseConnector connector = client.getBaseConnector(recipientId.toString(), "");
+    public CompletableFuture<List<Resource>> requestResourcesFromConnector(URI recipientId) {
+        return client.getBaseConnector(recipientId.toString(), "").thenApply(connector -> {
             if (connector != null && connector.getResourceCatalog() != null) {
 
                 List<Resource> resourceList = new ArrayList<>();
@@ -51,10 +51,7 @@ public class ConnectorRequestService {
                 log.info("Could not determine the resources of the connector");
                 return null;
             }
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            return null;
-        }
+        }).exceptionally(this::logFailure);
     }
 
     /**
@@ -62,22 +59,15 @@ public class ConnectorRequestService {
      *
      * @param recipientId         id of the recipient
      * @param requestedResourceId id of the requested resource
-     * @return resource
+     * @return future of the resource, completed with null if the request failed
      */
-    public Resource requestResource(URI recipientId, URI requestedResourceId) {
-
-        try {
-            Resource resource = client.getRequestedResource(recipientId.toString(), requestedResourceId.toString());
-            if (resource != null) {
-                return resource;
-            } else {
+    public CompletableFuture<Resource> requestResource(URI recipientId, URI requestedResourceId) {
+        return client.getRequestedResource(recipientId.toString(), requestedResourceId.toString()).thenApply(resource -> {
+            if (resource == null) {
                 log.info("Could not determine resource");
-                return null;
             }
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            return null;
-        }
+            return resource;
+        }).exceptionally(this::logFailure);
     }
 
     /**
@@ -86,15 +76,26 @@ public class ConnectorRequestService {
      * @param recipientId         id of the recipient
      * @param requestedArtifactId id of the requested artifact
      * @param contractOffer       contact offer for the requested resource
-     * @return string, contract acgreement id
+     * @return future of the contract agreement id, completed with null if the request failed
+     */
+    public CompletableFuture<String> requestContractAgreement(String recipientId, String requestedArtifactId, String contractOffer) {
+        return client.requestContractAgreement(recipientId, requestedArtifactId, contractOffer)
+                .exceptionally(this::logFailure);
+    }
+
+    /**
+     * This method requests the self declaration of the connector, to pass it on unchanged.
+     *
+     * @param recipientId id of the recipient
+     * @return future of the response of the connector, which has to be closed
      */
-    public String requestContractAgreement(String recipientId, String requestedArtifactId, String contractOffer) {
+    public CompletableFuture<PassThroughResponse> requestRawDescription(URI recipientId) {
+        return client.getBaseConnectorPassThrough(recipientId.toString());
+    }
 
-        try {
-            return client.requestContractAgreement(recipientId, requestedArtifactId, contractOffer);
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-        }
+    private <T> T logFailure(Throwable throwable) {
+        final var cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+        log.error(cause.getMessage(), cause);
         return null;
     }
 }
@@ -0,0 +1,130 @@
+package de.fraunhofer.isst.configmanager.configmanagement.service;
+
+import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.iais.eis.RouteStep;
+import de.fraunhofer.isst.configmanager.petrinet.builder.IncrementalPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationOptions;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationResult;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.StateSpaceExplorer;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.TerminationReason;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class caching the PetriNets of the app routes, which are updated incrementally when route steps
+ * are created or deleted, instead of being built again for every analysis.
+ */
+@Service
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class PetriNetService {
+
+    Map<URI, IncrementalPetriNetBuilder> petriNets = new ConcurrentHashMap<>();
+    int maxStepGraphStates;
+    Duration stepGraphTimeout;
+
+    @Autowired
+    public PetriNetService(@Value("${petrinet.stepgraph.max-states:100000}") final int maxStepGraphStates,
+                           @Value("${petrinet.stepgraph.timeout:30000}") final long stepGraphTimeout) {
+        this.maxStepGraphStates = maxStepGraphStates;
+        this.stepGraphTimeout = Duration.ofMillis(stepGraphTimeout);
+    }
+
+    /**
+     * This method returns the cached PetriNet of an app route, it is built if it is not cached yet.
+     *
+     * @param appRoute the app route
+     * @return the incrementally maintained PetriNet of the app route, with its cached analysis results
+     */
+    public IncrementalPetriNetBuilder getPetriNet(final AppRoute appRoute) {
+        return petriNets.computeIfAbsent(appRoute.getId(), id -> {
+            log.info("---- [PetriNetService getPetriNet] Building PetriNet of app route " + id);
+            return new IncrementalPetriNetBuilder(appRoute, false);
+        });
+    }
+
+    /**
+     * This method returns the StepGraph of an app route, explored up to the given number of states, at most
+     * up to the configured maximum and for at most the configured time. Only the StepGraph with the maximum
+     * number of states is cached with the PetriNet until the app route changes, smaller ones are explored
+     * for every call. A StepGraph cut off by the timeout or a cancellation is not cached.
+     *
+     * @param appRoute  the app route
+     * @param maxStates maximum number of states of the StepGraph
+     * @return the StepGraph of the PetriNet of the app route and the reason why its exploration stopped
+     */
+    public ExplorationResult getStepGraph(final AppRoute appRoute, final int maxStates) {
+        final var petriNet = getPetriNet(appRoute);
+        if (maxStates < maxStepGraphStates) {
+            return exploreStepGraph(appRoute, petriNet, maxStates);
+        }
+        //the net is compiled by the analysis, after the cache noted its version: a StepGraph of a net
+        //changed meanwhile is not cached
+        return petriNet.getAnalysisCache().get("stepGraph", null,
+                () -> exploreStepGraph(appRoute, petriNet, maxStepGraphStates),
+                result -> result.getTerminationReason() == TerminationReason.COMPLETED
+                        || result.getTerminationReason() == TerminationReason.MAX_STATES);
+    }
+
+    private ExplorationResult exploreStepGraph(final AppRoute appRoute, final IncrementalPetriNetBuilder petriNet,
+                                       final int maxStates) {
+        final var compiled = petriNet.getCompiledPetriNet();
+        final var result = new StateSpaceExplorer(new ExplorationOptions().setMaxStates(maxStates)
+                .setTimeout(stepGraphTimeout)).explore(compiled);
+        log.info("---- [PetriNetService getStepGraph] Explored " + result.getStepGraph().getStepCount()
+                + " states of app route " + appRoute.getId() + ": " + result.getTerminationReason());
+        return result;
+    }
+
+    /**
+     * This method adds a created route step to the cached PetriNet of the app route.
+     *
+     * @param routeId   id of the app route
+     * @param routeStep the created route step
+     */
+    public void routeStepCreated(final URI routeId, final RouteStep routeStep) {
+        final var petriNet = petriNets.get(routeId);
+        if (petriNet != null) {
+            petriNet.addRouteStep(routeStep);
+        }
+    }
+
+    /**
+     * This method removes a deleted route step from the cached PetriNet of the app route.
+     *
+     * @param routeId     id of the app route
+     * @param routeStepId id of the deleted route step
+     */
+    public void routeStepDeleted(final URI routeId, final URI routeStepId) {
+        final var petriNet = petriNets.get(routeId);
+        if (petriNet != null) {
+            petriNet.removeRouteStep(routeStepId);
+        }
+    }
+
+    /**
+     * This method removes the cached PetriNet of an app route, which was changed as a whole.
+     *
+     * @param routeId id of the app route
+     */
+    public void routeChanged(final URI routeId) {
+        petriNets.remove(routeId);
+    }
+
+    /**
+     * This method removes the cached PetriNets of all app routes, after the app routes of the
+     * configuration model were replaced.
+     */
+    public void routesReplaced() {
+        petriNets.clear();
+    }
+}
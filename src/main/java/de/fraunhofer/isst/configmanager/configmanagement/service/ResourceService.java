@@ -4,6 +4,7 @@ import de.fraunhofer.iais.eis.*;
 import de.fraunhofer.iais.eis.util.TypedLiteral;
 import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.ResourceStream;
 import de.fraunhofer.isst.configmanager.configmanagement.entities.configlists.EndpointInformationRepository;
 import de.fraunhofer.isst.configmanager.configmanagement.entities.endpointinfo.EndpointInformation;
 import de.fraunhofer.isst.configmanager.util.CalenderUtil;
@@ -31,16 +32,19 @@ public class ResourceService {
     transient EndpointService endpointService;
     transient EndpointInformationRepository endpointInformationRepository;
     transient DefaultConnectorClient client;
+    transient PetriNetService petriNetService;
 
     @Autowired
     public ResourceService(final ConfigModelService configModelService,
                            final EndpointService endpointService,
                            final EndpointInformationRepository endpointInformationRepository,
-                           final DefaultConnectorClient client) {
+                           final DefaultConnectorClient client,
+                           final PetriNetService petriNetService) {
         this.configModelService = configModelService;
         this.endpointService = endpointService;
         this.endpointInformationRepository = endpointInformationRepository;
         this.client = client;
+        this.petriNetService = petriNetService;
     }
 
     /**
@@ -129,31 +133,25 @@ public class ResourceService {
     }
 
     /**
-     * This method returns all offered resources of a connector as plain json String
+     * This method requests all offered resources of a connector, which are then written as json
+     * to a stream, without holding them in memory.
      *
-     * @return list of resources from the connector
+     * @return the offered resources, to be written and closed by the caller
+     * @throws IOException if the connector can not be reached or does not answer successfully
      */
-    public String getOfferedResourcesAsJsonString() {
-        try {
-            return client.getOfferedResourcesAsJsonString();
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            return null;
-        }
+    public ResourceStream openOfferedResources() throws IOException {
+        return client.openOfferedResources();
     }
 
     /**
-     * This method returns all requested resources of a connector as plain json String
+     * This method requests all requested resources of a connector, which are then written as json
+     * to a stream, without holding them in memory.
      *
-     * @return list of resources from the connector
+     * @return the requested resources, to be written and closed by the caller
+     * @throws IOException if the connector can not be reached or does not answer successfully
      */
-    public String getRequestedResourcesAsJsonString() {
-        try {
-            return client.getRequestedResourcesAsJsonString();
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            return null;
-        }
+    public ResourceStream openRequestedResources() throws IOException {
+        return client.openRequestedResources();
     }
 
     /**
@@ -484,6 +482,7 @@ public class ResourceService {
                 if (endpoint != null) {
                     appRouteImpl.setAppRouteStart(Util.asList(endpoint));
                     foundRouteStep.setAppRouteStart(Util.asList(endpoint));
+                    petriNetService.routeChanged(appRouteImpl.getId());
                 }
             }
         }
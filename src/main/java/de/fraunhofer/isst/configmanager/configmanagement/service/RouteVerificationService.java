@@ -0,0 +1,221 @@
+package de.fraunhofer.isst.configmanager.configmanagement.service;
+
+import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.isst.configmanager.configmanagement.entities.verification.VerificationJob;
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.checker.Property;
+import de.fraunhofer.isst.configmanager.petrinet.checker.PropertyChecker;
+import de.fraunhofer.isst.configmanager.petrinet.checker.Verdict;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationOptions;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationResult;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class verifying the PetriNets of app routes asynchronously. Verifications run as jobs on a bounded
+ * thread pool, so they never block the request threads, and their results are cached by a hash of the
+ * verified PetriNet: verifying an unchanged app route again returns the cached results immediately.
+ */
+@Service
+@Slf4j
+@FieldDefaults(makeFinal = true, level = AccessLevel.PRIVATE)
+public class RouteVerificationService implements DisposableBean {
+
+    private static final int MAX_JOBS = 1000;
+    private static final int MAX_CACHED_RESULTS = 256;
+
+    transient PetriNetService petriNetService;
+    ThreadPoolExecutor executor;
+    int maxStates;
+    Duration timeout;
+
+    /**
+     * Jobs by id, the oldest jobs are removed when there are more than MAX_JOBS.
+     */
+    Map<UUID, VerificationJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, VerificationJob> eldest) {
+            return size() > MAX_JOBS;
+        }
+    });
+
+    /**
+     * Queued, running and completed jobs by content hash, the least recently used ones are removed
+     * when there are more than MAX_CACHED_RESULTS. Failed jobs and jobs with an unknown verdict are not cached.
+     */
+    Map<String, VerificationJob> jobsByContent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, VerificationJob> eldest) {
+            return size() > MAX_CACHED_RESULTS;
+        }
+    });
+
+    @Autowired
+    public RouteVerificationService(final PetriNetService petriNetService,
+                                    @Value("${petrinet.verification.threads:2}") final int threads,
+                                    @Value("${petrinet.verification.queue:32}") final int queueCapacity,
+                                    @Value("${petrinet.verification.max-states:1000000}") final int maxStates,
+                                    @Value("${petrinet.verification.timeout:300000}") final long timeout) {
+        this.petriNetService = petriNetService;
+        this.maxStates = maxStates;
+        this.timeout = Duration.ofMillis(timeout);
+        final var threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    final var thread = new Thread(runnable, "route-verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * This method submits the verification of an app route. If the PetriNet of the app route was verified
+     * before (or is being verified), the job of this verification is reused. The PetriNet is built from the
+     * current content of the app route, so a change which was not propagated to the cached PetriNet of the
+     * app route is never hidden by an earlier verification.
+     *
+     * @param appRoute the app route
+     * @return the verification job
+     * @throws RejectedExecutionException if too many verifications are queued
+     */
+    public VerificationJob submit(final AppRoute appRoute) {
+        final var compiled = new CompiledPetriNet(InfomodelPetriNetBuilder.petriNetFromAppRoute(appRoute, false));
+        final var contentHash = contentHash(compiled);
+        final var properties = properties();
+
+        synchronized (jobsByContent) {
+            final var earlier = jobsByContent.get(contentHash);
+            if (earlier != null) {
+                final var job = new VerificationJob(appRoute.getId(), earlier);
+                log.info("---- [RouteVerificationService submit] Reusing verification of app route " + appRoute.getId()
+                        + " with content hash " + contentHash);
+                jobs.put(job.getId(), job);
+                return job;
+            }
+            final var job = new VerificationJob(appRoute.getId(), contentHash, properties.size());
+            executor.execute(() -> verify(job, compiled, properties));
+            jobs.put(job.getId(), job);
+            jobsByContent.put(contentHash, job);
+            log.info("---- [RouteVerificationService submit] Queued verification job " + job.getId()
+                    + " for app route " + appRoute.getId());
+            return job;
+        }
+    }
+
+    /**
+     * This method explores the StepGraph of an app route on the thread pool of the verifications, see
+     * {@link PetriNetService#getStepGraph(AppRoute, int)}.
+     *
+     * @param appRoute  the app route
+     * @param maxStates maximum number of states of the StepGraph
+     * @return future of the StepGraph and the reason why its exploration stopped
+     * @throws RejectedExecutionException if too many verifications are queued
+     */
+    public CompletableFuture<ExplorationResult> exploreStepGraph(final AppRoute appRoute, final int maxStates) {
+        return CompletableFuture.supplyAsync(() -> petriNetService.getStepGraph(appRoute, maxStates), executor);
+    }
+
+    /**
+     * @param jobId id of a verification job
+     * @return the job, null if there is no job with the given id
+     */
+    public VerificationJob getJob(final UUID jobId) {
+        return jobs.get(jobId);
+    }
+
+    private void verify(final VerificationJob job, final CompiledPetriNet compiled, final List<Property> properties) {
+        job.start();
+        try {
+            final var checker = new PropertyChecker(new ExplorationOptions().setMaxStates(maxStates).setTimeout(timeout));
+            var inconclusive = false;
+            for (final var property : properties) {
+                final var result = checker.check(compiled, property);
+                inconclusive |= result.getVerdict() == Verdict.UNKNOWN;
+                job.addResult(result);
+            }
+            if (inconclusive) {
+                //a check cut off by a limit is not reused, later submits run the verification again
+                jobsByContent.remove(job.getContentHash(), job);
+            }
+            job.complete();
+            log.info("---- [RouteVerificationService verify] Completed verification job " + job.getId());
+        } catch (Throwable e) {
+            //errors like an OutOfMemoryError fail the job as well, so it is not reused by later submits
+            jobsByContent.remove(job.getContentHash(), job);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            log.error("---- [RouteVerificationService verify] Verification job " + job.getId() + " failed!");
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the properties checked for every app route
+     */
+    private static List<Property> properties() {
+        return List.of(Property.noDeadlock(), Property.eventuallyReachesSink());
+    }
+
+    /**
+     * @param compiled a compiled PetriNet
+     * @return SHA-256 hash of the nodes, arcs and initial marking of the PetriNet
+     */
+    private static String contentHash(final CompiledPetriNet compiled) {
+        try {
+            final var digest = MessageDigest.getInstance("SHA-256");
+            for (int place = 0; place < compiled.getPlaceCount(); place++) {
+                digest.update(compiled.getPlaceId(place).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            digest.update((byte) 1);
+            for (int transition = 0; transition < compiled.getTransitionCount(); transition++) {
+                digest.update(compiled.getTransitionId(transition).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            for (final var array : List.of(compiled.getPreOffsets(), compiled.getPrePlaces(),
+                    compiled.getPostOffsets(), compiled.getPostPlaces(), compiled.getInitialMarking())) {
+                final var buffer = ByteBuffer.allocate(4 * (array.length + 1));
+                buffer.putInt(array.length);
+                for (final var value : array) {
+                    buffer.putInt(value);
+                }
+                digest.update(buffer.array());
+            }
+            final var hash = new StringBuilder();
+            for (final var b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            //every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -6,8 +6,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 
 public interface AppRouteApi {
@@ -76,6 +80,38 @@ public interface AppRouteApi {
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully returned all endpoint information")})
     ResponseEntity<String> getAllEndpointInfo();
 
+    /**
+     * Response header of the step graph, naming the reason why its exploration stopped: COMPLETED for a complete
+     * step graph, otherwise the limit (e.g. MAX_STATES or TIMEOUT) which cut it off.
+     */
+    String TERMINATION_REASON_HEADER = "X-Termination-Reason";
+
+    // Interfaces for analysing app routes
+    @GetMapping(value = "/approute/stepgraph", produces = "text/vnd.graphviz")
+    @Operation(summary = "Streams the step graph of the app route in the GraphViz DOT format")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully streamed the step graph of the app " +
+            "route, the header " + TERMINATION_REASON_HEADER + " tells if it is complete"),
+            @ApiResponse(responseCode = "503", description = "Too many verifications are queued")})
+    CompletableFuture<ResponseEntity<StreamingResponseBody>> getStepGraph(@RequestParam(value = "routeId") URI routeId,
+                                                                          @RequestParam(value = "maxStates", required = false,
+                                                                                  defaultValue = "100000") int maxStates);
+
+    @PostMapping(value = "/approute/verification", produces = "application/ld+json")
+    @Operation(summary = "Submits the verification of the app route and returns the id of the verification job")
+    @ApiResponses({@ApiResponse(responseCode = "202", description = "Successfully submitted the verification of the app route"),
+            @ApiResponse(responseCode = "503", description = "Too many verifications are queued")})
+    ResponseEntity<String> verifyAppRoute(@RequestParam(value = "routeId") URI routeId);
+
+    @GetMapping(value = "/approute/verification", produces = "application/ld+json")
+    @Operation(summary = "Returns the status and the results of the verification job")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully returned the verification job")})
+    ResponseEntity<String> getVerification(@RequestParam(value = "jobId") UUID jobId);
+
+    @GetMapping(value = "/approute/verification/stream", produces = "text/event-stream")
+    @Operation(summary = "Streams the progress of the verification job as server-sent events")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully streamed the verification job")})
+    ResponseEntity<SseEmitter> streamVerification(@RequestParam(value = "jobId") UUID jobId);
+
 
     // Interfaces for managing deploy methods of the routes
     @PutMapping(value = "/route/deploymethod", produces = "application/ld+json")
@@ -9,8 +9,11 @@ import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import de.fraunhofer.isst.configmanager.configmanagement.entities.configlists.RouteDeployMethodRepository;
 import de.fraunhofer.isst.configmanager.configmanagement.entities.routedeploymethod.DeployMethod;
 import de.fraunhofer.isst.configmanager.configmanagement.entities.routedeploymethod.RouteDeployMethod;
+import de.fraunhofer.isst.configmanager.configmanagement.entities.verification.VerificationJob;
 import de.fraunhofer.isst.configmanager.configmanagement.service.AppRouteService;
 import de.fraunhofer.isst.configmanager.configmanagement.service.ConfigModelService;
+import de.fraunhofer.isst.configmanager.configmanagement.service.RouteVerificationService;
+import de.fraunhofer.isst.configmanager.petrinet.builder.GraphVizWriter;
 import de.fraunhofer.isst.configmanager.util.Utility;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AccessLevel;
@@ -20,13 +23,20 @@ import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * The controller class implements the AppRouteApi and offers the possibilities to manage
@@ -41,6 +51,7 @@ import java.util.ArrayList;
 public class AppRouteUIController implements AppRouteApi {
     transient ConfigModelService configModelService;
     transient AppRouteService appRouteService;
+    transient RouteVerificationService routeVerificationService;
     transient Serializer serializer;
     transient RouteDeployMethodRepository routeDeployMethodRepository;
     transient ObjectMapper objectMapper;
@@ -48,11 +59,13 @@ public class AppRouteUIController implements AppRouteApi {
     @Autowired
     public AppRouteUIController(final ConfigModelService configModelService,
                                 final AppRouteService appRouteService,
+                                final RouteVerificationService routeVerificationService,
                                 final Serializer serializer,
                                 final RouteDeployMethodRepository routeDeployMethodRepository,
                                 final ObjectMapper objectMapper) {
         this.configModelService = configModelService;
         this.appRouteService = appRouteService;
+        this.routeVerificationService = routeVerificationService;
         this.serializer = serializer;
         this.routeDeployMethodRepository = routeDeployMethodRepository;
         this.objectMapper = objectMapper;
@@ -332,6 +345,131 @@ public class AppRouteUIController implements AppRouteApi {
         return ResponseEntity.badRequest().body("Could not get endpoint information");
     }
 
+    /**
+     * This method streams the step graph of an app route in the GraphViz DOT format. The step graph is explored
+     * in the background, and the DOT document is written directly to the response, so step graphs with many
+     * states are not held in memory as text.
+     *
+     * @param routeId   id of the app route
+     * @param maxStates maximum number of states of the step graph, limited by the configured maximum
+     * @return a suitable http response depending on success
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getStepGraph(final URI routeId, final int maxStates) {
+        log.info(">> GET /approute/stepgraph routeId: " + routeId + " maxStates: " + maxStates);
+
+        final var appRoute = appRouteService.getAppRoute(routeId);
+        if (appRoute == null) {
+            log.info("---- [AppRouteUIController getStepGraph] Could not get app route with id: " + routeId);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(outputStream -> outputStream.write(
+                    ("Could not get app route with id: " + routeId).getBytes(StandardCharsets.UTF_8))));
+        }
+        if (maxStates < 1) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(outputStream -> outputStream.write(
+                    "maxStates must be at least 1".getBytes(StandardCharsets.UTF_8))));
+        }
+        try {
+            return routeVerificationService.exploreStepGraph(appRoute, maxStates).handle((result, throwable) -> {
+                if (throwable != null) {
+                    log.error("---- [AppRouteUIController getStepGraph] Could not explore step graph of app route " + routeId);
+                    log.error(throwable.getMessage(), throwable);
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(outputStream -> outputStream.write(
+                            "Could not explore the step graph".getBytes(StandardCharsets.UTF_8)));
+                }
+                final var stepGraph = result.getStepGraph();
+                log.info("---- [AppRouteUIController getStepGraph] Streaming step graph with " + stepGraph.getStepCount()
+                        + " states: " + result.getTerminationReason());
+                //a step graph cut off by a limit is streamed as well, the header tells the client it is incomplete
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType("text/vnd.graphviz"))
+                        .header(TERMINATION_REASON_HEADER, result.getTerminationReason().name())
+                        .body(outputStream -> GraphVizWriter.write(stepGraph, outputStream));
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("---- [AppRouteUIController getStepGraph] Too many verifications are queued");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(outputStream -> outputStream.write("Too many verifications are queued, try again later"
+                            .getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    /**
+     * This method submits the verification of an app route, which runs in the background.
+     *
+     * @param routeId id of the app route
+     * @return a suitable http response depending on success
+     */
+    @Override
+    public ResponseEntity<String> verifyAppRoute(final URI routeId) {
+        log.info(">> POST /approute/verification routeId: " + routeId);
+
+        final var appRoute = appRouteService.getAppRoute(routeId);
+        if (appRoute == null) {
+            log.info("---- [AppRouteUIController verifyAppRoute] Could not get app route with id: " + routeId);
+            return ResponseEntity.badRequest().body("Could not get app route with id: " + routeId);
+        }
+        try {
+            final var job = routeVerificationService.submit(appRoute);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(verificationJobToJson(job).toJSONString());
+        } catch (RejectedExecutionException e) {
+            log.warn("---- [AppRouteUIController verifyAppRoute] Too many verifications are queued");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many verifications are " +
+                    "queued, try again later");
+        }
+    }
+
+    /**
+     * This method returns the status and the results of a verification job.
+     *
+     * @param jobId id of the verification job
+     * @return a suitable http response depending on success
+     */
+    @Override
+    public ResponseEntity<String> getVerification(final UUID jobId) {
+        log.info(">> GET /approute/verification jobId: " + jobId);
+
+        final var job = routeVerificationService.getJob(jobId);
+        if (job == null) {
+            log.info("---- [AppRouteUIController getVerification] Could not get verification job with id: " + jobId);
+            return ResponseEntity.badRequest().body("Could not get verification job with id: " + jobId);
+        }
+        return ResponseEntity.ok(verificationJobToJson(job).toJSONString());
+    }
+
+    /**
+     * This method streams the progress of a verification job: an event with the state of the job is sent
+     * after every checked property, the stream is closed when the job is finished.
+     *
+     * @param jobId id of the verification job
+     * @return a suitable http response depending on success
+     */
+    @Override
+    public ResponseEntity<SseEmitter> streamVerification(final UUID jobId) {
+        log.info(">> GET /approute/verification/stream jobId: " + jobId);
+
+        final var job = routeVerificationService.getJob(jobId);
+        if (job == null) {
+            log.info("---- [AppRouteUIController streamVerification] Could not get verification job with id: " + jobId);
+            return ResponseEntity.badRequest().build();
+        }
+        final var emitter = new SseEmitter(0L);
+        job.addListener(changed -> {
+            try {
+                emitter.send(SseEmitter.event().name(changed.getStatus().name())
+                        .data(verificationJobToJson(changed).toJSONString(), MediaType.APPLICATION_JSON));
+                if (changed.isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                //the client is gone or the stream was closed, the job keeps running without this listener
+                log.info("---- [AppRouteUIController streamVerification] Stopped streaming job " + jobId);
+                emitter.completeWithError(e);
+                throw new IllegalStateException("Stopped streaming job " + jobId, e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
+    }
+
     /**
      * This method updates the route deploy method of all app route and route steps
      *
@@ -377,6 +515,42 @@ public class AppRouteUIController implements AppRouteApi {
         }
     }
 
+    /**
+     * @param job a verification job
+     * @return the status and the results of the job as JSON object
+     */
+    private JSONObject verificationJobToJson(final VerificationJob job) {
+        final var jsonObject = new JSONObject();
+        jsonObject.put("jobId", job.getId().toString());
+        jsonObject.put("routeId", job.getRouteId().toString());
+        jsonObject.put("status", job.getStatus().name());
+        jsonObject.put("cached", job.isCached());
+        jsonObject.put("contentHash", job.getContentHash());
+        final var results = job.getResults();
+        jsonObject.put("progress", results.size() + "/" + job.getPropertyCount());
+        final var jsonArray = new JSONArray();
+        for (final var result : results) {
+            final var jsonResult = new JSONObject();
+            jsonResult.put("property", result.getProperty().toString());
+            jsonResult.put("verdict", result.getVerdict().name());
+            jsonResult.put("exploredStates", result.getExploredStates());
+            jsonResult.put("durationMillis", result.getDurationMillis());
+            if (result.getWitness() != null) {
+                final var transitions = new JSONArray();
+                for (final var transition : result.getWitness().getTransitions()) {
+                    transitions.add(transition.toString());
+                }
+                jsonResult.put("witness", transitions);
+            }
+            jsonArray.add(jsonResult);
+        }
+        jsonObject.put("results", jsonArray);
+        if (job.getError() != null) {
+            jsonObject.put("error", job.getError());
+        }
+        return jsonObject;
+    }
+
     /**
      * This method updates the deploy method from every app route and route step
      *
@@ -5,6 +5,7 @@ import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import de.fraunhofer.iais.eis.util.Util;
 import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
 import de.fraunhofer.isst.configmanager.configmanagement.service.ConfigModelService;
+import de.fraunhofer.isst.configmanager.configmanagement.service.PetriNetService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -34,14 +35,17 @@ public class ConfigModelController implements ConfigModelApi {
     transient Serializer serializer;
     transient ConfigModelService configModelService;
     transient DefaultConnectorClient client;
+    transient PetriNetService petriNetService;
 
     @Autowired
     public ConfigModelController(final Serializer serializer,
                                  final ConfigModelService configModelService,
-                                 final DefaultConnectorClient client) {
+                                 final DefaultConnectorClient client,
+                                 final PetriNetService petriNetService) {
         this.serializer = serializer;
         this.configModelService = configModelService;
         this.client = client;
+        this.petriNetService = petriNetService;
     }
 
     /**
@@ -90,6 +94,7 @@ public class ConfigModelController implements ConfigModelApi {
                 final var configurationModel =
                         (ConfigurationModelImpl) configModelService.getConfigModel();
                 configurationModel.setAppRoute(Util.asList());
+                petriNetService.routesReplaced();
                 final var valid = client.sendConfiguration(serializer.serialize(configurationModel));
                 if (valid) {
                     jsonObject.put("connectorResponse", "Successfully updated the configuration " +
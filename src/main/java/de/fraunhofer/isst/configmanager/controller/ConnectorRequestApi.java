@@ -7,8 +7,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 public interface ConnectorRequestApi {
 
@@ -17,15 +20,22 @@ public interface ConnectorRequestApi {
     @Operation(summary = "Request metadata from another IDS connector.")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully requested  metadata from " +
             "IDS connector")})
-    ResponseEntity<String> requestMetadata(@RequestParam("recipientId") URI recipientId,
-                                           @RequestParam(value = "requestedResourceId", required = false)
-                                                   URI requestedResourceId);
+    CompletableFuture<ResponseEntity<String>> requestMetadata(@RequestParam("recipientId") URI recipientId,
+                                                              @RequestParam(value = "requestedResourceId", required = false)
+                                                                      URI requestedResourceId);
+
+    @PostMapping(value = "/request/description/raw")
+    @Operation(summary = "Request the self declaration of another IDS connector and return it unchanged.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully passed on the self declaration of the IDS connector"),
+            @ApiResponse(responseCode = "503", description = "Connector not reachable.")})
+    DeferredResult<ResponseEntity<StreamingResponseBody>> requestRawMetadata(@RequestParam("recipientId") URI recipientId);
 
     @PostMapping(value = "/request/contract", produces = "application/ld+json")
     @Operation(summary = "Send a contract request to another IDS connector.")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully send a contract request to another" +
             " IDS connector.")})
-    ResponseEntity<String> requestContract(@RequestParam("recipientId") URI recipientId,
-                                           @RequestParam(value = "requestedArtifactId ") URI requestedArtifactId,
-                                           @RequestBody(required = false) String contractOffer);
+    CompletableFuture<ResponseEntity<String>> requestContract(@RequestParam("recipientId") URI recipientId,
+                                                              @RequestParam(value = "requestedArtifactId ") URI requestedArtifactId,
+                                                              @RequestBody(required = false) String contractOffer);
 }
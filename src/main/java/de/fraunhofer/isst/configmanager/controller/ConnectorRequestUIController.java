@@ -1,9 +1,9 @@
 package de.fraunhofer.isst.configmanager.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import de.fraunhofer.iais.eis.Resource;
 import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import de.fraunhofer.isst.configmanager.configmanagement.service.ConnectorRequestService;
+import de.fraunhofer.isst.configmanager.util.PassThroughUtils;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONObject;
@@ -13,10 +13,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller class implements the ConnectorRequestApi and offers the possibilities to manage
@@ -43,58 +45,77 @@ public class ConnectorRequestUIController implements ConnectorRequestApi {
     }
 
     /**
-     * This method request metadata from an IDS connector.
+     * This method request metadata from an IDS connector. The request thread is released while
+     * waiting for the connector.
      *
      * @param recipientId         uri of the requested IDS connector
      * @param requestedResourceId uri of the requested resource
      * @return if reqResourceId is set, then the resource will be returned otherwise the IDS connector
      */
     @Override
-    public ResponseEntity<String> requestMetadata(URI recipientId, URI requestedResourceId) {
+    public CompletableFuture<ResponseEntity<String>> requestMetadata(URI recipientId, URI requestedResourceId) {
 
         if (requestedResourceId != null) {
-            Resource resource = connectorRequestService.requestResource(recipientId, requestedResourceId);
-            if (resource != null) {
-                try {
-                    return ResponseEntity.ok(serializer.serialize(resource));
-                } catch (IOException e) {
-                    log.error(e.getMessage());
-                    return ResponseEntity.badRequest().body("Problems while serializing the resource");
+            return connectorRequestService.requestResource(recipientId, requestedResourceId).thenApply(resource -> {
+                if (resource != null) {
+                    try {
+                        return ResponseEntity.ok(serializer.serialize(resource));
+                    } catch (IOException e) {
+                        log.error(e.getMessage());
+                        return ResponseEntity.badRequest().body("Problems while serializing the resource");
+                    }
+                } else {
+                    return ResponseEntity.badRequest().body("Could not get resource from the requested connector");
                 }
-            } else {
-                return ResponseEntity.badRequest().body("Could not get resource from the requested connector");
-            }
+            });
         } else {
-            List<Resource> resources = connectorRequestService.requestResourcesFromConnector(recipientId);
-            if (resources != null && resources.size() > 0) {
-                try {
-                    return ResponseEntity.ok(serializer.serialize(resources));
-                } catch (IOException e) {
-                    log.error(e.getMessage(), e);
-                    return ResponseEntity.badRequest().body("Problems while serializing the list of resources");
+            return connectorRequestService.requestResourcesFromConnector(recipientId).thenApply(resources -> {
+                if (resources != null && resources.size() > 0) {
+                    try {
+                        return ResponseEntity.ok(serializer.serialize(resources));
+                    } catch (IOException e) {
+                        log.error(e.getMessage(), e);
+                        return ResponseEntity.badRequest().body("Problems while serializing the list of resources");
+                    }
+                } else {
+                    return ResponseEntity.badRequest().body("Could not get resources from the requested connector");
                 }
-            } else {
-                return ResponseEntity.badRequest().body("Could not get resources from the requested connector");
-            }
+            });
         }
     }
 
+    /**
+     * This method passes on the self declaration of an IDS connector unchanged. Its body is
+     * streamed to the response without being deserialized, status and content type are kept.
+     *
+     * @param recipientId uri of the requested IDS connector
+     * @return the self declaration as sent by the IDS connector
+     */
     @Override
-    public ResponseEntity<String> requestContract(URI recipientId, URI requestedArtifactId, String contractOffer) {
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> requestRawMetadata(URI recipientId) {
+        log.info(">> POST /request/description/raw recipientId: " + recipientId);
 
-        String contractAgreementId = connectorRequestService
-                .requestContractAgreement(recipientId.toString(), requestedArtifactId.toString(), contractOffer);
-        if (contractAgreementId != null) {
-            var jsonObject = new JSONObject();
-            if (contractAgreementId.contains("Failed")) {
-                jsonObject.put("message", contractAgreementId);
-                return ResponseEntity.badRequest().body(jsonObject.toJSONString());
-            } else {
-                jsonObject.put("agreementId", contractAgreementId);
-                return ResponseEntity.ok(jsonObject.toJSONString());
-            }
-        } else {
-            return ResponseEntity.badRequest().body("Could not get agreement id for the contract");
-        }
+        return PassThroughUtils.toDeferredResult(connectorRequestService.requestRawDescription(recipientId));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<String>> requestContract(URI recipientId, URI requestedArtifactId, String contractOffer) {
+
+        return connectorRequestService
+                .requestContractAgreement(recipientId.toString(), requestedArtifactId.toString(), contractOffer)
+                .thenApply(contractAgreementId -> {
+                    if (contractAgreementId != null) {
+                        var jsonObject = new JSONObject();
+                        if (contractAgreementId.contains("Failed")) {
+                            jsonObject.put("message", contractAgreementId);
+                            return ResponseEntity.badRequest().body(jsonObject.toJSONString());
+                        } else {
+                            jsonObject.put("agreementId", contractAgreementId);
+                            return ResponseEntity.ok(jsonObject.toJSONString());
+                        }
+                    } else {
+                        return ResponseEntity.badRequest().body("Could not get agreement id for the contract");
+                    }
+                });
     }
 }
@@ -5,6 +5,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface ConnectorUIApi {
 
@@ -18,7 +22,19 @@ public interface ConnectorUIApi {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Public connector endpoint reachable."),
             @ApiResponse(responseCode = "503", description = "Public connector endpoint not reachable.")})
-    ResponseEntity<String> getConnectorStatus();
+    CompletableFuture<ResponseEntity<String>> getConnectorStatus();
+
+    @GetMapping(value = "/connector/selfdeclaration")
+    @Operation(summary = "Get the self declaration of the connector unchanged, as the connector sends it")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully passed on the self declaration"),
+            @ApiResponse(responseCode = "503", description = "Connector not reachable.")})
+    DeferredResult<ResponseEntity<StreamingResponseBody>> getSelfDeclaration();
+
+    @GetMapping(value = "/connector/statistics", produces = "application/json")
+    @Operation(summary = "Get the statistics of the coalesced requests to the connector")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully retrieved the request statistics")})
+    ResponseEntity<String> getRequestStatistics();
 
     @GetMapping(value = "/connector/json", produces = "application/ld+json")
     @Operation(summary = "Get the connector in json")
@@ -40,14 +56,14 @@ public interface ConnectorUIApi {
     @PutMapping(value = "/connector", produces = "application/ld+json")
     @Operation(summary = "Update a connector")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully updated a new connector")})
-    ResponseEntity<String> updateConnector(@RequestParam(value = "title", required = false) String title,
-                                           @RequestParam(value = "description", required = false) String description,
-                                           @RequestParam(value = "endpoint", required = false) String endpoint,
-                                           @RequestParam(value = "version", required = false) String version,
-                                           @RequestParam(value = "curator", required = false) String curator,
-                                           @RequestParam(value = "maintainer", required = false) String maintainer,
-                                           @RequestParam(value = "inboundModelVersion", required = false) String inboundModelVersion,
-                                           @RequestParam(value = "outboundModelVersion", required = false) String outboundModelVersion);
+    CompletableFuture<ResponseEntity<String>> updateConnector(@RequestParam(value = "title", required = false) String title,
+                                                              @RequestParam(value = "description", required = false) String description,
+                                                              @RequestParam(value = "endpoint", required = false) String endpoint,
+                                                              @RequestParam(value = "version", required = false) String version,
+                                                              @RequestParam(value = "curator", required = false) String curator,
+                                                              @RequestParam(value = "maintainer", required = false) String maintainer,
+                                                              @RequestParam(value = "inboundModelVersion", required = false) String inboundModelVersion,
+                                                              @RequestParam(value = "outboundModelVersion", required = false) String outboundModelVersion);
 
     @DeleteMapping(value = "/connector")
     @Operation(summary = "Deletes the connector")
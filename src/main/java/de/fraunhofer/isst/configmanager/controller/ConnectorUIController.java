@@ -4,22 +4,29 @@ import de.fraunhofer.iais.eis.BaseConnector;
 import de.fraunhofer.iais.eis.ConfigurationModelImpl;
 import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import de.fraunhofer.iais.eis.util.Util;
+import de.fraunhofer.isst.configmanager.communication.clients.AsyncConnectorClient;
 import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
 import de.fraunhofer.isst.configmanager.configmanagement.service.ConfigModelService;
 import de.fraunhofer.isst.configmanager.configmanagement.service.ConnectorService;
+import de.fraunhofer.isst.configmanager.configmanagement.service.PetriNetService;
+import de.fraunhofer.isst.configmanager.util.PassThroughUtils;
 import de.fraunhofer.isst.configmanager.util.Utility;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import net.minidev.json.JSONArray;
 import net.minidev.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller class implements the ConnectorUIApi and offers the possibilities to manage
@@ -35,17 +42,23 @@ public class ConnectorUIController implements ConnectorUIApi {
     transient ConnectorService connectorService;
     transient ConfigModelService configModelService;
     transient Serializer serializer;
-    transient DefaultConnectorClient client;
+    transient AsyncConnectorClient client;
+    transient DefaultConnectorClient connectorClient;
+    transient PetriNetService petriNetService;
 
     @Autowired
     public ConnectorUIController(final ConnectorService connectorService,
                                  final ConfigModelService configModelService,
                                  final Serializer serializer,
-                                 final DefaultConnectorClient client) {
+                                 final AsyncConnectorClient client,
+                                 final DefaultConnectorClient connectorClient,
+                                 final PetriNetService petriNetService) {
         this.configModelService = configModelService;
         this.connectorService = connectorService;
         this.serializer = serializer;
         this.client = client;
+        this.connectorClient = connectorClient;
+        this.petriNetService = petriNetService;
     }
 
     /**
@@ -69,29 +82,65 @@ public class ConnectorUIController implements ConnectorUIApi {
     }
 
     /**
-     * This methods tries to connect to the  public connector endpoint.
+     * This methods tries to connect to the  public connector endpoint. The request thread is
+     * released while waiting for the connector.
      *
      * @return accessibility status
      */
     @Override
-    public ResponseEntity<String> getConnectorStatus() {
+    public CompletableFuture<ResponseEntity<String>> getConnectorStatus() {
         log.info(">> GET /connector/status");
 
-        final var json = new JSONObject();
-        try {
-            client.getConnectorStatus();
+        return client.getConnectorStatus().handle((result, throwable) -> {
+            final var json = new JSONObject();
+            if (throwable == null) {
+                log.info("---- [ConnectorUIController getConnectorStatus] Could connect to the Connector!");
 
-            log.info("---- [ConnectorUIController getConnectorStatus] Could connect to the Connector!");
+                json.put("status","Public connector endpoint reachable.");
+                return new ResponseEntity<>(json.toString(), HttpStatus.OK);
+            } else {
+                //Error case does not need to be processed further here
+                log.warn("---- [ConnectorUIController getConnectorStatus] Could not connect to the Connector!");
 
-            json.put("status","Public connector endpoint reachable.");
-            return new ResponseEntity<>(json.toString(), HttpStatus.OK);
-        } catch (Exception e) {
-            //Error case does not need to be processed further here
-            log.warn("---- [ConnectorUIController getConnectorStatus] Could not connect to the Connector!");
+                json.put("status","Public connector endpoint not reachable.");
+                return new ResponseEntity<>(json.toString(), HttpStatus.SERVICE_UNAVAILABLE);
+            }
+        });
+    }
+
+    /**
+     * This method passes on the self declaration of the connector unchanged. Its body is streamed
+     * from the connector to the response, status and content type of the connector are kept.
+     *
+     * @return the self declaration as sent by the connector
+     */
+    @Override
+    public DeferredResult<ResponseEntity<StreamingResponseBody>> getSelfDeclaration() {
+        log.info(">> GET /connector/selfdeclaration");
 
-            json.put("status","Public connector endpoint not reachable.");
-            return new ResponseEntity<>(json.toString(), HttpStatus.SERVICE_UNAVAILABLE);
+        return PassThroughUtils.toDeferredResult(client.getSelfDeclarationPassThrough());
+    }
+
+    /**
+     * This method returns for every coalesced connector endpoint, how many requests there were
+     * and how many calls to the connector were saved by joining a call in flight.
+     *
+     * @return the request statistics per endpoint
+     */
+    @Override
+    public ResponseEntity<String> getRequestStatistics() {
+        log.info(">> GET /connector/statistics");
+
+        final var statistics = new JSONArray();
+        for (final var endpointStatistics : connectorClient.getRequestStatistics()) {
+            final var json = new JSONObject();
+            json.put("endpoint", endpointStatistics.getEndpoint());
+            json.put("requests", endpointStatistics.getRequests());
+            json.put("calls", endpointStatistics.getCalls());
+            json.put("saved", endpointStatistics.getSaved());
+            statistics.add(json);
         }
+        return ResponseEntity.ok(statistics.toJSONString());
     }
 
     /**
@@ -172,12 +221,12 @@ public class ConnectorUIController implements ConnectorUIApi {
      * @return http response message with the id of the created connector
      */
     @Override
-    public ResponseEntity<String> updateConnector(final String title, final String description,
-                                                  final String endpointAccessURL,
-                                                  final String version, final String curator,
-                                                  final String maintainer,
-                                                  final String inboundModelVersion,
-                                                  final String outboundModelVersion) {
+    public CompletableFuture<ResponseEntity<String>> updateConnector(final String title, final String description,
+                                                                     final String endpointAccessURL,
+                                                                     final String version, final String curator,
+                                                                     final String maintainer,
+                                                                     final String inboundModelVersion,
+                                                                     final String outboundModelVersion) {
         log.info(">> PUT /connector title: " + title + " description: " + " endpointAccessURL: " + endpointAccessURL
                 + " version: " + version + " curator: " + curator + " maintainer: " + maintainer + " inboundModelVersion: "
                 + inboundModelVersion + " outboundModelVersion: " + outboundModelVersion);
@@ -192,10 +241,24 @@ public class ConnectorUIController implements ConnectorUIApi {
                     (ConfigurationModelImpl) configModelService.getConfigModel();
             if (configurationModel.getAppRoute() != null) {
                 configurationModel.setAppRoute(Util.asList());
+                petriNetService.routesReplaced();
             }
+            final String serializedModel;
             try {
-                final var valid = client.sendConfiguration(serializer.serialize(configurationModel));
-                if (valid) {
+                serializedModel = serializer.serialize(configurationModel);
+            } catch (IOException e) {
+                log.error(e.getMessage(), e);
+                jsonObject.put("connectorResponse", "Failed to send the new configuration to the " +
+                        "client");
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(jsonObject.toJSONString()));
+            }
+            return client.sendConfiguration(serializedModel).handle((valid, throwable) -> {
+                if (throwable != null) {
+                    log.error(throwable.getMessage(), throwable);
+                    jsonObject.put("connectorResponse", "Failed to send the new configuration to the " +
+                            "client");
+                    return ResponseEntity.badRequest().body(jsonObject.toJSONString());
+                } else if (valid) {
                     jsonObject.put("connectorResponse", "Successfully updated the connector " +
                             "description of the configuration model");
                     return ResponseEntity.ok(jsonObject.toJSONString());
@@ -204,14 +267,9 @@ public class ConnectorUIController implements ConnectorUIApi {
                             "The configuration model is not valid");
                     return ResponseEntity.badRequest().body(jsonObject.toJSONString());
                 }
-            } catch (IOException e) {
-                log.error(e.getMessage(), e);
-                jsonObject.put("connectorResponse", "Failed to send the new configuration to the " +
-                        "client");
-                return ResponseEntity.badRequest().body(jsonObject.toJSONString());
-            }
+            });
         } else {
-            return ResponseEntity.badRequest().body("Could not update the connector");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Could not update the connector"));
         }
     }
 
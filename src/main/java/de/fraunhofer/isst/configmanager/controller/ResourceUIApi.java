@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.ArrayList;
@@ -20,12 +21,12 @@ public interface ResourceUIApi {
     @GetMapping(value = "/resources", produces = "application/ld+json")
     @Operation(summary = "Returns all resources from the connector")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully returned all resources from the connector")})
-    ResponseEntity<String> getResources();
+    ResponseEntity<StreamingResponseBody> getResources();
 
     @GetMapping(value = "/resources/requested", produces = "application/ld+json")
     @Operation(summary = "Returns all requested resources from the connector")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully returned all requested resources from the connector")})
-    ResponseEntity<String> getRequestedResources();
+    ResponseEntity<StreamingResponseBody> getRequestedResources();
 
     @GetMapping(value = "/resource/json", produces = "application/ld+json")
     @Operation(summary = "Returns the specific resource from the connector in JSON format")
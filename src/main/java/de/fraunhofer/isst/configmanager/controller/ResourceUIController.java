@@ -2,6 +2,7 @@ package de.fraunhofer.isst.configmanager.controller;
 
 import de.fraunhofer.iais.eis.ids.jsonld.Serializer;
 import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.ResourceStream;
 import de.fraunhofer.isst.configmanager.configmanagement.service.ResourceService;
 import de.fraunhofer.isst.configmanager.util.ValidateApiInput;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,9 +15,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 
 /**
@@ -73,20 +76,47 @@ public class ResourceUIController implements ResourceUIApi {
     }
 
     /**
-     * This method returns all resources from the connector.
+     * This method returns all resources from the connector. They are streamed from the self
+     * declaration of the connector to the response.
      *
      * @return a suitable http response depending on success
      */
     @Override
-    public ResponseEntity<String> getResources() {
+    public ResponseEntity<StreamingResponseBody> getResources() {
         log.info(">> GET /resources");
-        return ResponseEntity.ok(resourceService.getOfferedResourcesAsJsonString());
+        try {
+            return streamResources(resourceService.openOfferedResources());
+        } catch (IOException e) {
+            log.error("---- [ResourceUIController getResources] Could not get resources from the connector: " + e.getMessage());
+            return ResponseEntity.badRequest().body(outputStream -> outputStream.write(
+                    "Could not get resources from the connector".getBytes(StandardCharsets.UTF_8)));
+        }
     }
 
+    /**
+     * This method returns all requested resources from the connector. They are streamed from
+     * the self declaration of the connector to the response.
+     *
+     * @return a suitable http response depending on success
+     */
     @Override
-    public ResponseEntity<String> getRequestedResources() {
+    public ResponseEntity<StreamingResponseBody> getRequestedResources() {
         log.info(">> GET /resources/requested");
-        return ResponseEntity.ok(resourceService.getRequestedResourcesAsJsonString());
+        try {
+            return streamResources(resourceService.openRequestedResources());
+        } catch (IOException e) {
+            log.error("---- [ResourceUIController getRequestedResources] Could not get requested resources from the connector: " + e.getMessage());
+            return ResponseEntity.badRequest().body(outputStream -> outputStream.write(
+                    "Could not get requested resources from the connector".getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> streamResources(final ResourceStream resources) {
+        return ResponseEntity.ok(outputStream -> {
+            try (resources) {
+                resources.writeTo(outputStream);
+            }
+        });
     }
 
     /**
@@ -1,6 +1,6 @@
 package de.fraunhofer.isst.configmanager.controller;
 
-import de.fraunhofer.isst.configmanager.communication.clients.DefaultConnectorClient;
+import de.fraunhofer.isst.configmanager.communication.clients.AsyncConnectorClient;
 import de.fraunhofer.isst.configmanager.configmanagement.service.UtilService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,7 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller class offers the possibilities to provide other api's which could be needed.
@@ -23,10 +23,10 @@ import java.io.IOException;
 @Slf4j
 public class UtilUIController {
     private transient final UtilService utilService;
-    private transient final DefaultConnectorClient client;
+    private transient final AsyncConnectorClient client;
 
     @Autowired
-    public UtilUIController(final UtilService utilService, final DefaultConnectorClient client) {
+    public UtilUIController(final UtilService utilService, final AsyncConnectorClient client) {
         this.utilService = utilService;
         this.client = client;
     }
@@ -52,7 +52,8 @@ public class UtilUIController {
     }
 
     /**
-     * This method returns for a given policy the pattern.
+     * This method returns for a given policy the pattern. The request thread is released while
+     * waiting for the connector.
      *
      * @param policy string, representing a policy
      * @return pattern of policy
@@ -61,22 +62,21 @@ public class UtilUIController {
     @Operation(summary = "Get pattern of policy")
     @ApiResponses({@ApiResponse(responseCode = "200", description = "Successfully get the pattern" +
             " of policy")})
-    public ResponseEntity<String> getPolicyPattern(final @RequestBody String policy) {
+    public CompletableFuture<ResponseEntity<String>> getPolicyPattern(final @RequestBody String policy) {
         log.info(">> GET /api/ui/policy-pattern " + policy);
 
-        String pattern;
-        try {
-            pattern = client.getPolicyPattern(policy);
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-            return ResponseEntity.badRequest().body("Failed to determine policy pattern at the " +
-                    "client");
-        }
-        if (pattern != null) {
-            return ResponseEntity.ok(pattern);
-        } else {
-            return ResponseEntity.badRequest().body("Could not find any pattern for the given " +
-                    "policy");
-        }
+        return client.getPolicyPattern(policy).handle((pattern, throwable) -> {
+            if (throwable != null) {
+                log.error(throwable.getMessage(), throwable);
+                return ResponseEntity.badRequest().body("Failed to determine policy pattern at the " +
+                        "client");
+            }
+            if (pattern != null) {
+                return ResponseEntity.ok(pattern);
+            } else {
+                return ResponseEntity.badRequest().body("Could not find any pattern for the given " +
+                        "policy");
+            }
+        });
     }
 }
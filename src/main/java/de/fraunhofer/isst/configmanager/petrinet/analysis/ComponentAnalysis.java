@@ -0,0 +1,174 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.Arc;
+import de.fraunhofer.isst.configmanager.petrinet.model.ArcImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.HasId;
+import de.fraunhofer.isst.configmanager.petrinet.model.Node;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNetImpl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a PetriNet (e.g. the net of all AppRoutes of a configuration) into its weakly connected components
+ * and analyses the components independently in parallel, instead of exploring the product of their states.
+ *
+ * place://source and place://sink connect every part of a net built from AppRoutes, so they are not used
+ * to connect components: every component gets its own copy of them, with the markers of the original net.
+ * A component is therefore analysed as if it was started on its own. Endpoints shared by several AppRoutes
+ * are single transitions, so interfering AppRoutes end up in the same component.
+ */
+@Slf4j
+public class ComponentAnalysis {
+
+    private static final URI SOURCE = URI.create("place://source");
+    private static final URI SINK = URI.create("place://sink");
+
+    private ComponentAnalysis(){}
+
+    /**
+     * @param petriNet a PetriNet (is not modified)
+     * @return the weakly connected components of the net without source and sink, as new PetriNets
+     * with copies of the nodes, ordered by the smallest node ID of the component
+     */
+    public static List<PetriNet> split(PetriNet petriNet){
+        //union find over the nodes, source and sink do not connect other nodes
+        var parents = new HashMap<URI, URI>();
+        for(var node : petriNet.getNodes()){
+            if(!isSourceOrSink(node.getID())) parents.put(node.getID(), node.getID());
+        }
+        for(var arc : petriNet.getArcs()){
+            var source = arc.getSource().getID();
+            var target = arc.getTarget().getID();
+            if(isSourceOrSink(source) || isSourceOrSink(target)) continue;
+            var sourceRoot = find(parents, source);
+            var targetRoot = find(parents, target);
+            if(!sourceRoot.equals(targetRoot)) parents.put(sourceRoot, targetRoot);
+        }
+        var members = new HashMap<URI, List<Node>>();
+        for(var node : petriNet.getNodes()){
+            if(isSourceOrSink(node.getID())) continue;
+            members.computeIfAbsent(find(parents, node.getID()), root -> new ArrayList<>()).add(node);
+        }
+        var componentNodes = new ArrayList<>(members.values());
+        for(var nodes : componentNodes){
+            nodes.sort(Comparator.comparing(Node::getID));
+        }
+        componentNodes.sort(Comparator.comparing(nodes -> nodes.get(0).getID()));
+
+        var id = petriNet instanceof HasId ? ((HasId) petriNet).getID() : null;
+        var components = new ArrayList<PetriNet>();
+        for(int i = 0; i < componentNodes.size(); i++){
+            var componentId = URI.create((id != null ? id.toString() : "net://composed") + "#component" + i);
+            components.add(copy(petriNet, componentId, componentNodes.get(i)));
+        }
+        log.info(String.format("Split PetriNet with %d nodes into %d components", petriNet.getNodes().size(), components.size()));
+        return components;
+    }
+
+    /**
+     * Split the PetriNet into its components and analyse them in parallel.
+     *
+     * @param petriNet a PetriNet (is not modified)
+     * @param analysis the analysis for a single component, must be thread safe
+     * @param parallelism number of components analysed at the same time
+     * @param <T> type of the analysis results
+     * @return the results of all components, in the order of {@link #split(PetriNet)}
+     */
+    public static <T> List<ComponentResult<T>> analyse(PetriNet petriNet, Function<PetriNet, T> analysis, int parallelism){
+        if(parallelism < 1){
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        var start = System.currentTimeMillis();
+        var components = split(petriNet);
+        var pool = new ForkJoinPool(parallelism);
+        try{
+            //the parallel stream runs in the pool it is started from
+            var results = pool.submit(() -> components.parallelStream()
+                    .map(component -> new ComponentResult<>(component, analysis.apply(component)))
+                    .collect(Collectors.toList())).get();
+            log.info(String.format("Analysed %d components with parallelism %d in %d ms", components.size(),
+                    parallelism, System.currentTimeMillis() - start));
+            return results;
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Component analysis was interrupted", e);
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Component analysis failed", e.getCause());
+        }finally{
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @param petriNet a PetriNet (is not modified)
+     * @param analysis the analysis for a single component, must be thread safe
+     * @param <T> type of the analysis results
+     * @return the results of all components, analysed with one thread per processor
+     */
+    public static <T> List<ComponentResult<T>> analyse(PetriNet petriNet, Function<PetriNet, T> analysis){
+        return analyse(petriNet, analysis, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static boolean isSourceOrSink(URI id){
+        return SOURCE.equals(id) || SINK.equals(id);
+    }
+
+    private static URI find(Map<URI, URI> parents, URI id){
+        var root = id;
+        while(!parents.get(root).equals(root)){
+            root = parents.get(root);
+        }
+        //path compression
+        while(!id.equals(root)){
+            var next = parents.get(id);
+            parents.put(id, root);
+            id = next;
+        }
+        return root;
+    }
+
+    /**
+     * @return a new PetriNet with copies of the given nodes, source and sink, and the arcs between them
+     */
+    private static PetriNet copy(PetriNet petriNet, URI id, List<Node> nodes){
+        var copies = new HashMap<URI, Node>();
+        for(var node : nodes){
+            copies.put(node.getID(), node.deepCopy());
+        }
+        //every component has source and sink, so analyses can ask for them
+        for(var special : List.of(SOURCE, SINK)){
+            var node = petriNet.getNode(special);
+            if(node != null) copies.put(special, node.deepCopy());
+        }
+        var arcs = new HashSet<Arc>();
+        for(var node : nodes){
+            for(var arc : node.getSourceArcs()) addArc(copies, arcs, arc);
+            for(var arc : node.getTargetArcs()) addArc(copies, arcs, arc);
+        }
+        return new PetriNetImpl(id, new HashSet<>(copies.values()), arcs);
+    }
+
+    /**
+     * Copy an arc between the copied nodes.
+     */
+    private static void addArc(Map<URI, Node> copies, HashSet<Arc> arcs, Arc arc){
+        var source = copies.get(arc.getSource().getID());
+        var target = copies.get(arc.getTarget().getID());
+        //arcs are equal if their nodes are equal, the arc of a node inside the component is seen from both nodes
+        if(source.getSourceArcs().stream().noneMatch(existing -> existing.getTarget() == target)){
+            arcs.add(new ArcImpl(source, target));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Result of the analysis of one component by the {@link ComponentAnalysis}.
+ *
+ * @param <T> type of the analysis result
+ */
+@Getter
+public class ComponentResult<T> {
+
+    public ComponentResult(PetriNet component, T result){
+        this.component = component;
+        this.result = result;
+    }
+
+    /**
+     * The component, with copies of the nodes of the analysed net.
+     */
+    private PetriNet component;
+
+    private T result;
+
+    /**
+     * @return IDs of the nodes of the component
+     */
+    public List<URI> getNodeIds(){
+        return component.getNodes().stream().map(node -> node.getID()).sorted().collect(Collectors.toList());
+    }
+}
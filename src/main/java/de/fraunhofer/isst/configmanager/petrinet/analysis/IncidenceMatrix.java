@@ -0,0 +1,158 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.Place;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Sparse incidence matrix of a PetriNet: entry (p, t) is the number of markers place p gains
+ * minus the number of markers it loses when transition t is used.
+ *
+ * Places and transitions are indexed like in the {@link CompiledPetriNet}, for every transition only the
+ * places with non zero entries are stored. The pre- and post-places of the transitions are kept as well,
+ * since siphons and traps depend on them (a self loop has entry 0, but still needs a marker).
+ */
+public class IncidenceMatrix {
+
+    private final CompiledPetriNet petriNet;
+    private final int placeCount;
+    private final int[][] preSets;
+    private final int[][] postSets;
+
+    /**
+     * For every transition: places with non zero entries and their entries.
+     */
+    private final int[][] columnPlaces;
+    private final int[][] columnWeights;
+
+    private IncidenceMatrix(CompiledPetriNet petriNet, int placeCount, int[][] preSets, int[][] postSets){
+        this.petriNet = petriNet;
+        this.placeCount = placeCount;
+        this.preSets = preSets;
+        this.postSets = postSets;
+        this.columnPlaces = new int[preSets.length][];
+        this.columnWeights = new int[preSets.length][];
+        var column = new int[placeCount];
+        for(int transition = 0; transition < preSets.length; transition++){
+            for(var place : preSets[transition]) column[place]--;
+            for(var place : postSets[transition]) column[place]++;
+            columnPlaces[transition] = IntStream.concat(Arrays.stream(preSets[transition]), Arrays.stream(postSets[transition]))
+                    .distinct().filter(place -> column[place] != 0).sorted().toArray();
+            columnWeights[transition] = Arrays.stream(columnPlaces[transition]).map(place -> column[place]).toArray();
+            for(var place : preSets[transition]) column[place] = 0;
+            for(var place : postSets[transition]) column[place] = 0;
+        }
+    }
+
+    /**
+     * Derive the incidence matrix from the arcs of the PetriNet the compiled net was created from.
+     *
+     * @param petriNet a compiled PetriNet
+     * @return the incidence matrix of the PetriNet
+     */
+    public static IncidenceMatrix of(CompiledPetriNet petriNet){
+        var pre = new ArrayList<List<Integer>>();
+        var post = new ArrayList<List<Integer>>();
+        for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+            pre.add(new ArrayList<>());
+            post.add(new ArrayList<>());
+        }
+        for(var arc : petriNet.getPetriNet().getArcs()){
+            if(arc.getSource() instanceof Place){
+                pre.get(petriNet.getTransitionIndex(arc.getTarget().getID())).add(petriNet.getPlaceIndex(arc.getSource().getID()));
+            }else{
+                post.get(petriNet.getTransitionIndex(arc.getSource().getID())).add(petriNet.getPlaceIndex(arc.getTarget().getID()));
+            }
+        }
+        return new IncidenceMatrix(petriNet, petriNet.getPlaceCount(), toArrays(pre), toArrays(post));
+    }
+
+    private static int[][] toArrays(List<List<Integer>> lists){
+        var arrays = new int[lists.size()][];
+        for(int i = 0; i < lists.size(); i++){
+            arrays[i] = lists.get(i).stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+        }
+        return arrays;
+    }
+
+    /**
+     * The short circuited net has an additional transition (with index {@link #getTransitionCount()} - 1),
+     * moving the marker from the sink back to the source. A route terminates properly if the short
+     * circuited net has no deadlocks.
+     *
+     * @param source index of the source place
+     * @param sink index of the sink place
+     * @return the incidence matrix of the short circuited net
+     */
+    public IncidenceMatrix shortCircuit(int source, int sink){
+        var pre = Arrays.copyOf(preSets, preSets.length + 1);
+        var post = Arrays.copyOf(postSets, postSets.length + 1);
+        pre[preSets.length] = new int[]{sink};
+        post[postSets.length] = new int[]{source};
+        return new IncidenceMatrix(petriNet, placeCount, pre, post);
+    }
+
+    /**
+     * @return the compiled PetriNet, the indices of this matrix belong to
+     */
+    public CompiledPetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    public int getPlaceCount() {
+        return placeCount;
+    }
+
+    public int getTransitionCount() {
+        return preSets.length;
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return places with non zero entries in the column of the transition (must not be modified)
+     */
+    public int[] getColumnPlaces(int transition) {
+        return columnPlaces[transition];
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return the non zero entries of the column of the transition, ordered like {@link #getColumnPlaces(int)}
+     */
+    public int[] getColumnWeights(int transition) {
+        return columnWeights[transition];
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return the places which need a marker to use the transition (must not be modified)
+     */
+    public int[] getPreSet(int transition) {
+        return preSets[transition];
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return the places which gain a marker when using the transition (must not be modified)
+     */
+    public int[] getPostSet(int transition) {
+        return postSets[transition];
+    }
+
+    /**
+     * @return the incidence matrix as dense array, indexed [place][transition]
+     */
+    public int[][] toDense(){
+        var dense = new int[placeCount][getTransitionCount()];
+        for(int transition = 0; transition < getTransitionCount(); transition++){
+            for(int i = 0; i < columnPlaces[transition].length; i++){
+                dense[columnPlaces[transition][i]][transition] = columnWeights[transition][i];
+            }
+        }
+        return dense;
+    }
+}
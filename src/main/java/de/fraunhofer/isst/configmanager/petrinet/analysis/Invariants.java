@@ -0,0 +1,137 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Computes the minimal semi-positive place and transition invariants of an {@link IncidenceMatrix}
+ * using the Farkas algorithm.
+ *
+ * A place invariant y (y * C = 0) is a weighting of the places, whose weighted marker sum never changes,
+ * a transition invariant x (C * x = 0) is a multiset of transitions, whose use does not change the marking.
+ * The number of minimal invariants can grow exponentially, so the computation gives up (returns null),
+ * when more than the given number of intermediate rows would be needed.
+ */
+public class Invariants {
+
+    private Invariants(){
+    }
+
+    /**
+     * @param matrix an incidence matrix
+     * @param maxRows maximum number of intermediate rows
+     * @return the minimal semi-positive place invariants (indexed by place), or null if maxRows was exceeded
+     */
+    public static List<long[]> placeInvariants(IncidenceMatrix matrix, int maxRows){
+        return farkas(matrix.toDense(), maxRows);
+    }
+
+    /**
+     * @param matrix an incidence matrix
+     * @param maxRows maximum number of intermediate rows
+     * @return the minimal semi-positive transition invariants (indexed by transition), or null if maxRows was exceeded
+     */
+    public static List<long[]> transitionInvariants(IncidenceMatrix matrix, int maxRows){
+        var dense = matrix.toDense();
+        var transposed = new int[matrix.getTransitionCount()][matrix.getPlaceCount()];
+        for(int place = 0; place < dense.length; place++){
+            for(int transition = 0; transition < transposed.length; transition++){
+                transposed[transition][place] = dense[place][transition];
+            }
+        }
+        return farkas(transposed, maxRows);
+    }
+
+    /**
+     * @param matrix dense matrix, indexed [row][column]
+     * @return minimal semi-positive y with y * matrix = 0, or null if maxRows was exceeded
+     */
+    private static List<long[]> farkas(int[][] matrix, int maxRows){
+        var columns = matrix.length == 0 ? 0 : matrix[0].length;
+        //every row is the remaining matrix part followed by the combination of the original rows
+        var rows = new ArrayList<long[]>();
+        for(int i = 0; i < matrix.length; i++){
+            var row = new long[columns + matrix.length];
+            for(int j = 0; j < columns; j++) row[j] = matrix[i][j];
+            row[columns + i] = 1;
+            rows.add(row);
+        }
+        try{
+            for(int column = 0; column < columns; column++){
+                var next = new ArrayList<long[]>();
+                var positive = new ArrayList<long[]>();
+                var negative = new ArrayList<long[]>();
+                for(var row : rows){
+                    if(row[column] == 0) next.add(row);
+                    else if(row[column] > 0) positive.add(row);
+                    else negative.add(row);
+                }
+                for(var plus : positive){
+                    for(var minus : negative){
+                        var combined = new long[plus.length];
+                        for(int j = 0; j < combined.length; j++){
+                            combined[j] = Math.addExact(Math.multiplyExact(-minus[column], plus[j]),
+                                    Math.multiplyExact(plus[column], minus[j]));
+                        }
+                        next.add(normalize(combined));
+                    }
+                    if(next.size() > maxRows) return null;
+                }
+                rows = minimalSupports(next, columns);
+                if(rows.size() > maxRows) return null;
+            }
+        }catch(ArithmeticException e){
+            return null;
+        }
+        var invariants = new ArrayList<long[]>();
+        for(var row : rows){
+            var invariant = new long[matrix.length];
+            System.arraycopy(row, columns, invariant, 0, matrix.length);
+            invariants.add(invariant);
+        }
+        return invariants;
+    }
+
+    private static long[] normalize(long[] row){
+        var gcd = BigInteger.ZERO;
+        for(var value : row){
+            gcd = gcd.gcd(BigInteger.valueOf(value));
+        }
+        if(gcd.signum() != 0 && !gcd.equals(BigInteger.ONE)){
+            var divisor = gcd.longValue();
+            for(int j = 0; j < row.length; j++) row[j] /= divisor;
+        }
+        return row;
+    }
+
+    /**
+     * @return the rows, whose support (of the combination part) contains no support of another row
+     */
+    private static ArrayList<long[]> minimalSupports(List<long[]> rows, int offset){
+        var supports = new ArrayList<BitSet>();
+        for(var row : rows){
+            var support = new BitSet();
+            for(int j = offset; j < row.length; j++){
+                if(row[j] != 0) support.set(j - offset);
+            }
+            supports.add(support);
+        }
+        var minimal = new ArrayList<long[]>();
+        for(int i = 0; i < rows.size(); i++){
+            var isMinimal = true;
+            for(int k = 0; k < rows.size() && isMinimal; k++){
+                if(k == i) continue;
+                var other = (BitSet) supports.get(k).clone();
+                other.andNot(supports.get(i));
+                //another row has a smaller support, or the same support and comes first
+                if(other.isEmpty() && (supports.get(k).cardinality() < supports.get(i).cardinality() || k < i)){
+                    isMinimal = false;
+                }
+            }
+            if(isMinimal) minimal.add(rows.get(i));
+        }
+        return minimal;
+    }
+}
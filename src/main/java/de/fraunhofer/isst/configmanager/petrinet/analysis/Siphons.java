@@ -0,0 +1,149 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Siphons and traps of the net of an {@link IncidenceMatrix}.
+ *
+ * A siphon is a set of places, which stays empty once it is empty: every transition giving markers to the set
+ * needs a marker from the set. A trap is a set of places, which stays marked once it is marked: every
+ * transition taking markers from the set gives a marker back to the set. If every siphon contains a trap,
+ * which is marked in the initial marking, no siphon can become empty, so the net has no deadlock.
+ */
+public class Siphons {
+
+    private Siphons(){
+    }
+
+    /**
+     * Enumerate siphons by extending every single place, until all transitions giving markers to the set
+     * take a marker from the set. Every minimal siphon is among the results.
+     *
+     * @param matrix an incidence matrix
+     * @param maxCandidates maximum number of examined place sets
+     * @return siphons including all minimal siphons, or null if maxCandidates was exceeded
+     */
+    public static List<BitSet> siphons(IncidenceMatrix matrix, int maxCandidates){
+        var producers = producers(matrix);
+        var examined = new HashSet<BitSet>();
+        var siphons = new ArrayList<BitSet>();
+        for(int place = 0; place < matrix.getPlaceCount(); place++){
+            var start = new BitSet();
+            start.set(place);
+            var candidates = new ArrayDeque<BitSet>();
+            candidates.push(start);
+            while(!candidates.isEmpty()){
+                var candidate = candidates.pop();
+                if(!examined.add(candidate)) continue;
+                if(examined.size() > maxCandidates) return null;
+                var violating = violatingProducer(matrix, producers, candidate);
+                if(violating < 0){
+                    siphons.add(candidate);
+                    continue;
+                }
+                //one of the previous places of the violating transition has to be in the siphon
+                for(var previous : matrix.getPreSet(violating)){
+                    var extended = (BitSet) candidate.clone();
+                    extended.set(previous);
+                    candidates.push(extended);
+                }
+            }
+        }
+        return siphons;
+    }
+
+    /**
+     * @return a transition giving markers to the places without taking a marker from them, -1 if there is none
+     */
+    private static int violatingProducer(IncidenceMatrix matrix, List<List<Integer>> producers, BitSet places){
+        for(var place = places.nextSetBit(0); place >= 0; place = places.nextSetBit(place + 1)){
+            for(var transition : producers.get(place)){
+                var takesMarker = false;
+                for(var previous : matrix.getPreSet(transition)){
+                    if(places.get(previous)){
+                        takesMarker = true;
+                        break;
+                    }
+                }
+                if(!takesMarker) return transition;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param matrix an incidence matrix
+     * @param places a set of places
+     * @return the largest trap contained in the given places (possibly empty)
+     */
+    public static BitSet maximalTrap(IncidenceMatrix matrix, BitSet places){
+        return maximalTrap(matrix, consumers(matrix), places);
+    }
+
+    /**
+     * @param marking a marking of the net
+     * @param maxCandidates maximum number of examined place sets
+     * @return true if every siphon contains a trap marked in the given marking, null if maxCandidates was exceeded
+     */
+    public static Boolean everySiphonHasMarkedTrap(IncidenceMatrix matrix, int[] marking, int maxCandidates){
+        var siphons = siphons(matrix, maxCandidates);
+        if(siphons == null) return null;
+        var consumers = consumers(matrix);
+        for(var siphon : siphons){
+            var trap = maximalTrap(matrix, consumers, siphon);
+            var marked = false;
+            for(var place = trap.nextSetBit(0); place >= 0 && !marked; place = trap.nextSetBit(place + 1)){
+                marked = marking[place] > 0;
+            }
+            if(!marked) return false;
+        }
+        return true;
+    }
+
+    private static BitSet maximalTrap(IncidenceMatrix matrix, List<List<Integer>> consumers, BitSet places){
+        var trap = (BitSet) places.clone();
+        var changed = true;
+        while(changed){
+            changed = false;
+            for(var place = trap.nextSetBit(0); place >= 0; place = trap.nextSetBit(place + 1)){
+                for(var transition : consumers.get(place)){
+                    var givesBack = false;
+                    for(var next : matrix.getPostSet(transition)){
+                        if(trap.get(next)){
+                            givesBack = true;
+                            break;
+                        }
+                    }
+                    if(!givesBack){
+                        trap.clear(place);
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return trap;
+    }
+
+    private static List<List<Integer>> producers(IncidenceMatrix matrix){
+        var producers = new ArrayList<List<Integer>>();
+        for(int place = 0; place < matrix.getPlaceCount(); place++) producers.add(new ArrayList<>());
+        for(int transition = 0; transition < matrix.getTransitionCount(); transition++){
+            for(var place : matrix.getPostSet(transition)) producers.get(place).add(transition);
+        }
+        return producers;
+    }
+
+    private static List<List<Integer>> consumers(IncidenceMatrix matrix){
+        var consumers = new ArrayList<List<Integer>>();
+        for(int place = 0; place < matrix.getPlaceCount(); place++) consumers.add(new ArrayList<>());
+        for(int transition = 0; transition < matrix.getTransitionCount(); transition++){
+            for(var place : matrix.getPreSet(transition)) consumers.get(place).add(transition);
+        }
+        return consumers;
+    }
+}
@@ -0,0 +1,94 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Structural analysis of a PetriNet, using only its incidence matrix and its initial marking.
+ * It gives cheap certificates for boundedness (place invariants covering every place) and for deadlock
+ * freedom (siphon-trap property of the short circuited net), so the state space only has to be explored
+ * if a certificate is missing.
+ */
+@Slf4j
+public class StructuralAnalysis {
+
+    /**
+     * Maximum number of intermediate rows of the invariant computation.
+     */
+    private static final int MAX_INVARIANT_ROWS = 10_000;
+
+    /**
+     * Maximum number of place sets examined when enumerating siphons.
+     */
+    private static final int MAX_SIPHON_CANDIDATES = 10_000;
+
+    private static final URI SOURCE = URI.create("place://source");
+    private static final URI SINK = URI.create("place://sink");
+
+    private StructuralAnalysis(){
+    }
+
+    /**
+     * @param petriNet the initial PetriNet
+     * @return invariants and certificates of the PetriNet
+     */
+    public static StructuralAnalysisResult analyse(PetriNet petriNet){
+        return analyse(new CompiledPetriNet(petriNet));
+    }
+
+    /**
+     * @param petriNet the compiled initial PetriNet
+     * @return invariants and certificates of the PetriNet
+     */
+    public static StructuralAnalysisResult analyse(CompiledPetriNet petriNet){
+        var start = System.currentTimeMillis();
+        var matrix = IncidenceMatrix.of(petriNet);
+        var marking = petriNet.getInitialMarking();
+        var placeInvariants = Invariants.placeInvariants(matrix, MAX_INVARIANT_ROWS);
+        var transitionInvariants = Invariants.transitionInvariants(matrix, MAX_INVARIANT_ROWS);
+        var placeBounds = placeBounds(matrix, placeInvariants, marking);
+
+        //a route terminates when the sink is marked, so deadlocks are checked with the sink leading back to the source
+        var source = petriNet.getPlaceIndex(SOURCE);
+        var sink = petriNet.getPlaceIndex(SINK);
+        var shortCircuited = source >= 0 && sink >= 0 ? matrix.shortCircuit(source, sink) : matrix;
+        var deadlockFree = Siphons.everySiphonHasMarkedTrap(shortCircuited, marking, MAX_SIPHON_CANDIDATES);
+
+        var result = new StructuralAnalysisResult(matrix, placeInvariants, transitionInvariants, placeBounds,
+                Boolean.TRUE.equals(deadlockFree), System.currentTimeMillis() - start);
+        log.info(String.format("Structural analysis: %s place invariants, %s transition invariants, bounded: %s, deadlock free: %s (%d ms)",
+                placeInvariants == null ? "too many" : placeInvariants.size(),
+                transitionInvariants == null ? "too many" : transitionInvariants.size(),
+                result.isBounded(), deadlockFree == null ? "too many siphons" : deadlockFree, result.getDurationMillis()));
+        return result;
+    }
+
+    /**
+     * For a place invariant y, the weighted marker sum y * M stays y * M0, so a place p covered by y
+     * never holds more than (y * M0) / y[p] markers.
+     *
+     * @return the smallest bound of every place, -1 if no invariant covers the place
+     */
+    private static int[] placeBounds(IncidenceMatrix matrix, List<long[]> invariants, int[] marking){
+        var bounds = new int[matrix.getPlaceCount()];
+        Arrays.fill(bounds, -1);
+        if(invariants == null) return bounds;
+        for(var invariant : invariants){
+            var total = 0L;
+            for(int place = 0; place < marking.length; place++){
+                total += invariant[place] * marking[place];
+            }
+            for(int place = 0; place < marking.length; place++){
+                if(invariant[place] <= 0) continue;
+                var bound = (int) Math.min(Integer.MAX_VALUE, total / invariant[place]);
+                if(bounds[place] < 0 || bound < bounds[place]) bounds[place] = bound;
+            }
+        }
+        return bounds;
+    }
+}
@@ -0,0 +1,62 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Result of a {@link StructuralAnalysis}. The certificates are sufficient conditions: if a certificate
+ * is missing, the property may still hold and has to be checked on the state space.
+ */
+@Getter
+public class StructuralAnalysisResult {
+
+    public StructuralAnalysisResult(IncidenceMatrix incidenceMatrix, List<long[]> placeInvariants,
+                                    List<long[]> transitionInvariants, int[] placeBounds,
+                                    boolean deadlockFree, long durationMillis){
+        this.incidenceMatrix = incidenceMatrix;
+        this.placeInvariants = placeInvariants;
+        this.transitionInvariants = transitionInvariants;
+        this.placeBounds = placeBounds;
+        this.deadlockFree = deadlockFree;
+        this.durationMillis = durationMillis;
+    }
+
+    private IncidenceMatrix incidenceMatrix;
+
+    /**
+     * Minimal semi-positive place invariants, null if there were too many to compute.
+     */
+    private List<long[]> placeInvariants;
+
+    /**
+     * Minimal semi-positive transition invariants, null if there were too many to compute.
+     */
+    private List<long[]> transitionInvariants;
+
+    /**
+     * For every place: the bound derived from the place invariants, -1 if no invariant covers the place.
+     */
+    private int[] placeBounds;
+
+    /**
+     * True if every siphon of the short circuited net contains an initially marked trap,
+     * so every dead marking reachable from the initial marking marks place://sink.
+     */
+    private boolean deadlockFree;
+
+    /**
+     * Wall-clock time of the analysis in milliseconds.
+     */
+    private long durationMillis;
+
+    /**
+     * @return true if the place invariants cover every place, so the PetriNet is bounded
+     */
+    public boolean isBounded(){
+        for(var bound : placeBounds){
+            if(bound < 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,162 @@
+package de.fraunhofer.isst.configmanager.petrinet.builder;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache for analysis results of a PetriNet maintained by an {@link IncrementalPetriNetBuilder}.
+ *
+ * Every result is stored with the IDs of the nodes it depends on. When the net changes, only the results
+ * depending on a changed node are removed: results about a part of the net (e.g. a RouteStep or a component
+ * of the net) stay valid while other parts are edited. Results without given nodes depend on the whole net
+ * and are removed by every change.
+ *
+ * Analyses are computed without holding the lock of the cache, they may take the lock of the net (e.g. to compile
+ * it), which is held while the net changes and the cache is invalidated. A result is only stored if the cache was
+ * not invalidated while it was computed, so no result of an outdated net is cached.
+ */
+public class AnalysisCache {
+
+    private final Map<String, Object> results = new HashMap<>();
+
+    /**
+     * Keys of the results depending on the whole net.
+     */
+    private final Set<String> wholeNetResults = new HashSet<>();
+
+    /**
+     * For every node ID: keys of the results depending on the node.
+     */
+    private final Map<URI, Set<String>> dependents = new HashMap<>();
+
+    /**
+     * For every key of a result depending on single nodes: the IDs of these nodes.
+     */
+    private final Map<String, Collection<URI>> dependencies = new HashMap<>();
+
+    /**
+     * Incremented by every invalidation, results computed before an invalidation are not stored.
+     */
+    private long version;
+
+    /**
+     * @param key key of the analysis result
+     * @param analysis computes the result, if it is not cached
+     * @param <T> type of the result
+     * @return the cached or computed result, depending on the whole net
+     */
+    public <T> T get(String key, Supplier<T> analysis){
+        return get(key, null, analysis);
+    }
+
+    /**
+     * @param key key of the analysis result
+     * @param nodes IDs of the nodes the result depends on, null if it depends on the whole net
+     * @param analysis computes the result, if it is not cached
+     * @param <T> type of the result
+     * @return the cached or computed result
+     */
+    public <T> T get(String key, Collection<URI> nodes, Supplier<T> analysis){
+        return get(key, nodes, analysis, result -> true);
+    }
+
+    /**
+     * @param key key of the analysis result
+     * @param nodes IDs of the nodes the result depends on, null if it depends on the whole net
+     * @param analysis computes the result, if it is not cached
+     * @param cacheable decides if a computed result is stored (e.g. not a result cut off by a timeout)
+     * @param <T> type of the result
+     * @return the cached or computed result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Collection<URI> nodes, Supplier<T> analysis, Predicate<? super T> cacheable){
+        final long computedVersion;
+        synchronized(this){
+            if(results.containsKey(key)){
+                return (T) results.get(key);
+            }
+            computedVersion = version;
+        }
+        var result = analysis.get();
+        if(!cacheable.test(result)){
+            return result;
+        }
+        synchronized(this){
+            if(computedVersion != version){
+                //the net changed while the result was computed
+                return result;
+            }
+            if(results.containsKey(key)){
+                //computed concurrently by another caller
+                return (T) results.get(key);
+            }
+            results.put(key, result);
+            if(nodes == null){
+                wholeNetResults.add(key);
+            }else{
+                dependencies.put(key, Set.copyOf(nodes));
+                for(var node : nodes){
+                    dependents.computeIfAbsent(node, id -> new HashSet<>()).add(key);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param key key of the analysis result
+     * @return true if the result is cached
+     */
+    public synchronized boolean contains(String key){
+        return results.containsKey(key);
+    }
+
+    /**
+     * Remove all results depending on the given nodes or on the whole net.
+     *
+     * @param changedNodes IDs of changed nodes
+     * @return number of removed results
+     */
+    public synchronized int invalidate(Collection<URI> changedNodes){
+        version++;
+        var removed = 0;
+        for(var key : wholeNetResults){
+            results.remove(key);
+            removed++;
+        }
+        wholeNetResults.clear();
+        for(var node : changedNodes){
+            var keys = dependents.remove(node);
+            if(keys == null) continue;
+            for(var key : keys){
+                //the result may already be removed, if it depends on several changed nodes
+                var nodesOfKey = dependencies.remove(key);
+                if(nodesOfKey == null) continue;
+                results.remove(key);
+                removed++;
+                for(var other : nodesOfKey){
+                    var otherKeys = dependents.get(other);
+                    if(otherKeys != null) otherKeys.remove(key);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Remove all results.
+     */
+    public synchronized void clear(){
+        version++;
+        results.clear();
+        wholeNetResults.clear();
+        dependents.clear();
+        dependencies.clear();
+    }
+}
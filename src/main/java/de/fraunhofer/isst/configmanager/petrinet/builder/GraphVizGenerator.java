@@ -3,10 +3,11 @@ package de.fraunhofer.isst.configmanager.petrinet.builder;
 import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
 import de.fraunhofer.isst.configmanager.petrinet.model.PlaceImpl;
 import de.fraunhofer.isst.configmanager.petrinet.model.TransitionImpl;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
 import de.fraunhofer.isst.configmanager.petrinet.simulator.StepGraph;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.StringWriter;
 
 /**
  * Generator for GraphViz representations as DOT Strings.
@@ -35,7 +36,6 @@ public class GraphVizGenerator {
                     s.append(", color=red");
                 }
                 s.append("];");
-                s.append(node.getID().hashCode() + "[label=\"" + node.getID() + "\"];");
             }
         }
         for(var arc : petriNet.getArcs()){
@@ -47,44 +47,68 @@ public class GraphVizGenerator {
     }
     
     /**
-     * Generate a GraphViz Dot String representation for the given {@link StepGraph}
-     * The StepGraph for which the Graph representation should be built.
-     * @return a DOT String, used for visualizing the StepGraph with GraphViz.
+     * Generate a GraphViz Dot String representation for a marking of the given {@link CompiledPetriNet},
+     * equal to the representation of the object model in that state, without creating the object model.
+     *
+     * @param petriNet the compiled PetriNet
+     * @param marking a marking of the compiled PetriNet
+     * @return a DOT String, used for visualizing the PetriNet with GraphViz
      */
-    public static String generateGraphViz(StepGraph stepGraph){
-        var someId = String.valueOf(stepGraph.getSteps().stream().findAny().get().getNodes().stream().findAny().get().getID().hashCode());
-        var graphArcs = new ArrayList<GraphvizArc>();
-        StringBuilder s = new StringBuilder();
+    public static String generateGraphViz(CompiledPetriNet petriNet, int[] marking){
+        final var s = new StringBuilder();
         s.append("digraph graphname {");
-        //the StepGraph will be a compound graph from all PetriNet subgraphs it contains
-        s.append("compound=true;");
-        var i = 0;
-        var idMap = new HashMap<PetriNet, Integer>();
-        for(var petriNet : stepGraph.getSteps()){
-            //generate the graph for every PetriNet in the StepGraph
-            var petriString = generateGraphViz(petriNet);
-            //the PetriNet Graphs will be subgraphs and have different names
-            petriString = petriString.replace("digraph", "subgraph");
-            petriString = petriString.replace("graphname", "cluster"+i);
-            for(var node : petriNet.getNodes()){
-                //nodes must have unique names too (or DOT will draw them as the same node)
-                petriString = petriString.replace(String.valueOf(node.getID().hashCode()), node.getID().hashCode()+String.valueOf(i));
-            }
-            s.append(petriString);
-            idMap.put(petriNet, i);
-            i++;
+        var placeNames = new int[petriNet.getPlaceCount()];
+        var transitionNames = new int[petriNet.getTransitionCount()];
+        for(int transition = 0; transition < transitionNames.length; transition++){
+            var id = petriNet.getTransitionId(transition);
+            transitionNames[transition] = id.hashCode();
+            //transitions will be drawn as boxes
+            s.append(transitionNames[transition]).append(" [shape=box, label=\"").append(id).append("\"];");
         }
-        for(var arc : stepGraph.getArcs()){
-            //build a GraphvizArc for each NetArc in the StepGraph
-            graphArcs.add(new GraphvizArc(idMap.get(arc.getSource()), idMap.get(arc.getTarget())));
+        for(int place = 0; place < placeNames.length; place++){
+            var id = petriNet.getPlaceId(place);
+            placeNames[place] = id.hashCode();
+            //nodes will be drawn as circles and coloured red, if there have markers
+            s.append(placeNames[place]).append("[label=\"").append(id).append("\"");
+            if(marking[place] > 0){
+                s.append(", color=red");
+            }
+            s.append("];");
         }
-        for(var arc : graphArcs){
-            //draw the GraphVizArcs as directed edges between the PetriNet Subgraphs
-            s.append(someId + arc.getSource() + " -> " + someId + arc.getTarget() + "[ltail=cluster"+arc.getSource()+",lhead=cluster"+arc.getTarget()+"];");
+        //a directed edge will be drawn for every arc
+        var preOffsets = petriNet.getPreOffsets();
+        var prePlaces = petriNet.getPrePlaces();
+        var postOffsets = petriNet.getPostOffsets();
+        var postPlaces = petriNet.getPostPlaces();
+        for(int transition = 0; transition < transitionNames.length; transition++){
+            for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+                s.append(placeNames[prePlaces[i]]).append(" -> ").append(transitionNames[transition]).append(';');
+            }
+            for(int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++){
+                s.append(transitionNames[transition]).append(" -> ").append(placeNames[postPlaces[i]]).append(';');
+            }
         }
         s.append("}");
         return s.toString();
     }
+
+    /**
+     * Generate a GraphViz Dot String representation for the given {@link StepGraph}
+     * Large StepGraphs should be written with {@link GraphVizWriter#write(StepGraph, java.io.Writer)} instead.
+     *
+     * @param stepGraph The StepGraph for which the Graph representation should be built.
+     * @return a DOT String, used for visualizing the StepGraph with GraphViz.
+     */
+    public static String generateGraphViz(StepGraph stepGraph){
+        var writer = new StringWriter();
+        try{
+            GraphVizWriter.write(stepGraph, writer);
+        }catch(IOException e){
+            //a StringWriter does not throw
+            throw new IllegalStateException("Could not write StepGraph", e);
+        }
+        return writer.toString();
+    }
     
     /**
      * Utility Subclass, representing Petri Net Arcs
@@ -0,0 +1,143 @@
+package de.fraunhofer.isst.configmanager.petrinet.builder;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.StepGraph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes GraphViz DOT representations directly to a {@link Writer} or {@link OutputStream},
+ * without building the document as String first. Used for StepGraphs with many steps, where the
+ * DOT document is much larger than the StepGraph itself.
+ *
+ * Node names are computed once from the indices of the {@link CompiledPetriNet}: the node with index i is
+ * named p&lt;i&gt; (places) or t&lt;i&gt; (transitions), prefixed by s&lt;step&gt; inside the subgraph of a step.
+ * They are unique by construction, unlike the hash codes of the node IDs.
+ */
+public class GraphVizWriter {
+
+    private GraphVizWriter(){}
+
+    /**
+     * Write the GraphViz DOT representation of a {@link StepGraph}: a compound graph with one subgraph per step,
+     * and an edge between the subgraphs for every arc of the StepGraph.
+     *
+     * @param stepGraph the StepGraph to write, its steps are not materialized as PetriNets
+     * @param writer the writer, is flushed but not closed
+     * @throws IOException if the writer fails
+     */
+    public static void write(StepGraph stepGraph, Writer writer) throws IOException {
+        var petriNet = stepGraph.getPetriNet();
+        var names = new NodeNames(petriNet);
+        writer.write("digraph graphname {");
+        //the StepGraph will be a compound graph from all PetriNet subgraphs it contains
+        writer.write("compound=true;");
+        for(int step = 0; step < stepGraph.getStepCount(); step++){
+            writer.write("subgraph cluster" + step + " {");
+            writeNet(petriNet, stepGraph.getMarking(step), "s" + step, names, writer);
+            writer.write('}');
+        }
+        //edges between clusters need nodes inside the clusters, every step has the places of the net
+        //(a net without places and transitions has a single step without arcs)
+        var anchor = names.placeNames.length > 0 ? names.placeNames[0]
+                : names.transitionNames.length > 0 ? names.transitionNames[0] : null;
+        for(int arc = 0; anchor != null && arc < stepGraph.getArcCount(); arc++){
+            var source = stepGraph.getArcSource(arc);
+            var target = stepGraph.getArcTarget(arc);
+            writer.write("s" + source + anchor + " -> s" + target + anchor + "[ltail=cluster" + source + ",lhead=cluster" + target + "];");
+        }
+        writer.write('}');
+        writer.flush();
+    }
+
+    /**
+     * Write the GraphViz DOT representation of a {@link StepGraph} as UTF-8.
+     *
+     * @param stepGraph the StepGraph to write
+     * @param outputStream the stream, is flushed but not closed
+     * @throws IOException if the stream fails
+     */
+    public static void write(StepGraph stepGraph, OutputStream outputStream) throws IOException {
+        write(stepGraph, new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Write the GraphViz DOT representation of a marking of a {@link CompiledPetriNet}.
+     *
+     * @param petriNet the compiled PetriNet
+     * @param marking a marking of the compiled PetriNet
+     * @param writer the writer, is flushed but not closed
+     * @throws IOException if the writer fails
+     */
+    public static void write(CompiledPetriNet petriNet, int[] marking, Writer writer) throws IOException {
+        var names = new NodeNames(petriNet);
+        writer.write("digraph graphname {");
+        writeNet(petriNet, marking, "", names, writer);
+        writer.write('}');
+        writer.flush();
+    }
+
+    /**
+     * Write the node and arc statements of a marking, all node names get the given prefix.
+     */
+    private static void writeNet(CompiledPetriNet petriNet, int[] marking, String prefix, NodeNames names,
+                                 Writer writer) throws IOException {
+        var placeNames = names.placeNames;
+        var transitionNames = names.transitionNames;
+        for(var statement : names.transitionStatements){
+            //transitions will be drawn as boxes
+            writer.write(prefix);
+            writer.write(statement);
+        }
+        for(int place = 0; place < placeNames.length; place++){
+            //places will be drawn as circles and coloured red, if there have markers
+            writer.write(prefix);
+            writer.write(placeNames[place]);
+            writer.write(names.placeLabels[place]);
+            writer.write(marking[place] > 0 ? ", color=red];" : "];");
+        }
+        //a directed edge will be drawn for every arc
+        var preOffsets = petriNet.getPreOffsets();
+        var prePlaces = petriNet.getPrePlaces();
+        var postOffsets = petriNet.getPostOffsets();
+        var postPlaces = petriNet.getPostPlaces();
+        for(int transition = 0; transition < transitionNames.length; transition++){
+            for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+                writer.write(prefix + placeNames[prePlaces[i]] + " -> " + prefix + transitionNames[transition] + ";");
+            }
+            for(int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++){
+                writer.write(prefix + transitionNames[transition] + " -> " + prefix + placeNames[postPlaces[i]] + ";");
+            }
+        }
+    }
+
+    /**
+     * Names and constant statement parts of the nodes of a compiled net, computed once for all steps.
+     */
+    private static final class NodeNames {
+        private final String[] placeNames;
+        private final String[] placeLabels;
+        private final String[] transitionNames;
+        private final String[] transitionStatements;
+
+        private NodeNames(CompiledPetriNet petriNet){
+            placeNames = new String[petriNet.getPlaceCount()];
+            placeLabels = new String[placeNames.length];
+            for(int place = 0; place < placeNames.length; place++){
+                placeNames[place] = "p" + place;
+                placeLabels[place] = "[label=\"" + petriNet.getPlaceId(place) + "\"";
+            }
+            transitionNames = new String[petriNet.getTransitionCount()];
+            transitionStatements = new String[transitionNames.length];
+            for(int transition = 0; transition < transitionNames.length; transition++){
+                transitionNames[transition] = "t" + transition;
+                transitionStatements[transition] = "t" + transition + " [shape=box, label=\"" + petriNet.getTransitionId(transition) + "\"];";
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package de.fraunhofer.isst.configmanager.petrinet.builder;
+
+import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.iais.eis.Endpoint;
+import de.fraunhofer.iais.eis.RouteStep;
+import de.fraunhofer.isst.configmanager.petrinet.model.Arc;
+import de.fraunhofer.isst.configmanager.petrinet.model.ArcImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.Node;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNetImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.PlaceImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.TransitionImpl;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the PetriNet of an {@link AppRoute} up to date while its RouteSteps are added and removed,
+ * instead of building the whole net again with {@link InfomodelPetriNetBuilder#petriNetFromAppRoute(AppRoute, boolean)}.
+ *
+ * A RouteStep only changes its own place, the transitions of its endpoints and the arcs of these transitions
+ * to place://source and place://sink, so every change costs time proportional to the number of endpoints of
+ * the RouteStep. The resulting net equals the net built from scratch for the changed AppRoute.
+ * Cached analysis results of the net are invalidated by the {@link AnalysisCache} for the changed nodes only.
+ */
+@Slf4j
+public class IncrementalPetriNetBuilder {
+
+    private static final URI SOURCE = URI.create("place://source");
+    private static final URI SINK = URI.create("place://sink");
+
+    private final PetriNet petriNet;
+    private final PlaceImpl source;
+    private final PlaceImpl sink;
+
+    /**
+     * For every RouteStep in the net: the endpoints starting and ending it.
+     */
+    private final Map<URI, List<URI>> stepStarts = new HashMap<>();
+    private final Map<URI, List<URI>> stepEnds = new HashMap<>();
+
+    /**
+     * For every endpoint transition: the number of RouteSteps it starts (arcs transition -> step)
+     * and ends (arcs step -> transition).
+     */
+    private final Map<URI, Integer> startedSteps = new HashMap<>();
+    private final Map<URI, Integer> endedSteps = new HashMap<>();
+
+    private final AnalysisCache analysisCache = new AnalysisCache();
+
+    /**
+     * Compiled net of the current state, null if the net changed since it was compiled.
+     */
+    private CompiledPetriNet compiledPetriNet;
+
+    /**
+     * @param appRoute the AppRoute to build the PetriNet for
+     * @param includeAppRoute true if the AppRoute itself should be a place of the net (like its RouteSteps)
+     */
+    public IncrementalPetriNetBuilder(AppRoute appRoute, boolean includeAppRoute){
+        source = new PlaceImpl(SOURCE);
+        source.setMarkers(1);
+        sink = new PlaceImpl(SINK);
+        var nodes = new HashSet<Node>();
+        nodes.add(source);
+        nodes.add(sink);
+        petriNet = new PetriNetImpl(appRoute.getId(), nodes, new HashSet<>());
+        if(includeAppRoute){
+            addStep(appRoute.getId(), appRoute.getAppRouteStart(), appRoute.getAppRouteEnd());
+        }
+        if(appRoute.getHasSubRoute() != null){
+            for(var subRoute : appRoute.getHasSubRoute()){
+                addRouteStep(subRoute);
+            }
+        }
+    }
+
+    /**
+     * @return the current PetriNet (is modified by later changes of the AppRoute)
+     */
+    public synchronized PetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * @return the compiled current PetriNet, compiled again only if the net changed
+     */
+    public synchronized CompiledPetriNet getCompiledPetriNet() {
+        if(compiledPetriNet == null){
+            compiledPetriNet = new CompiledPetriNet(petriNet);
+        }
+        return compiledPetriNet;
+    }
+
+    /**
+     * @return the cache for analysis results of the net
+     */
+    public AnalysisCache getAnalysisCache() {
+        return analysisCache;
+    }
+
+    /**
+     * Add a RouteStep to the net, as place between the transitions of its start and end endpoints.
+     *
+     * @param routeStep the added RouteStep
+     * @return IDs of the changed nodes, empty if the RouteStep is already part of the net
+     */
+    public synchronized Set<URI> addRouteStep(RouteStep routeStep){
+        return addStep(routeStep.getId(), routeStep.getAppRouteStart(), routeStep.getAppRouteEnd());
+    }
+
+    /**
+     * Remove a RouteStep from the net, endpoints not used by another RouteStep are removed as well.
+     *
+     * @param routeStepId ID of the removed RouteStep
+     * @return IDs of the changed nodes, empty if the RouteStep is not part of the net
+     */
+    public synchronized Set<URI> removeRouteStep(URI routeStepId){
+        var changed = new HashSet<URI>();
+        if(!stepStarts.containsKey(routeStepId)){
+            return changed;
+        }
+        var place = petriNet.getNode(routeStepId);
+        changed.add(routeStepId);
+        for(var arc : Set.copyOf(place.getSourceArcs())) removeArc(arc);
+        for(var arc : Set.copyOf(place.getTargetArcs())) removeArc(arc);
+        petriNet.removeNode(place);
+        for(var endpoint : stepStarts.remove(routeStepId)){
+            changed.add(endpoint);
+            startedSteps.merge(endpoint, -1, Integer::sum);
+            updateEndpoint(endpoint, changed);
+        }
+        for(var endpoint : stepEnds.remove(routeStepId)){
+            changed.add(endpoint);
+            endedSteps.merge(endpoint, -1, Integer::sum);
+            updateEndpoint(endpoint, changed);
+        }
+        changed(changed);
+        return changed;
+    }
+
+    private Set<URI> addStep(URI stepId, List<? extends Endpoint> starts, List<? extends Endpoint> ends){
+        var changed = new HashSet<URI>();
+        //a step with an already known ID is not added again, like in the InfomodelPetriNetBuilder
+        if(stepStarts.containsKey(stepId)){
+            return changed;
+        }
+        var place = new PlaceImpl(stepId);
+        petriNet.addNode(place);
+        changed.add(stepId);
+        var startIds = ids(starts);
+        var endIds = ids(ends);
+        stepStarts.put(stepId, startIds);
+        stepEnds.put(stepId, endIds);
+        for(var endpoint : startIds){
+            petriNet.getArcs().add(new ArcImpl(getTransition(endpoint, changed), place));
+            startedSteps.merge(endpoint, 1, Integer::sum);
+        }
+        for(var endpoint : endIds){
+            petriNet.getArcs().add(new ArcImpl(place, getTransition(endpoint, changed)));
+            endedSteps.merge(endpoint, 1, Integer::sum);
+        }
+        for(var endpoint : startIds) updateEndpoint(endpoint, changed);
+        for(var endpoint : endIds) updateEndpoint(endpoint, changed);
+        changed(changed);
+        return changed;
+    }
+
+    /**
+     * @return distinct IDs of the endpoints, in their order
+     */
+    private static List<URI> ids(List<? extends Endpoint> endpoints){
+        if(endpoints == null) return List.of();
+        return endpoints.stream().map(Endpoint::getId).distinct().collect(Collectors.toList());
+    }
+
+    /**
+     * @return the transition of the endpoint, a new transition if the endpoint is not yet part of the net
+     */
+    private Node getTransition(URI endpoint, Set<URI> changed){
+        var transition = petriNet.getNode(endpoint);
+        if(transition == null){
+            transition = new TransitionImpl(endpoint);
+            petriNet.addNode(transition);
+            startedSteps.put(endpoint, 0);
+            endedSteps.put(endpoint, 0);
+        }
+        changed.add(endpoint);
+        return transition;
+    }
+
+    /**
+     * Update the arcs of an endpoint transition to place://source (if it starts no RouteStep) and place://sink
+     * (if it ends no RouteStep), remove the transition if it is not used anymore.
+     */
+    private void updateEndpoint(URI endpoint, Set<URI> changed){
+        var transition = petriNet.getNode(endpoint);
+        if(transition == null) return;
+        int starts = startedSteps.get(endpoint);
+        int ends = endedSteps.get(endpoint);
+        if(starts == 0 && ends == 0){
+            for(var arc : Set.copyOf(transition.getSourceArcs())) removeArc(arc);
+            for(var arc : Set.copyOf(transition.getTargetArcs())) removeArc(arc);
+            petriNet.removeNode(transition);
+            startedSteps.remove(endpoint);
+            endedSteps.remove(endpoint);
+            changed.add(SOURCE);
+            changed.add(SINK);
+            return;
+        }
+        //the InfomodelPetriNetBuilder connects transitions without input to the source, without output to the sink
+        var sourceArc = transition.getTargetArcs().stream().filter(arc -> arc.getSource() == source).findAny().orElse(null);
+        if(setArc(sourceArc, source, transition, ends == 0)) changed.add(SOURCE);
+        var sinkArc = transition.getSourceArcs().stream().filter(arc -> arc.getTarget() == sink).findAny().orElse(null);
+        if(setArc(sinkArc, transition, sink, starts == 0)) changed.add(SINK);
+    }
+
+    /**
+     * @param arc the existing arc between the nodes, null if there is none
+     * @return true if the arc was added or removed
+     */
+    private boolean setArc(Arc arc, Node from, Node to, boolean present){
+        if(present && arc == null){
+            petriNet.getArcs().add(new ArcImpl(from, to));
+            return true;
+        }
+        if(!present && arc != null){
+            removeArc(arc);
+            return true;
+        }
+        return false;
+    }
+
+    private void removeArc(Arc arc){
+        petriNet.getArcs().remove(arc);
+        arc.getSource().getSourceArcs().remove(arc);
+        arc.getTarget().getTargetArcs().remove(arc);
+    }
+
+    private void changed(Set<URI> changed){
+        if(changed.isEmpty()) return;
+        compiledPetriNet = null;
+        var invalidated = analysisCache.invalidate(changed);
+        log.info(String.format("Changed %d nodes of PetriNet, invalidated %d cached analysis results",
+                changed.size(), invalidated));
+    }
+}
@@ -1,13 +1,17 @@
 package de.fraunhofer.isst.configmanager.petrinet.builder;
 
 import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.iais.eis.ConfigurationModel;
 import de.fraunhofer.iais.eis.Endpoint;
 import de.fraunhofer.iais.eis.RouteStep;
+import de.fraunhofer.isst.configmanager.petrinet.analysis.ComponentAnalysis;
 import de.fraunhofer.isst.configmanager.petrinet.model.*;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -30,6 +34,57 @@ public class InfomodelPetriNetBuilder {
         var transitions = new HashMap<URI, Transition>();
         var arcs = new HashSet<Arc>();
 
+        addAppRouteToPetriNet(appRoute, includeAppRoute, arcs, places, transitions);
+
+        //create a PetriNet with all Arcs, Transitions and Places from the AppRoute
+        return createPetriNet(appRoute.getId(), arcs, places, transitions);
+    }
+
+    /**
+     * Generate one Petri Net from all AppRoutes of a {@link ConfigurationModel}.
+     * Endpoints used by several AppRoutes are represented by a single transition, so the AppRoutes interact
+     * over their shared endpoints, AppRoutes without shared endpoints are unconnected parts of the net
+     * (use {@link ComponentAnalysis} to split and analyse them separately).
+     *
+     * @param configurationModel an Infomodel {@link ConfigurationModel}
+     * @param includeAppRoute true if the AppRoutes themselves should be places of the net
+     * @return a Petri Net created from all AppRoutes of the ConfigurationModel
+     */
+    public static PetriNet petriNetFromConfigurationModel(ConfigurationModel configurationModel, boolean includeAppRoute){
+        var appRoutes = configurationModel.getAppRoute() != null ? configurationModel.getAppRoute() : List.<AppRoute>of();
+        return petriNetFromAppRoutes(configurationModel.getId(), appRoutes, includeAppRoute);
+    }
+
+    /**
+     * Generate one Petri Net from the given AppRoutes, endpoints used by several AppRoutes are represented
+     * by a single transition.
+     *
+     * @param id ID of the created Petri Net
+     * @param appRoutes Infomodel {@link AppRoute AppRoutes}
+     * @param includeAppRoute true if the AppRoutes themselves should be places of the net
+     * @return a Petri Net created from all given AppRoutes
+     */
+    public static PetriNet petriNetFromAppRoutes(URI id, Collection<? extends AppRoute> appRoutes, boolean includeAppRoute){
+        var places = new HashMap<URI, Place>();
+        var transitions = new HashMap<URI, Transition>();
+        var arcs = new HashSet<Arc>();
+        for(var appRoute : appRoutes){
+            addAppRouteToPetriNet(appRoute, includeAppRoute, arcs, places, transitions);
+        }
+        return createPetriNet(id, arcs, places, transitions);
+    }
+
+    /**
+     * Add an {@link AppRoute} with all its SubRoutes to the Petri Net.
+     *
+     * @param appRoute the AppRoute that will be added to the current Petri Net
+     * @param includeAppRoute true if the AppRoute itself should be a place of the net
+     * @param arcs list of arcs of the current Petri Net
+     * @param places list of places of the current Petri Net
+     * @param transitions list of transitions of the current Petri Net
+     */
+    private static void addAppRouteToPetriNet(AppRoute appRoute, boolean includeAppRoute, Set<Arc> arcs,
+                                              Map<URI, Place> places, Map<URI, Transition> transitions){
         if(includeAppRoute){
             //create initial place from AppRoute
             var place = new PlaceImpl(appRoute.getId());
@@ -51,15 +106,21 @@ public class InfomodelPetriNetBuilder {
         }
 
         //add every SubRoute of the AppRoute to the PetriNet
-        for(var subroute : appRoute.getHasSubRoute()){
-            addSubRouteToPetriNet(subroute, arcs, places, transitions);
+        if(appRoute.getHasSubRoute() != null){
+            for(var subroute : appRoute.getHasSubRoute()){
+                addSubRouteToPetriNet(subroute, arcs, places, transitions);
+            }
         }
+    }
 
-        //create a PetriNet with all Arcs, Transitions and Places from the AppRoute
+    /**
+     * Create a PetriNet with all Arcs, Transitions and Places, and with source and sink.
+     */
+    private static PetriNet createPetriNet(URI id, Set<Arc> arcs, Map<URI, Place> places, Map<URI, Transition> transitions){
         var nodes = new HashSet<Node>();
         nodes.addAll(places.values());
         nodes.addAll(transitions.values());
-        var petriNet = new PetriNetImpl(appRoute.getId(), nodes, arcs);
+        var petriNet = new PetriNetImpl(id, nodes, arcs);
         addFirstAndLastNode(petriNet);
         return petriNet;
     }
@@ -138,8 +199,8 @@ public class InfomodelPetriNetBuilder {
                 }
             }
         }
-        petriNet.getNodes().add(first);
-        petriNet.getNodes().add(last);
+        petriNet.addNode(first);
+        petriNet.addNode(last);
     }
 
 }
@@ -0,0 +1,45 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+import lombok.Getter;
+
+/**
+ * Result of checking a {@link Property} by the {@link PropertyChecker}.
+ */
+@Getter
+public class CheckResult {
+
+    public CheckResult(Property property, Verdict verdict, Witness witness, int exploredStates, long durationMillis){
+        this.property = property;
+        this.verdict = verdict;
+        this.witness = witness;
+        this.exploredStates = exploredStates;
+        this.durationMillis = durationMillis;
+    }
+
+    private Property property;
+
+    private Verdict verdict;
+
+    /**
+     * Path proving a reachable state, or the counterexample of a violated invariant or liveness property,
+     * null if no such path exists.
+     */
+    private Witness witness;
+
+    /**
+     * Number of states visited before the verdict was found.
+     */
+    private int exploredStates;
+
+    /**
+     * Wall-clock time of the check in milliseconds.
+     */
+    private long durationMillis;
+
+    /**
+     * @return true if the property holds
+     */
+    public boolean isSatisfied(){
+        return verdict == Verdict.SATISFIED;
+    }
+}
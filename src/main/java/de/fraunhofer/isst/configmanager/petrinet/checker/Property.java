@@ -0,0 +1,83 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+import de.fraunhofer.isst.configmanager.petrinet.analysis.StructuralAnalysis;
+import lombok.Getter;
+
+import java.net.URI;
+
+/**
+ * Temporal property of a PetriNet, checked by the {@link PropertyChecker}.
+ *
+ * Supported are the reachability and liveness patterns needed for AppRoutes:
+ * EF p ({@link #reachable}), AG p ({@link #invariant}) and AF p ({@link #eventually}),
+ * where p is a {@link StatePredicate}.
+ */
+@Getter
+public class Property {
+
+    public enum Kind {
+        /**
+         * EF p: some execution reaches a state satisfying p.
+         */
+        REACHABLE,
+        /**
+         * AG p: every reachable state satisfies p.
+         */
+        INVARIANT,
+        /**
+         * AF p: every execution eventually reaches a state satisfying p.
+         */
+        EVENTUALLY
+    }
+
+    private final Kind kind;
+    private final StatePredicate predicate;
+    private final String description;
+
+    /**
+     * True for {@link #noDeadlock()}, which can be proven by the {@link StructuralAnalysis} without exploring states.
+     */
+    private final boolean deadlockFreedom;
+
+    private Property(Kind kind, StatePredicate predicate, String description, boolean deadlockFreedom){
+        this.kind = kind;
+        this.predicate = predicate;
+        this.description = description;
+        this.deadlockFreedom = deadlockFreedom;
+    }
+
+    public static Property reachable(StatePredicate predicate, String description){
+        return new Property(Kind.REACHABLE, predicate, description, false);
+    }
+
+    public static Property invariant(StatePredicate predicate, String description){
+        return new Property(Kind.INVARIANT, predicate, description, false);
+    }
+
+    public static Property eventually(StatePredicate predicate, String description){
+        return new Property(Kind.EVENTUALLY, predicate, description, false);
+    }
+
+    /**
+     * @return property holding, if every execution eventually marks place://sink
+     */
+    public static Property eventuallyReachesSink(){
+        return eventually(StatePredicate.marked(URI.create("place://sink")), "AF marked(place://sink)");
+    }
+
+    /**
+     * A route terminates when place://sink is marked, so dead states marking the sink are no deadlocks.
+     *
+     * @return property holding, if every dead state marks place://sink
+     */
+    public static Property noDeadlock(){
+        var sinkMarked = StatePredicate.marked(URI.create("place://sink"));
+        return new Property(Kind.INVARIANT, StatePredicate.deadlock().negate().or(sinkMarked),
+                "AG (deadlock -> marked(place://sink))", true);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
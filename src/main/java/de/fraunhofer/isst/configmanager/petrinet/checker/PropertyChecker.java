@@ -0,0 +1,310 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+import de.fraunhofer.isst.configmanager.petrinet.analysis.StructuralAnalysis;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.reduction.PetriNetReducer;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationOptions;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.StepGraph;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.TerminationReason;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Checks {@link Property properties} of a PetriNet on the fly: the states are explored while checking,
+ * and the exploration stops as soon as the property is decided (e.g. at the first counterexample),
+ * so the full StepGraph is not needed.
+ *
+ * <ul>
+ *     <li>EF p and AG p are checked by breadth first search, so the witness is a shortest path</li>
+ *     <li>AF p is checked by depth first search over the states not satisfying p, a counterexample is a path
+ *     to a dead state or a lasso looping in states not satisfying p</li>
+ * </ul>
+ * The maximum number of states and the timeout of the {@link ExplorationOptions} limit the check,
+ * if the budget is exhausted before the property is decided, the verdict is {@link Verdict#UNKNOWN}.
+ * With {@link ExplorationOptions#setReduction(boolean)} the PetriNet is reduced before the check, so state
+ * predicates should only refer to place://source and place://sink, which are kept by the reduction.
+ * Deadlock freedom is first checked by the {@link StructuralAnalysis}, the states are only explored
+ * if it is not proven structurally.
+ */
+@Slf4j
+public class PropertyChecker {
+
+    /**
+     * Number of expanded states between two checks of the timeout.
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final ExplorationOptions options;
+
+    private volatile boolean cancelled;
+
+    public PropertyChecker(ExplorationOptions options){
+        this.options = options;
+    }
+
+    public PropertyChecker(){
+        this(new ExplorationOptions());
+    }
+
+    /**
+     * Stop a running check as soon as possible, the check returns {@link Verdict#UNKNOWN}.
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @param petriNet the initial PetriNet
+     * @param property the property to check
+     * @return the verdict and the witness of the property
+     */
+    public CheckResult check(PetriNet petriNet, Property property){
+        if(options.isReduction()){
+            //the witness is checked on the reduced net, its transitions are mapped back to the original endpoints
+            var reduced = PetriNetReducer.reduce(petriNet);
+            var result = check(new CompiledPetriNet(reduced.getPetriNet()), property);
+            var witness = result.getWitness();
+            if(witness != null){
+                witness = new Witness(witness.getPetriNet(), witness.getMarkings(),
+                        reduced.expandPath(witness.getTransitions()), witness.getLoopStart());
+            }
+            return new CheckResult(property, result.getVerdict(), witness, result.getExploredStates(), result.getDurationMillis());
+        }
+        return check(new CompiledPetriNet(petriNet), property);
+    }
+
+    /**
+     * @param petriNet the compiled initial PetriNet
+     * @param property the property to check
+     * @return the verdict and the witness of the property
+     */
+    public CheckResult check(CompiledPetriNet petriNet, Property property){
+        var start = System.currentTimeMillis();
+        if(property.isDeadlockFreedom() && StructuralAnalysis.analyse(petriNet).isDeadlockFree()){
+            var duration = System.currentTimeMillis() - start;
+            log.info(String.format("Checked %s: proven by structural analysis in %d ms", property, duration));
+            return new CheckResult(property, Verdict.SATISFIED, null, 0, duration);
+        }
+        var search = new Search(petriNet, start);
+        var predicate = property.getPredicate();
+        Verdict verdict;
+        Witness witness = null;
+        switch(property.getKind()){
+            case REACHABLE:
+                var found = search.find(predicate);
+                verdict = found >= 0 ? Verdict.SATISFIED : search.verdict(Verdict.VIOLATED);
+                if(found >= 0) witness = search.pathTo(found);
+                break;
+            case INVARIANT:
+                var violation = search.find(predicate.negate());
+                verdict = violation >= 0 ? Verdict.VIOLATED : search.verdict(Verdict.SATISFIED);
+                if(violation >= 0) witness = search.pathTo(violation);
+                break;
+            default:
+                witness = search.findAvoidingPath(predicate);
+                verdict = witness != null ? Verdict.VIOLATED : search.verdict(Verdict.SATISFIED);
+                break;
+        }
+        var duration = System.currentTimeMillis() - start;
+        log.info(String.format("Checked %s: %s after %d states in %d ms%s", property, verdict,
+                search.states.getStepCount(), duration, search.reason != null ? " (" + search.reason + ")" : ""));
+        return new CheckResult(property, verdict, witness, search.states.getStepCount(), duration);
+    }
+
+    /**
+     * State of one check: the visited states and how they were reached.
+     */
+    private final class Search {
+
+        private final CompiledPetriNet petriNet;
+        private final long deadline;
+
+        /**
+         * Visited states, only the markings are used (no arcs).
+         */
+        private final StepGraph states;
+
+        /**
+         * For breadth first search: the previous state and the used transition of every state.
+         */
+        private int[] parents = new int[16];
+        private int[] parentTransitions = new int[16];
+
+        private int expanded;
+
+        /**
+         * Reason why the search stopped before deciding the property, null if it was not stopped.
+         */
+        private TerminationReason reason;
+
+        Search(CompiledPetriNet petriNet, long start){
+            this.petriNet = petriNet;
+            this.deadline = options.getTimeout() == null ? Long.MAX_VALUE : start + options.getTimeout().toMillis();
+            this.states = new StepGraph(petriNet);
+        }
+
+        /**
+         * @param decided the verdict, if the state space was searched completely
+         * @return the given verdict, or {@link Verdict#UNKNOWN} if the search was stopped
+         */
+        Verdict verdict(Verdict decided){
+            return reason == null ? decided : Verdict.UNKNOWN;
+        }
+
+        /**
+         * @return true if the budget is exhausted or the check was cancelled
+         */
+        boolean shouldStop(){
+            if(cancelled || Thread.currentThread().isInterrupted()){
+                reason = TerminationReason.CANCELLED;
+            }else if(++expanded % CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadline){
+                reason = TerminationReason.TIMEOUT;
+            }
+            return reason != null;
+        }
+
+        /**
+         * @param marking a new marking
+         * @return index of the new state, or -1 if the state limit was reached
+         */
+        int add(int[] marking){
+            if(states.getStepCount() >= options.getMaxStates()){
+                reason = TerminationReason.MAX_STATES;
+                return -1;
+            }
+            var state = states.addStep(marking);
+            if(state == parents.length){
+                parents = Arrays.copyOf(parents, 2 * state);
+                parentTransitions = Arrays.copyOf(parentTransitions, 2 * state);
+            }
+            return state;
+        }
+
+        /**
+         * Breadth first search for a state satisfying the goal.
+         *
+         * @param goal predicate to search for
+         * @return index of the first found state satisfying the goal, -1 if there is none or the search was stopped
+         */
+        int find(StatePredicate goal){
+            var initial = add(petriNet.getInitialMarking());
+            parents[initial] = -1;
+            if(goal.test(petriNet, states.getMarking(initial))) return initial;
+            for(int next = 0; next < states.getStepCount(); next++){
+                if(shouldStop()) return -1;
+                var marking = states.getMarking(next);
+                for(var transition : petriNet.getEnabledTransitions(marking)){
+                    var successor = petriNet.fire(marking, transition);
+                    if(states.indexOf(successor) >= 0) continue;
+                    var state = add(successor);
+                    if(state < 0) return -1;
+                    parents[state] = next;
+                    parentTransitions[state] = transition;
+                    if(goal.test(petriNet, successor)) return state;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @param state index of a state found by {@link #find(StatePredicate)}
+         * @return the path from the initial state to the given state
+         */
+        Witness pathTo(int state){
+            var markings = new ArrayList<int[]>();
+            var transitions = new ArrayList<URI>();
+            for(var current = state; current >= 0; current = parents[current]){
+                markings.add(0, states.getMarking(current));
+                if(parents[current] >= 0) transitions.add(0, petriNet.getTransitionId(parentTransitions[current]));
+            }
+            return new Witness(petriNet, markings, transitions, -1);
+        }
+
+        /**
+         * Depth first search for an execution, which never reaches a state satisfying the goal:
+         * a path to a dead state or a cycle of states not satisfying the goal.
+         *
+         * @param goal predicate every execution should reach
+         * @return the execution avoiding the goal, null if there is none or the search was stopped
+         */
+        Witness findAvoidingPath(StatePredicate goal){
+            var initialMarking = petriNet.getInitialMarking();
+            if(goal.test(petriNet, initialMarking)) return null;
+            //position of every visited state on the stack, -1 if it is not on the stack
+            var stackPosition = new int[16];
+            var stack = new int[16];
+            var transitionsTo = new int[16];
+            var nextTransition = new int[16];
+            var enabled = new ArrayList<int[]>();
+            var stackSize = 0;
+
+            stack[stackSize++] = add(initialMarking);
+            stackPosition[stack[0]] = 0;
+            enabled.add(petriNet.getEnabledTransitions(initialMarking));
+            while(stackSize > 0){
+                if(shouldStop()) return null;
+                var top = stackSize - 1;
+                var state = stack[top];
+                var stateEnabled = enabled.get(top);
+                if(stateEnabled.length == 0){
+                    return stackPath(stack, transitionsTo, stackSize, -1, -1);
+                }
+                if(nextTransition[top] == stateEnabled.length){
+                    stackPosition[state] = -1;
+                    enabled.remove(top);
+                    stackSize--;
+                    continue;
+                }
+                var transition = stateEnabled[nextTransition[top]++];
+                var successor = petriNet.fire(states.getMarking(state), transition);
+                if(goal.test(petriNet, successor)) continue;
+                var target = states.indexOf(successor);
+                if(target >= 0){
+                    if(stackPosition[target] >= 0){
+                        return stackPath(stack, transitionsTo, stackSize, transition, stackPosition[target]);
+                    }
+                    continue;
+                }
+                target = add(successor);
+                if(target < 0) return null;
+                if(target >= stackPosition.length){
+                    stackPosition = Arrays.copyOf(stackPosition, 2 * target);
+                }
+                if(stackSize == stack.length){
+                    stack = Arrays.copyOf(stack, 2 * stackSize);
+                    transitionsTo = Arrays.copyOf(transitionsTo, 2 * stackSize);
+                    nextTransition = Arrays.copyOf(nextTransition, 2 * stackSize);
+                }
+                stackPosition[target] = stackSize;
+                stack[stackSize] = target;
+                transitionsTo[stackSize] = transition;
+                nextTransition[stackSize] = 0;
+                enabled.add(petriNet.getEnabledTransitions(successor));
+                stackSize++;
+            }
+            return null;
+        }
+
+        /**
+         * @param loopTransition transition leading back to the loop start, -1 for a finite path
+         * @param loopStart position on the stack the path loops back to, -1 for a finite path
+         * @return the path of the states on the stack
+         */
+        private Witness stackPath(int[] stack, int[] transitionsTo, int stackSize, int loopTransition, int loopStart){
+            var markings = new ArrayList<int[]>();
+            var transitions = new ArrayList<URI>();
+            for(int i = 0; i < stackSize; i++){
+                markings.add(states.getMarking(stack[i]));
+                if(i > 0) transitions.add(petriNet.getTransitionId(transitionsTo[i]));
+            }
+            if(loopStart >= 0){
+                transitions.add(petriNet.getTransitionId(loopTransition));
+            }
+            return new Witness(petriNet, markings, transitions, loopStart);
+        }
+    }
+}
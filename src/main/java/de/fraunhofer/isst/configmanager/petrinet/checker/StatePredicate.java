@@ -0,0 +1,54 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+
+import java.net.URI;
+
+/**
+ * Atomic proposition over a state (marking) of a compiled PetriNet, used in a {@link Property}.
+ */
+@FunctionalInterface
+public interface StatePredicate {
+
+    /**
+     * @param petriNet the compiled PetriNet
+     * @param marking a marking of the PetriNet
+     * @return true if the predicate holds in the marking
+     */
+    boolean test(CompiledPetriNet petriNet, int[] marking);
+
+    /**
+     * @param placeId ID of a place (e.g. place://sink)
+     * @return predicate holding, if the place has at least one marker
+     */
+    static StatePredicate marked(URI placeId){
+        return (petriNet, marking) -> {
+            var place = petriNet.getPlaceIndex(placeId);
+            return place >= 0 && marking[place] > 0;
+        };
+    }
+
+    /**
+     * @return predicate holding, if no transition is enabled
+     */
+    static StatePredicate deadlock(){
+        return (petriNet, marking) -> {
+            for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+                if(petriNet.isEnabled(marking, transition)) return false;
+            }
+            return true;
+        };
+    }
+
+    default StatePredicate negate(){
+        return (petriNet, marking) -> !test(petriNet, marking);
+    }
+
+    default StatePredicate and(StatePredicate other){
+        return (petriNet, marking) -> test(petriNet, marking) && other.test(petriNet, marking);
+    }
+
+    default StatePredicate or(StatePredicate other){
+        return (petriNet, marking) -> test(petriNet, marking) || other.test(petriNet, marking);
+    }
+}
@@ -0,0 +1,13 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+/**
+ * Outcome of checking a {@link Property}.
+ */
+public enum Verdict {
+    SATISFIED,
+    VIOLATED,
+    /**
+     * The budget of the check was exhausted before the property could be decided.
+     */
+    UNKNOWN
+}
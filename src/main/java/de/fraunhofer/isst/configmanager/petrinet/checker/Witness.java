@@ -0,0 +1,56 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Path from the initial marking, proving or refuting a {@link Property}:
+ * markings.get(i + 1) is reached from markings.get(i) by using transitions.get(i).
+ * For a lasso (an infinite execution) the last transition leads back to the marking at loopStart.
+ * If the PetriNet was reduced before the check, the markings belong to the reduced net and the transitions
+ * are the original transitions (one transition of the reduced net can stand for several original ones).
+ */
+@Getter
+public class Witness {
+
+    private final CompiledPetriNet petriNet;
+    private final List<int[]> markings;
+    private final List<URI> transitions;
+
+    /**
+     * Index of the marking the path loops back to, -1 if the path is finite.
+     */
+    private final int loopStart;
+
+    public Witness(CompiledPetriNet petriNet, List<int[]> markings, List<URI> transitions, int loopStart){
+        this.petriNet = petriNet;
+        this.markings = markings;
+        this.transitions = transitions;
+        this.loopStart = loopStart;
+    }
+
+    /**
+     * @return true if the witness is an infinite execution
+     */
+    public boolean isLasso(){
+        return loopStart >= 0;
+    }
+
+    /**
+     * @return the object model of every marking on the path
+     */
+    public List<PetriNet> getPetriNets(){
+        return markings.stream().map(petriNet::toPetriNet).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        var path = transitions.stream().map(URI::toString).collect(Collectors.joining(" -> "));
+        return isLasso() ? path + " (loop to step " + loopStart + ")" : path;
+    }
+}
@@ -8,9 +8,10 @@ public class ArcImpl implements Arc {
 
     public ArcImpl(Node source, Node target){
         if(source.isComplementOf(target)){
+            //set both nodes before adding the arc to hash based sets, the hash depends on them
             this.source = source;
-            source.getSourceArcs().add(this);
             this.target = target;
+            source.getSourceArcs().add(this);
             target.getTargetArcs().add(this);
         }else{
             throw new IllegalArgumentException(
@@ -36,9 +37,12 @@ public class ArcImpl implements Arc {
     public void setSource(Node source) {
         if(target.isComplementOf(source)){
             //if given node is a different type as current target: set as source
+            //the hash of the arc changes, so it is removed and added again to the arc sets of the nodes
             this.source.getSourceArcs().remove(this);
+            this.target.getTargetArcs().remove(this);
             this.source = source;
             source.getSourceArcs().add(this);
+            target.getTargetArcs().add(this);
         }else{
             //if given node is same type as current target: throw an Exception
             throw new IllegalArgumentException(
@@ -54,8 +58,11 @@ public class ArcImpl implements Arc {
     public void setTarget(Node target) {
         if(source.isComplementOf(target)){
             //if given node is a different type as current source: set as target
+            //the hash of the arc changes, so it is removed and added again to the arc sets of the nodes
+            this.source.getSourceArcs().remove(this);
             this.target.getTargetArcs().remove(this);
             this.target = target;
+            source.getSourceArcs().add(this);
             target.getTargetArcs().add(this);
         }else{
             //if given node is same type as current source: throw an Exception
@@ -77,4 +84,9 @@ public class ArcImpl implements Arc {
                 target.equals(arc.target);
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * source.hashCode() + target.hashCode();
+    }
+
 }
@@ -3,6 +3,7 @@ package de.fraunhofer.isst.configmanager.petrinet.model;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
+import java.net.URI;
 import java.util.Set;
 
 /**
@@ -28,6 +29,25 @@ public interface PetriNet {
      * @return Nodes of the PetriNet
      */
     Set<Arc> getArcs();
+
+    /**
+     * Get a Node of the PetriNet by its ID, using an index of the Nodes.
+     * @param id the ID of the Node
+     * @return the Node with the given ID, null if the PetriNet has no such Node
+     */
+    Node getNode(URI id);
+
+    /**
+     * Add a Node to the PetriNet and to its index.
+     * @param node the Node to add
+     */
+    void addNode(Node node);
+
+    /**
+     * Remove a Node from the PetriNet and from its index (the Arcs of the Node are not removed).
+     * @param node the Node to remove
+     */
+    void removeNode(Node node);
     
     /**
      * Create a copy of the PetriNet, copy its Nodes and Arcs in the process.
@@ -42,4 +62,10 @@ public interface PetriNet {
      */
     boolean equals(Object other);
 
+    /**
+     * HashCode Method for PetriNets, consistent with {@link #equals(Object)}
+     * @return a fingerprint of the PetriNet, containing the markers of its places
+     */
+    int hashCode();
+
 }
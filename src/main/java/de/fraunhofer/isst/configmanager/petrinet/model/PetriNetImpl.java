@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.SneakyThrows;
 
 import java.net.URI;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -17,11 +19,17 @@ public class PetriNetImpl implements PetriNet, HasId {
     private transient URI id;
     private transient Set<Node> nodes;
     private transient Set<Arc> arcs;
+
+    /**
+     * Index of the nodes by their ID, maintained by {@link #addNode(Node)}.
+     */
+    private transient Map<URI, Node> nodeIndex;
     
     public PetriNetImpl(URI id, Set<Node> nodes, Set<Arc> arcs) {
         this.id = id;
         this.nodes = nodes;
         this.arcs = arcs;
+        this.nodeIndex = indexNodes(nodes);
     }
     
     @Override
@@ -34,23 +42,55 @@ public class PetriNetImpl implements PetriNet, HasId {
         return arcs;
     }
     
+    @Override
+    public Node getNode(URI id) {
+        var node = nodeIndex.get(id);
+        if (node == null && nodeIndex.size() != nodes.size()) {
+            //nodes were added to the set returned by getNodes(), bypassing the index
+            nodeIndex = indexNodes(nodes);
+            node = nodeIndex.get(id);
+        }
+        return node;
+    }
+
+    @Override
+    public void addNode(Node node) {
+        if (nodes.add(node)) {
+            nodeIndex.put(node.getID(), node);
+        }
+    }
+    
+    @Override
+    public void removeNode(Node node) {
+        if (nodes.remove(node)) {
+            nodeIndex.remove(node.getID());
+        }
+    }
+    
     @Override
     @SneakyThrows
     public PetriNet deepCopy() {
-        var nodeCopy = new HashSet<Node>();
+        var nodeCopy = new HashMap<URI, Node>(2 * nodes.size());
         for (var node : nodes) {
-            nodeCopy.add(node.deepCopy());
+            nodeCopy.put(node.getID(), node.deepCopy());
         }
-        var arcCopy = new HashSet<Arc>();
+        var arcCopy = new HashSet<Arc>(2 * arcs.size());
         for (var arc : arcs) {
             arcCopy.add(
                     new ArcImpl(
-                            nodeById(arc.getSource().getID(), nodeCopy),
-                            nodeById(arc.getTarget().getID(), nodeCopy)
+                            nodeCopy.get(arc.getSource().getID()),
+                            nodeCopy.get(arc.getTarget().getID())
                     )
             );
         }
-        return new PetriNetImpl(this.id, nodeCopy, arcCopy);
+        return new PetriNetImpl(this.id, new HashSet<>(nodeCopy.values()), arcCopy, nodeCopy);
+    }
+
+    private PetriNetImpl(URI id, Set<Node> nodes, Set<Arc> arcs, Map<URI, Node> nodeIndex) {
+        this.id = id;
+        this.nodes = nodes;
+        this.arcs = arcs;
+        this.nodeIndex = nodeIndex;
     }
     
     @Override
@@ -59,16 +99,15 @@ public class PetriNetImpl implements PetriNet, HasId {
     }
     
     /**
-     * Get a node by its id (if it exists)
-     * @param id the ID of the Node to search for
      * @param nodes a Set of Nodes
-     * @return the node with the given id (if it exists)
+     * @return the nodes by their ID
      */
-    private static Node nodeById(URI id, Set<Node> nodes) {
+    private static Map<URI, Node> indexNodes(Set<Node> nodes) {
+        var index = new HashMap<URI, Node>(2 * nodes.size());
         for (var node : nodes) {
-            if (node.getID().equals(id)) return node;
+            index.put(node.getID(), node);
         }
-        return null;
+        return index;
     }
     
     @Override
@@ -76,10 +115,30 @@ public class PetriNetImpl implements PetriNet, HasId {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PetriNetImpl petriNet = (PetriNetImpl) o;
-        var eq1 = Objects.equals(id, petriNet.id);
-        var eq2 = nodes.stream().map(s -> petriNet.nodes.stream().filter(n -> n.getID().equals(s.getID())).anyMatch(n -> n.equals(s))).reduce(true, (a, b) -> a && b);
-        var eq3 = arcs.stream().map(s -> petriNet.arcs.stream().anyMatch(n -> n.equals(s))).reduce(true, (a, b) -> a && b);
-        return eq1 && eq2 && eq3;
+        if (!Objects.equals(id, petriNet.id)
+                || nodes.size() != petriNet.nodes.size()
+                || arcs.size() != petriNet.arcs.size()) {
+            return false;
+        }
+        //every node is looked up by its id in the other net
+        for (var node : nodes) {
+            if (!node.equals(petriNet.getNode(node.getID()))) return false;
+        }
+        return petriNet.arcs.containsAll(arcs);
+    }
+
+    @Override
+    public int hashCode() {
+        //order independent sum over all nodes, places contribute their markers
+        var hash = 0;
+        for (var node : nodes) {
+            var nodeHash = node.hashCode();
+            if (node instanceof Place) {
+                nodeHash = 31 * nodeHash + ((Place) node).getMarkers();
+            }
+            hash += nodeHash;
+        }
+        return 31 * Objects.hashCode(id) + hash;
     }
     
 }
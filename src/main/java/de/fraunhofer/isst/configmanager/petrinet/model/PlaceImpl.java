@@ -72,4 +72,10 @@ public class PlaceImpl implements Place {
                 Objects.equals(id, place.id);
     }
 
+    @Override
+    public int hashCode() {
+        //markers are not part of the hash, since they change while the place is contained in hash based sets
+        return Objects.hashCode(id);
+    }
+
 }
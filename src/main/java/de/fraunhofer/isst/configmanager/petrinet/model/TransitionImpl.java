@@ -59,5 +59,10 @@ public class TransitionImpl implements Transition {
         TransitionImpl trans = (TransitionImpl) o;
         return Objects.equals(id, trans.id);
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
 }
 
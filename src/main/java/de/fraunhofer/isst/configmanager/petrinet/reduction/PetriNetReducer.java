@@ -0,0 +1,231 @@
+package de.fraunhofer.isst.configmanager.petrinet.reduction;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.Arc;
+import de.fraunhofer.isst.configmanager.petrinet.model.ArcImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.HasId;
+import de.fraunhofer.isst.configmanager.petrinet.model.Node;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNetImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.Place;
+import de.fraunhofer.isst.configmanager.petrinet.model.PlaceImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.TransitionImpl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Reduces a PetriNet before its states are explored, using reduction rules preserving liveness,
+ * boundedness and the reachability of place://sink (see Murata, "Petri Nets: Properties, Analysis and
+ * Applications"):
+ * <ul>
+ *     <li>series transition fusion: t1 -> p -> t2, where p is unmarked, only filled by t1 and only emptied by t2,
+ *     and t2 needs nothing else, is replaced by t1 producing the outputs of t2</li>
+ *     <li>series place fusion: p1 -> t -> p2, where t only moves the marker from p1 to p2 and is the only
+ *     transition emptying p1 and filling p2, is replaced by a single place</li>
+ *     <li>redundant places: a marked place only used as self loop of one transition is removed, a place with
+ *     the same transitions and markers as another place is removed</li>
+ * </ul>
+ * The rules are applied until none applies. place://source and place://sink are kept, so analyses of the
+ * reduced net can still ask for them. The reduced net contains new node objects, the original net is not modified.
+ */
+@Slf4j
+public class PetriNetReducer {
+
+    private static final URI SOURCE = URI.create("place://source");
+    private static final URI SINK = URI.create("place://sink");
+
+    /**
+     * Markers of every place of the net being reduced.
+     */
+    private final Map<URI, Integer> markers = new TreeMap<>();
+
+    private final Map<URI, Set<URI>> preSets = new TreeMap<>();
+    private final Map<URI, Set<URI>> postSets = new TreeMap<>();
+    private final Map<URI, Set<URI>> producers = new HashMap<>();
+    private final Map<URI, Set<URI>> consumers = new HashMap<>();
+
+    private final Map<URI, List<URI>> originalNodes = new HashMap<>();
+    private final Map<URI, List<URI>> originalTransitions = new HashMap<>();
+
+    private PetriNetReducer(PetriNet petriNet){
+        for(var node : petriNet.getNodes()){
+            if(node instanceof Place){
+                markers.put(node.getID(), ((Place) node).getMarkers());
+                producers.put(node.getID(), new TreeSet<>());
+                consumers.put(node.getID(), new TreeSet<>());
+            }else{
+                preSets.put(node.getID(), new TreeSet<>());
+                postSets.put(node.getID(), new TreeSet<>());
+                originalTransitions.put(node.getID(), new ArrayList<>(List.of(node.getID())));
+            }
+            originalNodes.put(node.getID(), new ArrayList<>(List.of(node.getID())));
+        }
+        for(var arc : petriNet.getArcs()){
+            if(arc.getSource() instanceof Place){
+                addInput(arc.getSource().getID(), arc.getTarget().getID());
+            }else{
+                addOutput(arc.getSource().getID(), arc.getTarget().getID());
+            }
+        }
+    }
+
+    /**
+     * @param petriNet the PetriNet to reduce (is not modified)
+     * @return the reduced PetriNet with the mapping to the original nodes
+     */
+    public static ReducedPetriNet reduce(PetriNet petriNet){
+        var reducer = new PetriNetReducer(petriNet);
+        var changed = true;
+        while(changed){
+            changed = reducer.fuseSeriesTransitions()
+                    | reducer.fuseSeriesPlaces()
+                    | reducer.removeRedundantPlaces();
+        }
+        var reduced = reducer.toReducedPetriNet(petriNet);
+        log.info(String.format("Reduced PetriNet from %d to %d nodes", petriNet.getNodes().size(), reduced.getPetriNet().getNodes().size()));
+        return reduced;
+    }
+
+    private void addInput(URI place, URI transition){
+        preSets.get(transition).add(place);
+        consumers.get(place).add(transition);
+    }
+
+    private void addOutput(URI transition, URI place){
+        postSets.get(transition).add(place);
+        producers.get(place).add(transition);
+    }
+
+    private boolean isSpecial(URI place){
+        return SOURCE.equals(place) || SINK.equals(place);
+    }
+
+    private boolean fuseSeriesTransitions(){
+        var changed = false;
+        for(var place : new ArrayList<>(markers.keySet())){
+            if(!markers.containsKey(place) || isSpecial(place) || markers.get(place) != 0) continue;
+            if(producers.get(place).size() != 1 || consumers.get(place).size() != 1) continue;
+            var first = producers.get(place).iterator().next();
+            var second = consumers.get(place).iterator().next();
+            if(first.equals(second) || !preSets.get(second).equals(Set.of(place))) continue;
+            var outputs = new HashSet<>(postSets.get(first));
+            outputs.remove(place);
+            outputs.retainAll(postSets.get(second));
+            if(!outputs.isEmpty()) continue;
+
+            //first now produces the outputs of second
+            removePlace(place);
+            for(var output : postSets.get(second)){
+                producers.get(output).remove(second);
+                addOutput(first, output);
+            }
+            removeTransition(second);
+            originalNodes.get(first).addAll(originalNodes.remove(place));
+            originalNodes.get(first).addAll(originalNodes.remove(second));
+            originalTransitions.get(first).addAll(originalTransitions.remove(second));
+            changed = true;
+        }
+        return changed;
+    }
+
+    private boolean fuseSeriesPlaces(){
+        var changed = false;
+        for(var transition : new ArrayList<>(preSets.keySet())){
+            if(!preSets.containsKey(transition)) continue;
+            var pre = preSets.get(transition);
+            var post = postSets.get(transition);
+            if(pre.size() != 1 || post.size() != 1) continue;
+            var first = pre.iterator().next();
+            var second = post.iterator().next();
+            if(first.equals(second) || isSpecial(first) && isSpecial(second)) continue;
+            if(consumers.get(first).size() != 1 || producers.get(second).size() != 1) continue;
+            if(!Collections.disjoint(producers.get(first), consumers.get(second))) continue;
+
+            //the fused place keeps the ID of source or sink
+            var kept = isSpecial(second) ? second : first;
+            var removed = kept.equals(first) ? second : first;
+            removeTransition(transition);
+            markers.put(kept, markers.get(first) + markers.get(second));
+            for(var producer : new ArrayList<>(producers.get(removed))){
+                postSets.get(producer).remove(removed);
+                addOutput(producer, kept);
+            }
+            for(var consumer : new ArrayList<>(consumers.get(removed))){
+                preSets.get(consumer).remove(removed);
+                addInput(kept, consumer);
+            }
+            removePlace(removed);
+            originalNodes.get(kept).addAll(originalNodes.remove(transition));
+            originalNodes.get(kept).addAll(originalNodes.remove(removed));
+            originalTransitions.remove(transition);
+            changed = true;
+        }
+        return changed;
+    }
+
+    private boolean removeRedundantPlaces(){
+        var changed = false;
+        //self loop places: always marked, so they never disable their transition
+        for(var place : new ArrayList<>(markers.keySet())){
+            if(isSpecial(place) || markers.get(place) < 1) continue;
+            var transitions = producers.get(place);
+            if(transitions.size() == 1 && transitions.equals(consumers.get(place))){
+                var transition = transitions.iterator().next();
+                removePlace(place);
+                originalNodes.get(transition).addAll(originalNodes.remove(place));
+                changed = true;
+            }
+        }
+        //parallel places: same transitions and markers, so they are always marked equally
+        var representatives = new HashMap<List<Object>, URI>();
+        for(var place : new ArrayList<>(markers.keySet())){
+            if(isSpecial(place)) continue;
+            var key = List.<Object>of(producers.get(place), consumers.get(place), markers.get(place));
+            var representative = representatives.putIfAbsent(key, place);
+            if(representative != null){
+                removePlace(place);
+                originalNodes.get(representative).addAll(originalNodes.remove(place));
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void removePlace(URI place){
+        for(var producer : producers.remove(place)) postSets.get(producer).remove(place);
+        for(var consumer : consumers.remove(place)) preSets.get(consumer).remove(place);
+        markers.remove(place);
+    }
+
+    private void removeTransition(URI transition){
+        for(var place : preSets.remove(transition)) consumers.get(place).remove(transition);
+        for(var place : postSets.remove(transition)) producers.get(place).remove(transition);
+    }
+
+    private ReducedPetriNet toReducedPetriNet(PetriNet original){
+        var nodes = new HashMap<URI, Node>();
+        markers.forEach((id, count) -> {
+            var place = new PlaceImpl(id);
+            place.setMarkers(count);
+            nodes.put(id, place);
+        });
+        preSets.keySet().forEach(id -> nodes.put(id, new TransitionImpl(id)));
+        var arcs = new HashSet<Arc>();
+        preSets.forEach((transition, places) -> places.forEach(place ->
+                arcs.add(new ArcImpl(nodes.get(place), nodes.get(transition)))));
+        postSets.forEach((transition, places) -> places.forEach(place ->
+                arcs.add(new ArcImpl(nodes.get(transition), nodes.get(place)))));
+        var id = original instanceof HasId ? ((HasId) original).getID() : null;
+        var petriNet = new PetriNetImpl(id, new HashSet<>(nodes.values()), arcs);
+        return new ReducedPetriNet(original, petriNet, originalNodes, originalTransitions);
+    }
+}
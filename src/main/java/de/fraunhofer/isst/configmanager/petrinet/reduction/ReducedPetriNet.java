@@ -0,0 +1,88 @@
+package de.fraunhofer.isst.configmanager.petrinet.reduction;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of the {@link PetriNetReducer}: the reduced PetriNet and the mapping of its nodes back to the
+ * nodes of the original PetriNet (route steps and endpoints).
+ */
+public class ReducedPetriNet {
+
+    private final PetriNet original;
+    private final PetriNet petriNet;
+
+    /**
+     * For every node of the reduced net: the IDs of all original nodes merged into it.
+     */
+    private final Map<URI, List<URI>> originalNodes;
+
+    /**
+     * For every transition of the reduced net: the original transitions it uses, in the order they are used.
+     */
+    private final Map<URI, List<URI>> originalTransitions;
+
+    public ReducedPetriNet(PetriNet original, PetriNet petriNet, Map<URI, List<URI>> originalNodes,
+                           Map<URI, List<URI>> originalTransitions){
+        this.original = original;
+        this.petriNet = petriNet;
+        this.originalNodes = originalNodes;
+        this.originalTransitions = originalTransitions;
+    }
+
+    /**
+     * @return the PetriNet before the reduction
+     */
+    public PetriNet getOriginal() {
+        return original;
+    }
+
+    /**
+     * @return the reduced PetriNet
+     */
+    public PetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * @param id ID of a node of the reduced net
+     * @return IDs of the original nodes merged into the node
+     */
+    public List<URI> getOriginalNodes(URI id){
+        return originalNodes.getOrDefault(id, List.of());
+    }
+
+    /**
+     * @param id ID of a transition of the reduced net
+     * @return IDs of the original transitions used by the transition, in the order they are used
+     */
+    public List<URI> getOriginalTransitions(URI id){
+        return originalTransitions.getOrDefault(id, List.of());
+    }
+
+    /**
+     * Map a path of the reduced net to the original net. Transitions fused into places
+     * (series place fusion) are not visible in the reduced net and do not appear in the path.
+     *
+     * @param transitions IDs of transitions of the reduced net, in the order they are used
+     * @return IDs of the original transitions, in the order they are used
+     */
+    public List<URI> expandPath(List<URI> transitions){
+        var expanded = new ArrayList<URI>();
+        for(var transition : transitions){
+            expanded.addAll(getOriginalTransitions(transition));
+        }
+        return expanded;
+    }
+
+    /**
+     * @return number of nodes removed by the reduction
+     */
+    public int getRemovedNodes(){
+        return original.getNodes().size() - petriNet.getNodes().size();
+    }
+}
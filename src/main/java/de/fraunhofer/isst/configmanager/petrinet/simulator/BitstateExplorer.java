@@ -0,0 +1,196 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+/**
+ * Depth first sweep over the reachable states of a PetriNet with a fixed amount of memory
+ * (bitstate hashing as in Holzmann's supertrace): instead of storing the visited markings like a
+ * {@link StepGraph}, every visited marking sets k bits of a bit table, derived from its fingerprint.
+ * A marking whose k bits are all set is taken as visited.
+ *
+ * The table never grows, so state spaces far larger than a StepGraph could hold can be swept, at the price
+ * of omitting some states (false positives of the table). The probability is reported in the
+ * {@link BitstateResult}: with n visited states in a table of m bits, a new state is omitted with probability
+ * of about (1 - e^(-kn/m))^k. Found deadlocks are real, but a sweep without deadlocks is no proof.
+ * Only the markings on the current search path are stored, so the heap used besides the table
+ * grows with the depth of the state space only.
+ *
+ * The maximum number of states, the maximum depth and the timeout of the {@link ExplorationOptions}
+ * limit the sweep, the search order and the reductions are not used.
+ */
+@Slf4j
+public class BitstateExplorer {
+
+    /**
+     * Number of expanded states between two checks of the time limit.
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final ExplorationOptions options;
+    private final long memoryBytes;
+    private final int hashFunctions;
+
+    private volatile boolean cancelled;
+
+    /**
+     * @param options the limits of the sweep
+     * @param memoryBytes size of the bit table in bytes, a multiple of 8
+     * @param hashFunctions number of bits set per state (k), 2 or 3 are usual
+     */
+    public BitstateExplorer(ExplorationOptions options, long memoryBytes, int hashFunctions){
+        if(memoryBytes < 8 || memoryBytes % 8 != 0 || memoryBytes / 8 > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("Memory must be a positive multiple of 8 bytes below 16 GB, was " + memoryBytes);
+        }
+        if(hashFunctions < 1 || hashFunctions > 16){
+            throw new IllegalArgumentException("Number of hash functions must be between 1 and 16, was " + hashFunctions);
+        }
+        this.options = options;
+        this.memoryBytes = memoryBytes;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Stop a running sweep as soon as possible, the sweep returns the counts found until then.
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @param petriNet the initial PetriNet
+     * @return statistics of the sweep over the reachable states
+     */
+    public BitstateResult explore(PetriNet petriNet){
+        return explore(new CompiledPetriNet(petriNet));
+    }
+
+    /**
+     * @param petriNet the compiled initial PetriNet
+     * @return statistics of the sweep over the reachable states
+     */
+    public BitstateResult explore(CompiledPetriNet petriNet){
+        var start = System.currentTimeMillis();
+        var result = new Sweep(petriNet).run(start);
+        log.info(String.format("Swept %d states in %d ms with %d MB bit table (%s), omission probability %.2e, expected omissions %.1f",
+                result.getVisitedStates(), result.getDurationMillis(), memoryBytes >> 20, result.getTerminationReason(),
+                result.getOmissionProbability(), result.getExpectedOmissions()));
+        return result;
+    }
+
+    /**
+     * State of a single sweep.
+     */
+    private final class Sweep {
+        private final CompiledPetriNet petriNet;
+        private final long[] table = new long[(int) (memoryBytes / 8)];
+        private final long bits = memoryBytes * 8;
+        private long setBits;
+        private long visited;
+        private double expectedOmissions;
+
+        private Sweep(CompiledPetriNet petriNet){
+            this.petriNet = petriNet;
+        }
+
+        private BitstateResult run(long start){
+            var deadline = options.getTimeout() == null ? Long.MAX_VALUE : start + options.getTimeout().toMillis();
+            //search path: marking, enabled transitions and the next transition to use of every state on the path
+            var markings = new int[16][];
+            var enabled = new int[16][];
+            var next = new int[16];
+            var depth = 0;
+            var maxDepth = 0;
+            long fired = 0;
+            long deadlocks = 0;
+            int[] deadlock = null;
+            var depthLimited = false;
+            var reason = TerminationReason.COMPLETED;
+
+            var initial = petriNet.getInitialMarking();
+            visit(initial);
+            markings[0] = initial;
+            enabled[0] = petriNet.getEnabledTransitions(initial);
+            if(enabled[0].length == 0){
+                deadlocks++;
+                deadlock = initial;
+            }
+            var expanded = 0;
+            while(depth >= 0){
+                if(cancelled || Thread.currentThread().isInterrupted()){
+                    reason = TerminationReason.CANCELLED;
+                    break;
+                }
+                if(++expanded % CHECK_INTERVAL == 0 && System.currentTimeMillis() > deadline){
+                    reason = TerminationReason.TIMEOUT;
+                    break;
+                }
+                if(next[depth] == enabled[depth].length || depth >= options.getMaxDepth()){
+                    depthLimited |= next[depth] < enabled[depth].length;
+                    markings[depth] = null;
+                    enabled[depth] = null;
+                    depth--;
+                    continue;
+                }
+                var successor = petriNet.fire(markings[depth], enabled[depth][next[depth]++]);
+                fired++;
+                if(!visit(successor)) continue;
+                if(visited > options.getMaxStates()){
+                    visited--;
+                    reason = TerminationReason.MAX_STATES;
+                    break;
+                }
+                depth++;
+                if(depth == markings.length){
+                    markings = Arrays.copyOf(markings, 2 * depth);
+                    enabled = Arrays.copyOf(enabled, 2 * depth);
+                    next = Arrays.copyOf(next, 2 * depth);
+                }
+                maxDepth = Math.max(maxDepth, depth);
+                markings[depth] = successor;
+                enabled[depth] = petriNet.getEnabledTransitions(successor);
+                next[depth] = 0;
+                if(enabled[depth].length == 0){
+                    deadlocks++;
+                    if(deadlock == null) deadlock = successor;
+                }
+            }
+            if(reason == TerminationReason.COMPLETED && depthLimited){
+                reason = TerminationReason.MAX_DEPTH;
+            }
+            return new BitstateResult(visited, fired, deadlocks, deadlock, maxDepth, memoryBytes, hashFunctions,
+                    setBits, expectedOmissions, reason, System.currentTimeMillis() - start);
+        }
+
+        /**
+         * Set the bits of the marking.
+         *
+         * @return true if the marking is new (at least one of its bits was not set)
+         */
+        private boolean visit(int[] marking){
+            var fingerprint = MarkingHash.fingerprint(marking);
+            //double hashing: the k bit indices are h1 + i * h2, h2 is odd so the indices differ
+            var step = MarkingHash.mix(fingerprint + 0x9E3779B97F4A7C15L) | 1;
+            //probability that an unvisited state would have all its bits set in the current table
+            var omission = Math.pow((double) setBits / bits, hashFunctions);
+            var isNew = false;
+            for(int i = 0; i < hashFunctions; i++){
+                var bit = Long.remainderUnsigned(fingerprint + i * step, bits);
+                var word = (int) (bit >>> 6);
+                var mask = 1L << bit;
+                if((table[word] & mask) == 0){
+                    table[word] |= mask;
+                    setBits++;
+                    isNew = true;
+                }
+            }
+            if(isNew){
+                visited++;
+                expectedOmissions += omission;
+            }
+            return isNew;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import lombok.Getter;
+
+/**
+ * Result of a sweep over the states of a PetriNet by the {@link BitstateExplorer}. The states are not stored,
+ * only counted, and some states may have been omitted: a new state whose bits were all set by other states
+ * is taken as visited, so it and possibly its successors are not explored.
+ */
+@Getter
+public class BitstateResult {
+
+    public BitstateResult(long visitedStates, long firedTransitions, long deadlocks, int[] deadlock, int maxDepth,
+                          long memoryBytes, int hashFunctions, long setBits, double expectedOmissions,
+                          TerminationReason terminationReason, long durationMillis){
+        this.visitedStates = visitedStates;
+        this.firedTransitions = firedTransitions;
+        this.deadlocks = deadlocks;
+        this.deadlock = deadlock;
+        this.maxDepth = maxDepth;
+        this.memoryBytes = memoryBytes;
+        this.hashFunctions = hashFunctions;
+        this.setBits = setBits;
+        this.expectedOmissions = expectedOmissions;
+        this.terminationReason = terminationReason;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Number of visited states.
+     */
+    private long visitedStates;
+
+    /**
+     * Number of transitions used from visited states.
+     */
+    private long firedTransitions;
+
+    /**
+     * Number of visited states without enabled transitions.
+     */
+    private long deadlocks;
+
+    /**
+     * Marking of the first found state without enabled transitions, null if there is none.
+     */
+    private int[] deadlock;
+
+    /**
+     * Maximum depth of a visited state.
+     */
+    private int maxDepth;
+
+    /**
+     * Size of the bitstate table in bytes.
+     */
+    private long memoryBytes;
+
+    /**
+     * Number of bits set per state.
+     */
+    private int hashFunctions;
+
+    /**
+     * Number of set bits in the table at the end of the sweep.
+     */
+    private long setBits;
+
+    /**
+     * Expected number of omitted states: the sum of the omission probabilities at every visited state.
+     */
+    private double expectedOmissions;
+
+    /**
+     * Reason why the sweep stopped.
+     */
+    private TerminationReason terminationReason;
+
+    /**
+     * Wall-clock time of the sweep in milliseconds.
+     */
+    private long durationMillis;
+
+    /**
+     * @return probability, that a new state would have been taken as visited at the end of the sweep
+     */
+    public double getOmissionProbability(){
+        return Math.pow((double) setBits / (memoryBytes * 8), hashFunctions);
+    }
+
+    /**
+     * @return estimated fraction of the reachable states, which were visited (within the budget)
+     */
+    public double getCoverage(){
+        return visitedStates / (visitedStates + expectedOmissions);
+    }
+}
@@ -0,0 +1,419 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.model.Place;
+import de.fraunhofer.isst.configmanager.petrinet.model.Transition;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact, index based representation of a {@link PetriNet}, used to explore the states of the PetriNet
+ * without copying its object model for every step.
+ *
+ * Places and Transitions are given dense int indices (ordered by their IDs), a state of the PetriNet
+ * is represented as marking: an int[] containing the number of markers for every place index.
+ * The object model of a state is only created on demand, using {@link #toPetriNet(int[])}.
+ *
+ * The arcs are frozen into compressed sparse rows: for every transition the pre- and post-places, and for
+ * every place the consuming and producing transitions, are stored as consecutive ranges of one int[] per
+ * direction, delimited by an offset array (the range of row i is offsets[i] until offsets[i + 1]).
+ * Compared to the arc sets of the object model, this needs no objects per node or arc and traversals
+ * only read adjacent ints.
+ */
+public class CompiledPetriNet {
+
+    /**
+     * The PetriNet this representation was compiled from, used as template for {@link #toPetriNet(int[])}.
+     */
+    private final PetriNet petriNet;
+
+    private final URI[] placeIds;
+    private final URI[] transitionIds;
+    private final Map<URI, Integer> placeIndex;
+    private final Map<URI, Integer> transitionIndex;
+
+    /**
+     * Rows of transitions: the indices of the places, which need a marker to use the transition.
+     */
+    private final int[] preOffsets;
+    private final int[] prePlaces;
+
+    /**
+     * Rows of transitions: the indices of the places, which gain a marker when using the transition.
+     */
+    private final int[] postOffsets;
+    private final int[] postPlaces;
+
+    /**
+     * Rows of places: the indices of the transitions, which take a marker from the place.
+     */
+    private final int[] consumerOffsets;
+    private final int[] consumerTransitions;
+
+    /**
+     * Rows of places: the indices of the transitions, which give a marker to the place.
+     */
+    private final int[] producerOffsets;
+    private final int[] producerTransitions;
+
+    private final int[] initialMarking;
+
+    public CompiledPetriNet(PetriNet petriNet){
+        this.petriNet = petriNet;
+
+        var places = new ArrayList<Place>();
+        var transitions = new ArrayList<Transition>();
+        for(var node : petriNet.getNodes()){
+            if(node instanceof Place){
+                places.add((Place) node);
+            }else if(node instanceof Transition){
+                transitions.add((Transition) node);
+            }
+        }
+        //order nodes by id, so indices do not depend on the iteration order of the node set
+        places.sort(Comparator.comparing(Place::getID));
+        transitions.sort(Comparator.comparing(Transition::getID));
+
+        placeIds = new URI[places.size()];
+        placeIndex = new HashMap<>();
+        initialMarking = new int[places.size()];
+        for(int i = 0; i < places.size(); i++){
+            placeIds[i] = places.get(i).getID();
+            placeIndex.put(placeIds[i], i);
+            initialMarking[i] = places.get(i).getMarkers();
+        }
+
+        transitionIds = new URI[transitions.size()];
+        transitionIndex = new HashMap<>();
+        for(int i = 0; i < transitions.size(); i++){
+            transitionIds[i] = transitions.get(i).getID();
+            transitionIndex.put(transitionIds[i], i);
+        }
+
+        //collect distinct pre- and post-places of every transition from the arcs of the net
+        var pre = new ArrayList<Set<Integer>>();
+        var post = new ArrayList<Set<Integer>>();
+        for(int i = 0; i < transitionIds.length; i++){
+            pre.add(new LinkedHashSet<>());
+            post.add(new LinkedHashSet<>());
+        }
+        for(var arc : petriNet.getArcs()){
+            if(arc.getSource() instanceof Place){
+                pre.get(transitionIndex.get(arc.getTarget().getID())).add(placeIndex.get(arc.getSource().getID()));
+            }else{
+                post.get(transitionIndex.get(arc.getSource().getID())).add(placeIndex.get(arc.getTarget().getID()));
+            }
+        }
+        preOffsets = new int[transitionIds.length + 1];
+        prePlaces = toRows(pre, preOffsets);
+        postOffsets = new int[transitionIds.length + 1];
+        postPlaces = toRows(post, postOffsets);
+
+        //transpose the rows of the transitions into rows of the places
+        consumerOffsets = new int[placeIds.length + 1];
+        consumerTransitions = transpose(preOffsets, prePlaces, consumerOffsets);
+        producerOffsets = new int[placeIds.length + 1];
+        producerTransitions = transpose(postOffsets, postPlaces, producerOffsets);
+    }
+
+    /**
+     * @param sets list of index sets
+     * @param offsets filled with the start of every row (and the end of the last row)
+     * @return the sorted sets, concatenated into one array
+     */
+    private static int[] toRows(List<Set<Integer>> sets, int[] offsets){
+        for(int i = 0; i < sets.size(); i++){
+            offsets[i + 1] = offsets[i] + sets.get(i).size();
+        }
+        var values = new int[offsets[sets.size()]];
+        for(int i = 0; i < sets.size(); i++){
+            var position = offsets[i];
+            for(var value : sets.get(i)){
+                values[position++] = value;
+            }
+            Arrays.sort(values, offsets[i], position);
+        }
+        return values;
+    }
+
+    /**
+     * @param offsets start of every row
+     * @param values concatenated rows, containing column indices
+     * @param transposedOffsets filled with the start of every row of the transposed rows
+     * @return the concatenated rows of the columns, containing the (sorted) row indices
+     */
+    private static int[] transpose(int[] offsets, int[] values, int[] transposedOffsets){
+        for(var value : values){
+            transposedOffsets[value + 1]++;
+        }
+        for(int i = 1; i < transposedOffsets.length; i++){
+            transposedOffsets[i] += transposedOffsets[i - 1];
+        }
+        var transposed = new int[values.length];
+        var positions = Arrays.copyOf(transposedOffsets, transposedOffsets.length - 1);
+        for(int row = 0; row + 1 < offsets.length; row++){
+            for(int i = offsets[row]; i < offsets[row + 1]; i++){
+                transposed[positions[values[i]]++] = row;
+            }
+        }
+        return transposed;
+    }
+
+    /**
+     * @return the PetriNet this representation was compiled from
+     */
+    public PetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * @return number of places in the net
+     */
+    public int getPlaceCount() {
+        return placeIds.length;
+    }
+
+    /**
+     * @return number of transitions in the net
+     */
+    public int getTransitionCount() {
+        return transitionIds.length;
+    }
+
+    /**
+     * @param place index of a place
+     * @return the ID of the place
+     */
+    public URI getPlaceId(int place) {
+        return placeIds[place];
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return the ID of the transition
+     */
+    public URI getTransitionId(int transition) {
+        return transitionIds[transition];
+    }
+
+    /**
+     * @param id ID of a place
+     * @return index of the place, or -1 if the net has no place with the given ID
+     */
+    public int getPlaceIndex(URI id) {
+        return placeIndex.getOrDefault(id, -1);
+    }
+
+    /**
+     * @param id ID of a transition
+     * @return index of the transition, or -1 if the net has no transition with the given ID
+     */
+    public int getTransitionIndex(URI id) {
+        return transitionIndex.getOrDefault(id, -1);
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return indices of the places, which need a marker to use the transition
+     */
+    public int[] getPreSet(int transition) {
+        return Arrays.copyOfRange(prePlaces, preOffsets[transition], preOffsets[transition + 1]);
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return indices of the places, which gain a marker when using the transition
+     */
+    public int[] getPostSet(int transition) {
+        return Arrays.copyOfRange(postPlaces, postOffsets[transition], postOffsets[transition + 1]);
+    }
+
+    /**
+     * @param place index of a place
+     * @return indices of the transitions, which take a marker from the place
+     */
+    public int[] getConsumers(int place) {
+        return Arrays.copyOfRange(consumerTransitions, consumerOffsets[place], consumerOffsets[place + 1]);
+    }
+
+    /**
+     * @param place index of a place
+     * @return indices of the transitions, which give a marker to the place
+     */
+    public int[] getProducers(int place) {
+        return Arrays.copyOfRange(producerTransitions, producerOffsets[place], producerOffsets[place + 1]);
+    }
+
+    /**
+     * @return start of the pre-places of every transition in {@link #getPrePlaces()},
+     * followed by the end of the last transition (must not be modified)
+     */
+    public int[] getPreOffsets() {
+        return preOffsets;
+    }
+
+    /**
+     * @return pre-places of all transitions, as rows delimited by {@link #getPreOffsets()} (must not be modified)
+     */
+    public int[] getPrePlaces() {
+        return prePlaces;
+    }
+
+    /**
+     * @return start of the post-places of every transition in {@link #getPostPlaces()},
+     * followed by the end of the last transition (must not be modified)
+     */
+    public int[] getPostOffsets() {
+        return postOffsets;
+    }
+
+    /**
+     * @return post-places of all transitions, as rows delimited by {@link #getPostOffsets()} (must not be modified)
+     */
+    public int[] getPostPlaces() {
+        return postPlaces;
+    }
+
+    /**
+     * @return start of the consuming transitions of every place in {@link #getConsumerTransitions()},
+     * followed by the end of the last place (must not be modified)
+     */
+    public int[] getConsumerOffsets() {
+        return consumerOffsets;
+    }
+
+    /**
+     * @return consuming transitions of all places, as rows delimited by {@link #getConsumerOffsets()}
+     * (must not be modified)
+     */
+    public int[] getConsumerTransitions() {
+        return consumerTransitions;
+    }
+
+    /**
+     * @return start of the producing transitions of every place in {@link #getProducerTransitions()},
+     * followed by the end of the last place (must not be modified)
+     */
+    public int[] getProducerOffsets() {
+        return producerOffsets;
+    }
+
+    /**
+     * @return producing transitions of all places, as rows delimited by {@link #getProducerOffsets()}
+     * (must not be modified)
+     */
+    public int[] getProducerTransitions() {
+        return producerTransitions;
+    }
+
+    /**
+     * @return a copy of the marking of the PetriNet this representation was compiled from
+     */
+    public int[] getInitialMarking() {
+        return initialMarking.clone();
+    }
+
+    /**
+     * @param marking a marking of this net
+     * @param transition index of a transition
+     * @return true if all previous places of the transition have markers
+     */
+    public boolean isEnabled(int[] marking, int transition){
+        for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+            if(marking[prePlaces[i]] <= 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param marking a marking of this net
+     * @return indices of all transitions which are enabled in the given marking
+     */
+    public int[] getEnabledTransitions(int[] marking){
+        var enabled = new int[transitionIds.length];
+        var count = 0;
+        for(int t = 0; t < transitionIds.length; t++){
+            if(isEnabled(marking, t)) enabled[count++] = t;
+        }
+        return Arrays.copyOf(enabled, count);
+    }
+
+    /**
+     * Use a transition: take a marker from every previous place and give a marker to every following place.
+     *
+     * @param marking a marking of this net (will not be modified)
+     * @param transition index of the transition to use
+     * @return the marking after using the transition
+     */
+    public int[] fire(int[] marking, int transition){
+        var next = marking.clone();
+        for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+            next[prePlaces[i]]--;
+        }
+        for(int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++){
+            next[postPlaces[i]]++;
+        }
+        return next;
+    }
+
+    /**
+     * Use all given transitions at once, like {@link PetriNetSimulator#simulateNet}: every place
+     * taking part loses or gains at most one marker.
+     *
+     * @param marking a marking of this net (will not be modified)
+     * @param enabled the enabled transitions in the marking
+     * @return the marking after using the transitions
+     */
+    public int[] fireAll(int[] marking, int[] enabled){
+        var losing = new boolean[placeIds.length];
+        var gaining = new boolean[placeIds.length];
+        for(var transition : enabled){
+            for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++) losing[prePlaces[i]] = true;
+            for(int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++) gaining[postPlaces[i]] = true;
+        }
+        var next = marking.clone();
+        for(int place = 0; place < next.length; place++){
+            if(losing[place]) next[place]--;
+            if(gaining[place]) next[place]++;
+        }
+        return next;
+    }
+
+    /**
+     * @param net a PetriNet with the same places as this net (e.g. a copy of the compiled net)
+     * @return the marking of the given PetriNet
+     */
+    public int[] markingOf(PetriNet net){
+        var marking = new int[placeIds.length];
+        for(var node : net.getNodes()){
+            if(node instanceof Place){
+                marking[placeIndex.get(node.getID())] = ((Place) node).getMarkers();
+            }
+        }
+        return marking;
+    }
+
+    /**
+     * Create the object model for a given marking of this net.
+     *
+     * @param marking a marking of this net
+     * @return a copy of the compiled PetriNet, with markers set as given in the marking
+     */
+    public PetriNet toPetriNet(int[] marking){
+        var copy = petriNet.deepCopy();
+        for(var node : copy.getNodes()){
+            if(node instanceof Place){
+                ((Place) node).setMarkers(marking[placeIndex.get(node.getID())]);
+            }
+        }
+        return copy;
+    }
+}
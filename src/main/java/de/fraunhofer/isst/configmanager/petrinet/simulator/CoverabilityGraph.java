@@ -0,0 +1,110 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Karp-Miller coverability graph of a PetriNet, built by {@link PetriNetSimulator#buildCoverabilityGraph}.
+ *
+ * The graph is stored like a {@link StepGraph}, but markings can contain {@link #OMEGA} for places,
+ * on which the PetriNet can generate arbitrarily many markers. The coverability graph is always finite,
+ * so boundedness and coverability can be decided for PetriNets with infinitely many reachable states.
+ */
+public class CoverabilityGraph {
+
+    /**
+     * Number of markers of a place that can hold arbitrarily many markers.
+     */
+    public static final int OMEGA = Integer.MAX_VALUE;
+
+    private final StepGraph stepGraph;
+
+    public CoverabilityGraph(StepGraph stepGraph){
+        this.stepGraph = stepGraph;
+    }
+
+    /**
+     * @return the nodes and arcs of the coverability graph, markings may contain {@link #OMEGA}
+     */
+    public StepGraph getStepGraph() {
+        return stepGraph;
+    }
+
+    /**
+     * @return true if no place of the PetriNet can hold arbitrarily many markers
+     */
+    public boolean isBounded(){
+        return getUnboundedPlaces().isEmpty();
+    }
+
+    /**
+     * @return IDs of the places, which can hold arbitrarily many markers
+     */
+    public List<URI> getUnboundedPlaces(){
+        var petriNet = stepGraph.getPetriNet();
+        var unbounded = new ArrayList<URI>();
+        for(int place = 0; place < petriNet.getPlaceCount(); place++){
+            if(getBound(place) == OMEGA){
+                unbounded.add(petriNet.getPlaceId(place));
+            }
+        }
+        return unbounded;
+    }
+
+    /**
+     * @param placeId ID of a place
+     * @return the maximum number of markers the place can hold, or {@link #OMEGA} if it is unbounded
+     */
+    public int getBound(URI placeId){
+        return getBound(placeIndex(placeId));
+    }
+
+    /**
+     * @param placeId ID of a place
+     * @param markers number of markers
+     * @return true if a reachable marking has at least the given number of markers on the place
+     */
+    public boolean isCoverable(URI placeId, int markers){
+        return getBound(placeIndex(placeId)) >= markers;
+    }
+
+    /**
+     * @param marking a marking of the compiled PetriNet
+     * @return true if a reachable marking has at least the markers of the given marking on every place
+     */
+    public boolean isCoverable(int[] marking){
+        for(int step = 0; step < stepGraph.getStepCount(); step++){
+            if(covers(stepGraph.getMarking(step), marking)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param covering a marking, may contain {@link #OMEGA}
+     * @param covered another marking
+     * @return true if every place has at least as many markers in covering as in covered
+     */
+    static boolean covers(int[] covering, int[] covered){
+        for(int place = 0; place < covering.length; place++){
+            if(covering[place] < covered[place]) return false;
+        }
+        return true;
+    }
+
+    private int getBound(int place){
+        var bound = 0;
+        for(int step = 0; step < stepGraph.getStepCount(); step++){
+            bound = Math.max(bound, stepGraph.getMarking(step)[place]);
+        }
+        return bound;
+    }
+
+    private int placeIndex(URI placeId){
+        var place = stepGraph.getPetriNet().getPlaceIndex(placeId);
+        if(place < 0){
+            throw new IllegalArgumentException(String.format("PetriNet has no place %s", placeId));
+        }
+        return place;
+    }
+}
@@ -0,0 +1,125 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.reduction.PetriNetReducer;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Options for the {@link StateSpaceExplorer}: the search order and the budget of an exploration.
+ * By default the exploration is breadth first, has no limits and explores all interleavings.
+ */
+public class ExplorationOptions {
+
+    private SearchOrder searchOrder = SearchOrder.BREADTH_FIRST;
+
+    /**
+     * Maximum number of states in the StepGraph.
+     */
+    private int maxStates = Integer.MAX_VALUE;
+
+    /**
+     * Maximum number of steps from the initial state, states in this depth are not expanded.
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+
+    /**
+     * Maximum wall-clock time of the exploration, null for no limit.
+     */
+    private Duration timeout;
+
+    /**
+     * Maximum used heap of the JVM in bytes while exploring, 0 for no limit.
+     */
+    private long maxHeapBytes;
+
+    /**
+     * Only use the transitions of a stubborn set in every state, see {@link StubbornSets}.
+     * The reduced StepGraph keeps all deadlocks and all reachable markings of the visible places.
+     */
+    private boolean partialOrderReduction;
+
+    /**
+     * Places whose reachable markings are kept by the partial order reduction.
+     */
+    private Set<URI> visiblePlaces = Set.of(URI.create("place://sink"));
+
+    /**
+     * Reduce the PetriNet by the {@link PetriNetReducer} before exploring it, the StepGraph then contains
+     * the states of the reduced net (see {@link ExplorationResult#getReducedPetriNet()}).
+     */
+    private boolean reduction;
+
+    public SearchOrder getSearchOrder() {
+        return searchOrder;
+    }
+
+    public ExplorationOptions setSearchOrder(SearchOrder searchOrder) {
+        this.searchOrder = searchOrder;
+        return this;
+    }
+
+    public int getMaxStates() {
+        return maxStates;
+    }
+
+    public ExplorationOptions setMaxStates(int maxStates) {
+        this.maxStates = maxStates;
+        return this;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public ExplorationOptions setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public ExplorationOptions setTimeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public long getMaxHeapBytes() {
+        return maxHeapBytes;
+    }
+
+    public ExplorationOptions setMaxHeapBytes(long maxHeapBytes) {
+        this.maxHeapBytes = maxHeapBytes;
+        return this;
+    }
+
+    public boolean isPartialOrderReduction() {
+        return partialOrderReduction;
+    }
+
+    public ExplorationOptions setPartialOrderReduction(boolean partialOrderReduction) {
+        this.partialOrderReduction = partialOrderReduction;
+        return this;
+    }
+
+    public Set<URI> getVisiblePlaces() {
+        return visiblePlaces;
+    }
+
+    public ExplorationOptions setVisiblePlaces(Set<URI> visiblePlaces) {
+        this.visiblePlaces = visiblePlaces;
+        return this;
+    }
+
+    public boolean isReduction() {
+        return reduction;
+    }
+
+    public ExplorationOptions setReduction(boolean reduction) {
+        this.reduction = reduction;
+        return this;
+    }
+}
@@ -0,0 +1,52 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.reduction.ReducedPetriNet;
+import lombok.Getter;
+
+/**
+ * Result of an exploration by the {@link StateSpaceExplorer}: the (possibly partial) StepGraph
+ * and the reason why the exploration stopped.
+ */
+@Getter
+public class ExplorationResult {
+
+    public ExplorationResult(StepGraph stepGraph, TerminationReason terminationReason, long durationMillis){
+        this(stepGraph, terminationReason, durationMillis, null);
+    }
+
+    public ExplorationResult(StepGraph stepGraph, TerminationReason terminationReason, long durationMillis,
+                             ReducedPetriNet reducedPetriNet){
+        this.stepGraph = stepGraph;
+        this.terminationReason = terminationReason;
+        this.durationMillis = durationMillis;
+        this.reducedPetriNet = reducedPetriNet;
+    }
+
+    /**
+     * The explored states, complete only if the termination reason is {@link TerminationReason#COMPLETED}.
+     */
+    private StepGraph stepGraph;
+
+    /**
+     * Reason why the exploration stopped.
+     */
+    private TerminationReason terminationReason;
+
+    /**
+     * Wall-clock time of the exploration in milliseconds.
+     */
+    private long durationMillis;
+
+    /**
+     * The reduced PetriNet the StepGraph belongs to, with the mapping to the original nodes,
+     * null if the PetriNet was explored without reduction.
+     */
+    private ReducedPetriNet reducedPetriNet;
+
+    /**
+     * @return true if all reachable states were explored
+     */
+    public boolean isComplete(){
+        return terminationReason == TerminationReason.COMPLETED;
+    }
+}
@@ -0,0 +1,45 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+/**
+ * Hash functions for markings of a {@link CompiledPetriNet}.
+ *
+ * The fingerprint of a marking is a well mixed 64 bit value, so it can be used to find duplicate
+ * markings in hash tables without comparing every stored marking.
+ */
+public class MarkingHash {
+
+    /**
+     * @param marking a marking of a compiled PetriNet
+     * @return a 64 bit fingerprint of the marking
+     */
+    public static long fingerprint(int[] marking){
+        var hash = 0x9E3779B97F4A7C15L ^ marking.length;
+        for(var markers : marking){
+            hash = Long.rotateLeft(hash ^ (markers & 0xFFFFFFFFL), 27) * 0xBF58476D1CE4E5B9L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * @param fingerprint a fingerprint created by {@link #fingerprint(int[])}
+     * @return a 32 bit hash, derived from the fingerprint
+     */
+    public static int hash(long fingerprint){
+        return (int) (fingerprint ^ (fingerprint >>> 32));
+    }
+
+    /**
+     * Finalization step of the MurmurHash3 64 bit hash (fmix64)
+     *
+     * @param value a 64 bit value
+     * @return the mixed value
+     */
+    static long mix(long value){
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,93 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Aggregated statistics of a batch of independent simulations by the {@link StochasticSimulator}.
+ */
+@Getter
+public class MonteCarloResult {
+
+    public MonteCarloResult(int runs, int sinkReachedRuns, int deadlockedRuns, int[] stepCounts,
+                            Map<URI, Double> firingFrequencies, long durationMillis){
+        this.runs = runs;
+        this.sinkReachedRuns = sinkReachedRuns;
+        this.deadlockedRuns = deadlockedRuns;
+        this.stepCounts = stepCounts;
+        this.firingFrequencies = firingFrequencies;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Number of simulations.
+     */
+    private int runs;
+
+    /**
+     * Number of simulations which marked place://sink.
+     */
+    private int sinkReachedRuns;
+
+    /**
+     * Number of simulations which stopped because no transition was enabled, the others reached the
+     * maximum number of steps.
+     */
+    private int deadlockedRuns;
+
+    /**
+     * Number of steps of every simulation, in ascending order (must not be modified).
+     */
+    private int[] stepCounts;
+
+    /**
+     * For every transition ID: how often the transition was used per simulation on average.
+     */
+    private Map<URI, Double> firingFrequencies;
+
+    /**
+     * Wall-clock time of all simulations in milliseconds.
+     */
+    private long durationMillis;
+
+    /**
+     * @return estimated probability, that a simulation marks place://sink
+     */
+    public double getSinkProbability(){
+        return runs == 0 ? 0 : (double) sinkReachedRuns / runs;
+    }
+
+    /**
+     * @return half width of the 95% confidence interval of {@link #getSinkProbability()} (normal approximation)
+     */
+    public double getSinkProbabilityError(){
+        if(runs == 0) return 1;
+        var p = getSinkProbability();
+        return 1.96 * Math.sqrt(p * (1 - p) / runs);
+    }
+
+    /**
+     * @return average number of steps of a simulation
+     */
+    public double getMeanSteps(){
+        if(stepCounts.length == 0) return 0;
+        long sum = 0;
+        for(var steps : stepCounts) sum += steps;
+        return (double) sum / stepCounts.length;
+    }
+
+    /**
+     * @param percentile a percentile between 0 and 100
+     * @return the number of steps not exceeded by the given percentage of the simulations
+     */
+    public int getStepPercentile(double percentile){
+        if(percentile < 0 || percentile > 100){
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, was " + percentile);
+        }
+        if(stepCounts.length == 0) return 0;
+        var index = (int) Math.ceil(percentile / 100 * stepCounts.length) - 1;
+        return stepCounts[Math.max(0, index)];
+    }
+}
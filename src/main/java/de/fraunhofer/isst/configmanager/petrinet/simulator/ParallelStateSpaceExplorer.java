@@ -0,0 +1,314 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.reduction.PetriNetReducer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Explores the reachable states of a PetriNet in parallel, using a {@link ForkJoinPool}.
+ *
+ * Every new state is expanded by its own task, the pool balances the tasks between its workers by
+ * work stealing. Visited states are kept in a concurrent hash map, which assigns the id of a state
+ * exactly once. After the exploration the StepGraph is assembled in state id order, so it contains
+ * the same markings and arcs as the StepGraph of the sequential {@link StateSpaceExplorer}
+ * (only the indices of the steps may differ).
+ *
+ * The limits and the partial order reduction of the {@link ExplorationOptions} apply like for the
+ * sequential explorer, the search order is ignored, since the order of the expansions depends on the
+ * scheduling of the tasks (so a reduced StepGraph may differ from the sequentially reduced one).
+ */
+@Slf4j
+public class ParallelStateSpaceExplorer {
+
+    /**
+     * Number of expanded states between two checks of the time and heap limits.
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final ExplorationOptions options;
+    private final int parallelism;
+
+    private volatile boolean cancelled;
+
+    /**
+     * @param options limits of the exploration
+     * @param parallelism number of worker threads used for the exploration
+     */
+    public ParallelStateSpaceExplorer(ExplorationOptions options, int parallelism){
+        if(parallelism < 1){
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        this.options = options;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param options limits of the exploration
+     */
+    public ParallelStateSpaceExplorer(ExplorationOptions options){
+        this(options, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Stop a running exploration as soon as possible, the exploration returns the states found until then.
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @param petriNet the initial PetriNet
+     * @return the StepGraph of the reachable states (within the budget) and the termination reason
+     */
+    public ExplorationResult explore(PetriNet petriNet){
+        if(options.isReduction()){
+            var reduced = PetriNetReducer.reduce(petriNet);
+            var result = explore(new CompiledPetriNet(reduced.getPetriNet()));
+            return new ExplorationResult(result.getStepGraph(), result.getTerminationReason(), result.getDurationMillis(), reduced);
+        }
+        return explore(new CompiledPetriNet(petriNet));
+    }
+
+    /**
+     * @param petriNet the compiled initial PetriNet
+     * @return the StepGraph of the reachable states (within the budget) and the termination reason
+     */
+    public ExplorationResult explore(CompiledPetriNet petriNet){
+        var start = System.currentTimeMillis();
+        var exploration = new Exploration(petriNet, start);
+        var pool = new ForkJoinPool(parallelism);
+        try{
+            var initial = petriNet.getInitialMarking();
+            exploration.visited.put(new State(initial), exploration.stateCount.getAndIncrement());
+            pool.submit(exploration.new ExpandTask(null, 0, initial, 0)).get();
+        }catch(InterruptedException e){
+            //stop the workers and keep the states found so far
+            exploration.stop(TerminationReason.CANCELLED);
+            pool.awaitQuiescence(1, TimeUnit.SECONDS);
+            Thread.currentThread().interrupt();
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Parallel exploration failed", e.getCause());
+        }finally{
+            pool.shutdownNow();
+        }
+        var stepGraph = exploration.toStepGraph();
+        var duration = System.currentTimeMillis() - start;
+        var reason = exploration.reason != null ? exploration.reason
+                : exploration.depthLimited ? TerminationReason.MAX_DEPTH : TerminationReason.COMPLETED;
+        log.info(String.format("Explored %d states and %d arcs with parallelism %d in %d ms (%s)",
+                stepGraph.getStepCount(), stepGraph.getArcCount(), parallelism, duration, reason));
+        return new ExplorationResult(stepGraph, reason, duration);
+    }
+
+    /**
+     * Shared state of one parallel exploration.
+     */
+    private final class Exploration {
+
+        private final CompiledPetriNet petriNet;
+        private final long deadline;
+        private final StubbornSets stubbornSets;
+
+        /**
+         * Visited states and their ids.
+         */
+        private final ConcurrentHashMap<State, Integer> visited = new ConcurrentHashMap<>();
+
+        /**
+         * For every expanded state id: pairs of (transition, target state id).
+         */
+        private final ConcurrentHashMap<Integer, int[]> successors = new ConcurrentHashMap<>();
+
+        private final AtomicInteger stateCount = new AtomicInteger();
+        private final AtomicInteger expanded = new AtomicInteger();
+
+        private volatile TerminationReason reason;
+        private volatile boolean depthLimited;
+
+        Exploration(CompiledPetriNet petriNet, long start){
+            this.petriNet = petriNet;
+            this.deadline = options.getTimeout() == null ? Long.MAX_VALUE : start + options.getTimeout().toMillis();
+            this.stubbornSets = options.isPartialOrderReduction() ? new StubbornSets(petriNet, options.getVisiblePlaces()) : null;
+        }
+
+        /**
+         * Stop the exploration, the first reason is kept.
+         *
+         * @param stopReason reason why the exploration stops
+         */
+        synchronized void stop(TerminationReason stopReason){
+            if(reason == null){
+                reason = stopReason;
+            }
+        }
+
+        /**
+         * @return true if the exploration should stop
+         */
+        boolean shouldStop(){
+            if(cancelled){
+                stop(TerminationReason.CANCELLED);
+            }else if(expanded.incrementAndGet() % CHECK_INTERVAL == 0){
+                if(System.currentTimeMillis() > deadline){
+                    stop(TerminationReason.TIMEOUT);
+                }else if(options.getMaxHeapBytes() > 0 && usedHeap() > options.getMaxHeapBytes()){
+                    stop(TerminationReason.HEAP_LIMIT);
+                }
+            }
+            return reason != null;
+        }
+
+        /**
+         * @param marking a reached marking
+         * @param isNew set to true, if the marking was not visited before
+         * @return the id of the state, or -1 if the state limit was reached
+         */
+        int visit(int[] marking, boolean[] isNew){
+            var id = visited.computeIfAbsent(new State(marking), state -> {
+                int next;
+                do{
+                    next = stateCount.get();
+                    if(next >= options.getMaxStates()){
+                        stop(TerminationReason.MAX_STATES);
+                        return null;
+                    }
+                }while(!stateCount.compareAndSet(next, next + 1));
+                isNew[0] = true;
+                return next;
+            });
+            return id == null ? -1 : id;
+        }
+
+        /**
+         * Assemble the StepGraph from the visited states, ordered by their ids.
+         *
+         * @return the StepGraph of the exploration
+         */
+        StepGraph toStepGraph(){
+            //tasks of a cancelled exploration may still add states, only the states counted until now are used
+            var markings = new int[stateCount.get()][];
+            visited.forEach((state, id) -> {
+                if(id < markings.length) markings[id] = state.marking;
+            });
+            var stepGraph = new StepGraph(petriNet);
+            var count = 0;
+            while(count < markings.length && markings[count] != null){
+                stepGraph.addStep(markings[count++]);
+            }
+            for(int source = 0; source < count; source++){
+                var arcs = successors.get(source);
+                if(arcs == null) continue;
+                for(int i = 0; i < arcs.length; i += 2){
+                    if(arcs[i + 1] < count){
+                        stepGraph.addArc(source, arcs[i + 1], arcs[i]);
+                    }
+                }
+            }
+            return stepGraph;
+        }
+
+        /**
+         * Task expanding one state: every new successor state is expanded by a forked child task.
+         * Tasks never wait for their children, completion is propagated by the {@link CountedCompleter},
+         * so long paths do not grow the stack of the workers.
+         */
+        private final class ExpandTask extends CountedCompleter<Void> {
+
+            private final int state;
+            private final int[] marking;
+            private final int depth;
+
+            ExpandTask(ExpandTask parent, int state, int[] marking, int depth){
+                super(parent);
+                this.state = state;
+                this.marking = marking;
+                this.depth = depth;
+            }
+
+            @Override
+            public void compute() {
+                if(!shouldStop()){
+                    expand();
+                }
+                tryComplete();
+            }
+
+            private void expand(){
+                var enabled = petriNet.getEnabledTransitions(marking);
+                if(depth >= options.getMaxDepth()){
+                    if(enabled.length > 0) depthLimited = true;
+                    return;
+                }
+                var arcs = new int[2 * enabled.length];
+                var arcCount = 0;
+                var isNew = new boolean[1];
+                var transitions = stubbornSets == null ? enabled : stubbornSets.reduce(marking, enabled);
+                var fullyExpanded = transitions.length == enabled.length;
+                while(true){
+                    var allNew = true;
+                    for(var transition : transitions){
+                        var successor = petriNet.fire(marking, transition);
+                        isNew[0] = false;
+                        var target = visit(successor, isNew);
+                        if(target < 0) continue;
+                        arcs[arcCount++] = transition;
+                        arcs[arcCount++] = target;
+                        if(isNew[0]){
+                            addToPendingCount(1);
+                            new ExpandTask(this, target, successor, depth + 1).fork();
+                        }else{
+                            allNew = false;
+                        }
+                    }
+                    //a reduced successor was visited before: expand fully, so no transition is ignored in a cycle
+                    if(fullyExpanded || allNew) break;
+                    transitions = StubbornSets.remaining(enabled, transitions);
+                    fullyExpanded = true;
+                }
+                successors.put(state, arcCount == arcs.length ? arcs : Arrays.copyOf(arcs, arcCount));
+            }
+        }
+    }
+
+    /**
+     * Key for the visited states, comparing markings by content.
+     */
+    private static final class State {
+
+        private final int[] marking;
+        private final int hash;
+
+        State(int[] marking){
+            this.marking = marking;
+            this.hash = MarkingHash.hash(MarkingHash.fingerprint(marking));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return Arrays.equals(marking, ((State) o).marking);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * @return the currently used heap of the JVM in bytes
+     */
+    private static long usedHeap(){
+        var runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,164 +1,212 @@
 package de.fraunhofer.isst.configmanager.petrinet.simulator;
 
-import de.fraunhofer.isst.configmanager.petrinet.builder.GraphVizGenerator;
-import de.fraunhofer.isst.configmanager.petrinet.model.*;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.model.Place;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.trace.BinaryTraceListener;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.trace.LoggingSimulationListener;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.trace.NoOpSimulationListener;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.trace.SimulationListener;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.trace.TraceReplay;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 
 /**
  * Class Providing static methods to simulate a PetriNet based on a given initial state,
  * or creating the graph of all possible steps the PetriNet can take in an execution.
  *
  * (both methods could be running indefinitely, if the given initial PetriNet contains a
- * marker generating circle, so the PetriNet has an infinite amount of reachable states)
+ * marker generating circle, so the PetriNet has an infinite amount of reachable states,
+ * use a {@link StateSpaceExplorer} with {@link ExplorationOptions} to limit the exploration,
+ * or {@link #buildCoverabilityGraph(PetriNet)} to get a finite abstraction of the states)
  */
 @Slf4j
 public class PetriNetSimulator {
     /**
-     * Make a step in the current petriNet, finding all transitions that can be used
-     * and taking all of them
-     * (normally a petri net only uses one random transition at a time
-     *  TODO: only take one random transition at a time)
-     * @param petriNet the current step in the petrinet
-     * @return true if something in the petrinet changed after taking the transitions
+     * For a given initial PetriNet: execute a step as long as something changes.
+     * In every step all enabled transitions are used at once.
+     * (normally a petri net only uses one random transition at a time,
+     *  see the {@link StochasticSimulator} for simulations with these semantics)
+     * The steps are made on the {@link CompiledPetriNet} (on a {@link SafePetriNet} for 1-safe PetriNets),
+     * the markers of the final state are written back to the given PetriNet.
+     * @param petriNet the initial PetriNet
      */
-    private static boolean makeStep(PetriNet petriNet){
-        var changed = false;
-        var nodesLosingMarkers = new ArrayList<Node>();
-        var nodesGainingMarkers = new ArrayList<Node>();
-        for(var node : petriNet.getNodes()){
-            if(node instanceof TransitionImpl){
-                var allPreviousHaveMarker = isPossible(node);
-                if(allPreviousHaveMarker){
-                    nodesLosingMarkers.addAll(node.getTargetArcs().stream()
-                            .map(Arc::getSource).collect(Collectors.toList()));
-                    nodesGainingMarkers.addAll(node.getSourceArcs().stream()
-                            .map(Arc::getTarget).collect(Collectors.toList()));
-                    changed = true;
-                }
-            }
-        }
-        nodesGainingMarkers.stream().distinct().forEach(node -> {
-            ((PlaceImpl) node).setMarkers(((PlaceImpl) node).getMarkers() + 1);
-        });
-        nodesLosingMarkers.stream().distinct().forEach(node -> {
-            ((PlaceImpl) node).setMarkers(((PlaceImpl) node).getMarkers() - 1);
-        });
-        return changed;
+    public static void simulateNet(PetriNet petriNet){
+        simulateNet(petriNet, NoOpSimulationListener.INSTANCE);
     }
-    
+
     /**
-     * For a given initial PetriNet: execute a step as long as something changes
+     * Simulate the PetriNet like {@link #simulateNet(PetriNet)}, reporting every step to the given listener.
+     * Use a {@link LoggingSimulationListener} to log the states, or a {@link BinaryTraceListener} to record
+     * them cheaply for a later {@link TraceReplay}.
+     *
      * @param petriNet the initial PetriNet
+     * @param listener the listener for the steps of the simulation
+     * @return the number of steps
      */
-    public static void simulateNet(PetriNet petriNet){
-        int i = 0;;
+    public static int simulateNet(PetriNet petriNet, SimulationListener listener){
         log.info("Starting Simulation!");
-        log.info(GraphVizGenerator.generateGraphViz(petriNet));
-        while(makeStep(petriNet)){
-            log.info("Something changed!");
-            i++;
-            log.info(GraphVizGenerator.generateGraphViz(petriNet));
+        var compiled = new CompiledPetriNet(petriNet);
+        var marking = compiled.getInitialMarking();
+        listener.started(compiled, marking);
+        var steps = 0;
+        var safePetriNet = SafePetriNet.compile(compiled);
+        if(safePetriNet != null){
+            var result = simulateSafeNet(safePetriNet, marking, listener);
+            marking = result.marking;
+            steps = result.steps;
+        }
+        var enabled = compiled.getEnabledTransitions(marking);
+        while(enabled.length > 0){
+            marking = compiled.fireAll(marking, enabled);
+            listener.stepped(++steps, enabled, marking);
+            enabled = compiled.getEnabledTransitions(marking);
+        }
+        for(int place = 0; place < compiled.getPlaceCount(); place++){
+            ((Place) petriNet.getNode(compiled.getPlaceId(place))).setMarkers(marking[place]);
         }
-        log.info("Nothing changed! Finished simulation of PetriNet!");
+        listener.finished(steps, marking);
+        log.info(String.format("Nothing changed after %d steps! Finished simulation of PetriNet!", steps));
+        return steps;
     }
     
     /**
-     * For a given petriNet, find all transitions that can be taken
-     * @param petriNet a given PetriNet
-     * @return List of Transition nodes, for which all previous nodes have markers
+     * Fast path of {@link #simulateNet(PetriNet, SimulationListener)} for 1-safe PetriNets: the steps are made
+     * on the packed marking of the {@link SafePetriNet}, markings are only unpacked for listeners needing them.
+     *
+     * @param safePetriNet the bitset representation of the PetriNet
+     * @param marking the initial marking
+     * @param listener the listener for the steps of the simulation
+     * @return the final marking (or the last 1-safe marking if a place would get a second marker) and the number of steps
      */
-    private static List<Node> getPossibleTransitions(PetriNet petriNet){
-        var possible = new ArrayList<Node>();
-        for(var node : petriNet.getNodes()){
-            if(isPossible(node)) possible.add(node);
+    private static SafeSimulation simulateSafeNet(SafePetriNet safePetriNet, int[] marking, SimulationListener listener){
+        var packed = safePetriNet.pack(marking);
+        var steps = 0;
+        while(true){
+            var enabled = safePetriNet.getEnabledTransitions(packed);
+            if(enabled.length == 0){
+                return new SafeSimulation(safePetriNet.unpack(packed), steps);
+            }
+            var next = safePetriNet.fireAll(packed, enabled);
+            if(next == null){
+                log.info("PetriNet is not 1-safe, continuing simulation without bitset representation");
+                return new SafeSimulation(safePetriNet.unpack(packed), steps);
+            }
+            packed = next;
+            listener.stepped(++steps, enabled, listener.isMarkingRequired() ? safePetriNet.unpack(packed) : null);
         }
-        return possible;
     }
-    
+
     /**
-     * Given a petri net and a (transition) node: do the transition
-     * @param petriNet a given PetriNet
-     * @param node a given Node of the PetriNet
+     * Final marking and number of steps of {@link #simulateSafeNet(SafePetriNet, int[], SimulationListener)}.
      */
-    private static void doTransition(PetriNet petriNet, Node node){
-        if(!isPossible(node)){
-            return;
-        }
-        for(var arc : node.getTargetArcs()){
-            var place = (PlaceImpl) arc.getSource();
-            place.setMarkers(place.getMarkers()-1);
-        }
-        for(var arc : node.getSourceArcs()){
-            var place = (PlaceImpl) arc.getTarget();
-            place.setMarkers(place.getMarkers()+1);
+    private static final class SafeSimulation {
+        private final int[] marking;
+        private final int steps;
+
+        private SafeSimulation(int[] marking, int steps){
+            this.marking = marking;
+            this.steps = steps;
         }
     }
-    
+
     /**
      * Build a StepGraph with the given PetriNet as starting Point for executions.
+     * The states are explored by a {@link StateSpaceExplorer} without limits, use the
+     * explorer directly to limit the exploration or to be able to cancel it.
      *
      * @param petriNet the initial PetriNet
      * @return the StepGraph with all reachable states of the given PetriNet
      */
     public static StepGraph buildStepGraph(PetriNet petriNet){
-        var stepGraph = new StepGraph();
-        stepGraph.getSteps().add(petriNet);
-        for(var node : getPossibleTransitions(petriNet)){
-            addStepToStepGraph(petriNet, petriNet.deepCopy(), node, stepGraph);
-        }
-        return stepGraph;
+        return new StateSpaceExplorer(new ExplorationOptions()).explore(petriNet).getStepGraph();
     }
-    
+
+    /**
+     * Sweep over the reachable states of the given PetriNet without storing them, for state spaces too large
+     * for a StepGraph. Some states may be omitted, see {@link BitstateExplorer}.
+     *
+     * @param petriNet the initial PetriNet
+     * @param memoryBytes memory for the visited states in bytes, a multiple of 8
+     * @return the number of visited states, the found deadlocks and the probability of omitted states
+     */
+    public static BitstateResult sweepStateSpace(PetriNet petriNet, long memoryBytes){
+        return new BitstateExplorer(new ExplorationOptions(), memoryBytes, 3).explore(petriNet);
+    }
+
     /**
-     * Execute a possible transition of the current PetriNet and add the result
-     * to the StepGraph.
+     * Build the Karp-Miller coverability graph of the given PetriNet.
+     * Whenever a new marking strictly covers a marking on its path from the initial marking,
+     * the growing places are set to {@link CoverabilityGraph#OMEGA}, so the graph stays finite
+     * even if the PetriNet has infinitely many reachable states.
      *
-     * @param parent the current PetriNet
-     * @param copy a copy of the current PetriNet which will be modified
-     * @param transition the transition the PetriNet should execute
-     * @param stepGraph the stepgraph the resulting PetriNet will be added to
-     *                  (if it doesn't already contain an equal PetriNet)
+     * @param petriNet the initial PetriNet
+     * @return the coverability graph of the given PetriNet
      */
-    private static void addStepToStepGraph(PetriNet parent, PetriNet copy, Node transition, StepGraph stepGraph){
-        log.info("Adding Step!");
-        Node transitionCopy = null;
-        for(var node : copy.getNodes()){
-            if(node.getID().equals(transition.getID())){
-                transitionCopy = node;
+    public static CoverabilityGraph buildCoverabilityGraph(PetriNet petriNet){
+        var compiled = new CompiledPetriNet(petriNet);
+        var stepGraph = new StepGraph(compiled);
+        //parent of every step in the spanning tree of the graph, used to find the ancestors of a step
+        var parents = new int[16];
+        parents[stepGraph.addStep(compiled.getInitialMarking())] = -1;
+        var stack = new ArrayDeque<Integer>();
+        stack.push(0);
+        while(!stack.isEmpty()){
+            var step = stack.pop();
+            var marking = stepGraph.getMarking(step);
+            for(var transition : compiled.getEnabledTransitions(marking)){
+                var next = fireCovering(compiled, marking, transition);
+                accelerate(stepGraph, parents, step, next);
+                var target = stepGraph.indexOf(next);
+                if(target < 0){
+                    target = stepGraph.addStep(next);
+                    if(target == parents.length){
+                        parents = Arrays.copyOf(parents, 2 * parents.length);
+                    }
+                    parents[target] = step;
+                    stack.push(target);
+                }
+                stepGraph.addArc(step, target, transition);
             }
         }
-        doTransition(copy, transitionCopy);
-        for(var net : stepGraph.getSteps()){
-            if (net.equals(copy)){
-                stepGraph.getArcs().add(new NetArc(parent, net));
-                return;
-            }
+        var coverabilityGraph = new CoverabilityGraph(stepGraph);
+        log.info(String.format("Built coverability graph with %d nodes and %d arcs, bounded: %s",
+                stepGraph.getStepCount(), stepGraph.getArcCount(), coverabilityGraph.isBounded()));
+        return coverabilityGraph;
+    }
+
+    /**
+     * Fire a transition on a marking containing {@link CoverabilityGraph#OMEGA}, omega places stay omega.
+     */
+    private static int[] fireCovering(CompiledPetriNet petriNet, int[] marking, int transition){
+        var next = marking.clone();
+        var preOffsets = petriNet.getPreOffsets();
+        var prePlaces = petriNet.getPrePlaces();
+        for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+            if(next[prePlaces[i]] != CoverabilityGraph.OMEGA) next[prePlaces[i]]--;
         }
-        stepGraph.getArcs().add(new NetArc(parent, copy));
-        stepGraph.getSteps().add(copy);
-        for(var node : getPossibleTransitions(copy)){
-            addStepToStepGraph(copy, copy.deepCopy(), node, stepGraph);
+        var postOffsets = petriNet.getPostOffsets();
+        var postPlaces = petriNet.getPostPlaces();
+        for(int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++){
+            if(next[postPlaces[i]] != CoverabilityGraph.OMEGA) next[postPlaces[i]]++;
         }
+        return next;
     }
-    
+
     /**
-     * For a given node: if it is a transition, check if all previous nodes have markers
-     * @param node a given Node
-     * @return true if it is a transition ready to be used
+     * Set all places of the marking to {@link CoverabilityGraph#OMEGA}, which grew compared to
+     * an ancestor that is strictly covered by the marking.
      */
-    private static boolean isPossible(Node node){
-        if(node instanceof TransitionImpl) {
-            return node.getTargetArcs().stream()
-                    .map(Arc::getSource)
-                    .map(place -> (PlaceImpl) place)
-                    .map(PlaceImpl::getMarkers)
-                    .allMatch(markers -> markers > 0);
+    private static void accelerate(StepGraph stepGraph, int[] parents, int step, int[] marking){
+        for(var ancestor = step; ancestor >= 0; ancestor = parents[ancestor]){
+            var previous = stepGraph.getMarking(ancestor);
+            if(CoverabilityGraph.covers(marking, previous) && !Arrays.equals(marking, previous)){
+                for(int place = 0; place < marking.length; place++){
+                    if(previous[place] < marking[place]) marking[place] = CoverabilityGraph.OMEGA;
+                }
+            }
         }
-        return false;
     }
 
 }
@@ -0,0 +1,168 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import java.util.Arrays;
+
+/**
+ * Bitset representation of a 1-safe {@link CompiledPetriNet} (every place holds at most one marker).
+ *
+ * A marking is packed into a long[] with one bit per place index, the pre- and post-places of every
+ * transition are compiled into masks of the same layout. Checking whether a transition is enabled and
+ * using it are then a few word operations, instead of a loop over the places of the transition.
+ * Whether a net stays 1-safe is only known while executing it, so {@link #fire(long[], int)} reports
+ * a second marker on a place and the caller continues without this representation.
+ */
+public class SafePetriNet {
+
+    private final CompiledPetriNet petriNet;
+    private final int words;
+    private final long[][] preMasks;
+    private final long[][] postMasks;
+
+    private SafePetriNet(CompiledPetriNet petriNet){
+        this.petriNet = petriNet;
+        this.words = (petriNet.getPlaceCount() + 63) >>> 6;
+        this.preMasks = new long[petriNet.getTransitionCount()][];
+        this.postMasks = new long[petriNet.getTransitionCount()][];
+        for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+            preMasks[transition] = mask(petriNet.getPreSet(transition));
+            postMasks[transition] = mask(petriNet.getPostSet(transition));
+        }
+    }
+
+    /**
+     * @param petriNet a compiled PetriNet
+     * @return the bitset representation, or null if a place of the initial marking has more than one marker
+     */
+    public static SafePetriNet compile(CompiledPetriNet petriNet){
+        for(var markers : petriNet.getInitialMarking()){
+            if(markers > 1) return null;
+        }
+        return new SafePetriNet(petriNet);
+    }
+
+    private long[] mask(int[] places){
+        var mask = new long[words];
+        for(var place : places){
+            mask[place >>> 6] |= 1L << place;
+        }
+        return mask;
+    }
+
+    /**
+     * @return the compiled PetriNet this representation was created from
+     */
+    public CompiledPetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return bits of the places, which need a marker to use the transition (must not be modified)
+     */
+    public long[] getPreMask(int transition) {
+        return preMasks[transition];
+    }
+
+    /**
+     * @param transition index of a transition
+     * @return bits of the places, which gain a marker when using the transition (must not be modified)
+     */
+    public long[] getPostMask(int transition) {
+        return postMasks[transition];
+    }
+
+    /**
+     * @param marking a marking of the compiled PetriNet with at most one marker per place
+     * @return the packed marking
+     */
+    public long[] pack(int[] marking){
+        var packed = new long[words];
+        for(int place = 0; place < marking.length; place++){
+            if(marking[place] > 1){
+                throw new IllegalArgumentException("Place " + petriNet.getPlaceId(place) + " has more than one marker");
+            }
+            if(marking[place] == 1) packed[place >>> 6] |= 1L << place;
+        }
+        return packed;
+    }
+
+    /**
+     * @param packed a packed marking
+     * @return the marking of the compiled PetriNet
+     */
+    public int[] unpack(long[] packed){
+        var marking = new int[petriNet.getPlaceCount()];
+        for(int place = 0; place < marking.length; place++){
+            marking[place] = (int) (packed[place >>> 6] >>> place) & 1;
+        }
+        return marking;
+    }
+
+    /**
+     * @param packed a packed marking
+     * @param transition index of a transition
+     * @return true if all previous places of the transition have a marker
+     */
+    public boolean isEnabled(long[] packed, int transition){
+        var pre = preMasks[transition];
+        for(int word = 0; word < words; word++){
+            if((packed[word] & pre[word]) != pre[word]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param packed a packed marking
+     * @return indices of all transitions which are enabled in the given marking
+     */
+    public int[] getEnabledTransitions(long[] packed){
+        var enabled = new int[preMasks.length];
+        var count = 0;
+        for(int transition = 0; transition < preMasks.length; transition++){
+            if(isEnabled(packed, transition)) enabled[count++] = transition;
+        }
+        return count == enabled.length ? enabled : Arrays.copyOf(enabled, count);
+    }
+
+    /**
+     * @param packed a packed marking (will not be modified)
+     * @param transition index of an enabled transition
+     * @return the packed marking after using the transition, or null if a place would get a second marker
+     */
+    public long[] fire(long[] packed, int transition){
+        var pre = preMasks[transition];
+        var post = postMasks[transition];
+        var next = new long[words];
+        for(int word = 0; word < words; word++){
+            var remaining = packed[word] & ~pre[word];
+            if((remaining & post[word]) != 0) return null;
+            next[word] = remaining | post[word];
+        }
+        return next;
+    }
+
+    /**
+     * Use all enabled transitions at once, like {@link PetriNetSimulator#simulateNet}: every place
+     * taking part loses or gains at most one marker.
+     *
+     * @param packed a packed marking (will not be modified)
+     * @param enabled the enabled transitions in the marking
+     * @return the packed marking after using the transitions, or null if a place would get a second marker
+     */
+    public long[] fireAll(long[] packed, int[] enabled){
+        var losing = new long[words];
+        var gaining = new long[words];
+        for(var transition : enabled){
+            for(int word = 0; word < words; word++){
+                losing[word] |= preMasks[transition][word];
+                gaining[word] |= postMasks[transition][word];
+            }
+        }
+        var next = new long[words];
+        for(int word = 0; word < words; word++){
+            if((packed[word] & gaining[word] & ~losing[word]) != 0) return null;
+            next[word] = (packed[word] & ~losing[word]) | gaining[word];
+        }
+        return next;
+    }
+}
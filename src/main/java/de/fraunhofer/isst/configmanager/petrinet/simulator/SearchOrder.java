@@ -0,0 +1,15 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+/**
+ * Order in which the {@link StateSpaceExplorer} visits the states of a PetriNet.
+ */
+public enum SearchOrder {
+    /**
+     * Visit states level by level, so every state is reached by a shortest path.
+     */
+    BREADTH_FIRST,
+    /**
+     * Follow a path as far as possible before visiting its siblings.
+     */
+    DEPTH_FIRST;
+}
@@ -0,0 +1,55 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Options for the {@link StochasticSimulator}: the seed of the random choices, the weights of the
+ * transitions and the maximum length of a simulation.
+ * By default every enabled transition is chosen with the same probability.
+ */
+public class SimulationOptions {
+
+    /**
+     * Seed of the random choices, simulations with the same seed make the same steps.
+     */
+    private long seed;
+
+    /**
+     * Maximum number of steps of a simulation, PetriNets with cycles may never stop otherwise.
+     */
+    private int maxSteps = 10_000;
+
+    /**
+     * Weights of the transitions, an enabled transition is chosen with a probability proportional to its
+     * weight. Transitions without weight have the weight 1.
+     */
+    private Map<URI, Double> weights = Map.of();
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SimulationOptions setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    public SimulationOptions setMaxSteps(int maxSteps) {
+        this.maxSteps = maxSteps;
+        return this;
+    }
+
+    public Map<URI, Double> getWeights() {
+        return weights;
+    }
+
+    public SimulationOptions setWeights(Map<URI, Double> weights) {
+        this.weights = weights;
+        return this;
+    }
+}
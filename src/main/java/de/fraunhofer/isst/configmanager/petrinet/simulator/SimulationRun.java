@@ -0,0 +1,51 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import lombok.Getter;
+
+/**
+ * Result of a single simulation by the {@link StochasticSimulator}.
+ */
+@Getter
+public class SimulationRun {
+
+    public SimulationRun(int steps, int sinkStep, boolean deadlocked, int[] firings, int[] marking){
+        this.steps = steps;
+        this.sinkStep = sinkStep;
+        this.deadlocked = deadlocked;
+        this.firings = firings;
+        this.marking = marking;
+    }
+
+    /**
+     * Number of steps, every step used one transition.
+     */
+    private int steps;
+
+    /**
+     * Number of the step which gave place://sink its first marker, -1 if the sink was never marked.
+     */
+    private int sinkStep;
+
+    /**
+     * True if the simulation stopped because no transition was enabled, false if the maximum number
+     * of steps was reached.
+     */
+    private boolean deadlocked;
+
+    /**
+     * For every transition index: how often the transition was used.
+     */
+    private int[] firings;
+
+    /**
+     * The final marking.
+     */
+    private int[] marking;
+
+    /**
+     * @return true if place://sink got a marker during the simulation
+     */
+    public boolean isSinkReached(){
+        return sinkStep >= 0;
+    }
+}
@@ -0,0 +1,233 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.reduction.PetriNetReducer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Explores the reachable states of a PetriNet using an explicit work queue instead of recursion,
+ * so deep PetriNets cannot overflow the stack.
+ *
+ * The exploration is limited by the budget given in the {@link ExplorationOptions} (states, depth,
+ * wall-clock time and heap) and can be cancelled cooperatively using {@link #cancel()} or by
+ * interrupting the exploring thread. When the exploration stops early, the partial StepGraph is
+ * returned together with the {@link TerminationReason}.
+ *
+ * With {@link ExplorationOptions#setPartialOrderReduction(boolean)} only the transitions of a stubborn
+ * set are used in every state, so independent subroutes are not interleaved in every possible order.
+ *
+ * As long as the PetriNet is 1-safe, transitions are checked and used on the bitset representation
+ * of a {@link SafePetriNet}.
+ */
+@Slf4j
+public class StateSpaceExplorer {
+
+    /**
+     * Number of expanded states between two checks of the time and heap limits.
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final ExplorationOptions options;
+
+    private volatile boolean cancelled;
+
+    public StateSpaceExplorer(ExplorationOptions options){
+        this.options = options;
+    }
+
+    /**
+     * Stop a running exploration as soon as possible, the exploration returns the states found until then.
+     */
+    public void cancel(){
+        cancelled = true;
+    }
+
+    /**
+     * @return true if {@link #cancel()} was called
+     */
+    public boolean isCancelled(){
+        return cancelled;
+    }
+
+    /**
+     * @param petriNet the initial PetriNet
+     * @return the StepGraph of the reachable states (within the budget) and the termination reason
+     */
+    public ExplorationResult explore(PetriNet petriNet){
+        if(options.isReduction()){
+            var reduced = PetriNetReducer.reduce(petriNet);
+            var result = explore(new CompiledPetriNet(reduced.getPetriNet()));
+            return new ExplorationResult(result.getStepGraph(), result.getTerminationReason(), result.getDurationMillis(), reduced);
+        }
+        return explore(new CompiledPetriNet(petriNet));
+    }
+
+    /**
+     * @param petriNet the compiled initial PetriNet
+     * @return the StepGraph of the reachable states (within the budget) and the termination reason
+     */
+    public ExplorationResult explore(CompiledPetriNet petriNet){
+        var start = System.currentTimeMillis();
+        var stepGraph = new StepGraph(petriNet);
+        var reason = explore(stepGraph, start);
+        var duration = System.currentTimeMillis() - start;
+        log.info(String.format("Explored %d states and %d arcs in %d ms (%s)",
+                stepGraph.getStepCount(), stepGraph.getArcCount(), duration, reason));
+        return new ExplorationResult(stepGraph, reason, duration);
+    }
+
+    /**
+     * Fill the given (empty) StepGraph, starting at the initial marking of its PetriNet.
+     *
+     * @param stepGraph the StepGraph to fill
+     * @param start start time of the exploration in milliseconds
+     * @return the reason why the exploration stopped
+     */
+    private TerminationReason explore(StepGraph stepGraph, long start){
+        var petriNet = stepGraph.getPetriNet();
+        var deadline = options.getTimeout() == null ? Long.MAX_VALUE : start + options.getTimeout().toMillis();
+        var depthFirst = options.getSearchOrder() == SearchOrder.DEPTH_FIRST;
+        var stubbornSets = options.isPartialOrderReduction() ? new StubbornSets(petriNet, options.getVisiblePlaces()) : null;
+        var safePetriNet = SafePetriNet.compile(petriNet);
+
+        //depth of every step, indexed like the steps of the StepGraph
+        var depths = new int[16];
+        //for depth first search: stack of steps to expand, for breadth first search the steps are expanded in index order
+        var stack = new int[16];
+        var stackSize = 0;
+        //steps with enabled transitions which were not expanded because of the depth limit
+        var depthLimited = new BitSet();
+        //for depth first search: first arc and number of arcs of every expanded step, a step reached again
+        //on a shorter path passes its new depth on to its successors, so the depth limit matches breadth first search
+        var depthBounded = depthFirst && options.getMaxDepth() != Integer.MAX_VALUE;
+        var firstArcs = depthBounded ? new int[16] : null;
+        var arcCounts = depthBounded ? new int[16] : null;
+        var expandedSteps = new BitSet();
+
+        stepGraph.addStep(petriNet.getInitialMarking());
+        if(depthFirst){
+            stack[stackSize++] = 0;
+        }
+        var next = 0;
+        var expanded = 0;
+        while(depthFirst ? stackSize > 0 : next < stepGraph.getStepCount()){
+            if(cancelled || Thread.currentThread().isInterrupted()){
+                return TerminationReason.CANCELLED;
+            }
+            if(++expanded % CHECK_INTERVAL == 0){
+                if(System.currentTimeMillis() > deadline){
+                    return TerminationReason.TIMEOUT;
+                }
+                if(options.getMaxHeapBytes() > 0 && usedHeap() > options.getMaxHeapBytes()){
+                    return TerminationReason.HEAP_LIMIT;
+                }
+            }
+            var step = depthFirst ? stack[--stackSize] : next++;
+            if(expandedSteps.get(step)){
+                //only reached in depth first search: the step was found again on a shorter path
+                for(var arc = firstArcs[step]; arc < firstArcs[step] + arcCounts[step]; arc++){
+                    var target = stepGraph.getArcTarget(arc);
+                    if(depths[step] + 1 < depths[target]){
+                        depths[target] = depths[step] + 1;
+                        if(stackSize == stack.length){
+                            stack = Arrays.copyOf(stack, stackSize * 2);
+                        }
+                        stack[stackSize++] = target;
+                    }
+                }
+                continue;
+            }
+            var marking = stepGraph.getMarking(step);
+            long[] packed = null;
+            int[] enabled;
+            if(safePetriNet != null){
+                packed = safePetriNet.pack(marking);
+                enabled = safePetriNet.getEnabledTransitions(packed);
+            }else{
+                enabled = petriNet.getEnabledTransitions(marking);
+            }
+            if(depths[step] >= options.getMaxDepth()){
+                if(enabled.length > 0){
+                    depthLimited.set(step);
+                }
+                continue;
+            }
+            depthLimited.clear(step);
+            if(depthBounded){
+                expandedSteps.set(step);
+                if(step >= firstArcs.length){
+                    firstArcs = Arrays.copyOf(firstArcs, depths.length);
+                    arcCounts = Arrays.copyOf(arcCounts, depths.length);
+                }
+                firstArcs[step] = stepGraph.getArcCount();
+            }
+            var transitions = stubbornSets == null ? enabled : stubbornSets.reduce(marking, enabled);
+            var fullyExpanded = transitions.length == enabled.length;
+            while(true){
+                var allNew = true;
+                for(var transition : transitions){
+                    int[] successor = null;
+                    if(packed != null && safePetriNet != null){
+                        var packedSuccessor = safePetriNet.fire(packed, transition);
+                        if(packedSuccessor != null){
+                            successor = safePetriNet.unpack(packedSuccessor);
+                        }else{
+                            //the net is not 1-safe, continue without the bitset representation
+                            safePetriNet = null;
+                        }
+                    }
+                    if(successor == null){
+                        successor = petriNet.fire(marking, transition);
+                    }
+                    var target = stepGraph.indexOf(successor);
+                    if(target < 0){
+                        if(stepGraph.getStepCount() >= options.getMaxStates()){
+                            return TerminationReason.MAX_STATES;
+                        }
+                        target = stepGraph.addStep(successor);
+                        if(target == depths.length){
+                            depths = Arrays.copyOf(depths, target * 2);
+                        }
+                        depths[target] = depths[step] + 1;
+                        if(depthFirst){
+                            if(stackSize == stack.length){
+                                stack = Arrays.copyOf(stack, stackSize * 2);
+                            }
+                            stack[stackSize++] = target;
+                        }
+                    }else{
+                        allNew = false;
+                        if(depthBounded && depths[step] + 1 < depths[target]){
+                            //found on a shorter path, expand again with the smaller depth
+                            depths[target] = depths[step] + 1;
+                            if(stackSize == stack.length){
+                                stack = Arrays.copyOf(stack, stackSize * 2);
+                            }
+                            stack[stackSize++] = target;
+                        }
+                    }
+                    stepGraph.addArc(step, target, transition);
+                }
+                //a reduced successor was visited before: expand fully, so no transition is ignored in a cycle
+                if(fullyExpanded || allNew) break;
+                transitions = StubbornSets.remaining(enabled, transitions);
+                fullyExpanded = true;
+            }
+            if(depthBounded){
+                arcCounts[step] = stepGraph.getArcCount() - firstArcs[step];
+            }
+        }
+        return !depthLimited.isEmpty() ? TerminationReason.MAX_DEPTH : TerminationReason.COMPLETED;
+    }
+
+    /**
+     * @return the currently used heap of the JVM in bytes
+     */
+    private static long usedHeap(){
+        var runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -1,29 +1,253 @@
 package de.fraunhofer.isst.configmanager.petrinet.simulator;
 
 import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
-import lombok.Getter;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
- * Graph containing every Step a Petri Net can make in its execution
+ * Graph containing every Step a Petri Net can make in its execution.
+ *
+ * Steps are stored as markings of a {@link CompiledPetriNet} and referenced by their index,
+ * arcs are stored as (source step, target step, transition) index triples.
+ * Duplicate markings are found using an open addressing hash table over the marking fingerprints
+ * (see {@link MarkingHash}), so looking up a step takes constant expected time.
+ * The PetriNet object model of the steps is only created when {@link #getSteps()} or {@link #getArcs()} is called.
  */
-@Getter
 public class StepGraph {
 
-    public StepGraph(){
-        steps = new HashSet<>();
-        arcs = new HashSet<>();
+    public StepGraph(CompiledPetriNet petriNet){
+        this.petriNet = petriNet;
+        this.markings = new ArrayList<>();
+        this.fingerprints = new long[16];
+        this.table = new int[32];
+        this.arcSources = new int[16];
+        this.arcTargets = new int[16];
+        this.arcTransitions = new int[16];
     }
 
     /**
-     * Each Step a PetriNet can make is represented as a PetriNet
+     * The compiled PetriNet, the markings of this graph belong to.
      */
-    private Set<PetriNet> steps;
+    private final CompiledPetriNet petriNet;
 
     /**
-     * Arc which Steps are reachable from given Steps
+     * Each Step a PetriNet can make is represented as a marking, the index in this list is the id of the step.
      */
-    private Set<NetArc> arcs;
+    private final List<int[]> markings;
+
+    /**
+     * Fingerprint of the marking of every step.
+     */
+    private long[] fingerprints;
+
+    /**
+     * Open addressing hash table, containing step index + 1 for every step (0 for empty slots).
+     */
+    private int[] table;
+
+    /**
+     * Arcs which Steps are reachable from given Steps, arc i leads from arcSources[i] to arcTargets[i]
+     * using the transition arcTransitions[i].
+     */
+    private int[] arcSources;
+    private int[] arcTargets;
+    private int[] arcTransitions;
+    private int arcCount;
+
+    /**
+     * Object model of the steps and arcs, created on demand.
+     */
+    private List<PetriNet> stepNets;
+    private Set<NetArc> netArcs;
+
+    /**
+     * @return the compiled PetriNet, the markings of this graph belong to
+     */
+    public CompiledPetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * Add a new Step to the graph (the marking is not checked for duplicates).
+     *
+     * @param marking the marking of the new step
+     * @return the index of the new step
+     */
+    public int addStep(int[] marking){
+        var index = markings.size();
+        if(index == fingerprints.length){
+            fingerprints = Arrays.copyOf(fingerprints, index * 2);
+        }
+        if(2 * (index + 1) > table.length){
+            rehash(table.length * 2);
+        }
+        var fingerprint = MarkingHash.fingerprint(marking);
+        markings.add(marking);
+        fingerprints[index] = fingerprint;
+        table[freeSlot(fingerprint)] = index + 1;
+        stepNets = null;
+        netArcs = null;
+        return index;
+    }
+
+    /**
+     * @param marking a marking of the compiled PetriNet
+     * @return the index of the step with the given marking, or -1 if the graph does not contain it
+     */
+    public int indexOf(int[] marking){
+        var fingerprint = MarkingHash.fingerprint(marking);
+        var mask = table.length - 1;
+        for(int slot = MarkingHash.hash(fingerprint) & mask; table[slot] != 0; slot = (slot + 1) & mask){
+            var step = table[slot] - 1;
+            if(fingerprints[step] == fingerprint && Arrays.equals(markings.get(step), marking)){
+                return step;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param fingerprint fingerprint of a marking
+     * @return the first empty slot of the hash table for the given fingerprint
+     */
+    private int freeSlot(long fingerprint){
+        var mask = table.length - 1;
+        var slot = MarkingHash.hash(fingerprint) & mask;
+        while(table[slot] != 0){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Grow the hash table and insert all steps again.
+     *
+     * @param capacity new capacity of the hash table (power of two)
+     */
+    private void rehash(int capacity){
+        table = new int[capacity];
+        for(int step = 0; step < markings.size(); step++){
+            table[freeSlot(fingerprints[step])] = step + 1;
+        }
+    }
+
+    /**
+     * Add an arc between two steps of the graph.
+     *
+     * @param source index of the source step
+     * @param target index of the target step
+     * @param transition index of the transition leading from source to target
+     */
+    public void addArc(int source, int target, int transition){
+        if(arcCount == arcSources.length){
+            arcSources = Arrays.copyOf(arcSources, arcCount * 2);
+            arcTargets = Arrays.copyOf(arcTargets, arcCount * 2);
+            arcTransitions = Arrays.copyOf(arcTransitions, arcCount * 2);
+        }
+        arcSources[arcCount] = source;
+        arcTargets[arcCount] = target;
+        arcTransitions[arcCount] = transition;
+        arcCount++;
+        netArcs = null;
+    }
+
+    /**
+     * @return number of steps in the graph
+     */
+    public int getStepCount() {
+        return markings.size();
+    }
+
+    /**
+     * @param step index of a step
+     * @return the marking of the step (must not be modified)
+     */
+    public int[] getMarking(int step) {
+        return markings.get(step);
+    }
+
+    /**
+     * @return number of arcs in the graph
+     */
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    /**
+     * @param arc index of an arc
+     * @return index of the source step of the arc
+     */
+    public int getArcSource(int arc) {
+        return arcSources[arc];
+    }
+
+    /**
+     * @param arc index of an arc
+     * @return index of the target step of the arc
+     */
+    public int getArcTarget(int arc) {
+        return arcTargets[arc];
+    }
+
+    /**
+     * @param arc index of an arc
+     * @return index of the transition used by the arc
+     */
+    public int getArcTransition(int arc) {
+        return arcTransitions[arc];
+    }
+
+    /**
+     * @param step index of a step
+     * @return the step as PetriNet, materialized from its marking
+     */
+    public PetriNet getStep(int step) {
+        if(stepNets != null) return stepNets.get(step);
+        return petriNet.toPetriNet(markings.get(step));
+    }
+
+    /**
+     * Each Step a PetriNet can make, represented as a PetriNet.
+     * The PetriNets are created from the stored markings on the first call.
+     *
+     * @return the steps of this graph as PetriNets, ordered by their index
+     */
+    public Set<PetriNet> getSteps() {
+        return new LinkedHashSet<>(getStepNets());
+    }
+
+    /**
+     * Arcs which Steps are reachable from given Steps, connecting the PetriNets returned by {@link #getSteps()}.
+     *
+     * @return the arcs of this graph as NetArcs
+     */
+    public Set<NetArc> getArcs() {
+        if(netArcs == null){
+            var nets = getStepNets();
+            var arcs = new LinkedHashSet<NetArc>();
+            for(int i = 0; i < arcCount; i++){
+                arcs.add(new NetArc(nets.get(arcSources[i]), nets.get(arcTargets[i])));
+            }
+            netArcs = arcs;
+        }
+        return netArcs;
+    }
+
+    /**
+     * @return the materialized steps, ordered by index
+     */
+    private List<PetriNet> getStepNets(){
+        if(stepNets == null){
+            var nets = new ArrayList<PetriNet>(markings.size());
+            for(var marking : markings){
+                nets.add(petriNet.toPetriNet(marking));
+            }
+            stepNets = nets;
+        }
+        return stepNets;
+    }
 }
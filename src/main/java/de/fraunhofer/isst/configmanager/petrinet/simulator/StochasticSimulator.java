@@ -0,0 +1,252 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Simulator using one enabled transition per step, the interleaving semantics of PetriNets
+ * (unlike {@link PetriNetSimulator#simulateNet}, which uses all enabled transitions at once).
+ * The transition is chosen randomly, weighted by the {@link SimulationOptions}, with a seeded random
+ * generator, so simulations can be repeated.
+ *
+ * Batches of independent simulations estimate properties of PetriNets which are too large to explore
+ * all their states, like the probability to reach place://sink.
+ * The enabled transitions are updated after every step from the consumers of the changed places only,
+ * a step costs time proportional to the number of arcs of the used transition (and the number of enabled
+ * transitions, if weights are given).
+ */
+@Slf4j
+public class StochasticSimulator {
+
+    private static final URI SINK = URI.create("place://sink");
+
+    private final SimulationOptions options;
+
+    /**
+     * @param options seed, weights and maximum length of the simulations
+     */
+    public StochasticSimulator(SimulationOptions options){
+        if(options.getMaxSteps() < 0){
+            throw new IllegalArgumentException("Maximum number of steps must not be negative, was " + options.getMaxSteps());
+        }
+        for(var weight : options.getWeights().entrySet()){
+            if(!(weight.getValue() > 0) || Double.isInfinite(weight.getValue())){
+                throw new IllegalArgumentException("Weight of " + weight.getKey() + " must be positive, was " + weight.getValue());
+            }
+        }
+        this.options = options;
+    }
+
+    /**
+     * @param petriNet the compiled PetriNet, simulated from its initial marking
+     * @return the result of a simulation with the seed of the options
+     */
+    public SimulationRun simulate(CompiledPetriNet petriNet){
+        return simulate(petriNet, weights(petriNet), options.getSeed());
+    }
+
+    /**
+     * Run independent simulations in parallel and aggregate their results. The seeds of the simulations
+     * are derived from the seed of the options, the result does not depend on the parallelism.
+     *
+     * @param petriNet the compiled PetriNet, simulated from its initial marking
+     * @param runs number of simulations
+     * @param parallelism number of simulations running at the same time
+     * @return statistics of the simulations
+     */
+    public MonteCarloResult simulateBatch(CompiledPetriNet petriNet, int runs, int parallelism){
+        if(runs < 0){
+            throw new IllegalArgumentException("Number of runs must not be negative, was " + runs);
+        }
+        if(parallelism < 1){
+            throw new IllegalArgumentException("Parallelism must be at least 1, was " + parallelism);
+        }
+        var start = System.currentTimeMillis();
+        var weights = weights(petriNet);
+        var random = new SplittableRandom(options.getSeed());
+        var seeds = new long[runs];
+        for(int run = 0; run < runs; run++){
+            seeds[run] = random.nextLong();
+        }
+        var pool = new ForkJoinPool(parallelism);
+        try{
+            //the parallel stream runs in the pool it is started from
+            var statistics = pool.submit(() -> IntStream.range(0, runs).parallel()
+                    .mapToObj(run -> simulate(petriNet, weights, seeds[run]))
+                    .collect(Collector.of(() -> new Statistics(petriNet.getTransitionCount()),
+                            Statistics::add, Statistics::merge))).get();
+            var frequencies = new HashMap<URI, Double>();
+            for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+                frequencies.put(petriNet.getTransitionId(transition), runs == 0 ? 0 : (double) statistics.firings[transition] / runs);
+            }
+            var stepCounts = Arrays.copyOf(statistics.stepCounts, statistics.runs);
+            Arrays.sort(stepCounts);
+            var result = new MonteCarloResult(runs, statistics.sinkReached, statistics.deadlocked, stepCounts,
+                    frequencies, System.currentTimeMillis() - start);
+            log.info(String.format("Simulated %d runs with parallelism %d in %d ms, sink reached in %.1f%% of the runs",
+                    runs, parallelism, result.getDurationMillis(), 100 * result.getSinkProbability()));
+            return result;
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation was interrupted", e);
+        }catch(ExecutionException e){
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        }finally{
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * @param petriNet the compiled PetriNet, simulated from its initial marking
+     * @param runs number of simulations
+     * @return statistics of the simulations, run with one thread per processor
+     */
+    public MonteCarloResult simulateBatch(CompiledPetriNet petriNet, int runs){
+        return simulateBatch(petriNet, runs, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @return the weight of every transition index, null if all transitions have the same weight
+     */
+    private double[] weights(CompiledPetriNet petriNet){
+        if(options.getWeights().isEmpty()) return null;
+        var weights = new double[petriNet.getTransitionCount()];
+        for(int transition = 0; transition < weights.length; transition++){
+            weights[transition] = options.getWeights().getOrDefault(petriNet.getTransitionId(transition), 1.0);
+        }
+        return weights;
+    }
+
+    private SimulationRun simulate(CompiledPetriNet petriNet, double[] weights, long seed){
+        var random = new SplittableRandom(seed);
+        var preOffsets = petriNet.getPreOffsets();
+        var prePlaces = petriNet.getPrePlaces();
+        var postOffsets = petriNet.getPostOffsets();
+        var postPlaces = petriNet.getPostPlaces();
+        var consumerOffsets = petriNet.getConsumerOffsets();
+        var consumerTransitions = petriNet.getConsumerTransitions();
+        var transitionCount = petriNet.getTransitionCount();
+        var marking = petriNet.getInitialMarking();
+        var sink = petriNet.getPlaceIndex(SINK);
+
+        //number of empty pre-places of every transition, the transition is enabled if there is none
+        var emptyPlaces = new int[transitionCount];
+        //enabled transitions in arbitrary order, with the position of every enabled transition in the array
+        var enabled = new int[transitionCount];
+        var positions = new int[transitionCount];
+        var enabledCount = 0;
+        for(int transition = 0; transition < transitionCount; transition++){
+            for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+                if(marking[prePlaces[i]] <= 0) emptyPlaces[transition]++;
+            }
+            if(emptyPlaces[transition] == 0){
+                positions[transition] = enabledCount;
+                enabled[enabledCount++] = transition;
+            }
+        }
+
+        var firings = new int[transitionCount];
+        var sinkStep = sink >= 0 && marking[sink] > 0 ? 0 : -1;
+        var steps = 0;
+        while(enabledCount > 0 && steps < options.getMaxSteps()){
+            var transition = enabled[choose(random, enabled, enabledCount, weights)];
+            firings[transition]++;
+            steps++;
+            for(int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++){
+                var place = prePlaces[i];
+                if(--marking[place] == 0){
+                    //the consumers of the place are disabled
+                    for(int j = consumerOffsets[place]; j < consumerOffsets[place + 1]; j++){
+                        var consumer = consumerTransitions[j];
+                        if(emptyPlaces[consumer]++ == 0){
+                            var position = positions[consumer];
+                            var last = enabled[--enabledCount];
+                            enabled[position] = last;
+                            positions[last] = position;
+                        }
+                    }
+                }
+            }
+            for(int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++){
+                var place = postPlaces[i];
+                if(++marking[place] == 1){
+                    //the consumers of the place may be enabled
+                    for(int j = consumerOffsets[place]; j < consumerOffsets[place + 1]; j++){
+                        var consumer = consumerTransitions[j];
+                        if(--emptyPlaces[consumer] == 0){
+                            positions[consumer] = enabledCount;
+                            enabled[enabledCount++] = consumer;
+                        }
+                    }
+                }
+            }
+            if(sinkStep < 0 && sink >= 0 && marking[sink] > 0){
+                sinkStep = steps;
+            }
+        }
+        return new SimulationRun(steps, sinkStep, enabledCount == 0, firings, marking);
+    }
+
+    /**
+     * @return the position of the chosen transition in the enabled transitions
+     */
+    private static int choose(SplittableRandom random, int[] enabled, int enabledCount, double[] weights){
+        if(weights == null){
+            return random.nextInt(enabledCount);
+        }
+        var total = 0.0;
+        for(int i = 0; i < enabledCount; i++) total += weights[enabled[i]];
+        var value = random.nextDouble() * total;
+        for(int i = 0; i < enabledCount - 1; i++){
+            value -= weights[enabled[i]];
+            if(value < 0) return i;
+        }
+        return enabledCount - 1;
+    }
+
+    /**
+     * Statistics of the simulations of one thread, merged into the statistics of the batch.
+     */
+    private static final class Statistics {
+        private int[] stepCounts = new int[16];
+        private final long[] firings;
+        private int runs;
+        private int sinkReached;
+        private int deadlocked;
+
+        private Statistics(int transitionCount){
+            firings = new long[transitionCount];
+        }
+
+        private void add(SimulationRun run){
+            if(runs == stepCounts.length) stepCounts = Arrays.copyOf(stepCounts, 2 * runs);
+            stepCounts[runs++] = run.getSteps();
+            if(run.isSinkReached()) sinkReached++;
+            if(run.isDeadlocked()) deadlocked++;
+            var runFirings = run.getFirings();
+            for(int transition = 0; transition < firings.length; transition++){
+                firings[transition] += runFirings[transition];
+            }
+        }
+
+        private Statistics merge(Statistics other){
+            if(runs + other.runs > stepCounts.length) stepCounts = Arrays.copyOf(stepCounts, runs + other.runs);
+            System.arraycopy(other.stepCounts, 0, stepCounts, runs, other.runs);
+            runs += other.runs;
+            sinkReached += other.sinkReached;
+            deadlocked += other.deadlocked;
+            for(int transition = 0; transition < firings.length; transition++){
+                firings[transition] += other.firings[transition];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Computes stubborn sets for the partial order reduced exploration of a {@link CompiledPetriNet}.
+ *
+ * Independent subroutes of an AppRoute can be used in every order, a stubborn set contains only
+ * the enabled transitions, which have to be used in a state to keep all deadlocks and all reachable
+ * markings of the visible places (e.g. place://sink). Transitions are added to the set by closing it under:
+ * <ul>
+ *     <li>an enabled transition adds all transitions, which take markers from one of its previous places</li>
+ *     <li>a disabled transition adds all transitions, which give markers to one of its empty previous places</li>
+ *     <li>an enabled visible transition (changing the markers of a visible place) adds all visible transitions</li>
+ * </ul>
+ * The exploration has to fire all enabled transitions in a state, if one of the reduced successors was
+ * already visited. So every cycle of the reduced StepGraph contains a fully expanded state and no
+ * transition is postponed forever.
+ */
+class StubbornSets {
+
+    private final CompiledPetriNet petriNet;
+
+    /**
+     * For every place index: the transitions, which take markers from the place.
+     */
+    private final int[][] consumers;
+
+    /**
+     * For every place index: the transitions, which give markers to the place.
+     */
+    private final int[][] producers;
+
+    /**
+     * For every transition index: the places, which need a marker to use the transition.
+     */
+    private final int[][] preSets;
+
+    private final boolean[] visible;
+    private final int[] visibleTransitions;
+
+    /**
+     * @param petriNet the compiled PetriNet
+     * @param visiblePlaces IDs of the places, whose reachable markings must be kept by the reduction
+     */
+    StubbornSets(CompiledPetriNet petriNet, Collection<URI> visiblePlaces){
+        this.petriNet = petriNet;
+        consumers = new int[petriNet.getPlaceCount()][];
+        producers = new int[petriNet.getPlaceCount()][];
+        for(int place = 0; place < petriNet.getPlaceCount(); place++){
+            consumers[place] = petriNet.getConsumers(place);
+            producers[place] = petriNet.getProducers(place);
+        }
+        preSets = new int[petriNet.getTransitionCount()][];
+        for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+            preSets[transition] = petriNet.getPreSet(transition);
+        }
+
+        visible = new boolean[petriNet.getTransitionCount()];
+        for(var placeId : visiblePlaces){
+            var place = petriNet.getPlaceIndex(placeId);
+            if(place < 0) continue;
+            for(var transition : consumers[place]) visible[transition] = true;
+            for(var transition : producers[place]) visible[transition] = true;
+        }
+        var visibleCount = 0;
+        var visibleList = new int[visible.length];
+        for(int transition = 0; transition < visible.length; transition++){
+            if(visible[transition]) visibleList[visibleCount++] = transition;
+        }
+        visibleTransitions = Arrays.copyOf(visibleList, visibleCount);
+    }
+
+    /**
+     * @param marking a marking of the PetriNet
+     * @param enabled the enabled transitions in the marking
+     * @return the enabled transitions of the smallest stubborn set found, starting from every enabled transition
+     */
+    int[] reduce(int[] marking, int[] enabled){
+        if(enabled.length <= 1){
+            return enabled;
+        }
+        int[] best = enabled;
+        var inSet = new boolean[petriNet.getTransitionCount()];
+        var stack = new int[petriNet.getTransitionCount()];
+        for(var seed : enabled){
+            var reduced = stubbornSet(marking, seed, inSet, stack, best.length);
+            if(reduced != null && reduced.length < best.length){
+                best = reduced;
+                if(best.length == 1) break;
+            }
+            Arrays.fill(inSet, false);
+        }
+        return best;
+    }
+
+    /**
+     * @param marking a marking of the PetriNet
+     * @param seed an enabled transition to start the closure with
+     * @param inSet scratch array marking the transitions in the set, all false when called
+     * @param stack scratch array for the transitions to process
+     * @param limit stop, when this number of enabled transitions is reached
+     * @return the enabled transitions of the stubborn set, or null if it would contain limit or more
+     */
+    private int[] stubbornSet(int[] marking, int seed, boolean[] inSet, int[] stack, int limit){
+        var enabledInSet = new int[limit];
+        var enabledCount = 0;
+        var visibleAdded = false;
+        var stackSize = 0;
+        inSet[seed] = true;
+        stack[stackSize++] = seed;
+        while(stackSize > 0){
+            var transition = stack[--stackSize];
+            int[] dependent;
+            if(petriNet.isEnabled(marking, transition)){
+                if(enabledCount == limit) return null;
+                enabledInSet[enabledCount++] = transition;
+                for(var place : preSets[transition]){
+                    for(var other : consumers[place]){
+                        if(!inSet[other]){
+                            inSet[other] = true;
+                            stack[stackSize++] = other;
+                        }
+                    }
+                }
+                if(!visible[transition] || visibleAdded) continue;
+                visibleAdded = true;
+                dependent = visibleTransitions;
+            }else{
+                dependent = producers[emptyPlace(marking, transition)];
+            }
+            for(var other : dependent){
+                if(!inSet[other]){
+                    inSet[other] = true;
+                    stack[stackSize++] = other;
+                }
+            }
+        }
+        return Arrays.copyOf(enabledInSet, enabledCount);
+    }
+
+    /**
+     * @param enabled the enabled transitions in a marking
+     * @param reduced the transitions returned by {@link #reduce(int[], int[])}
+     * @return the enabled transitions, which are not in the reduced set
+     */
+    static int[] remaining(int[] enabled, int[] reduced){
+        return Arrays.stream(enabled)
+                .filter(transition -> Arrays.stream(reduced).noneMatch(other -> other == transition))
+                .toArray();
+    }
+
+    /**
+     * @return a previous place of the disabled transition without markers
+     */
+    private int emptyPlace(int[] marking, int transition){
+        for(var place : preSets[transition]){
+            if(marking[place] <= 0) return place;
+        }
+        throw new IllegalStateException("Transition " + petriNet.getTransitionId(transition) + " is enabled");
+    }
+}
@@ -0,0 +1,31 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+/**
+ * Reason why the {@link StateSpaceExplorer} stopped exploring the states of a PetriNet.
+ */
+public enum TerminationReason {
+    /**
+     * All reachable states were explored, the StepGraph is complete.
+     */
+    COMPLETED,
+    /**
+     * States in the maximum depth had further steps, which were not explored.
+     */
+    MAX_DEPTH,
+    /**
+     * The maximum number of states was reached.
+     */
+    MAX_STATES,
+    /**
+     * The time limit for the exploration was reached.
+     */
+    TIMEOUT,
+    /**
+     * The used heap exceeded the heap limit for the exploration.
+     */
+    HEAP_LIMIT,
+    /**
+     * The exploration was cancelled or the exploring thread was interrupted.
+     */
+    CANCELLED;
+}
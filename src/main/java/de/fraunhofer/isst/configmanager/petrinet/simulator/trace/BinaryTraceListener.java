@@ -0,0 +1,107 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.HasId;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * SimulationListener writing a compact binary trace of the simulation (see {@link TraceFormat}).
+ * Only the used transitions are written for every step, usually a few bytes, the states can be
+ * reconstructed with {@link TraceReplay}.
+ */
+public class BinaryTraceListener implements SimulationListener, Closeable {
+
+    private final DataOutputStream out;
+
+    /**
+     * @param outputStream the stream to write the trace to, closed by {@link #close()}
+     */
+    public BinaryTraceListener(OutputStream outputStream){
+        this.out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    }
+
+    /**
+     * @param file the file to write the trace to, an existing file is overwritten
+     * @throws IOException if the file cannot be opened
+     */
+    public BinaryTraceListener(Path file) throws IOException {
+        this(Files.newOutputStream(file));
+    }
+
+    @Override
+    public void started(CompiledPetriNet petriNet, int[] marking) {
+        try{
+            out.writeInt(TraceFormat.MAGIC);
+            TraceFormat.writeVarInt(out, TraceFormat.VERSION);
+            var net = petriNet.getPetriNet();
+            out.writeUTF(net instanceof HasId && ((HasId) net).getID() != null ? ((HasId) net).getID().toString() : "");
+            TraceFormat.writeVarInt(out, petriNet.getPlaceCount());
+            for(int place = 0; place < petriNet.getPlaceCount(); place++){
+                out.writeUTF(petriNet.getPlaceId(place).toString());
+            }
+            TraceFormat.writeVarInt(out, petriNet.getTransitionCount());
+            for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+                out.writeUTF(petriNet.getTransitionId(transition).toString());
+            }
+            for(int transition = 0; transition < petriNet.getTransitionCount(); transition++){
+                writePlaces(petriNet.getPreOffsets(), petriNet.getPrePlaces(), transition);
+                writePlaces(petriNet.getPostOffsets(), petriNet.getPostPlaces(), transition);
+            }
+            for(var markers : marking){
+                TraceFormat.writeVarInt(out, markers);
+            }
+        }catch(IOException e){
+            throw new IllegalStateException("Could not write trace", e);
+        }
+    }
+
+    @Override
+    public void stepped(int step, int[] fired, int[] marking) {
+        try{
+            TraceFormat.writeVarInt(out, fired.length);
+            //transitions are ascending, so the differences are small
+            var previous = 0;
+            for(var transition : fired){
+                TraceFormat.writeVarInt(out, transition - previous);
+                previous = transition;
+            }
+        }catch(IOException e){
+            throw new IllegalStateException("Could not write trace", e);
+        }
+    }
+
+    @Override
+    public void finished(int steps, int[] marking) {
+        try{
+            TraceFormat.writeVarInt(out, 0);
+            TraceFormat.writeVarInt(out, steps);
+            out.flush();
+        }catch(IOException e){
+            throw new IllegalStateException("Could not write trace", e);
+        }
+    }
+
+    @Override
+    public boolean isMarkingRequired() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writePlaces(int[] offsets, int[] places, int transition) throws IOException {
+        TraceFormat.writeVarInt(out, offsets[transition + 1] - offsets[transition]);
+        for(int i = offsets[transition]; i < offsets[transition + 1]; i++){
+            TraceFormat.writeVarInt(out, places[i]);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.GraphVizGenerator;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SimulationListener logging the GraphViz representation of every state on debug level,
+ * like the simulation did before listeners were introduced. Only meant for small PetriNets,
+ * combine it with a {@link SampledSimulationListener} for longer simulations.
+ */
+@Slf4j
+public class LoggingSimulationListener implements SimulationListener {
+
+    private CompiledPetriNet petriNet;
+
+    @Override
+    public void started(CompiledPetriNet petriNet, int[] marking) {
+        this.petriNet = petriNet;
+        if(log.isDebugEnabled()){
+            log.debug(GraphVizGenerator.generateGraphViz(petriNet, marking));
+        }
+    }
+
+    @Override
+    public void stepped(int step, int[] fired, int[] marking) {
+        if(log.isDebugEnabled()){
+            log.debug(String.format("Step %d used %d transitions", step, fired.length));
+            log.debug(GraphVizGenerator.generateGraphViz(petriNet, marking));
+        }
+    }
+
+    @Override
+    public boolean isMarkingRequired() {
+        return log.isDebugEnabled();
+    }
+}
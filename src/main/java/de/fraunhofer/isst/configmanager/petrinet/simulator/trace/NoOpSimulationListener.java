@@ -0,0 +1,21 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+/**
+ * SimulationListener ignoring all events, the default of a simulation.
+ */
+public final class NoOpSimulationListener implements SimulationListener {
+
+    public static final NoOpSimulationListener INSTANCE = new NoOpSimulationListener();
+
+    private NoOpSimulationListener(){}
+
+    @Override
+    public void stepped(int step, int[] fired, int[] marking) {
+        //nothing to do
+    }
+
+    @Override
+    public boolean isMarkingRequired() {
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+
+/**
+ * SimulationListener keeping the last steps of a simulation in memory, e.g. to look at the states
+ * before a simulation got stuck. Memory is bounded by the capacity, regardless of the number of steps.
+ */
+public class RingBufferSimulationListener implements SimulationListener {
+
+    private final int[] steps;
+    private final int[][] fired;
+    private final int[][] markings;
+
+    /**
+     * Index of the next entry to overwrite.
+     */
+    private int next;
+    private int size;
+    private CompiledPetriNet petriNet;
+
+    /**
+     * @param capacity number of steps to keep
+     */
+    public RingBufferSimulationListener(int capacity){
+        if(capacity < 1){
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        steps = new int[capacity];
+        fired = new int[capacity][];
+        markings = new int[capacity][];
+    }
+
+    @Override
+    public synchronized void started(CompiledPetriNet petriNet, int[] marking) {
+        this.petriNet = petriNet;
+        next = 0;
+        size = 0;
+        //the initial marking is kept as step 0
+        stepped(0, new int[0], marking);
+    }
+
+    @Override
+    public synchronized void stepped(int step, int[] fired, int[] marking) {
+        this.steps[next] = step;
+        this.fired[next] = fired.clone();
+        this.markings[next] = marking.clone();
+        next = (next + 1) % steps.length;
+        size = Math.min(size + 1, steps.length);
+    }
+
+    /**
+     * @return the simulated compiled PetriNet, null if no simulation was started
+     */
+    public synchronized CompiledPetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * @return number of kept steps
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of a kept step, 0 is the oldest one
+     * @return number of the step in the simulation, 0 for the initial marking
+     */
+    public synchronized int getStep(int index) {
+        return steps[position(index)];
+    }
+
+    /**
+     * @param index index of a kept step, 0 is the oldest one
+     * @return indices of the transitions used in the step
+     */
+    public synchronized int[] getFired(int index) {
+        return fired[position(index)].clone();
+    }
+
+    /**
+     * @param index index of a kept step, 0 is the oldest one
+     * @return the marking after the step
+     */
+    public synchronized int[] getMarking(int index) {
+        return markings[position(index)].clone();
+    }
+
+    private int position(int index){
+        if(index < 0 || index >= size){
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size + " kept steps");
+        }
+        return (next - size + index + steps.length) % steps.length;
+    }
+}
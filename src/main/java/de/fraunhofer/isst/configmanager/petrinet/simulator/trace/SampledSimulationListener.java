@@ -0,0 +1,47 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+
+/**
+ * SimulationListener forwarding only every n-th step to another listener, start and end of the
+ * simulation are always forwarded.
+ */
+public class SampledSimulationListener implements SimulationListener {
+
+    private final SimulationListener delegate;
+    private final int interval;
+
+    /**
+     * @param delegate the listener receiving the sampled steps
+     * @param interval forward every interval-th step
+     */
+    public SampledSimulationListener(SimulationListener delegate, int interval){
+        if(interval < 1){
+            throw new IllegalArgumentException("Interval must be at least 1, was " + interval);
+        }
+        this.delegate = delegate;
+        this.interval = interval;
+    }
+
+    @Override
+    public void started(CompiledPetriNet petriNet, int[] marking) {
+        delegate.started(petriNet, marking);
+    }
+
+    @Override
+    public void stepped(int step, int[] fired, int[] marking) {
+        if(step % interval == 0){
+            delegate.stepped(step, fired, marking);
+        }
+    }
+
+    @Override
+    public void finished(int steps, int[] marking) {
+        delegate.finished(steps, marking);
+    }
+
+    @Override
+    public boolean isMarkingRequired() {
+        return delegate.isMarkingRequired();
+    }
+}
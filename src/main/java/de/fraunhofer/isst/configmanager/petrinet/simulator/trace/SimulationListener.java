@@ -0,0 +1,47 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.PetriNetSimulator;
+
+/**
+ * Listener for the events of a simulation by {@link PetriNetSimulator#simulateNet}.
+ *
+ * The simulation calls the listener on its own thread for every step, so implementations should be cheap:
+ * markings and transitions are given as indices of the {@link CompiledPetriNet}, and DOT representations
+ * can be created afterwards from a trace (see {@link TraceReplay}) instead of while simulating.
+ */
+public interface SimulationListener {
+
+    /**
+     * Called once before the first step.
+     *
+     * @param petriNet the compiled PetriNet which is simulated
+     * @param marking the initial marking (must not be modified)
+     */
+    default void started(CompiledPetriNet petriNet, int[] marking){}
+
+    /**
+     * Called after every step of the simulation.
+     *
+     * @param step number of the step, starting with 1
+     * @param fired indices of the transitions used in the step, in ascending order (must not be modified)
+     * @param marking the marking after the step (must not be modified), null if {@link #isMarkingRequired()} is false
+     */
+    void stepped(int step, int[] fired, int[] marking);
+
+    /**
+     * Called once after the last step.
+     *
+     * @param steps number of steps of the simulation
+     * @param marking the final marking (must not be modified)
+     */
+    default void finished(int steps, int[] marking){}
+
+    /**
+     * @return true if {@link #stepped(int, int[], int[])} needs the marking after every step, the simulation
+     * can skip creating it otherwise
+     */
+    default boolean isMarkingRequired(){
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary format of simulation traces, written by {@link BinaryTraceListener} and read by {@link TraceReplay}.
+ *
+ * A trace starts with {@link #MAGIC} and {@link #VERSION}, followed by the net: the ID of the net, the IDs of
+ * the places and transitions (in the order of their indices), the pre- and post-places of every transition
+ * and the initial marking. Every step is the number of used transitions followed by their delta encoded
+ * indices, the trace ends with 0 and the number of steps. All numbers are unsigned variable length integers.
+ * The markings are not stored, they are computed from the net and the used transitions on replay.
+ */
+final class TraceFormat {
+
+    static final int MAGIC = 0x504E5452;
+    static final int VERSION = 1;
+
+    private TraceFormat(){}
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while((value & ~0x7F) != 0){
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 35; shift += 7){
+            var b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0){
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer in trace");
+    }
+}
@@ -0,0 +1,214 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.GraphVizWriter;
+import de.fraunhofer.isst.configmanager.petrinet.model.Arc;
+import de.fraunhofer.isst.configmanager.petrinet.model.ArcImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.Node;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNetImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.PlaceImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.TransitionImpl;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Replays a binary simulation trace written by a {@link BinaryTraceListener}: the PetriNet is restored
+ * from the trace, the marking of any step is computed by using the recorded transitions again.
+ * Markings are kept for every {@link #CHECKPOINT_INTERVAL}-th step only, so a marking is at most that
+ * many steps away from a kept one.
+ *
+ * Can be run as tool, printing the DOT representations of the given steps (default: the last one):
+ * {@code java ... TraceReplay <trace file> [step...]}
+ */
+public class TraceReplay {
+
+    static final int CHECKPOINT_INTERVAL = 256;
+
+    private final CompiledPetriNet petriNet;
+    private final List<int[]> fired;
+    private final List<int[]> checkpoints;
+
+    private TraceReplay(CompiledPetriNet petriNet, List<int[]> fired, int[] initialMarking){
+        this.petriNet = petriNet;
+        this.fired = fired;
+        this.checkpoints = new ArrayList<>();
+        var marking = initialMarking;
+        checkpoints.add(marking);
+        for(int step = 1; step <= fired.size(); step++){
+            marking = petriNet.fireAll(marking, fired.get(step - 1));
+            if(step % CHECKPOINT_INTERVAL == 0) checkpoints.add(marking);
+        }
+    }
+
+    /**
+     * @param file a trace file
+     * @return the replay of the trace
+     * @throws IOException if the file cannot be read or is no valid trace
+     */
+    public static TraceReplay read(Path file) throws IOException {
+        try(var inputStream = Files.newInputStream(file)){
+            return read(inputStream);
+        }
+    }
+
+    /**
+     * @param inputStream a stream with a trace, is not closed
+     * @return the replay of the trace
+     * @throws IOException if the stream cannot be read or contains no valid trace
+     */
+    public static TraceReplay read(InputStream inputStream) throws IOException {
+        var in = new DataInputStream(new BufferedInputStream(inputStream));
+        if(in.readInt() != TraceFormat.MAGIC){
+            throw new IOException("Not a simulation trace");
+        }
+        var version = TraceFormat.readVarInt(in);
+        if(version != TraceFormat.VERSION){
+            throw new IOException("Unsupported trace version " + version);
+        }
+        var id = in.readUTF();
+        var places = new PlaceImpl[TraceFormat.readVarInt(in)];
+        for(int place = 0; place < places.length; place++){
+            places[place] = new PlaceImpl(URI.create(in.readUTF()));
+        }
+        var transitions = new TransitionImpl[TraceFormat.readVarInt(in)];
+        for(int transition = 0; transition < transitions.length; transition++){
+            transitions[transition] = new TransitionImpl(URI.create(in.readUTF()));
+        }
+        var arcs = new HashSet<Arc>();
+        for(var transition : transitions){
+            var preCount = TraceFormat.readVarInt(in);
+            for(int i = 0; i < preCount; i++) arcs.add(new ArcImpl(places[TraceFormat.readVarInt(in)], transition));
+            var postCount = TraceFormat.readVarInt(in);
+            for(int i = 0; i < postCount; i++) arcs.add(new ArcImpl(transition, places[TraceFormat.readVarInt(in)]));
+        }
+        var initialMarking = new int[places.length];
+        for(int place = 0; place < places.length; place++){
+            initialMarking[place] = TraceFormat.readVarInt(in);
+            places[place].setMarkers(initialMarking[place]);
+        }
+        var nodes = new HashSet<Node>(List.of(places));
+        nodes.addAll(List.of(transitions));
+        var compiled = new CompiledPetriNet(new PetriNetImpl(id.isEmpty() ? null : URI.create(id), nodes, arcs));
+        //the compiled net orders its nodes by ID like the traced one, the recorded indices must match it
+        for(int place = 0; place < places.length; place++){
+            if(!compiled.getPlaceId(place).equals(places[place].getID())){
+                throw new IOException("Places of the trace are not ordered by ID");
+            }
+        }
+        for(int transition = 0; transition < transitions.length; transition++){
+            if(!compiled.getTransitionId(transition).equals(transitions[transition].getID())){
+                throw new IOException("Transitions of the trace are not ordered by ID");
+            }
+        }
+        var fired = new ArrayList<int[]>();
+        var count = TraceFormat.readVarInt(in);
+        while(count > 0){
+            var step = new int[count];
+            var previous = 0;
+            for(int i = 0; i < count; i++){
+                previous += TraceFormat.readVarInt(in);
+                step[i] = previous;
+            }
+            fired.add(step);
+            count = TraceFormat.readVarInt(in);
+        }
+        var steps = TraceFormat.readVarInt(in);
+        if(steps != fired.size()){
+            throw new IOException(String.format("Trace contains %d of %d steps", fired.size(), steps));
+        }
+        return new TraceReplay(compiled, fired, initialMarking);
+    }
+
+    /**
+     * @return the compiled PetriNet restored from the trace
+     */
+    public CompiledPetriNet getPetriNet() {
+        return petriNet;
+    }
+
+    /**
+     * @return number of steps in the trace
+     */
+    public int getStepCount() {
+        return fired.size();
+    }
+
+    /**
+     * @param step number of a step, starting with 1
+     * @return indices of the transitions used in the step
+     */
+    public int[] getFired(int step) {
+        checkStep(step);
+        if(step == 0){
+            throw new IndexOutOfBoundsException("Step 0 is the initial marking, no transitions were used");
+        }
+        return fired.get(step - 1).clone();
+    }
+
+    /**
+     * @param step number of a step, 0 for the initial marking
+     * @return the marking after the step
+     */
+    public int[] getMarking(int step) {
+        checkStep(step);
+        var checkpoint = step / CHECKPOINT_INTERVAL;
+        var marking = checkpoints.get(checkpoint).clone();
+        for(int i = checkpoint * CHECKPOINT_INTERVAL; i < step; i++){
+            marking = petriNet.fireAll(marking, fired.get(i));
+        }
+        return marking;
+    }
+
+    /**
+     * Write the GraphViz DOT representation of the state after a step.
+     *
+     * @param step number of a step, 0 for the initial marking
+     * @param writer the writer, is flushed but not closed
+     * @throws IOException if the writer fails
+     */
+    public void writeGraphViz(int step, Writer writer) throws IOException {
+        GraphVizWriter.write(petriNet, getMarking(step), writer);
+    }
+
+    private void checkStep(int step){
+        if(step < 0 || step > fired.size()){
+            throw new IndexOutOfBoundsException("Step " + step + " of " + fired.size() + " steps");
+        }
+    }
+
+    /**
+     * Print the DOT representations of steps of a trace file.
+     *
+     * @param args the trace file, followed by the numbers of the steps to print
+     * @throws IOException if the trace cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0){
+            System.err.println("Usage: TraceReplay <trace file> [step...]");
+            System.exit(1);
+        }
+        var replay = read(Path.of(args[0]));
+        var writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        if(args.length == 1){
+            replay.writeGraphViz(replay.getStepCount(), writer);
+        }
+        for(int i = 1; i < args.length; i++){
+            replay.writeGraphViz(Integer.parseInt(args[i]), writer);
+            writer.newLine();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,276 @@
+package de.fraunhofer.isst.configmanager.petrinet.symbolic;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Minimal manager for reduced ordered binary decision diagrams (BDDs).
+ *
+ * Nodes are int handles into parallel arrays (variable, low and high child), {@link #FALSE} and {@link #TRUE}
+ * are the terminal nodes. A unique table keeps every node unique, so equal functions have equal handles,
+ * and a lossy computed table caches the results of the binary operations.
+ * Variables are ordered by their index, nodes are never freed (a manager is meant for one analysis).
+ */
+public class Bdd {
+
+    public static final int FALSE = 0;
+    public static final int TRUE = 1;
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int NOT = 2;
+
+    private final int variableCount;
+
+    private int[] variables;
+    private int[] lows;
+    private int[] highs;
+    private int nodeCount;
+
+    /**
+     * Unique table: open addressing over node handles, 0 marks an empty slot (terminals are never stored).
+     */
+    private int[] table;
+
+    private final int[] cacheOperation;
+    private final int[] cacheLeft;
+    private final int[] cacheRight;
+    private final int[] cacheResult;
+
+    /**
+     * @param variableCount number of boolean variables
+     */
+    public Bdd(int variableCount){
+        this.variableCount = variableCount;
+        variables = new int[1024];
+        lows = new int[1024];
+        highs = new int[1024];
+        table = new int[2048];
+        //terminals are placed below all variables
+        variables[FALSE] = variableCount;
+        variables[TRUE] = variableCount;
+        nodeCount = 2;
+        var cacheSize = 1 << 16;
+        cacheOperation = new int[cacheSize];
+        Arrays.fill(cacheOperation, -1);
+        cacheLeft = new int[cacheSize];
+        cacheRight = new int[cacheSize];
+        cacheResult = new int[cacheSize];
+    }
+
+    /**
+     * @return number of variables of this manager
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * @return number of nodes created by this manager, including the terminals
+     */
+    public int getAllocatedNodes() {
+        return nodeCount;
+    }
+
+    /**
+     * @param variable index of a variable
+     * @return the function, which is true if the variable is true
+     */
+    public int variable(int variable){
+        return mk(variable, FALSE, TRUE);
+    }
+
+    /**
+     * @param variable index of a variable
+     * @return the function, which is true if the variable is false
+     */
+    public int notVariable(int variable){
+        return mk(variable, TRUE, FALSE);
+    }
+
+    /**
+     * @return the node for (variable ? high : low), reusing an existing node if possible
+     */
+    private int mk(int variable, int low, int high){
+        if(low == high) return low;
+        var mask = table.length - 1;
+        var slot = hash(variable, low, high) & mask;
+        while(table[slot] != 0){
+            var node = table[slot];
+            if(variables[node] == variable && lows[node] == low && highs[node] == high) return node;
+            slot = (slot + 1) & mask;
+        }
+        if(nodeCount == variables.length){
+            variables = Arrays.copyOf(variables, 2 * nodeCount);
+            lows = Arrays.copyOf(lows, 2 * nodeCount);
+            highs = Arrays.copyOf(highs, 2 * nodeCount);
+        }
+        var node = nodeCount++;
+        variables[node] = variable;
+        lows[node] = low;
+        highs[node] = high;
+        table[slot] = node;
+        if(2 * nodeCount > table.length){
+            rehash();
+        }
+        return node;
+    }
+
+    private void rehash(){
+        table = new int[2 * table.length];
+        var mask = table.length - 1;
+        for(int node = 2; node < nodeCount; node++){
+            var slot = hash(variables[node], lows[node], highs[node]) & mask;
+            while(table[slot] != 0){
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = node;
+        }
+    }
+
+    private static int hash(int a, int b, int c){
+        var h = a * 0x9E3779B1 + b;
+        h = h * 0x85EBCA77 + c;
+        return h ^ (h >>> 15);
+    }
+
+    public int and(int left, int right){
+        if(left == FALSE || right == FALSE) return FALSE;
+        if(left == TRUE || left == right) return right;
+        if(right == TRUE) return left;
+        return apply(AND, Math.min(left, right), Math.max(left, right));
+    }
+
+    public int or(int left, int right){
+        if(left == TRUE || right == TRUE) return TRUE;
+        if(left == FALSE || left == right) return right;
+        if(right == FALSE) return left;
+        return apply(OR, Math.min(left, right), Math.max(left, right));
+    }
+
+    public int not(int node){
+        if(node == FALSE) return TRUE;
+        if(node == TRUE) return FALSE;
+        var slot = cacheSlot(NOT, node, 0);
+        if(cacheOperation[slot] == NOT && cacheLeft[slot] == node) return cacheResult[slot];
+        var result = mk(variables[node], not(lows[node]), not(highs[node]));
+        store(slot, NOT, node, 0, result);
+        return result;
+    }
+
+    private int apply(int operation, int left, int right){
+        var slot = cacheSlot(operation, left, right);
+        if(cacheOperation[slot] == operation && cacheLeft[slot] == left && cacheRight[slot] == right){
+            return cacheResult[slot];
+        }
+        var variable = Math.min(variables[left], variables[right]);
+        var leftLow = variables[left] == variable ? lows[left] : left;
+        var leftHigh = variables[left] == variable ? highs[left] : left;
+        var rightLow = variables[right] == variable ? lows[right] : right;
+        var rightHigh = variables[right] == variable ? highs[right] : right;
+        int result;
+        if(operation == AND){
+            result = mk(variable, and(leftLow, rightLow), and(leftHigh, rightHigh));
+        }else{
+            result = mk(variable, or(leftLow, rightLow), or(leftHigh, rightHigh));
+        }
+        store(slot, operation, left, right, result);
+        return result;
+    }
+
+    private int cacheSlot(int operation, int left, int right){
+        return hash(operation, left, right) & (cacheOperation.length - 1);
+    }
+
+    private void store(int slot, int operation, int left, int right, int result){
+        cacheOperation[slot] = operation;
+        cacheLeft[slot] = left;
+        cacheRight[slot] = right;
+        cacheResult[slot] = result;
+    }
+
+    /**
+     * @param node a function
+     * @param quantified for every variable: true if it is quantified
+     * @return the function, with the quantified variables existentially quantified
+     */
+    public int exists(int node, boolean[] quantified){
+        return exists(node, quantified, new HashMap<>());
+    }
+
+    private int exists(int node, boolean[] quantified, HashMap<Integer, Integer> cache){
+        if(node == FALSE || node == TRUE) return node;
+        var cached = cache.get(node);
+        if(cached != null) return cached;
+        var low = exists(lows[node], quantified, cache);
+        var high = exists(highs[node], quantified, cache);
+        var result = quantified[variables[node]] ? or(low, high) : mk(variables[node], low, high);
+        cache.put(node, result);
+        return result;
+    }
+
+    /**
+     * @param node a function
+     * @return number of assignments of all variables, for which the function is true
+     */
+    public BigInteger satCount(int node){
+        return count(node, new HashMap<>()).shiftLeft(variables[node]);
+    }
+
+    /**
+     * @return number of satisfying assignments of the variables from the variable of the node to the last variable
+     */
+    private BigInteger count(int node, HashMap<Integer, BigInteger> cache){
+        if(node == FALSE) return BigInteger.ZERO;
+        if(node == TRUE) return BigInteger.ONE;
+        var cached = cache.get(node);
+        if(cached != null) return cached;
+        var low = count(lows[node], cache).shiftLeft(variables[lows[node]] - variables[node] - 1);
+        var high = count(highs[node], cache).shiftLeft(variables[highs[node]] - variables[node] - 1);
+        var result = low.add(high);
+        cache.put(node, result);
+        return result;
+    }
+
+    /**
+     * @param node a satisfiable function
+     * @return an assignment of all variables satisfying the function, preferring false for free variables
+     */
+    public boolean[] anySat(int node){
+        if(node == FALSE){
+            throw new IllegalArgumentException("Function is not satisfiable");
+        }
+        var assignment = new boolean[variableCount];
+        while(node != TRUE){
+            if(lows[node] != FALSE){
+                node = lows[node];
+            }else{
+                assignment[variables[node]] = true;
+                node = highs[node];
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * @param node a function
+     * @return number of inner nodes of the BDD of the function
+     */
+    public int size(int node){
+        var visited = new boolean[nodeCount];
+        var stack = new int[2 * nodeCount + 1];
+        var stackSize = 0;
+        var size = 0;
+        stack[stackSize++] = node;
+        while(stackSize > 0){
+            var current = stack[--stackSize];
+            if(current == FALSE || current == TRUE || visited[current]) continue;
+            visited[current] = true;
+            size++;
+            stack[stackSize++] = lows[current];
+            stack[stackSize++] = highs[current];
+        }
+        return size;
+    }
+}
@@ -0,0 +1,140 @@
+package de.fraunhofer.isst.configmanager.petrinet.symbolic;
+
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+
+/**
+ * Symbolic reachability analysis for 1-safe PetriNets (every place holds at most one marker), an alternative
+ * to the explicit {@link de.fraunhofer.isst.configmanager.petrinet.simulator.StepGraph} for nets with too many
+ * states to enumerate, e.g. AppRoutes with wide parallel branches.
+ *
+ * Every place is a boolean variable of a {@link Bdd}, a set of markings is a boolean function. The reachable
+ * markings are computed as fixpoint, adding the images of the new markings under every transition until
+ * no new markings are found. The image of a transition is computed without next-state variables:
+ * restrict to the markings enabling the transition, forget its pre- and post-places and set them to their
+ * values after using the transition.
+ */
+@Slf4j
+public class SymbolicReachability {
+
+    private static final URI SINK = URI.create("place://sink");
+
+    private SymbolicReachability(){
+    }
+
+    /**
+     * @param petriNet a 1-safe PetriNet
+     * @return reachable states, sink reachability and deadlocks of the PetriNet
+     * @throws IllegalArgumentException if the PetriNet is not 1-safe
+     */
+    public static SymbolicReachabilityResult analyse(PetriNet petriNet){
+        return analyse(new CompiledPetriNet(petriNet));
+    }
+
+    /**
+     * @param petriNet a compiled 1-safe PetriNet
+     * @return reachable states, sink reachability and deadlocks of the PetriNet
+     * @throws IllegalArgumentException if the PetriNet is not 1-safe
+     */
+    public static SymbolicReachabilityResult analyse(CompiledPetriNet petriNet){
+        var start = System.currentTimeMillis();
+        var places = petriNet.getPlaceCount();
+        var transitions = petriNet.getTransitionCount();
+        var bdd = new Bdd(places);
+
+        //initial marking as conjunction of literals, built bottom up along the variable order
+        var initialMarking = petriNet.getInitialMarking();
+        var initial = Bdd.TRUE;
+        for(int place = places - 1; place >= 0; place--){
+            if(initialMarking[place] > 1){
+                throw new IllegalArgumentException("PetriNet is not 1-safe: initial marking of " + petriNet.getPlaceId(place));
+            }
+            initial = bdd.and(initialMarking[place] == 1 ? bdd.variable(place) : bdd.notVariable(place), initial);
+        }
+
+        //for every transition: markings enabling it, the values of its places afterwards and the changed places
+        var enabled = new int[transitions];
+        var effects = new int[transitions];
+        var unsafe = new int[transitions];
+        var changed = new boolean[transitions][];
+        for(int transition = 0; transition < transitions; transition++){
+            var pre = petriNet.getPreSet(transition);
+            var post = petriNet.getPostSet(transition);
+            changed[transition] = new boolean[places];
+            enabled[transition] = Bdd.TRUE;
+            effects[transition] = Bdd.TRUE;
+            unsafe[transition] = Bdd.FALSE;
+            for(var place : pre){
+                changed[transition][place] = true;
+                enabled[transition] = bdd.and(enabled[transition], bdd.variable(place));
+            }
+            for(var place : post){
+                changed[transition][place] = true;
+            }
+            for(int place = places - 1; place >= 0; place--){
+                if(!changed[transition][place]) continue;
+                var marked = contains(post, place);
+                effects[transition] = bdd.and(marked ? bdd.variable(place) : bdd.notVariable(place), effects[transition]);
+                if(marked && !contains(pre, place)){
+                    unsafe[transition] = bdd.or(unsafe[transition], bdd.variable(place));
+                }
+            }
+            unsafe[transition] = bdd.and(enabled[transition], unsafe[transition]);
+        }
+
+        var reached = initial;
+        var frontier = initial;
+        var iterations = 0;
+        while(frontier != Bdd.FALSE){
+            iterations++;
+            var image = Bdd.FALSE;
+            for(int transition = 0; transition < transitions; transition++){
+                var firing = bdd.and(frontier, enabled[transition]);
+                if(firing == Bdd.FALSE) continue;
+                if(bdd.and(firing, unsafe[transition]) != Bdd.FALSE){
+                    throw new IllegalArgumentException("PetriNet is not 1-safe: "
+                            + petriNet.getTransitionId(transition) + " can mark a marked place");
+                }
+                var successors = bdd.and(bdd.exists(firing, changed[transition]), effects[transition]);
+                image = bdd.or(image, successors);
+            }
+            frontier = bdd.and(image, bdd.not(reached));
+            reached = bdd.or(reached, frontier);
+        }
+
+        var sink = petriNet.getPlaceIndex(SINK);
+        var sinkReachable = sink >= 0 && bdd.and(reached, bdd.variable(sink)) != Bdd.FALSE;
+        var dead = reached;
+        for(int transition = 0; transition < transitions; transition++){
+            dead = bdd.and(dead, bdd.not(enabled[transition]));
+        }
+        if(sink >= 0){
+            dead = bdd.and(dead, bdd.notVariable(sink));
+        }
+        int[] deadlockMarking = null;
+        if(dead != Bdd.FALSE){
+            var assignment = bdd.anySat(dead);
+            deadlockMarking = new int[places];
+            for(int place = 0; place < places; place++){
+                deadlockMarking[place] = assignment[place] ? 1 : 0;
+            }
+        }
+
+        var result = new SymbolicReachabilityResult(bdd.satCount(reached), sinkReachable, deadlockMarking,
+                iterations, bdd.size(reached), bdd.getAllocatedNodes(), System.currentTimeMillis() - start);
+        log.info(String.format("Symbolic reachability: %s states (%d BDD nodes, %d allocated) after %d iterations in %d ms",
+                result.getReachableStates(), result.getReachableNodes(), result.getAllocatedNodes(),
+                iterations, result.getDurationMillis()));
+        return result;
+    }
+
+    private static boolean contains(int[] sortedPlaces, int place){
+        for(var other : sortedPlaces){
+            if(other == place) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package de.fraunhofer.isst.configmanager.petrinet.symbolic;
+
+import lombok.Getter;
+
+import java.math.BigInteger;
+
+/**
+ * Result of a {@link SymbolicReachability} analysis.
+ */
+@Getter
+public class SymbolicReachabilityResult {
+
+    public SymbolicReachabilityResult(BigInteger reachableStates, boolean sinkReachable, int[] deadlockMarking,
+                                      int iterations, int reachableNodes, int allocatedNodes, long durationMillis){
+        this.reachableStates = reachableStates;
+        this.sinkReachable = sinkReachable;
+        this.deadlockMarking = deadlockMarking;
+        this.iterations = iterations;
+        this.reachableNodes = reachableNodes;
+        this.allocatedNodes = allocatedNodes;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * Number of reachable markings.
+     */
+    private BigInteger reachableStates;
+
+    /**
+     * True if a reachable marking marks place://sink.
+     */
+    private boolean sinkReachable;
+
+    /**
+     * A reachable dead marking, which does not mark place://sink (indexed like the places of the
+     * compiled PetriNet), null if there is no such deadlock.
+     */
+    private int[] deadlockMarking;
+
+    /**
+     * Number of image computations until the fixpoint was reached (the longest shortest path).
+     */
+    private int iterations;
+
+    /**
+     * Number of BDD nodes representing the reachable markings.
+     */
+    private int reachableNodes;
+
+    /**
+     * Number of BDD nodes created during the analysis.
+     */
+    private int allocatedNodes;
+
+    /**
+     * Wall-clock time of the analysis in milliseconds.
+     */
+    private long durationMillis;
+
+    /**
+     * @return true if a marking is reachable, in which no transition can be used and place://sink is not marked
+     */
+    public boolean isDeadlockReachable(){
+        return deadlockMarking != null;
+    }
+}
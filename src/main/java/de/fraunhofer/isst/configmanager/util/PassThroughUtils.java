@@ -0,0 +1,87 @@
+package de.fraunhofer.isst.configmanager.util;
+
+import de.fraunhofer.isst.configmanager.communication.clients.PassThroughResponse;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Utility Class for passing responses of the connector on to the clients of the configuration
+ * manager unchanged.
+ */
+@Slf4j
+@UtilityClass
+public class PassThroughUtils {
+
+    /**
+     * Pass the response of the connector on, as soon as it arrives. If the request of the client
+     * times out or fails before, the request to the connector is cancelled, and a response
+     * arriving afterwards is closed instead of being streamed.
+     *
+     * @param response future of the response of the connector, cancelling it cancels the request
+     * @return the deferred response passing on the response of the connector
+     */
+    public static DeferredResult<ResponseEntity<StreamingResponseBody>> toDeferredResult(
+            final CompletableFuture<PassThroughResponse> response) {
+        final var result = new DeferredResult<ResponseEntity<StreamingResponseBody>>();
+        //cancelling a completed future has no effect, so only a pending request is cancelled
+        result.onTimeout(() -> response.cancel(false));
+        result.onError(throwable -> response.cancel(false));
+        result.onCompletion(() -> response.cancel(false));
+        response.whenComplete((passThrough, throwable) -> {
+            if (!result.setResult(toResponseEntity(passThrough, throwable)) && passThrough != null) {
+                //the request of the client timed out or failed, the body is never streamed
+                passThrough.close();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Build a response with the status, content type and content length of the response of the
+     * connector, whose body streams the body of the response of the connector.
+     * The response of the connector is closed, after its body was streamed or if building the
+     * response fails. A content type which can not be parsed is not passed on.
+     *
+     * @param response  response of the connector, null if the request failed
+     * @param throwable failure of the request, null if there was a response
+     * @return the response passing on the response of the connector, or 503 if the request failed
+     */
+    public static ResponseEntity<StreamingResponseBody> toResponseEntity(final PassThroughResponse response,
+                                                                         final Throwable throwable) {
+        if (throwable != null) {
+            log.warn("---- [PassThroughUtils toResponseEntity] Could not reach the connector: " + throwable.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(outputStream -> outputStream.write(
+                    "Could not reach the connector".getBytes(StandardCharsets.UTF_8)));
+        }
+        try {
+            final var builder = ResponseEntity.status(response.getStatus());
+            if (response.getContentType() != null) {
+                try {
+                    builder.contentType(MediaType.parseMediaType(response.getContentType()));
+                } catch (InvalidMediaTypeException e) {
+                    log.warn("---- [PassThroughUtils toResponseEntity] Invalid content type of the connector: " + e.getMessage());
+                }
+            }
+            if (response.getContentLength() >= 0) {
+                builder.contentLength(response.getContentLength());
+            }
+            return builder.body(outputStream -> {
+                try (response) {
+                    response.transferTo(outputStream);
+                }
+            });
+        } catch (RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package de.fraunhofer.isst.configmanager.api_test;
+
+import de.fraunhofer.isst.configmanager.communication.clients.AsyncConnectorClient;
+import de.fraunhofer.isst.configmanager.configmanagement.service.UtilService;
+import de.fraunhofer.isst.configmanager.controller.UtilUIController;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(UtilUIController.class)
+public class UtilUIAPITest {
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @MockBean
+    private transient UtilService utilService;
+
+    @MockBean
+    private AsyncConnectorClient asyncConnectorClient;
+
+    @Test
+    public void should_get_policy_pattern_when_the_connector_answers() throws Exception {
+
+        final var pattern = new CompletableFuture<String>();
+        Mockito.when(asyncConnectorClient.getPolicyPattern("policy")).thenReturn(pattern);
+
+        MvcResult result = this.mockMvc.perform(post("/api/ui/policy-pattern").content("policy"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        pattern.complete("PROVIDE_ACCESS");
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("PROVIDE_ACCESS"));
+    }
+
+    @Test
+    public void should_reject_policy_pattern_when_the_connector_fails() throws Exception {
+
+        Mockito.when(asyncConnectorClient.getPolicyPattern("policy"))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("connector not reachable")));
+
+        MvcResult result = this.mockMvc.perform(post("/api/ui/policy-pattern").content("policy"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+}
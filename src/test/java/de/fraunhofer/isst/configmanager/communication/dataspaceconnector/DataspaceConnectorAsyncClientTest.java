@@ -0,0 +1,118 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import de.fraunhofer.iais.eis.BaseConnectorBuilder;
+import de.fraunhofer.iais.eis.SecurityProfile;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the asynchronous requests to the connector against a mock connector
+ */
+class DataspaceConnectorAsyncClientTest {
+
+    private MockWebServer server;
+    private DataspaceConnectorClient connectorClient;
+    private DataspaceConnectorAsyncClient asyncClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        connectorClient = new DataspaceConnectorClient(null, 60_000, 60_000);
+        ReflectionTestUtils.setField(connectorClient, "dataSpaceConnectorHost", server.getHostName());
+        ReflectionTestUtils.setField(connectorClient, "dataSpaceConnectorPort", server.getPort());
+        ReflectionTestUtils.setField(connectorClient, "dataSpaceConnectorApiUsername", "admin");
+        ReflectionTestUtils.setField(connectorClient, "dataSpaceConnectorApiPassword", "password");
+        connectorClient.setProtocol("false");
+        asyncClient = new DataspaceConnectorAsyncClient(connectorClient, 8);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectorClient.destroy();
+        server.shutdown();
+    }
+
+    /**
+     * The future is completed with the result of the response, or exceptionally if the request or reading fails
+     */
+    @Test
+    void testEnqueue() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200));
+        assertTrue(asyncClient.sendConfiguration("{}").get(10, TimeUnit.SECONDS));
+        server.enqueue(new MockResponse().setResponseCode(500));
+        assertFalse(asyncClient.sendConfiguration("{}").get(10, TimeUnit.SECONDS));
+        assertEquals("/admin/api/configuration", server.takeRequest().getPath());
+
+        server.enqueue(new MockResponse().setBody("not a self declaration"));
+        var unreadable = assertThrows(ExecutionException.class, () -> asyncClient.getSelfDeclaration().get(10, TimeUnit.SECONDS));
+        assertTrue(unreadable.getCause() instanceof IOException);
+
+        //nothing listens on the port of a closed socket
+        try (var socket = new ServerSocket(0)) {
+            ReflectionTestUtils.setField(connectorClient, "dataSpaceConnectorPort", socket.getLocalPort());
+        }
+        var unreachable = assertThrows(ExecutionException.class, () -> asyncClient.getConnectorStatus().get(10, TimeUnit.SECONDS));
+        assertTrue(unreachable.getCause() instanceof IOException);
+    }
+
+    /**
+     * Cancelling the future cancels the running call
+     */
+    @Test
+    void testCancel() throws InterruptedException {
+        server.enqueue(new MockResponse().setHeadersDelay(10, TimeUnit.SECONDS));
+        var future = asyncClient.getConnectorStatus();
+        assertEquals("/", server.takeRequest(10, TimeUnit.SECONDS).getPath());
+
+        var calls = new ArrayList<>(connectorClient.getClient().dispatcher().runningCalls());
+        assertEquals(1, calls.size());
+        future.cancel(true);
+        assertTrue(calls.get(0).isCanceled());
+    }
+
+    /**
+     * A request changing the connector invalidates the cached self declaration
+     */
+    @Test
+    void testChangeInvalidatesReads() throws Exception {
+        var selfDeclaration = DataspaceConnectorClient.SERIALIZER.serialize(new BaseConnectorBuilder()
+                ._inboundModelVersion_(new ArrayList<>(List.of("4.0.0")))
+                ._outboundModelVersion_("4.0.0")
+                ._securityProfile_(SecurityProfile.BASE_SECURITY_PROFILE)
+                ._maintainer_(URI.create("https://example.com"))
+                ._curator_(URI.create("https://example.com"))
+                .build());
+
+        server.enqueue(new MockResponse().setBody(selfDeclaration));
+        var first = asyncClient.getSelfDeclaration().get(10, TimeUnit.SECONDS);
+        assertEquals(first, asyncClient.getSelfDeclaration().get(10, TimeUnit.SECONDS));
+        assertEquals(1, server.getRequestCount());
+
+        server.enqueue(new MockResponse().setResponseCode(200));
+        assertTrue(asyncClient.sendConfiguration("{}").get(10, TimeUnit.SECONDS));
+        assertEquals(2, server.getRequestCount());
+
+        server.enqueue(new MockResponse().setBody(selfDeclaration));
+        asyncClient.getSelfDeclaration().get(10, TimeUnit.SECONDS);
+        assertEquals(3, server.getRequestCount());
+        assertEquals("/admin/api/connector", server.takeRequest().getPath());
+    }
+}
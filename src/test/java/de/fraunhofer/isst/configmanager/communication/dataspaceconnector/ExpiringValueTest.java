@@ -0,0 +1,158 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the time to live, the stale window and the invalidation of a cached connector value
+ */
+class ExpiringValueTest {
+
+    /**
+     * Within the time to live the value is loaded once, after the stale window it is loaded again
+     */
+    @Test
+    void testTimeToLive() throws IOException {
+        var time = new AtomicLong();
+        var loads = new AtomicInteger();
+        var value = new ExpiringValue<>(() -> "v" + loads.incrementAndGet(), Runnable::run, 100, 0, time::get);
+
+        assertEquals("v1", value.get());
+        time.set(TimeUnit.MILLISECONDS.toNanos(99));
+        assertEquals("v1", value.get());
+        time.set(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals("v2", value.get());
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * In the stale window the old value is served and one reload is started in the background
+     */
+    @Test
+    void testStaleWhileRevalidate() throws IOException {
+        var time = new AtomicLong();
+        var loads = new AtomicInteger();
+        List<Runnable> pending = new ArrayList<>();
+        var value = new ExpiringValue<>(() -> "v" + loads.incrementAndGet(), pending::add, 100, 1000, time::get);
+
+        assertEquals("v1", value.get());
+        time.set(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals("v1", value.get());
+        assertEquals("v1", value.get());
+        assertEquals(1, pending.size());
+
+        pending.remove(0).run();
+        assertEquals("v2", value.get());
+        assertEquals(2, loads.get());
+        assertEquals(0, pending.size());
+    }
+
+    /**
+     * Invalidating drops the value, and a reload started before the invalidation is not cached
+     */
+    @Test
+    void testInvalidate() throws IOException {
+        var time = new AtomicLong();
+        var loads = new AtomicInteger();
+        List<Runnable> pending = new ArrayList<>();
+        var value = new ExpiringValue<>(() -> "v" + loads.incrementAndGet(), pending::add, 100, 1000, time::get);
+
+        assertEquals("v1", value.get());
+        value.invalidate();
+        assertEquals("v2", value.get());
+
+        time.set(TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals("v2", value.get());
+        value.invalidate();
+        pending.remove(0).run();
+        assertEquals("v4", value.get());
+        assertEquals("v4", value.get());
+    }
+
+    /**
+     * A failing load is thrown to the caller, without time to live every call loads, negative times are rejected
+     */
+    @Test
+    void testFailureAndDisabled() throws IOException {
+        var failing = new ExpiringValue<String>(() -> {
+            throw new IOException("connector not reachable");
+        }, Runnable::run, 100, 0);
+        assertThrows(IOException.class, failing::get);
+
+        var loads = new AtomicInteger();
+        var disabled = new ExpiringValue<>(loads::incrementAndGet, Runnable::run, 0, 0);
+        disabled.get();
+        disabled.get();
+        assertEquals(2, loads.get());
+
+        assertThrows(IllegalArgumentException.class, () -> new ExpiringValue<>(loads::incrementAndGet, Runnable::run, -1, 0));
+    }
+
+    /**
+     * An asynchronous load is cached when it completes, unless the value was invalidated meanwhile
+     */
+    @Test
+    void testAsyncLoad() throws IOException, ExecutionException, InterruptedException {
+        var time = new AtomicLong();
+        var value = new ExpiringValue<>(() -> "loaded", Runnable::run, 100, 0, time::get);
+
+        var pending = new CompletableFuture<String>();
+        var first = value.getAsync(() -> pending);
+        assertFalse(first.isDone());
+        pending.complete("enqueued");
+        assertEquals("enqueued", first.get());
+        assertTrue(value.getAsync(() -> CompletableFuture.completedFuture("unused")).isDone());
+        assertEquals("enqueued", value.get());
+
+        value.invalidate();
+        var outdated = new CompletableFuture<String>();
+        var second = value.getAsync(() -> outdated);
+        value.invalidate();
+        outdated.complete("outdated");
+        assertEquals("outdated", second.get());
+        assertEquals("loaded", value.get());
+    }
+
+    /**
+     * In the stale window an asynchronous read starts the asynchronous loader, not the blocking loader on the executor
+     */
+    @Test
+    void testAsyncStaleWhileRevalidate() throws ExecutionException, InterruptedException {
+        var time = new AtomicLong();
+        List<Runnable> pending = new ArrayList<>();
+        var value = new ExpiringValue<String>(() -> {
+            throw new IOException("blocking load");
+        }, pending::add, 100, 1000, time::get);
+
+        assertEquals("v1", value.getAsync(() -> CompletableFuture.completedFuture("v1")).get());
+        time.set(TimeUnit.MILLISECONDS.toNanos(500));
+        var refresh = new CompletableFuture<String>();
+        var starts = new AtomicInteger();
+        assertEquals("v1", value.getAsync(() -> {
+            starts.incrementAndGet();
+            return refresh;
+        }).get());
+        assertEquals("v1", value.getAsync(() -> {
+            starts.incrementAndGet();
+            return refresh;
+        }).get());
+        assertEquals(1, starts.get());
+        assertEquals(0, pending.size());
+
+        refresh.complete("v2");
+        assertEquals("v2", value.getAsync(() -> CompletableFuture.completedFuture("unused")).get());
+    }
+}
@@ -0,0 +1,56 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test extracting a field of a JSON document while it is parsed
+ */
+class JsonFieldExtractorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String SELF_DECLARATION = "{\"@id\":\"https://connector\","
+            + "\"ids:title\":[{\"@value\":\"Connector\"}],"
+            + "\"ids:resourceCatalog\":[{\"@type\":\"ids:ResourceCatalog\","
+            + "\"ids:offeredResource\":[{\"@id\":\"https://resource/1\",\"ids:keyword\":[\"a\",\"b\"]},"
+            + "{\"@id\":\"https://resource/2\",\"ids:representation\":[{\"ids:offeredResource\":null}]}],"
+            + "\"ids:requestedResource\":[]},"
+            + "{\"@type\":\"ids:ResourceCatalog\",\"ids:offeredResource\":[]}]}";
+
+    /**
+     * The first field in document order is copied unchanged, as found by JsonNode.findValue for a self declaration
+     */
+    @Test
+    void testCopyFirstValue() throws IOException {
+        for (var fieldName : new String[]{"ids:offeredResource", "ids:requestedResource", "ids:title"}) {
+            var writer = new StringWriter();
+            try (var parser = MAPPER.getFactory().createParser(SELF_DECLARATION);
+                 var generator = MAPPER.getFactory().createGenerator(writer)) {
+                assertTrue(JsonFieldExtractor.copyFirstValue(parser, fieldName, generator));
+            }
+            var expected = MAPPER.readTree(SELF_DECLARATION).findValue(fieldName);
+            assertEquals(expected, MAPPER.readTree(writer.toString()));
+        }
+    }
+
+    /**
+     * A missing field is reported and nothing is written
+     */
+    @Test
+    void testMissingField() throws IOException {
+        var writer = new StringWriter();
+        try (var parser = MAPPER.getFactory().createParser(SELF_DECLARATION);
+             var generator = MAPPER.getFactory().createGenerator(writer)) {
+            assertFalse(JsonFieldExtractor.copyFirstValue(parser, "ids:contractOffer", generator));
+        }
+        assertEquals("", writer.toString());
+    }
+}
@@ -0,0 +1,68 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test passing on a response of the OkHttpClient unchanged
+ */
+class OkHttpPassThroughResponseTest {
+
+    private static final String SELF_DECLARATION = "{\"@type\":\"ids:BaseConnector\",\"@id\":\"https://connector\"}";
+
+    /**
+     * Status, content type and length are kept, the body is transferred unchanged
+     */
+    @Test
+    void testTransferTo() throws IOException {
+        var bytes = SELF_DECLARATION.getBytes(StandardCharsets.UTF_8);
+        var body = ResponseBody.create(bytes, MediaType.parse("application/ld+json"));
+        try (var passThrough = new OkHttpPassThroughResponse(response(401, body))) {
+            assertEquals(401, passThrough.getStatus());
+            assertEquals("application/ld+json", passThrough.getContentType());
+            assertEquals(bytes.length, passThrough.getContentLength());
+
+            var outputStream = new ByteArrayOutputStream();
+            passThrough.transferTo(outputStream);
+            assertEquals(SELF_DECLARATION, outputStream.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * A body without content type and length is passed on without them
+     */
+    @Test
+    void testUnknownContentTypeAndLength() throws IOException {
+        var body = ResponseBody.create(new Buffer().writeUtf8(SELF_DECLARATION), null, -1);
+        try (var passThrough = new OkHttpPassThroughResponse(response(200, body))) {
+            assertNull(passThrough.getContentType());
+            assertEquals(-1, passThrough.getContentLength());
+
+            var outputStream = new ByteArrayOutputStream();
+            passThrough.transferTo(outputStream);
+            assertEquals(SELF_DECLARATION, outputStream.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Response response(final int code, final ResponseBody body) {
+        return new Response.Builder()
+                .request(new Request.Builder().url("https://localhost:8080/admin/api/connector").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(body)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package de.fraunhofer.isst.configmanager.communication.dataspaceconnector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test coalescing concurrent reads of a connector endpoint into one call
+ */
+class SingleFlightTest {
+
+    /**
+     * Callers arriving while a call is in flight share its result, later callers start a new call
+     */
+    @Test
+    void testCoalescing() throws Exception {
+        var flight = new SingleFlight<String>("/admin/api/connector");
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        ExpiringValue.Loader<String> loader = () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "connector" + calls.get();
+        };
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var leader = executor.submit(() -> flight.get(loader));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            var followers = new ArrayList<Future<String>>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> flight.get(loader)));
+            }
+            //the followers have to join before the call is released
+            while (flight.getStatistics().getRequests() < 4) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            var result = leader.get(5, TimeUnit.SECONDS);
+            assertEquals("connector1", result);
+            for (var follower : followers) {
+                assertSame(result, follower.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("connector2", flight.get(loader));
+
+        var statistics = flight.getStatistics();
+        assertEquals("/admin/api/connector", statistics.getEndpoint());
+        assertEquals(5, statistics.getRequests());
+        assertEquals(2, statistics.getCalls());
+        assertEquals(3, statistics.getSaved());
+    }
+
+    /**
+     * A failure is shared with the joined callers, after a detach callers start a new call
+     */
+    @Test
+    void testFailureAndDetach() throws Exception {
+        var flight = new SingleFlight<String>("/admin/api/configuration");
+        var first = new CompletableFuture<String>();
+        var shared = flight.getAsync(() -> first);
+        var joined = flight.getAsync(() -> CompletableFuture.completedFuture("unused"));
+        first.completeExceptionally(new IOException("connector not reachable"));
+        var e = assertThrows(ExecutionException.class, joined::get);
+        assertTrue(e.getCause() instanceof IOException);
+        assertTrue(shared.isCompletedExceptionally());
+
+        var inFlight = new CompletableFuture<String>();
+        var old = flight.getAsync(() -> inFlight);
+        flight.detach();
+        assertEquals("changed", flight.getAsync(() -> CompletableFuture.completedFuture("changed")).get());
+        inFlight.complete("old");
+        assertEquals("old", old.get());
+        assertEquals(3, flight.getStatistics().getCalls());
+        assertEquals(1, flight.getStatistics().getSaved());
+
+        assertThrows(IOException.class, () -> flight.get(() -> {
+            throw new IOException("connector not reachable");
+        }));
+
+        //a call failing to start or with an error is completed, later callers start a new call
+        var notStarted = flight.getAsync(() -> {
+            throw new IllegalArgumentException("invalid url");
+        });
+        assertTrue(notStarted.isCompletedExceptionally());
+        assertThrows(StackOverflowError.class, () -> flight.get(() -> {
+            throw new StackOverflowError();
+        }));
+        assertEquals("started", flight.getAsync(() -> CompletableFuture.completedFuture("started")).get());
+    }
+}
@@ -0,0 +1,94 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.iais.eis.AppRouteBuilder;
+import de.fraunhofer.iais.eis.EndpointBuilder;
+import de.fraunhofer.iais.eis.RouteStep;
+import de.fraunhofer.iais.eis.RouteStepBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.PetriNetSimulator;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test composing several AppRoutes into one PetriNet and analysing its components separately
+ */
+class ComponentAnalysisTest {
+
+    /**
+     * AppRoutes sharing an endpoint are one component, independent AppRoutes are separate components
+     */
+    @Test
+    void testSplitComposedNet() {
+        var first = route("http://first", "http://a0", "http://shared");
+        var second = route("http://second", "http://shared", "http://b1");
+        var independent = route("http://independent", "http://c0", "http://c1");
+        var composed = InfomodelPetriNetBuilder.petriNetFromAppRoutes(URI.create("http://config"),
+                List.of(first, second, independent), false);
+        //the shared endpoint is a single transition
+        assertEquals(3 + 5 + 2, composed.getNodes().size());
+
+        var components = ComponentAnalysis.split(composed);
+        assertEquals(2, components.size());
+        var interfering = components.get(0);
+        assertEquals(7, interfering.getNodes().size());
+        assertNotNull(interfering.getNode(URI.create("http://shared")));
+        assertNotNull(interfering.getNode(URI.create("place://source")));
+        assertEquals(6, interfering.getArcs().size());
+        assertEquals(5, components.get(1).getNodes().size());
+
+        //every component is started on its own, with its own marker on the source
+        var stepCounts = ComponentAnalysis.analyse(composed, component -> PetriNetSimulator.buildStepGraph(component).getStepCount(), 2)
+                .stream().map(ComponentResult::getResult).collect(Collectors.toList());
+        assertEquals(List.of(4, 3), stepCounts);
+
+        var single = ComponentAnalysis.split(InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(2, 2), false));
+        assertEquals(1, single.size());
+    }
+
+    /**
+     * Parallel and sequential analysis of many independent AppRoutes give the same results
+     */
+    @Test
+    void testParallelAnalysis() {
+        var routes = new ArrayList<AppRoute>();
+        for (int i = 0; i < 20; i++) {
+            routes.add(route("http://route" + i, "http://start" + i, "http://end" + i));
+        }
+        var composed = InfomodelPetriNetBuilder.petriNetFromAppRoutes(URI.create("http://config"), routes, false);
+        var sequential = ComponentAnalysis.analyse(composed, component -> StructuralAnalysis.analyse(component).isDeadlockFree(), 1);
+        var parallel = ComponentAnalysis.analyse(composed, component -> StructuralAnalysis.analyse(component).isDeadlockFree(), 4);
+        assertEquals(20, parallel.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(sequential.get(i).getNodeIds(), parallel.get(i).getNodeIds());
+            assertTrue(parallel.get(i).getResult());
+        }
+    }
+
+    /**
+     * @return an AppRoute with a single RouteStep from start to end
+     */
+    private static AppRoute route(String id, String start, String end) {
+        var startEndpoint = new EndpointBuilder(URI.create(start)).build();
+        var endEndpoint = new EndpointBuilder(URI.create(end)).build();
+        var subroutes = new ArrayList<RouteStep>();
+        subroutes.add(new RouteStepBuilder(URI.create(id + "/step"))
+                ._appRouteStart_(new ArrayList<>(List.of(startEndpoint)))
+                ._appRouteEnd_(new ArrayList<>(List.of(endEndpoint)))
+                .build());
+        return new AppRouteBuilder(URI.create(id))
+                ._appRouteStart_(new ArrayList<>(List.of(startEndpoint)))
+                ._appRouteEnd_(new ArrayList<>(List.of(endEndpoint)))
+                ._hasSubRoute_(subroutes)
+                .build();
+    }
+}
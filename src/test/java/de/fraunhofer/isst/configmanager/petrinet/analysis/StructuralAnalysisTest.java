@@ -0,0 +1,65 @@
+package de.fraunhofer.isst.configmanager.petrinet.analysis;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the structural certificates on small PetriNets with known behaviour
+ */
+class StructuralAnalysisTest {
+
+    /**
+     * Place invariants prove boundedness, the siphon-trap property proves deadlock freedom of correct routes
+     */
+    @Test
+    void testCertificates() {
+        var forkJoin = StructuralAnalysis.analyse(PetriNetTestUtil.forkJoinNet(3));
+        assertTrue(forkJoin.isBounded());
+        assertTrue(forkJoin.isDeadlockFree());
+        assertTrue(Arrays.stream(forkJoin.getPlaceBounds()).allMatch(bound -> bound == 1));
+        assertEquals(3, forkJoin.getPlaceInvariants().size());
+
+        var route = StructuralAnalysis.analyse(
+                InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(3, 3), false));
+        assertTrue(route.isBounded());
+        assertTrue(route.isDeadlockFree());
+
+        var choice = StructuralAnalysis.analyse(PetriNetTestUtil.choiceNet());
+        assertTrue(choice.isBounded());
+        assertFalse(choice.isDeadlockFree());
+
+        var unbounded = StructuralAnalysis.analyse(PetriNetTestUtil.unboundedNet());
+        assertFalse(unbounded.isBounded());
+    }
+
+    /**
+     * The incidence matrix and the invariants of a net with a loop
+     */
+    @Test
+    void testIncidenceMatrixAndInvariants() {
+        var compiled = new CompiledPetriNet(PetriNetTestUtil.retryNet());
+        var matrix = IncidenceMatrix.of(compiled);
+        var retry = compiled.getTransitionIndex(URI.create("trans://retry"));
+        var finish = compiled.getTransitionIndex(URI.create("trans://finish"));
+        //the self loop of retry has no entry in the incidence matrix
+        assertEquals(0, matrix.getColumnPlaces(retry).length);
+        assertEquals(2, matrix.getColumnPlaces(finish).length);
+
+        var transitionInvariants = Invariants.transitionInvariants(matrix, 100);
+        assertEquals(1, transitionInvariants.size());
+        var expected = new long[compiled.getTransitionCount()];
+        expected[retry] = 1;
+        assertArrayEquals(expected, transitionInvariants.get(0));
+        assertEquals(1, Invariants.placeInvariants(matrix, 100).size());
+    }
+}
@@ -0,0 +1,109 @@
+package de.fraunhofer.isst.configmanager.petrinet.builder;
+
+import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.iais.eis.AppRouteBuilder;
+import de.fraunhofer.iais.eis.RouteStep;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test keeping the PetriNet of an AppRoute up to date while RouteSteps are added and removed
+ */
+class IncrementalPetriNetBuilderTest {
+
+    /**
+     * Adding and removing RouteSteps gives the same net as building it from scratch
+     */
+    @Test
+    void testSameNetAsBuilder() {
+        var appRoute = PetriNetTestUtil.stagedAppRoute(2, 2);
+        var steps = appRoute.getHasSubRoute();
+        var builder = new IncrementalPetriNetBuilder(withSteps(appRoute, List.of()), false);
+        assertEquals(InfomodelPetriNetBuilder.petriNetFromAppRoute(withSteps(appRoute, List.of()), false), builder.getPetriNet());
+
+        for (int i = 0; i < steps.size(); i++) {
+            var changed = builder.addRouteStep(steps.get(i));
+            assertTrue(changed.contains(steps.get(i).getId()));
+            var expected = InfomodelPetriNetBuilder.petriNetFromAppRoute(withSteps(appRoute, steps.subList(0, i + 1)), false);
+            assertEquals(expected, builder.getPetriNet());
+        }
+        assertTrue(builder.addRouteStep(steps.get(0)).isEmpty());
+
+        var remaining = new ArrayList<RouteStep>(steps);
+        for (var step : List.of(steps.get(1), steps.get(4), steps.get(0))) {
+            assertFalse(builder.removeRouteStep(step.getId()).isEmpty());
+            remaining.remove(step);
+            var expected = InfomodelPetriNetBuilder.petriNetFromAppRoute(withSteps(appRoute, remaining), false);
+            assertEquals(expected, builder.getPetriNet());
+            assertEquals(expected.getArcs().size(), builder.getCompiledPetriNet().getPrePlaces().length
+                    + builder.getCompiledPetriNet().getPostPlaces().length);
+        }
+        assertTrue(builder.removeRouteStep(URI.create("http://unknown")).isEmpty());
+
+        var withAppRoute = new IncrementalPetriNetBuilder(appRoute, true);
+        assertEquals(InfomodelPetriNetBuilder.petriNetFromAppRoute(appRoute, true), withAppRoute.getPetriNet());
+    }
+
+    /**
+     * Only cached results depending on changed nodes or on the whole net are removed
+     */
+    @Test
+    void testAnalysisCache() {
+        var appRoute = PetriNetTestUtil.stagedAppRoute(2, 2);
+        var steps = appRoute.getHasSubRoute();
+        var builder = new IncrementalPetriNetBuilder(appRoute, false);
+        var cache = builder.getAnalysisCache();
+        var compiled = builder.getCompiledPetriNet();
+        assertSame(compiled, builder.getCompiledPetriNet());
+
+        cache.get("whole", () -> "net");
+        cache.get("first", Set.of(steps.get(0).getId()), () -> "first step");
+        cache.get("last", Set.of(steps.get(7).getId()), () -> "last step");
+        assertEquals("first step", cache.get("first", Set.of(steps.get(0).getId()), () -> "computed again"));
+
+        builder.removeRouteStep(steps.get(7).getId());
+        assertFalse(cache.contains("whole"));
+        assertFalse(cache.contains("last"));
+        assertTrue(cache.contains("first"));
+        assertNotSame(compiled, builder.getCompiledPetriNet());
+
+        builder.addRouteStep(steps.get(7));
+        assertTrue(cache.contains("first"));
+        builder.removeRouteStep(steps.get(0).getId());
+        assertFalse(cache.contains("first"));
+
+        //a result computed while the net changes is returned, but not cached
+        assertEquals("outdated", cache.get("changing", () -> {
+            builder.addRouteStep(steps.get(0));
+            return "outdated";
+        }));
+        assertFalse(cache.contains("changing"));
+        assertEquals("current", cache.get("changing", () -> "current"));
+        assertTrue(cache.contains("changing"));
+
+        //a result rejected by the predicate (e.g. cut off by a timeout) is returned, but not cached
+        assertEquals("partial", cache.get("limited", null, () -> "partial", result -> !result.equals("partial")));
+        assertFalse(cache.contains("limited"));
+        assertEquals("complete", cache.get("limited", null, () -> "complete", result -> !result.equals("partial")));
+        assertTrue(cache.contains("limited"));
+    }
+
+    private static AppRoute withSteps(AppRoute appRoute, List<? extends RouteStep> steps) {
+        return new AppRouteBuilder(appRoute.getId())
+                ._appRouteStart_(new ArrayList<>(appRoute.getAppRouteStart()))
+                ._appRouteEnd_(new ArrayList<>(appRoute.getAppRouteEnd()))
+                ._hasSubRoute_(new ArrayList<RouteStep>(steps))
+                .build();
+    }
+}
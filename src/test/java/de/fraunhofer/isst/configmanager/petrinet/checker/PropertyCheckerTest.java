@@ -0,0 +1,70 @@
+package de.fraunhofer.isst.configmanager.petrinet.checker;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationOptions;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test checking temporal properties of small PetriNets with known executions
+ */
+class PropertyCheckerTest {
+
+    private static final URI SINK = URI.create("place://sink");
+
+    /**
+     * A route which can get stuck violates liveness and deadlock freedom, the witness shows the wrong choice
+     */
+    @Test
+    void testCounterexamples() {
+        var checker = new PropertyChecker();
+        var petriNet = PetriNetTestUtil.choiceNet();
+
+        var reachable = checker.check(petriNet, Property.reachable(StatePredicate.marked(SINK), "EF sink"));
+        assertEquals(Verdict.SATISFIED, reachable.getVerdict());
+        assertEquals(List.of(URI.create("trans://left")), reachable.getWitness().getTransitions());
+
+        var eventually = checker.check(petriNet, Property.eventuallyReachesSink());
+        assertEquals(Verdict.VIOLATED, eventually.getVerdict());
+        assertEquals(List.of(URI.create("trans://right")), eventually.getWitness().getTransitions());
+
+        var deadlock = checker.check(petriNet, Property.noDeadlock());
+        assertEquals(Verdict.VIOLATED, deadlock.getVerdict());
+        assertEquals(2, deadlock.getWitness().getPetriNets().size());
+
+        //looping forever without marking the sink is a counterexample as well
+        var retry = checker.check(PetriNetTestUtil.retryNet(), Property.eventuallyReachesSink());
+        assertEquals(Verdict.VIOLATED, retry.getVerdict());
+        assertTrue(retry.getWitness().isLasso());
+        assertEquals(List.of(URI.create("trans://retry")), retry.getWitness().getTransitions());
+    }
+
+    /**
+     * Correct routes satisfy the properties, unbounded nets are only explored within the budget
+     */
+    @Test
+    void testSatisfied() {
+        var checker = new PropertyChecker();
+        var petriNet = PetriNetTestUtil.forkJoinNet(4);
+        var eventually = checker.check(petriNet, Property.eventuallyReachesSink());
+        assertTrue(eventually.isSatisfied());
+        assertNull(eventually.getWitness());
+        assertTrue(checker.check(petriNet, Property.noDeadlock()).isSatisfied());
+
+        var limitedChecker = new PropertyChecker(new ExplorationOptions().setMaxStates(1000));
+        var limited = limitedChecker.check(PetriNetTestUtil.unboundedNet(), Property.eventuallyReachesSink());
+        assertEquals(Verdict.UNKNOWN, limited.getVerdict());
+        assertEquals(1000, limited.getExploredStates());
+
+        //deadlock freedom is proven structurally, without exploring the infinitely many states
+        var structural = limitedChecker.check(PetriNetTestUtil.unboundedNet(), Property.noDeadlock());
+        assertTrue(structural.isSatisfied());
+        assertEquals(0, structural.getExploredStates());
+    }
+}
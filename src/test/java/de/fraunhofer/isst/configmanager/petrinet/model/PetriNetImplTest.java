@@ -0,0 +1,72 @@
+package de.fraunhofer.isst.configmanager.petrinet.model;
+
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test equality, hashing and copying of PetriNets
+ */
+class PetriNetImplTest {
+
+    /**
+     * Copies of a PetriNet are equal and have the same hash, until their markers differ
+     */
+    @Test
+    void testEqualsAndHashCode() {
+        var petriNet = PetriNetTestUtil.forkJoinNet(3);
+        var copy = petriNet.deepCopy();
+        assertEquals(petriNet, copy);
+        assertEquals(petriNet.hashCode(), copy.hashCode());
+
+        var sink = (Place) copy.getNode(URI.create("place://sink"));
+        sink.setMarkers(1);
+        assertNotEquals(petriNet, copy);
+        assertNotEquals(copy, petriNet);
+
+        //nodes stay in their hash buckets when their markers change
+        assertTrue(copy.getNodes().contains(sink));
+
+        var steps = new HashSet<PetriNet>();
+        steps.add(petriNet);
+        assertTrue(steps.contains(petriNet.deepCopy()));
+        assertFalse(steps.contains(copy));
+    }
+
+    /**
+     * Nodes are found by their ID in the original net, in copies and after adding nodes
+     */
+    @Test
+    void testNodeIndex() {
+        var petriNet = PetriNetTestUtil.chainNet(3);
+        var source = petriNet.getNode(URI.create("place://source"));
+        assertTrue(petriNet.getNodes().contains(source));
+        assertNull(petriNet.getNode(URI.create("place://unknown")));
+
+        var copy = petriNet.deepCopy();
+        var sourceCopy = copy.getNode(URI.create("place://source"));
+        assertNotSame(source, sourceCopy);
+        assertTrue(copy.getNodes().contains(sourceCopy));
+        assertEquals(1, sourceCopy.getSourceArcs().size());
+
+        var added = new PlaceImpl(URI.create("place://added"));
+        copy.addNode(added);
+        assertSame(added, copy.getNode(added.getID()));
+        assertNull(petriNet.getNode(added.getID()));
+
+        //nodes added to the set directly are found as well
+        var direct = new TransitionImpl(URI.create("trans://direct"));
+        petriNet.getNodes().add(direct);
+        assertSame(direct, petriNet.getNode(direct.getID()));
+    }
+}
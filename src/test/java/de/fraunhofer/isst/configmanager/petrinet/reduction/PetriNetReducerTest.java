@@ -0,0 +1,101 @@
+package de.fraunhofer.isst.configmanager.petrinet.reduction;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.checker.Property;
+import de.fraunhofer.isst.configmanager.petrinet.checker.PropertyChecker;
+import de.fraunhofer.isst.configmanager.petrinet.checker.StatePredicate;
+import de.fraunhofer.isst.configmanager.petrinet.checker.Verdict;
+import de.fraunhofer.isst.configmanager.petrinet.model.Node;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.ExplorationOptions;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.StateSpaceExplorer;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test reducing PetriNets and mapping the reduced nodes back to the original nodes
+ */
+class PetriNetReducerTest {
+
+    private static final URI SINK = URI.create("place://sink");
+
+    /**
+     * Sequential and parallel parts of a route are fused into a single transition, which uses the original
+     * transitions in order
+     */
+    @Test
+    void testReduceRoutes() {
+        var chain = PetriNetReducer.reduce(PetriNetTestUtil.chainNet(5));
+        assertEquals(3, chain.getPetriNet().getNodes().size());
+        assertEquals(8, chain.getRemovedNodes());
+        assertEquals(List.of(URI.create("trans://t0"), URI.create("trans://t1"), URI.create("trans://t2"),
+                URI.create("trans://t3"), URI.create("trans://t4")), chain.getOriginalTransitions(URI.create("trans://t0")));
+        assertMappingComplete(chain);
+
+        var forkJoin = PetriNetReducer.reduce(PetriNetTestUtil.forkJoinNet(3));
+        assertEquals(3, forkJoin.getPetriNet().getNodes().size());
+        var path = forkJoin.expandPath(List.of(URI.create("trans://fork")));
+        assertEquals(URI.create("trans://fork"), path.get(0));
+        assertEquals(URI.create("trans://join"), path.get(path.size() - 1));
+        assertEquals(5, path.size());
+        assertMappingComplete(forkJoin);
+
+        var staged = InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(3, 3), false);
+        var reducedStaged = PetriNetReducer.reduce(staged);
+        assertEquals(3, reducedStaged.getPetriNet().getNodes().size());
+        assertMappingComplete(reducedStaged);
+        var result = new StateSpaceExplorer(new ExplorationOptions().setReduction(true)).explore(staged);
+        assertNotNull(result.getReducedPetriNet());
+        assertEquals(2, result.getStepGraph().getStepCount());
+    }
+
+    /**
+     * Reducing keeps deadlocks and unreachable sinks, witnesses are mapped back to the original transitions
+     */
+    @Test
+    void testPreservedProperties() {
+        var choice = PetriNetReducer.reduce(PetriNetTestUtil.choiceNet());
+        assertEquals(5, choice.getPetriNet().getNodes().size());
+
+        var checker = new PropertyChecker(new ExplorationOptions().setReduction(true));
+        var deadlock = checker.check(PetriNetTestUtil.choiceNet(), Property.eventuallyReachesSink());
+        assertEquals(Verdict.VIOLATED, deadlock.getVerdict());
+        assertEquals(List.of(URI.create("trans://right")), deadlock.getWitness().getTransitions());
+
+        var reachable = checker.check(PetriNetTestUtil.chainNet(4), Property.reachable(StatePredicate.marked(SINK), "EF sink"));
+        assertEquals(Verdict.SATISFIED, reachable.getVerdict());
+        assertEquals(4, reachable.getWitness().getTransitions().size());
+
+        assertTrue(checker.check(PetriNetTestUtil.forkJoinNet(4), Property.eventuallyReachesSink()).isSatisfied());
+        var unbounded = new StateSpaceExplorer(new ExplorationOptions().setReduction(true).setMaxStates(100))
+                .explore(PetriNetTestUtil.unboundedNet());
+        assertEquals(100, unbounded.getStepGraph().getStepCount());
+    }
+
+    /**
+     * Every original node is merged into exactly one node of the reduced net
+     */
+    private static void assertMappingComplete(ReducedPetriNet reduced) {
+        var mapped = new HashSet<URI>();
+        for (var node : reduced.getPetriNet().getNodes()) {
+            for (var original : reduced.getOriginalNodes(node.getID())) {
+                assertTrue(mapped.add(original));
+            }
+        }
+        assertEquals(ids(reduced.getOriginal()), mapped);
+    }
+
+    private static Set<URI> ids(PetriNet petriNet) {
+        return petriNet.getNodes().stream().map(Node::getID).collect(Collectors.toSet());
+    }
+}
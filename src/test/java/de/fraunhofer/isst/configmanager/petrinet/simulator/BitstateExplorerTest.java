@@ -0,0 +1,65 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test sweeping the states of small PetriNets with a bit table instead of a StepGraph
+ */
+class BitstateExplorerTest {
+
+    /**
+     * With enough memory all states are visited, with too little memory states are omitted and this is reported
+     */
+    @Test
+    void testSweep() {
+        var petriNet = PetriNetTestUtil.forkJoinNet(10);
+        var exact = PetriNetSimulator.buildStepGraph(petriNet).getStepCount();
+        var result = PetriNetSimulator.sweepStateSpace(petriNet, 1 << 20);
+        assertEquals(TerminationReason.COMPLETED, result.getTerminationReason());
+        assertEquals(exact, result.getVisitedStates());
+        assertEquals(1, result.getDeadlocks());
+        assertTrue(result.getExpectedOmissions() < 0.01);
+        assertTrue(result.getOmissionProbability() < 1e-6);
+
+        var compiled = new CompiledPetriNet(petriNet);
+        var sink = compiled.getPlaceIndex(URI.create("place://sink"));
+        assertEquals(1, result.getDeadlock()[sink]);
+
+        var small = new BitstateExplorer(new ExplorationOptions(), 64, 2).explore(compiled);
+        assertTrue(small.getVisitedStates() < exact);
+        assertTrue(small.getOmissionProbability() > 0.5);
+        assertTrue(small.getCoverage() < 1);
+    }
+
+    /**
+     * Deadlocks are found and the limits of the options stop the sweep
+     */
+    @Test
+    void testDeadlocksAndLimits() {
+        var choice = PetriNetSimulator.sweepStateSpace(PetriNetTestUtil.choiceNet(), 1024);
+        assertEquals(3, choice.getVisitedStates());
+        assertEquals(2, choice.getDeadlocks());
+        assertNotNull(choice.getDeadlock());
+
+        var limited = new BitstateExplorer(new ExplorationOptions().setMaxStates(1000), 1 << 16, 3)
+                .explore(PetriNetTestUtil.unboundedNet());
+        assertEquals(TerminationReason.MAX_STATES, limited.getTerminationReason());
+        assertEquals(1000, limited.getVisitedStates());
+
+        var shallow = new BitstateExplorer(new ExplorationOptions().setMaxDepth(2), 1024, 3)
+                .explore(PetriNetTestUtil.chainNet(5));
+        assertEquals(TerminationReason.MAX_DEPTH, shallow.getTerminationReason());
+        assertEquals(3, shallow.getVisitedStates());
+        assertEquals(2, shallow.getMaxDepth());
+
+        assertThrows(IllegalArgumentException.class, () -> new BitstateExplorer(new ExplorationOptions(), 12, 3));
+    }
+}
@@ -0,0 +1,58 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the parallel exploration of PetriNets by the {@link ParallelStateSpaceExplorer}
+ */
+class ParallelStateSpaceExplorerTest {
+
+    /**
+     * The parallel explorer finds the same states and arcs as the sequential explorer
+     */
+    @Test
+    void testEquivalentToSequential() {
+        var petriNet = InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(4, 4), false);
+        var sequential = new StateSpaceExplorer(new ExplorationOptions()).explore(petriNet);
+        for (var parallelism : new int[]{1, 2, 4}) {
+            var parallel = new ParallelStateSpaceExplorer(new ExplorationOptions(), parallelism).explore(petriNet);
+            assertTrue(parallel.isComplete());
+            assertEquals(sequential.getStepGraph().getStepCount(), parallel.getStepGraph().getStepCount());
+            assertEquals(arcsOf(sequential.getStepGraph()), arcsOf(parallel.getStepGraph()));
+        }
+    }
+
+    /**
+     * The state limit is kept exactly, even with several workers
+     */
+    @Test
+    void testLimits() {
+        var result = new ParallelStateSpaceExplorer(new ExplorationOptions().setMaxStates(1000), 4)
+                .explore(PetriNetTestUtil.unboundedNet());
+        assertEquals(TerminationReason.MAX_STATES, result.getTerminationReason());
+        assertEquals(1000, result.getStepGraph().getStepCount());
+    }
+
+    /**
+     * @param stepGraph a StepGraph
+     * @return the arcs of the StepGraph as strings of source marking, transition and target marking
+     */
+    static Set<String> arcsOf(StepGraph stepGraph) {
+        var arcs = new HashSet<String>();
+        for (int i = 0; i < stepGraph.getArcCount(); i++) {
+            arcs.add(Arrays.toString(stepGraph.getMarking(stepGraph.getArcSource(i)))
+                    + stepGraph.getArcTransition(i)
+                    + Arrays.toString(stepGraph.getMarking(stepGraph.getArcTarget(i))));
+        }
+        return arcs;
+    }
+}
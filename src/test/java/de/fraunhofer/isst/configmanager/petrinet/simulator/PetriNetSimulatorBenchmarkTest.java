@@ -0,0 +1,177 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.model.Transition;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmarks for the state space exploration of the {@link PetriNetSimulator}.
+ * Timings depend on the machine, so the benchmarks are disabled and meant to be run manually.
+ */
+@Slf4j
+class PetriNetSimulatorBenchmarkTest {
+
+    /**
+     * Build StepGraphs of fork/join nets with 2^n + 2 reachable states and check, that the time
+     * needed per state does not grow with the number of states.
+     */
+    @Test
+    @Disabled
+    void benchmarkStepGraphScaling() {
+        //warm up
+        for (int i = 0; i < 5; i++) {
+            PetriNetSimulator.buildStepGraph(PetriNetTestUtil.forkJoinNet(10));
+        }
+        double smallest = 0;
+        double largest = 0;
+        for (int branches = 10; branches <= 16; branches++) {
+            var petriNet = PetriNetTestUtil.forkJoinNet(branches);
+            var start = System.nanoTime();
+            var stepGraph = PetriNetSimulator.buildStepGraph(petriNet);
+            var nanos = System.nanoTime() - start;
+            assertEquals((1 << branches) + 2, stepGraph.getStepCount());
+            var perState = (double) nanos / stepGraph.getStepCount();
+            log.info(String.format("%d states: %d ms, %.0f ns per state", stepGraph.getStepCount(), nanos / 1_000_000, perState));
+            if (branches == 10) smallest = perState;
+            largest = perState;
+        }
+        //linear scaling: the time per state stays in the same order of magnitude
+        assertTrue(largest < 4 * smallest, "time per state grew from " + smallest + " to " + largest);
+    }
+
+    /**
+     * Explore a synthetic AppRoute with 480 subroutes with the sequential explorer and with the
+     * parallel explorer at increasing parallelism, logging the speedup.
+     */
+    @Test
+    @Disabled
+    void benchmarkParallelExploration() {
+        var petriNet = InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(30, 8), false);
+        var compiled = new CompiledPetriNet(petriNet);
+        //warm up
+        new StateSpaceExplorer(new ExplorationOptions()).explore(compiled);
+        new ParallelStateSpaceExplorer(new ExplorationOptions()).explore(compiled);
+
+        var sequential = new StateSpaceExplorer(new ExplorationOptions()).explore(compiled);
+        log.info(String.format("sequential: %d states in %d ms",
+                sequential.getStepGraph().getStepCount(), sequential.getDurationMillis()));
+        var processors = Runtime.getRuntime().availableProcessors();
+        for (int parallelism = 1; parallelism <= processors; parallelism *= 2) {
+            var parallel = new ParallelStateSpaceExplorer(new ExplorationOptions(), parallelism).explore(compiled);
+            assertEquals(sequential.getStepGraph().getStepCount(), parallel.getStepGraph().getStepCount());
+            log.info(String.format("parallelism %d: %d ms, speedup %.2f", parallelism, parallel.getDurationMillis(),
+                    (double) sequential.getDurationMillis() / Math.max(1, parallel.getDurationMillis())));
+        }
+    }
+
+    /**
+     * Copy chain nets with thousands of nodes and check, that the time needed per node does not grow
+     * with the size of the net.
+     */
+    @Test
+    @Disabled
+    void benchmarkDeepCopy() {
+        //warm up
+        for (int i = 0; i < 20; i++) {
+            PetriNetTestUtil.chainNet(1_000).deepCopy();
+        }
+        double smallest = 0;
+        double largest = 0;
+        for (int length = 4_000; length <= 64_000; length *= 4) {
+            var petriNet = PetriNetTestUtil.chainNet(length);
+            assertEquals(petriNet, petriNet.deepCopy());
+            //best of several copies, so garbage collection does not dominate the timing
+            var nanos = Long.MAX_VALUE;
+            for (int i = 0; i < 5; i++) {
+                var start = System.nanoTime();
+                petriNet.deepCopy();
+                nanos = Math.min(nanos, System.nanoTime() - start);
+            }
+            var perNode = (double) nanos / petriNet.getNodes().size();
+            log.info(String.format("%d nodes: %d ms, %.0f ns per node", petriNet.getNodes().size(), nanos / 1_000_000, perNode));
+            if (length == 4_000) smallest = perNode;
+            largest = perNode;
+        }
+        //linear scaling: the time per node stays in the same order of magnitude
+        assertTrue(largest < 4 * smallest, "time per node grew from " + smallest + " to " + largest);
+    }
+
+    /**
+     * Compare the memory needed by the object model of a large AppRoute with its compiled compressed rows,
+     * and the time needed to visit all pre- and post-places of all transitions in both representations.
+     */
+    @Test
+    @Disabled
+    void benchmarkCompiledAdjacency() {
+        var appRoute = PetriNetTestUtil.stagedAppRoute(200, 50);
+        var runtime = Runtime.getRuntime();
+        System.gc();
+        var before = runtime.totalMemory() - runtime.freeMemory();
+        var petriNet = InfomodelPetriNetBuilder.petriNetFromAppRoute(appRoute, false);
+        System.gc();
+        var objectBytes = runtime.totalMemory() - runtime.freeMemory() - before;
+        before = runtime.totalMemory() - runtime.freeMemory();
+        var compiled = new CompiledPetriNet(petriNet);
+        System.gc();
+        var compiledBytes = runtime.totalMemory() - runtime.freeMemory() - before;
+        log.info(String.format("%d nodes, %d arcs: object model %d KB, compiled net %d KB (including ID indices)",
+                petriNet.getNodes().size(), petriNet.getArcs().size(), objectBytes / 1024, compiledBytes / 1024));
+
+        var transitions = petriNet.getNodes().stream().filter(node -> node instanceof Transition).collect(Collectors.toList());
+        long objectNanos = Long.MAX_VALUE;
+        long compiledNanos = Long.MAX_VALUE;
+        for (int run = 0; run < 20; run++) {
+            var start = System.nanoTime();
+            long objectSum = 0;
+            for (var transition : transitions) {
+                for (var arc : transition.getTargetArcs()) objectSum += arc.getSource().getID().hashCode();
+                for (var arc : transition.getSourceArcs()) objectSum += arc.getTarget().getID().hashCode();
+            }
+            objectNanos = Math.min(objectNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            long compiledSum = 0;
+            var preOffsets = compiled.getPreOffsets();
+            var prePlaces = compiled.getPrePlaces();
+            var postOffsets = compiled.getPostOffsets();
+            var postPlaces = compiled.getPostPlaces();
+            for (int transition = 0; transition < compiled.getTransitionCount(); transition++) {
+                for (int i = preOffsets[transition]; i < preOffsets[transition + 1]; i++) compiledSum += prePlaces[i];
+                for (int i = postOffsets[transition]; i < postOffsets[transition + 1]; i++) compiledSum += postPlaces[i];
+            }
+            compiledNanos = Math.min(compiledNanos, System.nanoTime() - start);
+            assertTrue(objectSum != 0 && compiledSum > 0);
+        }
+        log.info(String.format("traversal of all arcs: object model %d us, compiled net %d us",
+                objectNanos / 1000, compiledNanos / 1000));
+        assertTrue(compiledNanos < objectNanos);
+    }
+
+    /**
+     * Sweep fork/join nets with millions of states with a bit table of fixed size and compare the number
+     * of visited states with the exact number of reachable states.
+     */
+    @Test
+    @Disabled
+    void benchmarkBitstateSweep() {
+        var memoryBytes = 16L << 20;
+        for (int branches = 18; branches <= 22; branches += 2) {
+            var exact = (1L << branches) + 2;
+            var result = PetriNetSimulator.sweepStateSpace(PetriNetTestUtil.forkJoinNet(branches), memoryBytes);
+            log.info(String.format("%d reachable states: visited %d in %d ms (%.0f states per second), coverage %.4f, "
+                            + "omission probability %.2e", exact, result.getVisitedStates(), result.getDurationMillis(),
+                    1000.0 * result.getVisitedStates() / Math.max(1, result.getDurationMillis()), result.getCoverage(),
+                    result.getOmissionProbability()));
+            assertTrue(result.getVisitedStates() <= exact);
+            assertTrue(result.getVisitedStates() > exact * 0.9);
+        }
+    }
+}
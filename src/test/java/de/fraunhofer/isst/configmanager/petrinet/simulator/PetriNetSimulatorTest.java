@@ -0,0 +1,190 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.GraphVizGenerator;
+import de.fraunhofer.isst.configmanager.petrinet.builder.GraphVizWriter;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNetImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.Place;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test exploring the states of small PetriNets with known state spaces
+ */
+class PetriNetSimulatorTest {
+
+    /**
+     * Compiling a PetriNet keeps the marking and the pre- and post-places of its transitions
+     */
+    @Test
+    void testCompilePetriNet() {
+        var compiled = new CompiledPetriNet(PetriNetTestUtil.chainNet(2));
+        assertEquals(3, compiled.getPlaceCount());
+        assertEquals(2, compiled.getTransitionCount());
+
+        var source = compiled.getPlaceIndex(URI.create("place://source"));
+        var sink = compiled.getPlaceIndex(URI.create("place://sink"));
+        var first = compiled.getTransitionIndex(URI.create("trans://t0"));
+        assertEquals(1, compiled.getInitialMarking()[source]);
+        assertArrayEquals(new int[]{source}, compiled.getPreSet(first));
+
+        var marking = compiled.getInitialMarking();
+        marking = compiled.fire(marking, first);
+        marking = compiled.fire(marking, compiled.getTransitionIndex(URI.create("trans://t1")));
+        assertEquals(1, marking[sink]);
+        assertEquals(0, compiled.getEnabledTransitions(marking).length);
+    }
+
+    /**
+     * The compressed rows contain every arc once per direction, the DOT String of the compiled net
+     * contains the same statements as the one of the object model
+     */
+    @Test
+    void testCompiledAdjacency() {
+        var petriNet = PetriNetTestUtil.forkJoinNet(3);
+        var compiled = new CompiledPetriNet(petriNet);
+        var fork = compiled.getTransitionIndex(URI.create("trans://fork"));
+        var join = compiled.getTransitionIndex(URI.create("trans://join"));
+        assertArrayEquals(new int[]{fork}, compiled.getConsumers(compiled.getPlaceIndex(URI.create("place://source"))));
+        assertArrayEquals(new int[]{join}, compiled.getProducers(compiled.getPlaceIndex(URI.create("place://sink"))));
+        assertEquals(3, compiled.getPostSet(fork).length);
+        assertEquals(petriNet.getArcs().size(), compiled.getPrePlaces().length + compiled.getPostPlaces().length);
+        assertEquals(compiled.getPrePlaces().length, compiled.getConsumerTransitions().length);
+        assertEquals(compiled.getPlaceCount() + 1, compiled.getProducerOffsets().length);
+
+        //both variants write every node once, the statements differ only in their order
+        var statements = Arrays.asList(GraphVizGenerator.generateGraphViz(petriNet)
+                .replace("digraph graphname {", "").split(";"));
+        var compiledStatements = Arrays.asList(GraphVizGenerator.generateGraphViz(compiled, compiled.getInitialMarking())
+                .replace("digraph graphname {", "").split(";"));
+        Collections.sort(statements);
+        Collections.sort(compiledStatements);
+        assertEquals(statements, compiledStatements);
+        assertEquals(petriNet.getNodes().size() + petriNet.getArcs().size() + 1, compiledStatements.size());
+    }
+
+    /**
+     * Every interleaving of the parallel branches is a state of the StepGraph
+     */
+    @Test
+    void testBuildStepGraph() {
+        var stepGraph = PetriNetSimulator.buildStepGraph(PetriNetTestUtil.forkJoinNet(2));
+        assertEquals(6, stepGraph.getStepCount());
+        assertEquals(6, stepGraph.getArcCount());
+
+        //the object model is created on demand
+        assertEquals(6, stepGraph.getSteps().size());
+        assertEquals(6, stepGraph.getArcs().size());
+        var sinkMarked = stepGraph.getSteps().stream()
+                .flatMap(net -> net.getNodes().stream())
+                .filter(node -> node.getID().equals(URI.create("place://sink")))
+                .anyMatch(node -> ((Place) node).getMarkers() == 1);
+        assertTrue(sinkMarked);
+        assertFalse(GraphVizGenerator.generateGraphViz(stepGraph).isEmpty());
+    }
+
+    /**
+     * The streamed DOT document has a cluster per step with uniquely named nodes and an edge per arc
+     */
+    @Test
+    void testWriteGraphViz() throws IOException {
+        var stepGraph = PetriNetSimulator.buildStepGraph(PetriNetTestUtil.forkJoinNet(2));
+        var compiled = stepGraph.getPetriNet();
+        var outputStream = new ByteArrayOutputStream();
+        GraphVizWriter.write(stepGraph, outputStream);
+        var dot = outputStream.toString(StandardCharsets.UTF_8);
+        assertEquals(GraphVizGenerator.generateGraphViz(stepGraph), dot);
+
+        var statements = dot.split(";");
+        var nodeNames = new HashSet<String>();
+        var edges = 0;
+        for (var statement : statements) {
+            if (statement.contains("label=")) {
+                nodeNames.add(statement.substring(statement.lastIndexOf('{') + 1, statement.indexOf('[')).trim());
+            }
+            if (statement.contains("lhead=")) edges++;
+        }
+        assertEquals(stepGraph.getStepCount() * (compiled.getPlaceCount() + compiled.getTransitionCount()), nodeNames.size());
+        assertEquals(stepGraph.getArcCount(), edges);
+        assertEquals(stepGraph.getStepCount(), dot.split("subgraph cluster").length - 1);
+
+        //an empty net has a single step without arcs
+        var empty = PetriNetSimulator.buildStepGraph(new PetriNetImpl(URI.create("net://empty"), new HashSet<>(), new HashSet<>()));
+        assertEquals("digraph graphname {compound=true;subgraph cluster0 {}}", GraphVizGenerator.generateGraphViz(empty));
+    }
+
+    /**
+     * The coverability graph is finite for unbounded PetriNets and equals the StepGraph for bounded ones
+     */
+    @Test
+    void testBuildCoverabilityGraph() {
+        var buffer = URI.create("place://buffer");
+        var sink = URI.create("place://sink");
+        var unbounded = PetriNetSimulator.buildCoverabilityGraph(PetriNetTestUtil.unboundedNet());
+        assertFalse(unbounded.isBounded());
+        assertEquals(List.of(buffer, sink), unbounded.getUnboundedPlaces());
+        assertEquals(CoverabilityGraph.OMEGA, unbounded.getBound(buffer));
+        assertEquals(CoverabilityGraph.OMEGA, unbounded.getBound(sink));
+        assertTrue(unbounded.isCoverable(sink, 1));
+
+        var bounded = PetriNetSimulator.buildCoverabilityGraph(PetriNetTestUtil.forkJoinNet(2));
+        assertTrue(bounded.isBounded());
+        assertEquals(1, bounded.getBound(sink));
+        assertFalse(bounded.isCoverable(sink, 2));
+        assertEquals(6, bounded.getStepGraph().getStepCount());
+        assertEquals(6, bounded.getStepGraph().getArcCount());
+    }
+
+    /**
+     * The bitset representation uses transitions like the compiled net, until a place would get a second marker
+     */
+    @Test
+    void testSafePetriNet() {
+        var compiled = new CompiledPetriNet(PetriNetTestUtil.forkJoinNet(3));
+        var safe = SafePetriNet.compile(compiled);
+        var marking = compiled.getInitialMarking();
+        var packed = safe.pack(marking);
+        while (compiled.getEnabledTransitions(marking).length > 0) {
+            var transition = compiled.getEnabledTransitions(marking)[0];
+            assertArrayEquals(compiled.getEnabledTransitions(marking), safe.getEnabledTransitions(packed));
+            marking = compiled.fire(marking, transition);
+            packed = safe.fire(packed, transition);
+            assertArrayEquals(marking, safe.unpack(packed));
+        }
+
+        var unbounded = new CompiledPetriNet(PetriNetTestUtil.unboundedNet());
+        var unsafe = SafePetriNet.compile(unbounded);
+        var generate = unbounded.getTransitionIndex(URI.create("trans://generate"));
+        var once = unsafe.fire(unsafe.pack(unbounded.getInitialMarking()), generate);
+        assertNull(unsafe.fire(once, generate));
+    }
+
+    /**
+     * Simulating a 1-safe net on its bitset representation updates the markers of the PetriNet
+     */
+    @Test
+    void testSimulateNet() {
+        var petriNet = PetriNetTestUtil.forkJoinNet(3);
+        PetriNetSimulator.simulateNet(petriNet);
+        for (var node : petriNet.getNodes()) {
+            if (node instanceof Place) {
+                var expected = node.getID().equals(URI.create("place://sink")) ? 1 : 0;
+                assertEquals(expected, ((Place) node).getMarkers());
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the budgeted exploration of PetriNets by the {@link StateSpaceExplorer}
+ */
+class StateSpaceExplorerTest {
+
+    /**
+     * Breadth and depth first search find the same states, deep nets do not overflow the stack
+     */
+    @Test
+    void testSearchOrders() {
+        var petriNet = PetriNetTestUtil.forkJoinNet(4);
+        var bfs = new StateSpaceExplorer(new ExplorationOptions()).explore(petriNet);
+        var dfs = new StateSpaceExplorer(new ExplorationOptions().setSearchOrder(SearchOrder.DEPTH_FIRST)).explore(petriNet);
+        assertTrue(bfs.isComplete());
+        assertTrue(dfs.isComplete());
+        assertEquals(18, bfs.getStepGraph().getStepCount());
+        assertEquals(18, dfs.getStepGraph().getStepCount());
+        assertEquals(bfs.getStepGraph().getArcCount(), dfs.getStepGraph().getArcCount());
+
+        //depth first search follows the marker generating transition, leading to very long paths
+        var deep = new StateSpaceExplorer(new ExplorationOptions().setSearchOrder(SearchOrder.DEPTH_FIRST).setMaxStates(50_000))
+                .explore(PetriNetTestUtil.unboundedNet());
+        assertEquals(TerminationReason.MAX_STATES, deep.getTerminationReason());
+        assertEquals(50_000, deep.getStepGraph().getStepCount());
+    }
+
+    /**
+     * Exploring a PetriNet with infinitely many states stops at the limits of the budget
+     */
+    @Test
+    void testLimits() {
+        var petriNet = PetriNetTestUtil.unboundedNet();
+
+        var states = new StateSpaceExplorer(new ExplorationOptions().setMaxStates(100)).explore(petriNet);
+        assertEquals(TerminationReason.MAX_STATES, states.getTerminationReason());
+        assertEquals(100, states.getStepGraph().getStepCount());
+
+        var depth = new StateSpaceExplorer(new ExplorationOptions().setMaxDepth(3)).explore(petriNet);
+        assertEquals(TerminationReason.MAX_DEPTH, depth.getTerminationReason());
+
+        var time = new StateSpaceExplorer(new ExplorationOptions().setTimeout(Duration.ofMillis(50))).explore(petriNet);
+        assertEquals(TerminationReason.TIMEOUT, time.getTerminationReason());
+
+        var bounded = new StateSpaceExplorer(new ExplorationOptions().setMaxDepth(3)).explore(PetriNetTestUtil.chainNet(3));
+        assertEquals(TerminationReason.COMPLETED, bounded.getTerminationReason());
+    }
+
+    /**
+     * Depth first search with a depth limit finds the same states as breadth first search,
+     * also if a state is first reached on a path longer than the limit
+     */
+    @Test
+    void testDepthFirstDepthLimit() {
+        var petriNet = PetriNetTestUtil.shortcutNet();
+        var bfs = new StateSpaceExplorer(new ExplorationOptions().setMaxDepth(4)).explore(petriNet);
+        var dfs = new StateSpaceExplorer(new ExplorationOptions().setMaxDepth(4).setSearchOrder(SearchOrder.DEPTH_FIRST)).explore(petriNet);
+        assertEquals(TerminationReason.COMPLETED, bfs.getTerminationReason());
+        assertEquals(TerminationReason.COMPLETED, dfs.getTerminationReason());
+        assertEquals(7, bfs.getStepGraph().getStepCount());
+        assertEquals(7, dfs.getStepGraph().getStepCount());
+        assertEquals(bfs.getStepGraph().getArcCount(), dfs.getStepGraph().getArcCount());
+
+        var limited = new StateSpaceExplorer(new ExplorationOptions().setMaxDepth(2).setSearchOrder(SearchOrder.DEPTH_FIRST)).explore(petriNet);
+        assertEquals(TerminationReason.MAX_DEPTH, limited.getTerminationReason());
+        assertEquals(5, limited.getStepGraph().getStepCount());
+    }
+
+    /**
+     * A cancelled exploration stops and returns the partial StepGraph
+     */
+    @Test
+    void testCancel() throws InterruptedException {
+        var explorer = new StateSpaceExplorer(new ExplorationOptions());
+        var result = new ExplorationResult[1];
+        var thread = new Thread(() -> result[0] = explorer.explore(PetriNetTestUtil.unboundedNet()));
+        thread.start();
+        Thread.sleep(50);
+        explorer.cancel();
+        thread.join(10_000);
+        assertEquals(TerminationReason.CANCELLED, result[0].getTerminationReason());
+        assertTrue(result[0].getStepGraph().getStepCount() > 0);
+    }
+
+    /**
+     * The partial order reduction explores far less states, but keeps the deadlocks and the marked sink
+     */
+    @Test
+    void testPartialOrderReduction() {
+        var reducedOptions = new ExplorationOptions().setPartialOrderReduction(true);
+        var forkJoin = new StateSpaceExplorer(reducedOptions).explore(PetriNetTestUtil.forkJoinNet(10));
+        assertEquals(13, forkJoin.getStepGraph().getStepCount());
+
+        var petriNets = List.of(PetriNetTestUtil.choiceNet(), PetriNetTestUtil.forkJoinNet(4),
+                InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(3, 3), false));
+        for (var petriNet : petriNets) {
+            var full = new StateSpaceExplorer(new ExplorationOptions()).explore(petriNet).getStepGraph();
+            for (var searchOrder : SearchOrder.values()) {
+                var reduced = new StateSpaceExplorer(new ExplorationOptions().setPartialOrderReduction(true)
+                        .setSearchOrder(searchOrder)).explore(petriNet).getStepGraph();
+                assertTrue(reduced.getStepCount() <= full.getStepCount());
+                assertEquals(deadlocks(full), deadlocks(reduced));
+                assertEquals(sinkMarked(full), sinkMarked(reduced));
+            }
+            var parallel = new ParallelStateSpaceExplorer(reducedOptions, 2).explore(petriNet).getStepGraph();
+            assertEquals(deadlocks(full), deadlocks(parallel));
+        }
+        var staged = InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(3, 6), false);
+        var full = new StateSpaceExplorer(new ExplorationOptions()).explore(staged).getStepGraph();
+        var reduced = new StateSpaceExplorer(reducedOptions).explore(staged).getStepGraph();
+        assertEquals(194, full.getStepCount());
+        assertEquals(23, reduced.getStepCount());
+    }
+
+    /**
+     * @param stepGraph a StepGraph
+     * @return the markings of the steps without outgoing arcs
+     */
+    private static Set<String> deadlocks(StepGraph stepGraph) {
+        var hasSuccessor = new boolean[stepGraph.getStepCount()];
+        for (int i = 0; i < stepGraph.getArcCount(); i++) {
+            hasSuccessor[stepGraph.getArcSource(i)] = true;
+        }
+        var deadlocks = new HashSet<String>();
+        for (int step = 0; step < stepGraph.getStepCount(); step++) {
+            if (!hasSuccessor[step]) deadlocks.add(Arrays.toString(stepGraph.getMarking(step)));
+        }
+        assertFalse(deadlocks.isEmpty());
+        return deadlocks;
+    }
+
+    /**
+     * @param stepGraph a StepGraph
+     * @return true if a step marks place://sink
+     */
+    private static boolean sinkMarked(StepGraph stepGraph) {
+        var sink = stepGraph.getPetriNet().getPlaceIndex(URI.create("place://sink"));
+        for (int step = 0; step < stepGraph.getStepCount(); step++) {
+            if (stepGraph.getMarking(step)[sink] > 0) return true;
+        }
+        return false;
+    }
+}
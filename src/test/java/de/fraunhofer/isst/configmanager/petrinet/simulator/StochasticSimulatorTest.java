@@ -0,0 +1,63 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator;
+
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test simulating small PetriNets with one random transition per step
+ */
+class StochasticSimulatorTest {
+
+    /**
+     * Every simulation of a fork/join net uses every transition once, simulations are repeatable by their seed
+     */
+    @Test
+    void testSingleRuns() {
+        var compiled = new CompiledPetriNet(PetriNetTestUtil.forkJoinNet(3));
+        var run = new StochasticSimulator(new SimulationOptions().setSeed(42)).simulate(compiled);
+        assertEquals(5, run.getSteps());
+        assertEquals(5, run.getSinkStep());
+        assertTrue(run.isDeadlocked());
+        for (var firings : run.getFirings()) assertEquals(1, firings);
+        assertArrayEquals(run.getMarking(), new StochasticSimulator(new SimulationOptions().setSeed(42)).simulate(compiled).getMarking());
+
+        //the unbounded net never deadlocks, the simulation stops after the maximum number of steps
+        var unbounded = new StochasticSimulator(new SimulationOptions().setMaxSteps(100))
+                .simulate(new CompiledPetriNet(PetriNetTestUtil.unboundedNet()));
+        assertEquals(100, unbounded.getSteps());
+        assertFalse(unbounded.isDeadlocked());
+    }
+
+    /**
+     * The estimated probability to reach the sink follows the weights, the result does not depend on the parallelism
+     */
+    @Test
+    void testMonteCarloBatch() {
+        var compiled = new CompiledPetriNet(PetriNetTestUtil.choiceNet());
+        var uniform = new StochasticSimulator(new SimulationOptions().setSeed(7)).simulateBatch(compiled, 4000, 4);
+        assertEquals(4000, uniform.getRuns());
+        assertEquals(4000, uniform.getDeadlockedRuns());
+        assertEquals(0.5, uniform.getSinkProbability(), 0.05);
+        assertTrue(uniform.getSinkProbabilityError() < 0.05);
+        assertEquals(1, uniform.getStepPercentile(100));
+        assertEquals(1.0, uniform.getMeanSteps());
+
+        var options = new SimulationOptions().setSeed(7).setWeights(Map.of(URI.create("trans://left"), 3.0));
+        var weighted = new StochasticSimulator(options).simulateBatch(compiled, 4000, 4);
+        assertEquals(0.75, weighted.getSinkProbability(), 0.05);
+        assertEquals(0.75, weighted.getFiringFrequencies().get(URI.create("trans://left")), 0.05);
+
+        var sequential = new StochasticSimulator(options).simulateBatch(compiled, 4000, 1);
+        assertEquals(weighted.getSinkReachedRuns(), sequential.getSinkReachedRuns());
+        assertArrayEquals(weighted.getStepCounts(), sequential.getStepCounts());
+        assertEquals(weighted.getFiringFrequencies(), sequential.getFiringFrequencies());
+    }
+}
@@ -0,0 +1,76 @@
+package de.fraunhofer.isst.configmanager.petrinet.simulator.trace;
+
+import de.fraunhofer.isst.configmanager.petrinet.simulator.PetriNetSimulator;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test recording simulations with listeners and replaying binary traces
+ */
+class SimulationTraceTest {
+
+    /**
+     * A replayed trace has the same states as the recorded simulation, also beyond the first checkpoint
+     */
+    @Test
+    void testReplayTrace() throws IOException {
+        var length = TraceReplay.CHECKPOINT_INTERVAL * 2 + 10;
+        var recorded = new RingBufferSimulationListener(length + 1);
+        var steps = PetriNetSimulator.simulateNet(PetriNetTestUtil.chainNet(length), recorded);
+        assertEquals(length, steps);
+        assertEquals(length + 1, recorded.size());
+
+        var outputStream = new ByteArrayOutputStream();
+        try (var trace = new BinaryTraceListener(outputStream)) {
+            assertEquals(steps, PetriNetSimulator.simulateNet(PetriNetTestUtil.chainNet(length), trace));
+        }
+        //a few bytes per step, the markings are not stored
+        assertTrue(outputStream.size() < 40 * length, "trace has " + outputStream.size() + " bytes");
+
+        var replay = TraceReplay.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        assertEquals(steps, replay.getStepCount());
+        for (int i = 0; i < recorded.size(); i++) {
+            assertEquals(i, recorded.getStep(i));
+            assertArrayEquals(recorded.getMarking(i), replay.getMarking(i));
+        }
+        assertArrayEquals(recorded.getFired(1), replay.getFired(1));
+
+        var sink = replay.getPetriNet().getPlaceIndex(URI.create("place://sink"));
+        assertEquals(1, replay.getMarking(steps)[sink]);
+        var dot = new StringWriter();
+        replay.writeGraphViz(steps, dot);
+        assertTrue(dot.toString().contains("color=red"));
+        assertThrows(IndexOutOfBoundsException.class, () -> replay.getMarking(steps + 1));
+        assertThrows(IOException.class, () -> TraceReplay.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+    }
+
+    /**
+     * The ring buffer keeps the last steps only, sampling forwards every n-th step
+     */
+    @Test
+    void testRingBufferAndSampling() {
+        var last = new RingBufferSimulationListener(3);
+        var steps = PetriNetSimulator.simulateNet(PetriNetTestUtil.forkJoinNet(3), last);
+        assertEquals(3, last.size());
+        assertEquals(steps, last.getStep(2));
+        assertEquals(steps - 2, last.getStep(0));
+
+        var sampled = new RingBufferSimulationListener(10);
+        PetriNetSimulator.simulateNet(PetriNetTestUtil.chainNet(7), new SampledSimulationListener(sampled, 3));
+        //the initial marking and the steps 3 and 6
+        assertEquals(3, sampled.size());
+        assertEquals(6, sampled.getStep(2));
+        assertEquals(sampled.getPetriNet().getPlaceCount(), sampled.getMarking(0).length);
+    }
+}
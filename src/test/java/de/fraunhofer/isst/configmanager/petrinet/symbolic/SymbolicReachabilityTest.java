@@ -0,0 +1,59 @@
+package de.fraunhofer.isst.configmanager.petrinet.symbolic;
+
+import de.fraunhofer.isst.configmanager.petrinet.builder.InfomodelPetriNetBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.CompiledPetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.PetriNetSimulator;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the symbolic reachability analysis against the explicit StepGraph
+ */
+class SymbolicReachabilityTest {
+
+    /**
+     * The symbolic analysis finds the same number of states as the explicit exploration, and the deadlocks
+     */
+    @Test
+    void testSameAnswersAsStepGraph() {
+        var staged = InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(3, 3), false);
+        var result = SymbolicReachability.analyse(staged);
+        assertEquals(BigInteger.valueOf(PetriNetSimulator.buildStepGraph(staged).getStepCount()), result.getReachableStates());
+        assertTrue(result.isSinkReachable());
+        assertFalse(result.isDeadlockReachable());
+
+        var choice = new CompiledPetriNet(PetriNetTestUtil.choiceNet());
+        var deadlock = SymbolicReachability.analyse(choice);
+        assertEquals(BigInteger.valueOf(3), deadlock.getReachableStates());
+        assertTrue(deadlock.isSinkReachable());
+        assertEquals(1, deadlock.getDeadlockMarking()[choice.getPlaceIndex(URI.create("place://stuck"))]);
+    }
+
+    /**
+     * Millions of interleavings of wide parallel branches are represented by a small BDD
+     */
+    @Test
+    void testWideRoute() {
+        var petriNet = InfomodelPetriNetBuilder.petriNetFromAppRoute(PetriNetTestUtil.stagedAppRoute(4, 20), false);
+        var result = SymbolicReachability.analyse(petriNet);
+        assertEquals(BigInteger.valueOf(4L * (1 << 20) + 2), result.getReachableStates());
+        assertTrue(result.getReachableNodes() < 1000);
+        assertTrue(result.isSinkReachable());
+    }
+
+    /**
+     * Nets, in which a place can hold more than one marker, are rejected
+     */
+    @Test
+    void testNotOneSafe() {
+        assertThrows(IllegalArgumentException.class, () -> SymbolicReachability.analyse(PetriNetTestUtil.unboundedNet()));
+    }
+}
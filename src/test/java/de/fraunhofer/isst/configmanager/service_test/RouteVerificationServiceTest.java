@@ -0,0 +1,158 @@
+package de.fraunhofer.isst.configmanager.service_test;
+
+import de.fraunhofer.isst.configmanager.configmanagement.entities.verification.VerificationJob;
+import de.fraunhofer.isst.configmanager.configmanagement.entities.verification.VerificationStatus;
+import de.fraunhofer.isst.configmanager.configmanagement.service.PetriNetService;
+import de.fraunhofer.isst.configmanager.configmanagement.service.RouteVerificationService;
+import de.fraunhofer.isst.configmanager.petrinet.checker.Verdict;
+import de.fraunhofer.isst.configmanager.petrinet.simulator.TerminationReason;
+import de.fraunhofer.isst.configmanager.util.PetriNetTestUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test verifying app routes in the background and reusing the results of unchanged routes
+ */
+public class RouteVerificationServiceTest {
+
+    /**
+     * A verification job reports its progress and completes, verifying the same route again returns the cached results
+     */
+    @Test
+    void testVerificationJobs() throws InterruptedException {
+        final var service = new RouteVerificationService(new PetriNetService(100_000, 30_000), 1, 4, 100_000, 30_000);
+        try {
+            final var appRoute = PetriNetTestUtil.stagedAppRoute(2, 2);
+            final var job = service.submit(appRoute);
+            assertFalse(job.isCached());
+            final var statuses = new ArrayList<VerificationStatus>();
+            job.addListener(changed -> statuses.add(changed.getStatus()));
+
+            final var deadline = System.currentTimeMillis() + 10_000;
+            while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(VerificationStatus.COMPLETED, job.getStatus());
+            assertEquals(VerificationStatus.COMPLETED, statuses.get(statuses.size() - 1));
+            assertEquals(job.getPropertyCount(), job.getResults().size());
+            for (final var result : job.getResults()) {
+                assertEquals(Verdict.SATISFIED, result.getVerdict());
+            }
+            assertEquals(job, service.getJob(job.getId()));
+
+            final var cached = service.submit(appRoute);
+            assertTrue(cached.isCached());
+            assertEquals(VerificationStatus.COMPLETED, cached.getStatus());
+            assertEquals(job.getContentHash(), cached.getContentHash());
+            assertEquals(job.getResults(), cached.getResults());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    /**
+     * Jobs with an unknown verdict are not reused, a changed route is verified again even if the cached
+     * PetriNet of the route was not updated
+     */
+    @Test
+    void testVerificationNotReused() throws InterruptedException {
+        final var limited = new RouteVerificationService(new PetriNetService(100_000, 30_000), 1, 4, 3, 30_000);
+        try {
+            final var appRoute = PetriNetTestUtil.stagedAppRoute(2, 2);
+            final var job = limited.submit(appRoute);
+            awaitFinished(job);
+            assertTrue(job.getResults().stream().anyMatch(result -> result.getVerdict() == Verdict.UNKNOWN));
+            assertFalse(limited.submit(appRoute).isCached());
+        } finally {
+            limited.destroy();
+        }
+
+        final var petriNetService = new PetriNetService(100_000, 30_000);
+        final var service = new RouteVerificationService(petriNetService, 1, 4, 100_000, 30_000);
+        try {
+            final var appRoute = PetriNetTestUtil.stagedAppRoute(2, 2);
+            petriNetService.getPetriNet(appRoute);
+            final var job = service.submit(appRoute);
+            awaitFinished(job);
+
+            //the route changes without notifying the PetriNetService
+            appRoute.getHasSubRoute().remove(appRoute.getHasSubRoute().size() - 1);
+            final var changed = service.submit(appRoute);
+            assertFalse(changed.isCached());
+            assertNotEquals(job.getContentHash(), changed.getContentHash());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    private static void awaitFinished(final VerificationJob job) throws InterruptedException {
+        final var deadline = System.currentTimeMillis() + 10_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.isFinished());
+    }
+
+    /**
+     * Step graphs are explored in the background, requests for more than the maximum number of states share
+     * the cached step graph with the maximum number of states
+     */
+    @Test
+    void testStepGraph() throws InterruptedException, ExecutionException, TimeoutException {
+        final var service = new RouteVerificationService(new PetriNetService(10, 30_000), 1, 4, 100_000, 30_000);
+        try {
+            final var appRoute = PetriNetTestUtil.stagedAppRoute(2, 2);
+            final var limited = service.exploreStepGraph(appRoute, Integer.MAX_VALUE).get(10, TimeUnit.SECONDS);
+            assertEquals(10, limited.getStepGraph().getStepCount());
+            assertEquals(TerminationReason.COMPLETED, limited.getTerminationReason());
+            assertSame(limited, service.exploreStepGraph(appRoute, 10).get(10, TimeUnit.SECONDS));
+
+            final var smaller = service.exploreStepGraph(appRoute, 5).get(10, TimeUnit.SECONDS);
+            assertEquals(5, smaller.getStepGraph().getStepCount());
+            assertEquals(TerminationReason.MAX_STATES, smaller.getTerminationReason());
+            assertNotSame(smaller, service.exploreStepGraph(appRoute, 5).get(10, TimeUnit.SECONDS));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    /**
+     * A job reusing a running job has its own route id, a failing listener is not notified anymore
+     */
+    @Test
+    void testSharedJobAndFailingListener() {
+        final var running = new VerificationJob(URI.create("https://route/a"), "hash", 1);
+        final var shared = new VerificationJob(URI.create("https://route/b"), running);
+        assertEquals(URI.create("https://route/b"), shared.getRouteId());
+        assertTrue(shared.isCached());
+
+        final var routes = new ArrayList<URI>();
+        final var failing = new ArrayList<VerificationStatus>();
+        shared.addListener(changed -> routes.add(changed.getRouteId()));
+        running.addListener(changed -> {
+            failing.add(changed.getStatus());
+            if (changed.getStatus() == VerificationStatus.RUNNING) {
+                throw new IllegalStateException("client is gone");
+            }
+        });
+        running.start();
+        assertEquals(VerificationStatus.RUNNING, shared.getStatus());
+        running.complete();
+        assertTrue(shared.isFinished());
+        assertEquals(3, routes.size());
+        assertTrue(routes.stream().allMatch(URI.create("https://route/b")::equals));
+        assertEquals(2, failing.size());
+    }
+}
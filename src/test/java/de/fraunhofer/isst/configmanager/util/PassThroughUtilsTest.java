@@ -0,0 +1,137 @@
+package de.fraunhofer.isst.configmanager.util;
+
+import de.fraunhofer.isst.configmanager.communication.clients.PassThroughResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test passing on responses of the connector and closing them if they are not streamed
+ */
+class PassThroughUtilsTest {
+
+    private static final String BODY = "{\"message\":\"Unauthorized\"}";
+
+    /**
+     * Status, content type and length of the connector are kept, the response is closed after streaming
+     */
+    @Test
+    void testToResponseEntity() throws IOException {
+        var response = new TestResponse("application/json", false);
+        var entity = PassThroughUtils.toResponseEntity(response, null);
+        assertEquals(HttpStatus.UNAUTHORIZED, entity.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, entity.getHeaders().getContentType());
+        assertEquals(BODY.length(), entity.getHeaders().getContentLength());
+        assertFalse(response.closed);
+
+        assertEquals(BODY, stream(entity));
+        assertTrue(response.closed);
+    }
+
+    /**
+     * An invalid content type is not passed on, a failure while building the response closes it,
+     * a failed request is answered with 503
+     */
+    @Test
+    void testInvalidResponses() throws IOException {
+        var invalidType = new TestResponse("not a media type", false);
+        var entity = PassThroughUtils.toResponseEntity(invalidType, null);
+        assertEquals(HttpStatus.UNAUTHORIZED, entity.getStatusCode());
+        assertNull(entity.getHeaders().getContentType());
+        assertEquals(BODY, stream(entity));
+
+        var failing = new TestResponse("application/json", true);
+        assertThrows(IllegalStateException.class, () -> PassThroughUtils.toResponseEntity(failing, null));
+        assertTrue(failing.closed);
+
+        var unreachable = PassThroughUtils.toResponseEntity(null, new ConnectException("connection refused"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, unreachable.getStatusCode());
+    }
+
+    /**
+     * A response arriving in time is set as result, a response arriving after the result was set is closed
+     */
+    @Test
+    void testToDeferredResult() {
+        var future = new CompletableFuture<PassThroughResponse>();
+        var result = PassThroughUtils.toDeferredResult(future);
+        assertFalse(result.hasResult());
+        var response = new TestResponse("application/json", false);
+        future.complete(response);
+        assertTrue(result.hasResult());
+        assertFalse(response.closed);
+
+        var lateFuture = new CompletableFuture<PassThroughResponse>();
+        var expired = PassThroughUtils.toDeferredResult(lateFuture);
+        var timeoutResult = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<StreamingResponseBody>build();
+        expired.setResult(timeoutResult);
+        var late = new TestResponse("application/json", false);
+        lateFuture.complete(late);
+        assertTrue(late.closed);
+        assertSame(timeoutResult, expired.getResult());
+    }
+
+    private static String stream(final ResponseEntity<StreamingResponseBody> entity) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        entity.getBody().writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A response of the connector with status 401, which notes whether it was closed
+     */
+    private static class TestResponse implements PassThroughResponse {
+        private final String contentType;
+        private final boolean failing;
+        private boolean closed;
+
+        TestResponse(final String contentType, final boolean failing) {
+            this.contentType = contentType;
+            this.failing = failing;
+        }
+
+        @Override
+        public int getStatus() {
+            return HttpStatus.UNAUTHORIZED.value();
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public long getContentLength() {
+            if (failing) {
+                throw new IllegalStateException("connection reset");
+            }
+            return BODY.length();
+        }
+
+        @Override
+        public void transferTo(final OutputStream outputStream) throws IOException {
+            outputStream.write(BODY.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package de.fraunhofer.isst.configmanager.util;
+
+import de.fraunhofer.iais.eis.AppRoute;
+import de.fraunhofer.iais.eis.AppRouteBuilder;
+import de.fraunhofer.iais.eis.Endpoint;
+import de.fraunhofer.iais.eis.EndpointBuilder;
+import de.fraunhofer.iais.eis.RouteStep;
+import de.fraunhofer.iais.eis.RouteStepBuilder;
+import de.fraunhofer.isst.configmanager.petrinet.model.Arc;
+import de.fraunhofer.isst.configmanager.petrinet.model.ArcImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.Node;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNet;
+import de.fraunhofer.isst.configmanager.petrinet.model.PetriNetImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.PlaceImpl;
+import de.fraunhofer.isst.configmanager.petrinet.model.TransitionImpl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+public class PetriNetTestUtil {
+
+    /**
+     * AppRoute with stages of parallel branches: endpoint k forks into width branches, every branch
+     * consists of two subroutes (endpoint k -> middle endpoint -> endpoint k+1) and endpoint k+1 joins
+     * all branches of stage k. The branches of a stage interleave, giving 2^width states per stage.
+     *
+     * @param stages number of stages
+     * @param width number of parallel branches per stage
+     * @return an AppRoute with 2 * stages * width subroutes
+     */
+    public static AppRoute stagedAppRoute(int stages, int width) {
+        var endpoints = new ArrayList<Endpoint>();
+        for (int k = 0; k <= stages; k++) {
+            endpoints.add(new EndpointBuilder(URI.create("http://endpoint" + k)).build());
+        }
+        var subroutes = new ArrayList<RouteStep>();
+        for (int k = 0; k < stages; k++) {
+            for (int i = 0; i < width; i++) {
+                var middle = new EndpointBuilder(URI.create("http://endpoint" + k + "-" + i)).build();
+                subroutes.add(subroute("http://subroute" + k + "-" + i + "a", endpoints.get(k), middle));
+                subroutes.add(subroute("http://subroute" + k + "-" + i + "b", middle, endpoints.get(k + 1)));
+            }
+        }
+        return new AppRouteBuilder(URI.create("http://approute"))
+                ._appRouteStart_(new ArrayList<>(List.of(endpoints.get(0))))
+                ._appRouteEnd_(new ArrayList<>(List.of(endpoints.get(stages))))
+                ._hasSubRoute_(subroutes)
+                .build();
+    }
+
+    private static RouteStep subroute(String id, Endpoint start, Endpoint end) {
+        return new RouteStepBuilder(URI.create(id))
+                ._appRouteStart_(new ArrayList<>(List.of(start)))
+                ._appRouteEnd_(new ArrayList<>(List.of(end)))
+                .build();
+    }
+
+    /**
+     * source -> fork -> (branch_i -> step_i -> done_i) -> join -> sink
+     *
+     * @param branches number of parallel branches
+     * @return a PetriNet with 2^branches + 2 reachable states
+     */
+    public static PetriNet forkJoinNet(int branches) {
+        var nodes = new HashSet<Node>();
+        var arcs = new HashSet<Arc>();
+        var source = place(nodes, "place://source");
+        source.setMarkers(1);
+        var sink = place(nodes, "place://sink");
+        var fork = transition(nodes, "trans://fork");
+        var join = transition(nodes, "trans://join");
+        arcs.add(new ArcImpl(source, fork));
+        arcs.add(new ArcImpl(join, sink));
+        for (int i = 0; i < branches; i++) {
+            var branch = place(nodes, "place://branch" + i);
+            var step = transition(nodes, "trans://step" + i);
+            var done = place(nodes, "place://done" + i);
+            arcs.add(new ArcImpl(fork, branch));
+            arcs.add(new ArcImpl(branch, step));
+            arcs.add(new ArcImpl(step, done));
+            arcs.add(new ArcImpl(done, join));
+        }
+        return new PetriNetImpl(URI.create("net://forkjoin"), nodes, arcs);
+    }
+
+    /**
+     * source -> t0 -> p0 -> t1 -> p1 ... -> sink
+     *
+     * @param length number of transitions in the chain
+     * @return a PetriNet with length + 1 reachable states
+     */
+    public static PetriNet chainNet(int length) {
+        var nodes = new HashSet<Node>();
+        var arcs = new HashSet<Arc>();
+        var previous = place(nodes, "place://source");
+        previous.setMarkers(1);
+        for (int i = 0; i < length; i++) {
+            var trans = transition(nodes, "trans://t" + i);
+            var next = place(nodes, i == length - 1 ? "place://sink" : "place://p" + i);
+            arcs.add(new ArcImpl(previous, trans));
+            arcs.add(new ArcImpl(trans, next));
+            previous = next;
+        }
+        return new PetriNetImpl(URI.create("net://chain"), nodes, arcs);
+    }
+
+    /**
+     * source -> generate -> (source, buffer), buffer -> consume -> sink
+     *
+     * @return a PetriNet with infinitely many reachable states
+     */
+    public static PetriNet unboundedNet() {
+        var nodes = new HashSet<Node>();
+        var arcs = new HashSet<Arc>();
+        var source = place(nodes, "place://source");
+        source.setMarkers(1);
+        var buffer = place(nodes, "place://buffer");
+        var sink = place(nodes, "place://sink");
+        var generate = transition(nodes, "trans://generate");
+        var consume = transition(nodes, "trans://consume");
+        arcs.add(new ArcImpl(source, generate));
+        arcs.add(new ArcImpl(generate, source));
+        arcs.add(new ArcImpl(generate, buffer));
+        arcs.add(new ArcImpl(buffer, consume));
+        arcs.add(new ArcImpl(consume, sink));
+        return new PetriNetImpl(URI.create("net://unbounded"), nodes, arcs);
+    }
+
+    /**
+     * source -> (left | right), left -> sink, right -> stuck (no way to the sink)
+     *
+     * @return a PetriNet which can deadlock without marking the sink
+     */
+    public static PetriNet choiceNet() {
+        var nodes = new HashSet<Node>();
+        var arcs = new HashSet<Arc>();
+        var source = place(nodes, "place://source");
+        source.setMarkers(1);
+        var sink = place(nodes, "place://sink");
+        var stuck = place(nodes, "place://stuck");
+        var left = transition(nodes, "trans://left");
+        var right = transition(nodes, "trans://right");
+        arcs.add(new ArcImpl(source, left));
+        arcs.add(new ArcImpl(source, right));
+        arcs.add(new ArcImpl(left, sink));
+        arcs.add(new ArcImpl(right, stuck));
+        return new PetriNetImpl(URI.create("net://choice"), nodes, arcs);
+    }
+
+    /**
+     * source -> retry -> source, source -> finish -> sink
+     *
+     * @return a PetriNet which can loop forever without marking the sink
+     */
+    public static PetriNet retryNet() {
+        var nodes = new HashSet<Node>();
+        var arcs = new HashSet<Arc>();
+        var source = place(nodes, "place://source");
+        source.setMarkers(1);
+        var sink = place(nodes, "place://sink");
+        var retry = transition(nodes, "trans://retry");
+        var finish = transition(nodes, "trans://finish");
+        arcs.add(new ArcImpl(source, retry));
+        arcs.add(new ArcImpl(retry, source));
+        arcs.add(new ArcImpl(source, finish));
+        arcs.add(new ArcImpl(finish, sink));
+        return new PetriNetImpl(URI.create("net://retry"), nodes, arcs);
+    }
+
+    /**
+     * source -> long1 -> p1 -> long2 -> p2 -> long3 -> p3 -> long4 -> middle,
+     * source -> direct1 -> shortcut -> direct2 -> middle, middle -> finish -> sink
+     * (depth first search follows the long path first, as the transitions are expanded in reverse order of their ids)
+     *
+     * @return a PetriNet in which the middle place is reached on a long and on a short path
+     */
+    public static PetriNet shortcutNet() {
+        var nodes = new HashSet<Node>();
+        var arcs = new HashSet<Arc>();
+        var source = place(nodes, "place://source");
+        source.setMarkers(1);
+        var middle = place(nodes, "place://middle");
+        var previous = source;
+        for (int i = 1; i <= 4; i++) {
+            var trans = transition(nodes, "trans://long" + i);
+            var next = i == 4 ? middle : place(nodes, "place://p" + i);
+            arcs.add(new ArcImpl(previous, trans));
+            arcs.add(new ArcImpl(trans, next));
+            previous = next;
+        }
+        var shortcut = place(nodes, "place://shortcut");
+        var direct1 = transition(nodes, "trans://direct1");
+        var direct2 = transition(nodes, "trans://direct2");
+        arcs.add(new ArcImpl(source, direct1));
+        arcs.add(new ArcImpl(direct1, shortcut));
+        arcs.add(new ArcImpl(shortcut, direct2));
+        arcs.add(new ArcImpl(direct2, middle));
+        var sink = place(nodes, "place://sink");
+        var finish = transition(nodes, "trans://finish");
+        arcs.add(new ArcImpl(middle, finish));
+        arcs.add(new ArcImpl(finish, sink));
+        return new PetriNetImpl(URI.create("net://shortcut"), nodes, arcs);
+    }
+
+    private static PlaceImpl place(HashSet<Node> nodes, String id) {
+        var place = new PlaceImpl(URI.create(id));
+        nodes.add(place);
+        return place;
+    }
+
+    private static TransitionImpl transition(HashSet<Node> nodes, String id) {
+        var transition = new TransitionImpl(URI.create(id));
+        nodes.add(transition);
+        return transition;
+    }
+}